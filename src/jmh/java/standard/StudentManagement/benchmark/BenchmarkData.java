@@ -0,0 +1,63 @@
+package standard.StudentManagement.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import standard.StudentManagement.data.ApplicationStatus;
+import standard.StudentManagement.data.StatusType;
+import standard.StudentManagement.data.Student;
+import standard.StudentManagement.data.StudentCourse;
+import standard.StudentManagement.domain.StudentDetail;
+
+/**
+ * ベンチマークで使用する受講生・受講生コース・申込状況のデータを生成します。 同じ引数からは常に同じデータを生成します。
+ */
+final class BenchmarkData {
+
+  private static final String[] AREAS = {"東京", "大阪", "名古屋", "福岡", "北海道"};
+  private static final String[] COURSES = {"Java入門", "Spring基礎", "AWS基礎", "Python基礎",
+      "Web開発基礎"};
+  private static final LocalDateTime START_AT = LocalDateTime.of(2025, 6, 1, 9, 0);
+
+  private BenchmarkData() {
+  }
+
+  static StudentDetail studentDetail(int index, int courseCount) {
+    Student student = student(index);
+    List<StudentCourse> studentCourses = new ArrayList<>(courseCount);
+    for (int c = 0; c < courseCount; c++) {
+      studentCourses.add(studentCourse(index * courseCount + c + 1, student.getId(), c));
+    }
+    return new StudentDetail(student, studentCourses);
+  }
+
+  static Student student(int index) {
+    Student student = new Student();
+    student.setId(String.format("00000000-0000-0000-0000-%012d", index));
+    student.setName("受講生" + index);
+    student.setKanaName("ジュコウセイ");
+    student.setNickname("nick" + index);
+    student.setEmail("student" + index + "@example.com");
+    student.setArea(AREAS[index % AREAS.length]);
+    student.setAge(18 + index % 40);
+    student.setSex(index % 2 == 0 ? "男性" : "女性");
+    student.setRemark("備考" + index);
+    return student;
+  }
+
+  private static StudentCourse studentCourse(int id, String studentId, int courseIndex) {
+    StudentCourse studentCourse = new StudentCourse();
+    studentCourse.setId(id);
+    studentCourse.setStudentId(studentId);
+    studentCourse.setCourseName(COURSES[courseIndex % COURSES.length]);
+    studentCourse.setStartAt(START_AT);
+    studentCourse.setEndAt(START_AT.plusMonths(6));
+
+    ApplicationStatus status = new ApplicationStatus();
+    status.setId("status-" + id);
+    status.setStudentCourseId(id);
+    status.setStatusId(StatusType.values()[id % StatusType.values().length].getId());
+    studentCourse.setApplicationStatus(status);
+    return studentCourse;
+  }
+}
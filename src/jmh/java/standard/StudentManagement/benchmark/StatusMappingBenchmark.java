@@ -0,0 +1,65 @@
+package standard.StudentManagement.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import standard.StudentManagement.data.ApplicationStatus;
+import standard.StudentManagement.data.StatusType;
+
+/**
+ * 申込状況の名前とIDの相互変換、および {@link ApplicationStatus} の同期処理を計測します。
+ * 先頭・末尾・該当なしの値をそれぞれ計測し、不正な名前の変換が例外経由になるコストも確認します。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StatusMappingBenchmark {
+
+  @State(Scope.Thread)
+  public static class NameState {
+
+    @Param({"仮申込", "受講終了", "不正な状況"})
+    private String statusName;
+
+    private ApplicationStatus applicationStatus = new ApplicationStatus();
+  }
+
+  @State(Scope.Thread)
+  public static class IdState {
+
+    @Param({"1", "4", "9"})
+    private int statusId;
+
+    private ApplicationStatus applicationStatus = new ApplicationStatus();
+  }
+
+  @Benchmark
+  public StatusType fromId(IdState state) {
+    return StatusType.fromId(state.statusId);
+  }
+
+  @Benchmark
+  public int toId(NameState state) {
+    try {
+      return StatusType.toId(state.statusName);
+    } catch (IllegalArgumentException e) {
+      return 0;
+    }
+  }
+
+  @Benchmark
+  public int setStatus(NameState state) {
+    state.applicationStatus.setStatus(state.statusName);
+    return state.applicationStatus.getStatusId();
+  }
+
+  @Benchmark
+  public String setStatusId(IdState state) {
+    state.applicationStatus.setStatusId(state.statusId);
+    return state.applicationStatus.getStatus();
+  }
+}
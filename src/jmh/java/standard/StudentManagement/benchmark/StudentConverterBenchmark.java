@@ -0,0 +1,58 @@
+package standard.StudentManagement.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import standard.StudentManagement.controller.converter.StudentConverter;
+import standard.StudentManagement.data.Student;
+import standard.StudentManagement.data.StudentCourse;
+import standard.StudentManagement.domain.StudentDetail;
+import standard.StudentManagement.fixture.StudentDataGenerator;
+import standard.StudentManagement.fixture.StudentDataSettings;
+
+/**
+ * {@link StudentConverter#convertStudentDetails(List, List)} の受講生数に対する処理時間を計測します。
+ * 受講生ごとのコース数は合成データ生成の既定の分布(平均1.55件)に従います。 受講生数を10倍にしたときに処理時間がおよそ10倍に収まること(線形であること)を
+ * 受講生数ごとの結果で確認します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudentConverterBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  private int studentCount;
+
+  private StudentConverter converter;
+  private List<Student> students;
+  private List<StudentCourse> studentCourses;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    converter = new StudentConverter();
+    List<StudentDetail> studentDetails = new StudentDataGenerator(new StudentDataSettings())
+        .generate(0, studentCount);
+    students = studentDetails.stream().map(StudentDetail::getStudent).toList();
+    // コースごとの採番順を模して、受講生の並びとは異なる順序で渡す
+    studentCourses = new ArrayList<>(studentDetails.stream()
+        .flatMap(studentDetail -> studentDetail.getStudentCourseList().stream())
+        .toList());
+    Collections.shuffle(studentCourses, new Random(42));
+  }
+
+  @Benchmark
+  public List<StudentDetail> convertStudentDetails() {
+    return converter.convertStudentDetails(students, studentCourses);
+  }
+}
@@ -0,0 +1,57 @@
+package standard.StudentManagement.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import standard.StudentManagement.domain.StudentDetail;
+
+/**
+ * 受講生詳細の JSON シリアライズにかかる時間を計測します。 1件の受講生詳細と、一覧検索の応答に相当する100件のリストを対象とします。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StudentDetailSerializationBenchmark {
+
+  private static final int LIST_SIZE = 100;
+
+  @Param({"1", "10"})
+  private int courseCount;
+
+  private ObjectWriter writer;
+  private StudentDetail studentDetail;
+  private List<StudentDetail> studentDetails;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    // アプリケーションと同じく Java 8 日時型などのモジュールを登録する
+    writer = new ObjectMapper().findAndRegisterModules().writer();
+    studentDetail = BenchmarkData.studentDetail(1, courseCount);
+    studentDetails = new ArrayList<>(LIST_SIZE);
+    for (int i = 0; i < LIST_SIZE; i++) {
+      studentDetails.add(BenchmarkData.studentDetail(i, courseCount));
+    }
+  }
+
+  @Benchmark
+  public byte[] serializeStudentDetail() throws JsonProcessingException {
+    return writer.writeValueAsBytes(studentDetail);
+  }
+
+  @Benchmark
+  public byte[] serializeStudentDetailList() throws JsonProcessingException {
+    return writer.writeValueAsBytes(studentDetails);
+  }
+}
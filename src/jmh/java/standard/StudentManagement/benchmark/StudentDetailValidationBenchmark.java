@@ -0,0 +1,63 @@
+package standard.StudentManagement.benchmark;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import standard.StudentManagement.domain.StudentDetail;
+
+/**
+ * 受講生詳細の Bean Validation にかかる時間を、コース数と入力の正否ごとに計測します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StudentDetailValidationBenchmark {
+
+  @Param({"1", "10"})
+  private int courseCount;
+
+  private ValidatorFactory validatorFactory;
+  private Validator validator;
+  private StudentDetail validDetail;
+  private StudentDetail invalidDetail;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    validatorFactory = Validation.buildDefaultValidatorFactory();
+    validator = validatorFactory.getValidator();
+
+    validDetail = BenchmarkData.studentDetail(1, courseCount);
+    invalidDetail = BenchmarkData.studentDetail(2, courseCount);
+    invalidDetail.getStudent().setEmail("不正なメール");
+    invalidDetail.getStudent().setAge(10);
+    invalidDetail.getStudentCourseList().forEach(course -> course.setCourseName(""));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    validatorFactory.close();
+  }
+
+  @Benchmark
+  public Set<ConstraintViolation<StudentDetail>> validateValid() {
+    return validator.validate(validDetail);
+  }
+
+  @Benchmark
+  public Set<ConstraintViolation<StudentDetail>> validateInvalid() {
+    return validator.validate(invalidDetail);
+  }
+}
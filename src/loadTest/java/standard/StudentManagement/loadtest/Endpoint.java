@@ -0,0 +1,37 @@
+package standard.StudentManagement.loadtest;
+
+/**
+ * 負荷試験の対象とするエンドポイントです。 {@code key} は設定・結果ファイルで使用する名前です。
+ */
+enum Endpoint {
+  STUDENT_LIST("studentList", 5),
+  STUDENT("student", 60),
+  SEARCH_STUDENTS("searchStudents", 20),
+  REGISTER_STUDENT("registerStudent", 10),
+  UPDATE_STUDENT("updateStudent", 5);
+
+  private String key;
+  private double defaultWeight;
+
+  Endpoint(String key, double defaultWeight) {
+    this.key = key;
+    this.defaultWeight = defaultWeight;
+  }
+
+  String key() {
+    return key;
+  }
+
+  double defaultWeight() {
+    return defaultWeight;
+  }
+
+  static Endpoint fromKey(String key) {
+    for (Endpoint endpoint : values()) {
+      if (endpoint.key.equals(key)) {
+        return endpoint;
+      }
+    }
+    throw new IllegalArgumentException("不明なエンドポイントです: " + key);
+  }
+}
@@ -0,0 +1,110 @@
+package standard.StudentManagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/**
+ * エンドポイントごとの負荷試験結果と、ベースラインとの比較を扱います。
+ *
+ * @param endpoints エンドポイント名ごとの結果
+ */
+record LoadTestReport(Map<String, EndpointResult> endpoints) {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+      .enable(SerializationFeature.INDENT_OUTPUT);
+
+  /**
+   * 1つのエンドポイントの結果です。 遅延はリクエストの予定時刻から応答完了までのミリ秒です。
+   */
+  record EndpointResult(long count, long errorCount, double throughputPerSecond,
+                        double p50Millis, double p99Millis, double p999Millis, double maxMillis) {
+
+    static EndpointResult of(Histogram histogram, long errorCount, double seconds) {
+      return new EndpointResult(histogram.getTotalCount(), errorCount,
+          histogram.getTotalCount() / seconds,
+          millis(histogram.getValueAtPercentile(50)),
+          millis(histogram.getValueAtPercentile(99)),
+          millis(histogram.getValueAtPercentile(99.9)),
+          millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+      return micros / 1000.0;
+    }
+  }
+
+  static LoadTestReport read(Path path) throws IOException {
+    return OBJECT_MAPPER.readValue(path.toFile(), LoadTestReport.class);
+  }
+
+  void write(Path path) throws IOException {
+    if (path.getParent() != null) {
+      Files.createDirectories(path.getParent());
+    }
+    OBJECT_MAPPER.writeValue(path.toFile(), this);
+  }
+
+  /**
+   * 結果を表形式の文字列にします。
+   */
+  String format() {
+    StringBuilder builder = new StringBuilder(String.format("%-16s %8s %6s %10s %9s %9s %9s %9s%n",
+        "endpoint", "count", "errors", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)"));
+    endpoints.forEach((name, result) -> builder.append(String.format(
+        "%-16s %8d %6d %10.1f %9.2f %9.2f %9.2f %9.2f%n", name, result.count(),
+        result.errorCount(), result.throughputPerSecond(), result.p50Millis(), result.p99Millis(),
+        result.p999Millis(), result.maxMillis())));
+    return builder.toString();
+  }
+
+  /**
+   * ベースラインと比較し、悪化した項目を返します。 遅延(p50・p99・p999)が許容割合を超えて増えた場合、
+   * スループットが許容割合を超えて減った場合、エラーが発生した場合を悪化とみなします。
+   *
+   * @param baseline  比較対象の結果
+   * @param tolerance 許容する悪化の割合(0.2 の場合は20%まで許容)
+   * @return 悪化した項目の説明(悪化がない場合は空)
+   */
+  List<String> regressionsAgainst(LoadTestReport baseline, double tolerance) {
+    List<String> regressions = new ArrayList<>();
+    endpoints.forEach((name, current) -> {
+      if (current.errorCount() > 0) {
+        regressions.add(name + ": エラーが " + current.errorCount() + " 件発生しました");
+      }
+      EndpointResult base = baseline.endpoints().get(name);
+      if (base == null) {
+        return;
+      }
+      checkLatency(regressions, name, "p50", base.p50Millis(), current.p50Millis(), tolerance);
+      checkLatency(regressions, name, "p99", base.p99Millis(), current.p99Millis(), tolerance);
+      checkLatency(regressions, name, "p999", base.p999Millis(), current.p999Millis(), tolerance);
+      if (current.throughputPerSecond() < base.throughputPerSecond() * (1 - tolerance)) {
+        regressions.add(String.format("%s: スループットが %.1f req/s から %.1f req/s に低下しました", name,
+            base.throughputPerSecond(), current.throughputPerSecond()));
+      }
+    });
+    return regressions;
+  }
+
+  private static void checkLatency(List<String> regressions, String name, String percentile,
+      double base, double current, double tolerance) {
+    if (current > base * (1 + tolerance)) {
+      regressions.add(String.format("%s: %s が %.2f ms から %.2f ms に悪化しました", name, percentile,
+          base, current));
+    }
+  }
+
+  static LoadTestReport of(Map<Endpoint, EndpointResult> results) {
+    Map<String, EndpointResult> endpoints = new LinkedHashMap<>();
+    results.forEach((endpoint, result) -> endpoints.put(endpoint.key(), result));
+    return new LoadTestReport(endpoints);
+  }
+}
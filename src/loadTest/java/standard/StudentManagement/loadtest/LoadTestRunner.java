@@ -0,0 +1,259 @@
+package standard.StudentManagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import javax.sql.DataSource;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import standard.StudentManagement.StudentManagementApplication;
+import standard.StudentManagement.fixture.StudentDataGenerator;
+import standard.StudentManagement.fixture.StudentDataSettings;
+import standard.StudentManagement.fixture.WeightedChoice;
+import standard.StudentManagement.loadtest.LoadTestReport.EndpointResult;
+
+/**
+ * アプリケーションを同一プロセスで起動し、エンドポイントごとの遅延とスループットを計測する負荷試験です。
+ * リクエストは処理の完了を待たずに一定間隔で送るオープンループ方式で、遅延は予定時刻から応答完了までを計測します。
+ * そのため、処理が詰まった場合の待ち時間も遅延に含まれます(coordinated omission の回避)。
+ * 結果はベースラインと比較し、悪化した場合は終了コード1で終了します。 引数は {@link LoadTestSettings} を参照してください。
+ */
+public class LoadTestRunner {
+
+  private static final List<String> SEARCH_COURSE_NAMES = List.of("Java入門", "Spring基礎",
+      "AWS基礎", "Python基礎");
+  private static final int ID_POOL_SIZE = 1_000;
+  private static final int UPDATE_POOL_SIZE = 100;
+
+  private LoadTestSettings settings;
+  private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+  private HttpClient httpClient = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .connectTimeout(Duration.ofSeconds(10))
+      .build();
+  private String baseUrl;
+  private List<String> studentIds = new ArrayList<>();
+  private List<ObjectNode> updatableDetails = new ArrayList<>();
+  private List<String> searchAreas;
+  private StudentDataGenerator registrationGenerator;
+  private AtomicLong registrationIndex = new AtomicLong();
+  private AtomicLong updateCount = new AtomicLong();
+
+  LoadTestRunner(LoadTestSettings settings) {
+    this.settings = settings;
+    this.searchAreas = List.copyOf(new StudentDataSettings().getAreaWeights().keySet());
+    // 実行ごとに異なる種を使い、登録するメールアドレスが過去の実行と重複しないようにする
+    this.registrationGenerator = new StudentDataGenerator(
+        new StudentDataSettings().setSeed(System.currentTimeMillis()));
+  }
+
+  public static void main(String[] args) throws Exception {
+    LoadTestSettings settings = LoadTestSettings.parse(args);
+    boolean regressed;
+    try (ServletWebServerApplicationContext context =
+        (ServletWebServerApplicationContext) SpringApplication.run(
+            StudentManagementApplication.class, settings.applicationArgs())) {
+      boolean virtualThreads = context.getEnvironment()
+          .getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+      System.out.println("リクエストを" + (virtualThreads ? "仮想スレッド" : "スレッドプール")
+          + "で処理します。");
+      LoadTestRunner runner = new LoadTestRunner(settings);
+      runner.prepare(context.getBean(DataSource.class), context.getWebServer().getPort());
+      regressed = runner.run();
+    }
+    System.exit(regressed ? 1 : 0);
+  }
+
+  /**
+   * 受講生データを登録し、リクエストに使用する受講生IDと更新用の受講生詳細を読み込みます。
+   */
+  void prepare(DataSource dataSource, int port) throws SQLException, IOException,
+      InterruptedException {
+    baseUrl = "http://localhost:" + port;
+    if (settings.students > 0) {
+      try (Connection connection = dataSource.getConnection()) {
+        StudentDataGenerator.InsertSummary summary = new StudentDataGenerator(
+            new StudentDataSettings().setStudentCount(settings.students).setSeed(settings.seed))
+            .insert(connection);
+        System.out.printf("受講生 %d 件(コース %d 件)を %d ミリ秒で登録しました。%n", summary.studentCount(),
+            summary.courseCount(), summary.elapsed().toMillis());
+      }
+    }
+
+    JsonNode page = objectMapper.readTree(httpClient.send(
+        HttpRequest.newBuilder(URI.create(baseUrl + "/studentPage?size=" + ID_POOL_SIZE)).build(),
+        BodyHandlers.ofString()).body());
+    for (JsonNode studentDetail : page.get("studentList")) {
+      studentIds.add(studentDetail.get("student").get("id").asText());
+    }
+    if (studentIds.isEmpty()) {
+      throw new IllegalStateException("受講生が登録されていないため負荷試験を実行できません。");
+    }
+    for (String id : studentIds.subList(0, Math.min(UPDATE_POOL_SIZE, studentIds.size()))) {
+      updatableDetails.add((ObjectNode) objectMapper.readTree(httpClient.send(
+          HttpRequest.newBuilder(URI.create(baseUrl + "/student/" + id)).build(),
+          BodyHandlers.ofString()).body()));
+    }
+  }
+
+  /**
+   * ウォームアップの後に計測を行い、結果の出力とベースラインとの比較を行います。
+   *
+   * @return ベースラインより悪化した場合は {@code true}
+   */
+  boolean run() throws IOException, InterruptedException {
+    System.out.printf("ウォームアップ %d 秒、計測 %d 秒、%d req/s で実行します。%n",
+        settings.warmup.toSeconds(), settings.duration.toSeconds(), settings.rate);
+    runPhase(settings.warmup);
+    LoadTestReport report = LoadTestReport.of(runPhase(settings.duration));
+
+    System.out.print(report.format());
+    report.write(settings.output);
+    System.out.println("結果を " + settings.output + " に出力しました。");
+
+    boolean regressed = false;
+    if (Files.exists(settings.baseline)) {
+      List<String> regressions = report.regressionsAgainst(LoadTestReport.read(settings.baseline),
+          settings.tolerance);
+      if (regressions.isEmpty()) {
+        System.out.println("ベースライン(" + settings.baseline + ")からの悪化はありません。");
+      } else {
+        System.out.println("ベースライン(" + settings.baseline + ")から悪化しました:");
+        regressions.forEach(regression -> System.out.println("  " + regression));
+        regressed = true;
+      }
+    } else {
+      System.out.println("ベースライン(" + settings.baseline + ")がないため比較を省略しました。");
+    }
+    if (settings.updateBaseline) {
+      report.write(settings.baseline);
+      System.out.println("今回の結果をベースラインとして保存しました。");
+    }
+    return regressed;
+  }
+
+  /**
+   * 指定した時間、設定した到着率でリクエストを送ります。 送信は予定時刻に行い、前のリクエストの完了を待ちません。
+   */
+  private Map<Endpoint, EndpointResult> runPhase(Duration duration) throws InterruptedException {
+    Map<Endpoint, Histogram> histograms = new EnumMap<>(Endpoint.class);
+    Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+    for (Endpoint endpoint : settings.mix.keySet()) {
+      histograms.put(endpoint, new ConcurrentHistogram(3));
+      errors.put(endpoint, new LongAdder());
+    }
+    WeightedChoice<Endpoint> mix = WeightedChoice.of(settings.mix);
+    SplittableRandom random = new SplittableRandom(settings.seed);
+    Semaphore concurrency = new Semaphore(settings.maxConcurrency);
+
+    long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate;
+    long requestCount = duration.toSeconds() * settings.rate;
+    long start = System.nanoTime();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (long i = 0; i < requestCount; i++) {
+        long intendedStart = start + i * intervalNanos;
+        long wait = intendedStart - System.nanoTime();
+        if (wait > 0) {
+          LockSupport.parkNanos(wait);
+        }
+        Endpoint endpoint = mix.next(random);
+        executor.execute(() -> {
+          boolean success = false;
+          try {
+            concurrency.acquire();
+            try {
+              int status = httpClient.send(request(endpoint), BodyHandlers.discarding())
+                  .statusCode();
+              success = status >= 200 && status < 300;
+            } finally {
+              concurrency.release();
+            }
+          } catch (IOException e) {
+            // 接続失敗やタイムアウトはエラーとして数える
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          } finally {
+            histograms.get(endpoint).recordValue(
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart));
+            if (!success) {
+              errors.get(endpoint).increment();
+            }
+          }
+        });
+      }
+    }
+    double seconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+
+    Map<Endpoint, EndpointResult> results = new EnumMap<>(Endpoint.class);
+    histograms.forEach((endpoint, histogram) -> results.put(endpoint,
+        EndpointResult.of(histogram, errors.get(endpoint).sum(), seconds)));
+    return results;
+  }
+
+  private HttpRequest request(Endpoint endpoint) throws IOException {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return switch (endpoint) {
+      case STUDENT_LIST -> get("/studentList");
+      case STUDENT -> get("/student/" + studentIds.get(random.nextInt(studentIds.size())));
+      case SEARCH_STUDENTS -> {
+        ObjectNode condition = objectMapper.createObjectNode();
+        if (random.nextBoolean()) {
+          condition.put("area", searchAreas.get(random.nextInt(searchAreas.size())));
+        } else {
+          condition.put("courseName",
+              SEARCH_COURSE_NAMES.get(random.nextInt(SEARCH_COURSE_NAMES.size())));
+        }
+        yield json("POST", "/searchStudents", condition.toString());
+      }
+      case REGISTER_STUDENT -> json("POST", "/registerStudent", objectMapper.writeValueAsString(
+          registrationGenerator.generate(registrationIndex.getAndIncrement())));
+      case UPDATE_STUDENT -> {
+        ObjectNode studentDetail = updatableDetails
+            .get(random.nextInt(updatableDetails.size())).deepCopy();
+        ((ObjectNode) studentDetail.get("student"))
+            .put("remark", "負荷試験による更新 " + updateCount.incrementAndGet());
+        yield json("PUT", "/updateStudent", studentDetail.toString());
+      }
+    };
+  }
+
+  private HttpRequest get(String path) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path))
+        .timeout(Duration.ofSeconds(30))
+        .GET()
+        .build();
+  }
+
+  private HttpRequest json(String method, String path, String body) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path))
+        .timeout(Duration.ofSeconds(30))
+        .header("Content-Type", "application/json")
+        .method(method, BodyPublishers.ofString(body))
+        .build();
+  }
+}
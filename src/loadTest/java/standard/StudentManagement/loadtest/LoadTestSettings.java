@@ -0,0 +1,118 @@
+package standard.StudentManagement.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 負荷試験の設定です。 コマンドライン引数 {@code --名前=値} から作成します。
+ * <pre>
+ * --rate=200                  1秒あたりのリクエスト数(到着間隔は処理の完了を待たずに一定)
+ * --duration=60 --warmup=10   計測時間とウォームアップ時間(秒)
+ * --max-concurrency=256       同時に処理中にできるリクエスト数の上限(超えた分は待機時間も遅延に含める)
+ * --mix=student:60,searchStudents:20,studentList:5,registerStudent:10,updateStudent:5
+ * --students=2000 --seed=42   事前に登録する受講生数と乱数の種(0の場合は登録しない)
+ * --url=... --user=... --password=...  ローカルのMySQLなどに接続する場合(省略時はH2のインメモリDB)
+ * --virtual-threads=true     リクエストを仮想スレッドで処理する(false はスレッドプール、省略時はアプリケーションの設定)
+ * --baseline=loadtest/baseline.json --output=build/reports/loadtest/result.json
+ * --tolerance=0.2             ベースラインからの悪化を許容する割合
+ * --update-baseline           今回の結果をベースラインとして保存する
+ * </pre>
+ */
+class LoadTestSettings {
+
+  int rate = 200;
+  Duration duration = Duration.ofSeconds(60);
+  Duration warmup = Duration.ofSeconds(10);
+  int maxConcurrency = 256;
+  Map<Endpoint, Double> mix = defaultMix();
+  long students = 2_000;
+  long seed = 42;
+  String url;
+  String user;
+  String password;
+  Boolean virtualThreads;
+  Path baseline = Path.of("loadtest", "baseline.json");
+  Path output = Path.of("build", "reports", "loadtest", "result.json");
+  double tolerance = 0.2;
+  boolean updateBaseline;
+
+  static LoadTestSettings parse(String[] args) {
+    LoadTestSettings settings = new LoadTestSettings();
+    for (String arg : args) {
+      if (arg.equals("--update-baseline")) {
+        settings.updateBaseline = true;
+        continue;
+      }
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("引数は --名前=値 の形式で指定してください: " + arg);
+      }
+      String name = arg.substring(2, arg.indexOf('='));
+      String value = arg.substring(arg.indexOf('=') + 1);
+      switch (name) {
+        case "rate" -> settings.rate = Integer.parseInt(value);
+        case "duration" -> settings.duration = Duration.ofSeconds(Long.parseLong(value));
+        case "warmup" -> settings.warmup = Duration.ofSeconds(Long.parseLong(value));
+        case "max-concurrency" -> settings.maxConcurrency = Integer.parseInt(value);
+        case "mix" -> settings.mix = parseMix(value);
+        case "students" -> settings.students = Long.parseLong(value);
+        case "seed" -> settings.seed = Long.parseLong(value);
+        case "url" -> settings.url = value;
+        case "user" -> settings.user = value;
+        case "password" -> settings.password = value;
+        case "virtual-threads" -> settings.virtualThreads = Boolean.valueOf(value);
+        case "baseline" -> settings.baseline = Path.of(value);
+        case "output" -> settings.output = Path.of(value);
+        case "tolerance" -> settings.tolerance = Double.parseDouble(value);
+        default -> throw new IllegalArgumentException("不明な引数です: --" + name);
+      }
+    }
+    return settings;
+  }
+
+  /**
+   * 起動するアプリケーションに渡す引数です。 接続先を指定しない場合はH2のインメモリDBを使用します。
+   */
+  String[] applicationArgs() {
+    Map<String, String> properties = new LinkedHashMap<>();
+    properties.put("server.port", "0");
+    if (url == null) {
+      properties.put("spring.datasource.url",
+          "jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1");
+      properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+      properties.put("spring.datasource.username", "sa");
+      properties.put("spring.datasource.password", "");
+      // H2は行ストリーミング(負のフェッチサイズ)に対応しないため、件数で指定する
+      properties.put("mybatis.configuration-properties.export-fetch-size", "1000");
+    } else {
+      properties.put("spring.datasource.url", url);
+      properties.put("spring.datasource.username", user);
+      properties.put("spring.datasource.password", password);
+    }
+    properties.put("spring.threads.virtual.enabled",
+        virtualThreads == null ? null : virtualThreads.toString());
+    return properties.entrySet().stream()
+        .filter(entry -> entry.getValue() != null)
+        .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+        .toArray(String[]::new);
+  }
+
+  private static Map<Endpoint, Double> defaultMix() {
+    Map<Endpoint, Double> mix = new EnumMap<>(Endpoint.class);
+    for (Endpoint endpoint : Endpoint.values()) {
+      mix.put(endpoint, endpoint.defaultWeight());
+    }
+    return mix;
+  }
+
+  private static Map<Endpoint, Double> parseMix(String value) {
+    Map<Endpoint, Double> mix = new EnumMap<>(Endpoint.class);
+    for (String entry : value.split(",")) {
+      String[] keyAndWeight = entry.split(":");
+      mix.put(Endpoint.fromKey(keyAndWeight[0].trim()), Double.parseDouble(keyAndWeight[1]));
+    }
+    return mix;
+  }
+}
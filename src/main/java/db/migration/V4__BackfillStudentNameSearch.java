@@ -0,0 +1,88 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import standard.StudentManagement.data.Student;
+
+/**
+ * V3で追加した名前検索用の正規化列とn-gram索引を、既存の受講生について埋めます。
+ * 正規化はアプリケーションと同じ {@link Student} の処理で行うため、SQLではなくJavaのマイグレーションとしています。
+ * 受講生IDの順に一定件数ずつ読み出し、バッチで更新します。
+ */
+public class V4__BackfillStudentNameSearch extends BaseJavaMigration {
+
+  private static final int BATCH_SIZE = 1000;
+
+  @Override
+  public void migrate(Context context) throws SQLException {
+    Connection connection = context.getConnection();
+    String afterId = "";
+    List<Student> students;
+    do {
+      students = selectStudents(connection, afterId);
+      if (!students.isEmpty()) {
+        updateNormalizedColumns(connection, students);
+        insertNameGrams(connection, students);
+        afterId = students.get(students.size() - 1).getId();
+      }
+    } while (students.size() == BATCH_SIZE);
+  }
+
+  private List<Student> selectStudents(Connection connection, String afterId)
+      throws SQLException {
+    List<Student> students = new ArrayList<>(BATCH_SIZE);
+    try (PreparedStatement statement = connection.prepareStatement(
+        "SELECT id, name, kana_name, nickname FROM students WHERE id > ? ORDER BY id LIMIT ?")) {
+      statement.setString(1, afterId);
+      statement.setInt(2, BATCH_SIZE);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          Student student = new Student();
+          student.setId(resultSet.getString("id"));
+          student.setName(resultSet.getString("name"));
+          student.setKanaName(resultSet.getString("kana_name"));
+          student.setNickname(resultSet.getString("nickname"));
+          students.add(student);
+        }
+      }
+    }
+    return students;
+  }
+
+  private void updateNormalizedColumns(Connection connection, List<Student> students)
+      throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(
+        "UPDATE students SET name_normalized = ?, kana_name_normalized = ?,"
+            + " nickname_normalized = ? WHERE id = ?")) {
+      for (Student student : students) {
+        statement.setString(1, student.getNameNormalized());
+        statement.setString(2, student.getKanaNameNormalized());
+        statement.setString(3, student.getNicknameNormalized());
+        statement.setString(4, student.getId());
+        statement.addBatch();
+      }
+      statement.executeBatch();
+    }
+  }
+
+  private void insertNameGrams(Connection connection, List<Student> students)
+      throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(
+        "INSERT INTO student_name_grams (student_id, gram) VALUES (?, ?)")) {
+      for (Student student : students) {
+        for (String gram : student.getNameGrams()) {
+          statement.setString(1, student.getId());
+          statement.setString(2, gram);
+          statement.addBatch();
+        }
+      }
+      statement.executeBatch();
+    }
+  }
+}
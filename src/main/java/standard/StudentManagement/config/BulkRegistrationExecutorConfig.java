@@ -0,0 +1,32 @@
+package standard.StudentManagement.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 受講生一括登録の入力チェック・登録の段階を実行するスレッドプールの設定です。
+ * 一括登録1件につき2スレッドを使用するため、同時に処理する一括登録の数の上限の2倍のスレッドを用意します。
+ */
+@Configuration
+public class BulkRegistrationExecutorConfig {
+
+  /**
+   * 一括登録の各段階を実行するスレッドプールです。 アプリケーションの終了時に停止します。
+   *
+   * @param maxConcurrentUploads 同時に処理する一括登録の数の上限
+   * @return スレッドプール
+   */
+  @Bean
+  public ThreadPoolTaskExecutor bulkRegistrationExecutor(
+      @Value("${student.bulk.max-concurrent-uploads:4}") int maxConcurrentUploads) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setThreadNamePrefix("bulk-registration-");
+    executor.setCorePoolSize(maxConcurrentUploads * 2);
+    executor.setMaxPoolSize(maxConcurrentUploads * 2);
+    // 同時に処理する一括登録の数はサービスで上限までに抑えるため、キューに積まれるのは終了直後のスレッドが空くまでの間だけ
+    executor.setQueueCapacity(maxConcurrentUploads * 2);
+    return executor;
+  }
+}
@@ -0,0 +1,127 @@
+package standard.StudentManagement.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * 同時に貸し出すJDBC接続の数を許可数で制限するデータソースです。
+ * 仮想スレッドでは処理中のリクエスト数に上限がないため、接続の取得を許可の取得待ちとして公平な順番で待機させ、
+ * 接続プールの上限を超える取得要求がプールに殺到しないようにします。 許可は接続のクローズ時に返却されます。
+ */
+public class JdbcPermitDataSource extends DelegatingDataSource {
+
+  private Semaphore permits;
+  private int maxPermits;
+  private long acquireTimeoutMillis;
+
+  /**
+   * @param targetDataSource     実際に接続を提供するデータソース
+   * @param maxPermits           同時に貸し出す接続数の上限
+   * @param acquireTimeoutMillis 許可の取得を待つ時間の上限(ミリ秒)
+   */
+  public JdbcPermitDataSource(DataSource targetDataSource, int maxPermits,
+      long acquireTimeoutMillis) {
+    super(targetDataSource);
+    this.permits = new Semaphore(maxPermits, true);
+    this.maxPermits = maxPermits;
+    this.acquireTimeoutMillis = acquireTimeoutMillis;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquirePermit();
+    try {
+      return releasingOnClose(super.getConnection());
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquirePermit();
+    try {
+      return releasingOnClose(super.getConnection(username, password));
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /**
+   * @return 同時に貸し出す接続数の上限
+   */
+  public int getMaxPermits() {
+    return maxPermits;
+  }
+
+  /**
+   * @return 貸し出し中の接続数
+   */
+  public int getInUsePermits() {
+    return maxPermits - permits.availablePermits();
+  }
+
+  /**
+   * @return 許可の取得を待っているスレッド数(概算)
+   */
+  public int getWaitingThreads() {
+    return permits.getQueueLength();
+  }
+
+  private void acquirePermit() throws SQLException {
+    try {
+      if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        throw new SQLTransientConnectionException(
+            "JDBC接続の取得待ちが" + acquireTimeoutMillis + "ミリ秒を超えました。");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException("JDBC接続の取得待ちが中断されました。", e);
+    }
+  }
+
+  /**
+   * クローズ時に許可を返却する接続を返します。 クローズが複数回呼ばれても返却は1回だけ行います。
+   */
+  private Connection releasingOnClose(Connection target) {
+    AtomicBoolean released = new AtomicBoolean();
+    return (Connection) Proxy.newProxyInstance(JdbcPermitDataSource.class.getClassLoader(),
+        new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "equals":
+              return proxy == args[0];
+            case "hashCode":
+              return System.identityHashCode(proxy);
+            case "close":
+              try {
+                return invoke(target, method, args);
+              } finally {
+                if (released.compareAndSet(false, true)) {
+                  permits.release();
+                }
+              }
+            default:
+              return invoke(target, method, args);
+          }
+        });
+  }
+
+  private static Object invoke(Connection target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+  }
+}
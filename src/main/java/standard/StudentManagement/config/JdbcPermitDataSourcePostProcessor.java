@@ -0,0 +1,34 @@
+package standard.StudentManagement.config;
+
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 仮想スレッドでリクエストを処理する場合に、データソースを {@link JdbcPermitDataSource} で包みます。
+ * プラットフォームスレッドのプールで処理する場合はスレッド数が同時接続数の上限となるため、何もしません。
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class JdbcPermitDataSourcePostProcessor implements BeanPostProcessor {
+
+  private int maxPermits;
+  private long acquireTimeoutMillis;
+
+  public JdbcPermitDataSourcePostProcessor(
+      @Value("${student.jdbc.permits:10}") int maxPermits,
+      @Value("${student.jdbc.permit-timeout-millis:30000}") long acquireTimeoutMillis) {
+    this.maxPermits = maxPermits;
+    this.acquireTimeoutMillis = acquireTimeoutMillis;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (bean instanceof DataSource dataSource && !(bean instanceof JdbcPermitDataSource)) {
+      return new JdbcPermitDataSource(dataSource, maxPermits, acquireTimeoutMillis);
+    }
+    return bean;
+  }
+}
@@ -0,0 +1,42 @@
+package standard.StudentManagement.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link JdbcPermitDataSource} の許可数の利用状況をゲージとして公開します。
+ * 接続プール自体の状態(使用中・待機中の接続数など)は Actuator が {@code hikaricp.connections.*} として公開します。
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class JdbcPermitMetrics implements MeterBinder {
+
+  private DataSource dataSource;
+
+  public JdbcPermitMetrics(DataSource dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    if (!(dataSource instanceof JdbcPermitDataSource permitDataSource)) {
+      return;
+    }
+    Gauge.builder("student.jdbc.permits.active", permitDataSource,
+            JdbcPermitDataSource::getInUsePermits)
+        .description("貸し出し中のJDBC接続の許可数")
+        .register(registry);
+    Gauge.builder("student.jdbc.permits.max", permitDataSource,
+            JdbcPermitDataSource::getMaxPermits)
+        .description("JDBC接続の許可数の上限")
+        .register(registry);
+    Gauge.builder("student.jdbc.permits.pending", permitDataSource,
+            JdbcPermitDataSource::getWaitingThreads)
+        .description("JDBC接続の許可を待っているスレッド数")
+        .register(registry);
+  }
+}
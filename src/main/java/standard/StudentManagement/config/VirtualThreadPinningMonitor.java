@@ -0,0 +1,121 @@
+package standard.StudentManagement.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 仮想スレッドがキャリアスレッドに固定(pinning)された箇所を報告する監視機能です。
+ * JFR の {@code jdk.VirtualThreadPinned} イベントを購読し、固定された時間が閾値を超えたものをログに出力して、
+ * 発生箇所ごとの件数を集計します。 発生箇所は MyBatis・JDBCドライバ・接続プール・アプリケーションのうち最も内側のフレームで表します。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+  private static final List<String> REPORTED_PACKAGES = List.of("com.mysql.", "org.apache.ibatis.",
+      "org.mybatis.", "com.zaxxer.hikari.", "standard.StudentManagement.");
+  private static final int LOGGED_FRAMES = 8;
+
+  private Duration threshold;
+  private RecordingStream recordingStream;
+  private LongAdder pinnedCount = new LongAdder();
+  private Map<String, LongAdder> pinnedCountByFrame = new ConcurrentHashMap<>();
+
+  @Autowired
+  public VirtualThreadPinningMonitor(
+      @Value("${student.virtual-threads.pinning-threshold-millis:20}") long thresholdMillis) {
+    this(Duration.ofMillis(thresholdMillis));
+  }
+
+  VirtualThreadPinningMonitor(Duration threshold) {
+    this.threshold = threshold;
+  }
+
+  /**
+   * イベントの購読を開始します。
+   */
+  @PostConstruct
+  public void start() {
+    recordingStream = new RecordingStream();
+    recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+    recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+    recordingStream.startAsync();
+  }
+
+  /**
+   * イベントの購読を終了します。
+   */
+  @PreDestroy
+  public void stop() {
+    if (recordingStream != null) {
+      recordingStream.close();
+    }
+  }
+
+  /**
+   * @return 閾値を超えて固定された回数
+   */
+  public long getPinnedCount() {
+    return pinnedCount.sum();
+  }
+
+  /**
+   * @return 発生箇所ごとの固定された回数
+   */
+  public Map<String, Long> getPinnedCountByFrame() {
+    return pinnedCountByFrame.entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum()));
+  }
+
+  void onPinned(RecordedEvent event) {
+    RecordedStackTrace stackTrace = event.getStackTrace();
+    List<RecordedFrame> frames = stackTrace == null ? List.of() : stackTrace.getFrames();
+    String location = reportedFrame(frames);
+
+    pinnedCount.increment();
+    pinnedCountByFrame.computeIfAbsent(location, key -> new LongAdder()).increment();
+    log.warn("仮想スレッドがキャリアスレッドに{}ミリ秒固定されました: {}\n{}",
+        event.getDuration().toMillis(), location, describe(frames));
+  }
+
+  /**
+   * 報告対象のパッケージに属する最も内側のフレームを返します。 該当しない場合は先頭のフレームを返します。
+   */
+  private String reportedFrame(List<RecordedFrame> frames) {
+    return frames.stream()
+        .filter(RecordedFrame::isJavaFrame)
+        .map(VirtualThreadPinningMonitor::format)
+        .filter(frame -> REPORTED_PACKAGES.stream().anyMatch(frame::startsWith))
+        .findFirst()
+        .orElseGet(() -> frames.isEmpty() ? "(スタックトレースなし)" : format(frames.get(0)));
+  }
+
+  private String describe(List<RecordedFrame> frames) {
+    return frames.stream()
+        .limit(LOGGED_FRAMES)
+        .map(frame -> "\tat " + format(frame))
+        .collect(Collectors.joining("\n"));
+  }
+
+  private static String format(RecordedFrame frame) {
+    return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+        + ":" + frame.getLineNumber();
+  }
+}
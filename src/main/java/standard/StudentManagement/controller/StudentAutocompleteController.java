@@ -0,0 +1,81 @@
+package standard.StudentManagement.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import standard.StudentManagement.domain.AutocompleteStatistics;
+import standard.StudentManagement.domain.StudentNameSuggestion;
+import standard.StudentManagement.exception.ErrorResponse;
+import standard.StudentManagement.service.StudentAutocompleteService;
+
+/**
+ * 受講生の名前・カナ名の入力補完をREST APIとして受け付けるControllerです。 候補はメモリ上のトライから返し、データベースには問い合わせません。
+ */
+@Tag(name = "受講生入力補完API", description = "受講生の名前・カナ名の入力補完を提供します。")
+@Validated
+@CrossOrigin(origins = {"http://127.0.0.1:5500", "http://localhost:5500"})
+@RestController
+public class StudentAutocompleteController {
+
+  private StudentAutocompleteService service;
+
+  @Autowired
+  public StudentAutocompleteController(StudentAutocompleteService service) {
+    this.service = service;
+  }
+
+  /**
+   * 受講生名の入力補完機能です。 名前またはカナ名が入力された文字列で始まる受講生を返します。
+   * カタカナとひらがな、全角と半角は区別しません。
+   *
+   * @param prefix 入力された文字列
+   * @param limit  返す件数(1〜50)
+   * @return 候補の一覧
+   */
+  @Operation(summary = "受講生名の入力補完", description = "名前またはカナ名が入力された文字列で始まる受講生を取得します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "候補の一覧",
+              content = @Content(mediaType = "application/json",
+                  array = @ArraySchema(schema = @Schema(implementation = StudentNameSuggestion.class)))),
+          @ApiResponse(responseCode = "400", description = "入力が不正です",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = ErrorResponse.class)))
+      }
+  )
+  @GetMapping("/studentNames/autocomplete")
+  public List<StudentNameSuggestion> autocomplete(
+      @Parameter(description = "入力された文字列")
+      @RequestParam
+      @Size(max = 100, message = "入力は100文字以内で指定してください。") String prefix,
+      @Parameter(description = "返す件数")
+      @RequestParam(defaultValue = "10")
+      @Min(value = 1, message = "件数は1以上を指定してください。")
+      @Max(value = 50, message = "件数は50以下を指定してください。") int limit) {
+    return service.suggest(prefix, limit);
+  }
+
+  /**
+   * 入力補完に使用するトライの状態とメモリ使用量の概算を取得します。
+   *
+   * @return トライの状態
+   */
+  @Operation(summary = "入力補完の状態", description = "入力補完のトライのキー数・節点数・メモリ使用量の概算を取得します。")
+  @GetMapping("/studentNames/autocomplete/stats")
+  public AutocompleteStatistics getStatistics() {
+    return service.getStatistics();
+  }
+}
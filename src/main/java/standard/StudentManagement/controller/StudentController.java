@@ -1,14 +1,27 @@
 package standard.StudentManagement.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -17,12 +30,20 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import standard.StudentManagement.data.Student;
+import standard.StudentManagement.domain.BulkRegistrationResult;
+import standard.StudentManagement.domain.CacheStatistics;
 import standard.StudentManagement.domain.StudentDetail;
+import standard.StudentManagement.domain.StudentPage;
 import standard.StudentManagement.domain.StudentSearchCondition;
+import standard.StudentManagement.domain.StudentSearchPage;
 import standard.StudentManagement.exception.ErrorResponse;
+import standard.StudentManagement.exception.StudentNotFoundException;
 import standard.StudentManagement.exception.TestException;
+import standard.StudentManagement.service.StudentBulkRegistrationService;
 import standard.StudentManagement.service.StudentService;
 
 /**
@@ -34,11 +55,19 @@ import standard.StudentManagement.service.StudentService;
 @RestController
 public class StudentController {
 
+  private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(
+      "application/x-ndjson");
+
   private StudentService service;
+  private StudentBulkRegistrationService bulkRegistrationService;
+  private ObjectMapper objectMapper;
 
   @Autowired
-  public StudentController(StudentService service) {
+  public StudentController(StudentService service,
+      StudentBulkRegistrationService bulkRegistrationService, ObjectMapper objectMapper) {
     this.service = service;
+    this.bulkRegistrationService = bulkRegistrationService;
+    this.objectMapper = objectMapper;
   }
 
   /**
@@ -52,16 +81,100 @@ public class StudentController {
     return service.getStudentList();
   }
 
+  /**
+   * 受講生一覧の出力機能です。 削除されていない全受講生の受講生詳細を、1行に1件のJSON(NDJSON)として
+   * データベースから読み出しながらレスポンスへ直接書き出します。
+   *
+   * @return 受講生詳細を1行ずつ書き出すレスポンスボディ
+   */
+  @Operation(summary = "一覧出力", description = "受講生詳細の一覧をNDJSON形式でストリーミング出力します。")
+  @GetMapping(value = "/studentList/export", produces = "application/x-ndjson")
+  public ResponseEntity<StreamingResponseBody> exportStudentList() {
+    // 区切りは各行末の改行のみとし、1件ごとのフラッシュは行わない
+    ObjectWriter writer = objectMapper.writerFor(StudentDetail.class)
+        .withRootValueSeparator((String) null)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    StreamingResponseBody body = outputStream -> {
+      try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        service.exportStudentDetails(studentDetail -> {
+          try {
+            writer.writeValue(generator, studentDetail);
+            generator.writeRaw('\n');
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      }
+    };
+    return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+  }
+
+  /**
+   * 受講生一覧のページ検索機能です。 受講生IDの昇順で、指定したIDより後ろの受講生を指定件数まで取得します。
+   * 次のページはレスポンスの {@code nextAfterId} を {@code afterId} に指定して取得します。
+   *
+   * @param afterId 前ページ最後の受講生ID(先頭ページの場合は省略)
+   * @param size    1ページあたりの件数(1〜1000)
+   * @return 受講生詳細のページ
+   */
+  @Operation(summary = "一覧ページ検索", description = "受講生の一覧を受講生IDの順にページ単位で検索します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "受講生詳細のページ",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = StudentPage.class))),
+          @ApiResponse(responseCode = "400", description = "ページ指定が不正です",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = ErrorResponse.class)))
+      }
+  )
+  @GetMapping("/studentPage")
+  public StudentPage getStudentPage(
+      @Parameter(description = "前ページ最後の受講生ID")
+      @RequestParam(required = false) String afterId,
+      @Parameter(description = "1ページあたりの件数")
+      @RequestParam(defaultValue = "100")
+      @Min(value = 1, message = "件数は1以上を指定してください。")
+      @Max(value = 1000, message = "件数は1000以下を指定してください。") int size) {
+    return service.getStudentPage(afterId, size);
+  }
+
   /**
    * 受講生検索機能です。 IDに紐づく任意の受講生の情報を取得します。
    *
    * @param id 受講生ID
    * @return 受講生
+   * @throws StudentNotFoundException 指定されたIDの受講生が存在しない場合
    */
-  @Operation(summary = "受講生情報取得", description = "指定されたIDの受講生情報を取得します。")
+  @Operation(summary = "受講生情報取得", description = "指定されたIDの受講生情報を取得します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "受講生詳細",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = StudentDetail.class))),
+          @ApiResponse(responseCode = "404", description = "受講生が存在しません",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = String.class)))
+      }
+  )
   @GetMapping("/student/{id}")
   public StudentDetail getStudent(@PathVariable String id) {
-    return service.getStudentProfile(id);
+    StudentDetail studentDetail = service.getStudentProfile(id);
+    if (studentDetail == null) {
+      throw new StudentNotFoundException("指定されたIDの受講生は存在しません。 ID=" + id);
+    }
+    return studentDetail;
+  }
+
+  /**
+   * 受講生詳細のキャッシュの利用状況を取得します。 キャッシュの件数上限や有効期限の調整に使用します。
+   *
+   * @return キャッシュの利用状況
+   */
+  @Operation(summary = "受講生詳細キャッシュの利用状況", description = "受講生詳細のキャッシュのヒット数・ミス数・破棄数を取得します。")
+  @GetMapping("/studentProfileCache/stats")
+  public CacheStatistics getStudentProfileCacheStatistics() {
+    return service.getStudentProfileCacheStatistics();
   }
 
   /**
@@ -91,11 +204,57 @@ public class StudentController {
     return ResponseEntity.ok(responseStudentDetail);
   }
 
+  /**
+   * 受講生一括登録機能です。 受講生詳細のJSON配列を読み込みながら、入力チェックと登録をまとめて行います。
+   * 入力チェックや登録に失敗した行があっても他の行の登録は継続し、行ごとの結果を返します。
+   *
+   * @param request 受講生詳細のJSON配列を本文に持つリクエスト
+   * @return 一括登録の結果
+   * @throws IOException リクエスト本文の読み込みに失敗した場合
+   */
+  @Operation(summary = "受講生一括登録(JSON)", description = "受講生詳細のJSON配列から受講生を一括登録します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "一括登録の処理が完了しました",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = BulkRegistrationResult.class)))
+      }
+  )
+  @PostMapping(value = "/registerStudents", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<BulkRegistrationResult> registerStudentsFromJson(HttpServletRequest request)
+      throws IOException {
+    return ResponseEntity.ok(bulkRegistrationService.registerFromJson(request.getInputStream()));
+  }
+
+  /**
+   * 受講生一括登録機能です。 受講生のCSVを読み込みながら、入力チェックと登録をまとめて行います。
+   * 文字コードの指定がない場合はUTF-8として読み込みます。
+   *
+   * @param request 受講生のCSVを本文に持つリクエスト
+   * @return 一括登録の結果
+   * @throws IOException リクエスト本文の読み込みに失敗した場合
+   */
+  @Operation(summary = "受講生一括登録(CSV)", description = "受講生のCSVから受講生を一括登録します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "一括登録の処理が完了しました",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = BulkRegistrationResult.class)))
+      }
+  )
+  @PostMapping(value = "/registerStudents", consumes = "text/csv")
+  public ResponseEntity<BulkRegistrationResult> registerStudentsFromCsv(HttpServletRequest request)
+      throws IOException {
+    Charset charset = request.getCharacterEncoding() == null
+        ? StandardCharsets.UTF_8 : Charset.forName(request.getCharacterEncoding());
+    return ResponseEntity.ok(bulkRegistrationService.registerFromCsv(
+        new InputStreamReader(request.getInputStream(), charset)));
+  }
+
   /**
    * 受講生更新機能です。
    *
    * @param studentDetail 更新する受講生詳細情報
    * @return 更新処理の結果メッセージ
+   * @throws StudentNotFoundException 指定されたIDの受講生が存在しない場合
    */
 
   @Operation(summary = "受講生更新", description = "受講生情報を更新します。",
@@ -106,6 +265,9 @@ public class StudentController {
           @ApiResponse(responseCode = "400", description = "入力値が不正です",
               content = @Content(mediaType = "application/json",
                   schema = @Schema(implementation = ErrorResponse.class))),
+          @ApiResponse(responseCode = "404", description = "受講生が存在しません",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = String.class))),
           @ApiResponse(responseCode = "500", description = "サーバーエラー",
               content = @Content(mediaType = "application/json",
                   schema = @Schema(implementation = ErrorResponse.class)))
@@ -126,7 +288,7 @@ public class StudentController {
   }
 
   /**
-   * 受講生の検索条件を指定して検索を行います。
+   * 受講生の検索条件を指定して検索を行います。 結果は受講生IDの順に、ページ件数(未指定の場合は1000件)までです。
    *
    * @param condition 検索条件（名前、メールアドレス、地域、性別、年齢範囲、コース名、申込状況、削除フラグ）
    * @return 条件に一致した受講生一覧
@@ -151,4 +313,60 @@ public class StudentController {
     List<Student> students = service.searchStudentByCondition(condition);
     return ResponseEntity.ok(students);
   }
+
+  /**
+   * 受講生の検索条件を指定して1ページ分の検索を行います。 先頭ページでは一致件数もあわせて返します。
+   * 次のページは、返された次ページの起点IDを検索条件に指定して取得します。
+   *
+   * @param condition 検索条件（名前、メールアドレス、地域、性別、年齢範囲、コース名、申込状況、削除フラグ、ページ件数、起点ID）
+   * @return 条件に一致した受講生のページ
+   */
+  @Operation(summary = "条件付き受講生ページ検索",
+      description = "指定された検索条件に一致する受講生を受講生IDの順にページ単位で取得します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "検索結果の受講生のページ",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = StudentSearchPage.class))),
+          @ApiResponse(responseCode = "400", description = "検索条件が不正です",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = ErrorResponse.class))),
+          @ApiResponse(responseCode = "500", description = "サーバーエラー",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = ErrorResponse.class)))
+      }
+  )
+  @PostMapping("/searchStudentPage")
+  public StudentSearchPage searchStudentPage(
+      @RequestBody @Valid StudentSearchCondition condition) {
+    return service.searchStudentPageByCondition(condition);
+  }
+
+  /**
+   * 受講生の検索条件を指定して検索を行い、コース情報と申込状況を含む受講生詳細を返します。
+   * 検索結果ごとに受講生情報取得を呼び出す必要はありません。
+   *
+   * @param condition 検索条件（名前、メールアドレス、地域、性別、年齢範囲、コース名、申込状況、削除フラグ）
+   * @return 条件に一致した受講生の受講生詳細一覧
+   */
+  @Operation(summary = "条件付き受講生詳細検索",
+      description = "指定された検索条件に一致する受講生を、コース情報と申込状況を含めて取得します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "検索結果の受講生詳細一覧",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = StudentDetail.class))),
+          @ApiResponse(responseCode = "400", description = "検索条件が不正です",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = ErrorResponse.class))),
+          @ApiResponse(responseCode = "500", description = "サーバーエラー",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = ErrorResponse.class)))
+      }
+  )
+  @PostMapping("/searchStudentDetails")
+  public ResponseEntity<List<StudentDetail>> searchStudentDetails(
+      @RequestBody @Valid StudentSearchCondition condition) {
+
+    List<StudentDetail> studentDetails = service.searchStudentDetailsByCondition(condition);
+    return ResponseEntity.ok(studentDetails);
+  }
 }
@@ -0,0 +1,56 @@
+package standard.StudentManagement.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import standard.StudentManagement.domain.StudentFacetCondition;
+import standard.StudentManagement.domain.StudentFacetCounts;
+import standard.StudentManagement.exception.ErrorResponse;
+import standard.StudentManagement.service.StudentFacetService;
+
+/**
+ * 受講生の項目の値ごとの人数の集計をREST APIとして受け付けるControllerです。 集計はメモリ上のビットマップ索引で行い、データベースには問い合わせません。
+ */
+@Tag(name = "受講生集計API", description = "受講生の地域・性別・年代・コース名・申込状況ごとの人数を提供します。")
+@Validated
+@CrossOrigin(origins = {"http://127.0.0.1:5500", "http://localhost:5500"})
+@RestController
+public class StudentFacetController {
+
+  private StudentFacetService service;
+
+  @Autowired
+  public StudentFacetController(StudentFacetService service) {
+    this.service = service;
+  }
+
+  /**
+   * 受講生の集計機能です。 絞り込み条件に一致する受講生数と、地域・性別・年代・コース名・申込状況ごとの人数を返します。
+   *
+   * @param condition 絞り込み条件(地域、性別、年代、コース名、申込状況)
+   * @return 集計結果
+   */
+  @Operation(summary = "受講生集計", description = "絞り込み条件に一致する受講生の、項目の値ごとの人数を取得します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "集計結果",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = StudentFacetCounts.class))),
+          @ApiResponse(responseCode = "400", description = "絞り込み条件が不正です",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = ErrorResponse.class)))
+      }
+  )
+  @PostMapping("/studentFacets")
+  public StudentFacetCounts count(@RequestBody @Valid StudentFacetCondition condition) {
+    return service.count(condition);
+  }
+}
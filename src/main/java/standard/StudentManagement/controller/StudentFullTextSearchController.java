@@ -0,0 +1,88 @@
+package standard.StudentManagement.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import standard.StudentManagement.domain.SearchIndexStatus;
+import standard.StudentManagement.domain.StudentFullTextCondition;
+import standard.StudentManagement.domain.StudentFullTextSearchPage;
+import standard.StudentManagement.exception.ErrorResponse;
+import standard.StudentManagement.service.StudentFullTextSearchService;
+
+/**
+ * 受講生の全文検索と、全文検索索引の管理をREST APIとして受け付けるControllerです。
+ * {@code student.search-index.enabled=true} の場合だけ有効になります。
+ */
+@Tag(name = "受講生全文検索API", description = "受講生の全文検索と索引の再構築を提供します。")
+@Validated
+@CrossOrigin(origins = {"http://127.0.0.1:5500", "http://localhost:5500"})
+@RestController
+@ConditionalOnProperty(name = "student.search-index.enabled", havingValue = "true")
+public class StudentFullTextSearchController {
+
+  private StudentFullTextSearchService service;
+
+  @Autowired
+  public StudentFullTextSearchController(StudentFullTextSearchService service) {
+    this.service = service;
+  }
+
+  /**
+   * 受講生の全文検索機能です。 キーワードを名前・カナ名・ニックネーム・メールアドレス・備考・コース名から探し、
+   * 関連度の高い順に受講生詳細を返します。 地域・性別・年齢範囲・コース名・申込状況で絞り込めます。
+   *
+   * @param condition 検索条件(キーワード、地域、性別、年齢範囲、コース名、申込状況、ページ番号、ページ件数)
+   * @return 検索結果のページ
+   */
+  @Operation(summary = "受講生全文検索",
+      description = "キーワードに関連する受講生を関連度の高い順にページ単位で取得します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "検索結果のページ",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = StudentFullTextSearchPage.class))),
+          @ApiResponse(responseCode = "400", description = "検索条件が不正です",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = ErrorResponse.class))),
+          @ApiResponse(responseCode = "500", description = "サーバーエラー",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = ErrorResponse.class)))
+      }
+  )
+  @PostMapping("/fullTextSearch")
+  public StudentFullTextSearchPage search(@RequestBody @Valid StudentFullTextCondition condition) {
+    return service.search(condition);
+  }
+
+  /**
+   * 全文検索索引の状態を取得します。
+   *
+   * @return 索引の状態
+   */
+  @Operation(summary = "全文検索索引の状態", description = "全文検索索引に登録されている受講生数を取得します。")
+  @GetMapping("/searchIndex/status")
+  public SearchIndexStatus getStatus() {
+    return service.getStatus();
+  }
+
+  /**
+   * 全文検索索引をデータベースの全受講生から作り直します。 作り直しが終わるまで、検索は以前の索引に対して行われます。
+   *
+   * @return 作り直した索引の状態
+   */
+  @Operation(summary = "全文検索索引の再構築", description = "全文検索索引をデータベースの全受講生から作り直します。")
+  @PostMapping("/searchIndex/rebuild")
+  public SearchIndexStatus rebuild() {
+    return service.rebuild();
+  }
+}
@@ -1,8 +1,9 @@
 package standard.StudentManagement.controller.converter;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 import org.springframework.stereotype.Component;
 import standard.StudentManagement.data.ApplicationStatus;
 import standard.StudentManagement.data.StatusType;
@@ -19,7 +20,8 @@ public class StudentConverter {
 
   /**
    * 受講生に紐づく受講生コース情報をマッピングする。
-   * 受講生コース情報は受講生に対して複数存在するのでループを回して受講生詳細情報を組み立てる。
+   * 受講生コース情報を一度だけ走査して受講生IDごとにまとめてから受講生詳細情報を組み立てるため、
+   * 処理量は受講生数とコース数の合計に比例します。受講生の並び順と、各受講生内のコースの並び順は入力のまま保持されます。
    * コースに申込状況が存在する場合は、statusId から status（文字列）を補完して整合性を保ちます。
    *
    * @param studentList　受講生一覧
@@ -28,26 +30,56 @@ public class StudentConverter {
    */
   public List<StudentDetail> convertStudentDetails(List<Student> studentList,
       List<StudentCourse> studentCourseList) {
-    List<StudentDetail> studentDetails = new ArrayList<>();
+    Map<String, List<StudentCourse>> courseMap = groupByStudentId(studentCourseList);
+
+    List<StudentDetail> studentDetails = new ArrayList<>(studentList.size());
     studentList.forEach(student -> {
       StudentDetail studentDetail = new StudentDetail();
       studentDetail.setStudent(student);
 
-      List<StudentCourse> convertStudentCourseList = studentCourseList.stream()
-          .filter(studentCourse -> student.getId().equals(studentCourse.getStudentId()))
-          .peek(course -> {
-            ApplicationStatus status = course.getApplicationStatus();
-            if (status != null
-                && status.getStatus() == null
-                && StatusType.fromId(status.getStatusId()) != null) {
-              status.setStatusId(status.getStatusId());
-            }
-          })
-          .collect(Collectors.toList());
+      List<StudentCourse> groupedCourseList = courseMap.get(student.getId());
+      List<StudentCourse> convertStudentCourseList = new ArrayList<>(
+          groupedCourseList == null ? 0 : groupedCourseList.size());
+      if (groupedCourseList != null) {
+        groupedCourseList.forEach(course -> {
+          complementStatus(course);
+          convertStudentCourseList.add(course);
+        });
+      }
 
       studentDetail.setStudentCourseList(convertStudentCourseList);
       studentDetails.add(studentDetail);
     });
     return studentDetails;
   }
+
+  /**
+   * 受講生コース情報を受講生IDごとにまとめます。各リスト内の並び順は入力の順序を保持します。
+   *
+   * @param studentCourseList 受講生コース情報のリスト
+   * @return 受講生IDをキーとした受講生コース情報のマップ
+   */
+  private Map<String, List<StudentCourse>> groupByStudentId(
+      List<StudentCourse> studentCourseList) {
+    Map<String, List<StudentCourse>> courseMap = new HashMap<>();
+    for (StudentCourse studentCourse : studentCourseList) {
+      courseMap.computeIfAbsent(studentCourse.getStudentId(), key -> new ArrayList<>())
+          .add(studentCourse);
+    }
+    return courseMap;
+  }
+
+  /**
+   * 申込状況の status が未設定で statusId が有効な場合に、statusId から status を補完します。
+   *
+   * @param course 受講生コース情報
+   */
+  private void complementStatus(StudentCourse course) {
+    ApplicationStatus status = course.getApplicationStatus();
+    if (status != null
+        && status.getStatus() == null
+        && StatusType.fromId(status.getStatusId()) != null) {
+      status.setStatusId(status.getStatusId());
+    }
+  }
 }
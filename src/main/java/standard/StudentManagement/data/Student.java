@@ -1,12 +1,16 @@
 package standard.StudentManagement.data;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import standard.StudentManagement.domain.SearchTextNormalizer;
 
 @Schema(description = "受講生")
 @Getter
@@ -40,4 +44,48 @@ public class Student {
   private String remark;
 
   private boolean deleted;
+
+  /**
+   * 検索用に正規化した名前を返します。 登録・更新時に {@code name_normalized} 列へ保存します。
+   *
+   * @return 正規化した名前
+   */
+  @JsonIgnore
+  public String getNameNormalized() {
+    return SearchTextNormalizer.normalize(name);
+  }
+
+  /**
+   * 検索用に正規化したカナ名を返します。 登録・更新時に {@code kana_name_normalized} 列へ保存します。
+   *
+   * @return 正規化したカナ名
+   */
+  @JsonIgnore
+  public String getKanaNameNormalized() {
+    return SearchTextNormalizer.normalize(kanaName);
+  }
+
+  /**
+   * 検索用に正規化したニックネームを返します。 登録・更新時に {@code nickname_normalized} 列へ保存します。
+   *
+   * @return 正規化したニックネーム、未設定の場合は {@code null}
+   */
+  @JsonIgnore
+  public String getNicknameNormalized() {
+    return SearchTextNormalizer.normalize(nickname);
+  }
+
+  /**
+   * 名前・カナ名・ニックネームの名前検索用索引に登録するn-gramを返します。
+   *
+   * @return 重複を除いたn-gram
+   */
+  @JsonIgnore
+  public Set<String> getNameGrams() {
+    Set<String> grams = new LinkedHashSet<>();
+    grams.addAll(SearchTextNormalizer.indexGrams(getNameNormalized()));
+    grams.addAll(SearchTextNormalizer.indexGrams(getKanaNameNormalized()));
+    grams.addAll(SearchTextNormalizer.indexGrams(getNicknameNormalized()));
+    return grams;
+  }
 }
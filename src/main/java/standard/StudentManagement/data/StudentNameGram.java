@@ -0,0 +1,22 @@
+package standard.StudentManagement.data;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 名前検索用索引(student_name_grams)の1行です。 受講生の名前・カナ名・ニックネームに含まれるn-gramを表します。
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class StudentNameGram {
+
+  private String studentId;
+
+  private String gram;
+}
@@ -0,0 +1,33 @@
+package standard.StudentManagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 受講生名の入力補完に使用するトライの状態を表すクラスです。 メモリ使用量の見積もりや監視に使用します。
+ */
+@Schema(description = "入力補完のトライの状態")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutocompleteStatistics {
+
+  @Schema(description = "候補として保持している受講生数")
+  private int studentCount;
+
+  @Schema(description = "トライに登録されているキー(正規化した名前・カナ名)の数")
+  private int keyCount;
+
+  @Schema(description = "トライの節点の数")
+  private int nodeCount;
+
+  @Schema(description = "トライのメモリ使用量の概算(バイト)")
+  private long trieBytes;
+
+  @Schema(description = "候補(受講生ID・名前・カナ名)のメモリ使用量の概算(バイト)")
+  private long suggestionBytes;
+}
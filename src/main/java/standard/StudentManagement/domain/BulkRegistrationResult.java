@@ -0,0 +1,32 @@
+package standard.StudentManagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 受講生一括登録の結果を表すクラスです。
+ * 入力全体の件数と成功・失敗件数に加え、行ごとの登録結果を入力の行番号順に保持します。
+ */
+@Schema(description = "受講生一括登録の結果")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRegistrationResult {
+
+  @Schema(description = "処理した行数")
+  private int totalCount;
+
+  @Schema(description = "登録に成功した行数")
+  private int successCount;
+
+  @Schema(description = "登録に失敗した行数")
+  private int failureCount;
+
+  @Schema(description = "行ごとの登録結果(行番号順)")
+  private List<BulkRegistrationRowResult> rowResults;
+}
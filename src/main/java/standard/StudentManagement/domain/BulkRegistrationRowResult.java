@@ -0,0 +1,53 @@
+package standard.StudentManagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 受講生一括登録における1行分の登録結果を表すクラスです。
+ */
+@Schema(description = "受講生一括登録の行ごとの結果")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRegistrationRowResult {
+
+  @Schema(description = "入力の行番号(JSONは配列の要素番号、CSVはヘッダーを除いた行番号。いずれも1始まり)")
+  private int rowNumber;
+
+  @Schema(description = "登録に成功したかどうか")
+  private boolean success;
+
+  @Schema(description = "採番された受講生ID(失敗時はnull)")
+  private String studentId;
+
+  @Schema(description = "失敗理由のメッセージ一覧(成功時は空)")
+  private List<String> messages;
+
+  /**
+   * 登録に成功した行の結果を生成します。
+   *
+   * @param rowNumber 行番号
+   * @param studentId 採番された受講生ID
+   * @return 行ごとの登録結果
+   */
+  public static BulkRegistrationRowResult success(int rowNumber, String studentId) {
+    return new BulkRegistrationRowResult(rowNumber, true, studentId, List.of());
+  }
+
+  /**
+   * 登録に失敗した行の結果を生成します。
+   *
+   * @param rowNumber 行番号
+   * @param messages  失敗理由のメッセージ一覧
+   * @return 行ごとの登録結果
+   */
+  public static BulkRegistrationRowResult failure(int rowNumber, List<String> messages) {
+    return new BulkRegistrationRowResult(rowNumber, false, null, messages);
+  }
+}
@@ -0,0 +1,33 @@
+package standard.StudentManagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * キャッシュの利用状況を表すクラスです。 キャッシュの件数上限や有効期限の調整に使用します。
+ */
+@Schema(description = "キャッシュの利用状況")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatistics {
+
+  @Schema(description = "キャッシュに保持している件数(概算)")
+  private long size;
+
+  @Schema(description = "キャッシュから返した回数")
+  private long hitCount;
+
+  @Schema(description = "データベースから読み込んだ回数")
+  private long missCount;
+
+  @Schema(description = "キャッシュから返した割合(0〜1)")
+  private double hitRate;
+
+  @Schema(description = "件数上限または有効期限により破棄した件数")
+  private long evictionCount;
+}
@@ -0,0 +1,21 @@
+package standard.StudentManagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 受講生の全文検索索引の状態を表すクラスです。
+ */
+@Schema(description = "全文検索索引の状態")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchIndexStatus {
+
+  @Schema(description = "索引に登録されている受講生数")
+  private long documentCount;
+}
@@ -0,0 +1,106 @@
+package standard.StudentManagement.domain;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 名前検索のための文字列の正規化とn-gramの切り出しを行います。
+ * 全角・半角の違い(NFKC)、カタカナとひらがな、英字の大文字と小文字を同一視し、空白は取り除きます。
+ * 受講生側は1文字と2文字のn-gramを索引に登録し、検索語側は1文字ならその文字、2文字以上なら2文字のn-gramで索引を引きます。
+ */
+public final class SearchTextNormalizer {
+
+  private static final int KATAKANA_FIRST = 'ァ';
+  private static final int KATAKANA_LAST = 'ヶ';
+  private static final int KATAKANA_TO_HIRAGANA = 'ァ' - 'ぁ';
+
+  private SearchTextNormalizer() {
+  }
+
+  /**
+   * 検索用に文字列を正規化します。
+   *
+   * @param text 正規化する文字列
+   * @return 正規化した文字列、{@code text} が {@code null} の場合は {@code null}
+   */
+  public static String normalize(String text) {
+    if (text == null) {
+      return null;
+    }
+    String compatible = Normalizer.normalize(text, Normalizer.Form.NFKC);
+    StringBuilder normalized = new StringBuilder(compatible.length());
+    compatible.codePoints().forEach(codePoint -> {
+      if (Character.isWhitespace(codePoint) || Character.isSpaceChar(codePoint)) {
+        return;
+      }
+      if (codePoint >= KATAKANA_FIRST && codePoint <= KATAKANA_LAST) {
+        codePoint -= KATAKANA_TO_HIRAGANA;
+      }
+      normalized.appendCodePoint(Character.toLowerCase(codePoint));
+    });
+    return normalized.toString();
+  }
+
+  /**
+   * 索引に登録するn-gram(1文字と、隣り合う2文字)を切り出します。
+   *
+   * @param normalized 正規化済みの文字列
+   * @return 重複を除いたn-gram(出現順)、{@code normalized} が {@code null} または空の場合は空
+   */
+  public static Set<String> indexGrams(String normalized) {
+    Set<String> grams = new LinkedHashSet<>();
+    List<String> characters = characters(normalized);
+    for (int i = 0; i < characters.size(); i++) {
+      grams.add(characters.get(i));
+      if (i + 1 < characters.size()) {
+        grams.add(characters.get(i) + characters.get(i + 1));
+      }
+    }
+    return grams;
+  }
+
+  /**
+   * 検索語から索引を引くためのn-gramを切り出します。 1文字の検索語はその文字だけ、2文字以上は隣り合う2文字ずつとします。
+   *
+   * @param normalized 正規化済みの検索語
+   * @return 重複を除いたn-gram(出現順)、{@code normalized} が {@code null} または空の場合は空
+   */
+  public static Set<String> queryGrams(String normalized) {
+    List<String> characters = characters(normalized);
+    if (characters.size() == 1) {
+      return Set.of(characters.get(0));
+    }
+    Set<String> grams = new LinkedHashSet<>();
+    for (int i = 0; i + 1 < characters.size(); i++) {
+      grams.add(characters.get(i) + characters.get(i + 1));
+    }
+    return grams;
+  }
+
+  /**
+   * LIKE条件の中で文字そのものとして扱われるよう、ワイルドカードとエスケープ文字をエスケープします。
+   *
+   * @param text エスケープする文字列
+   * @return エスケープした文字列、{@code text} が {@code null} の場合は {@code null}
+   */
+  public static String escapeLike(String text) {
+    if (text == null) {
+      return null;
+    }
+    return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+
+  /**
+   * サロゲートペアを分けないよう、コードポイント単位で文字列を分割します。
+   */
+  private static List<String> characters(String text) {
+    List<String> characters = new ArrayList<>();
+    if (text != null) {
+      text.codePoints().forEach(codePoint -> characters.add(Character.toString(codePoint)));
+    }
+    return characters;
+  }
+}
@@ -0,0 +1,38 @@
+package standard.StudentManagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 受講生の集計の絞り込み条件を表すクラスです。 同じ項目に複数の値を指定した場合はいずれかに一致する受講生、 複数の項目を指定した場合はすべてに一致する受講生を集計します。
+ * 削除済みの受講生は集計しません。
+ */
+@Schema(description = "受講生の集計の絞り込み条件")
+@Getter
+@Setter
+public class StudentFacetCondition {
+
+  @Schema(description = "地域(いずれかに一致)", example = "[\"東京\", \"大阪\"]")
+  @Size(max = 100, message = "地域は100件以内で指定してください。")
+  private List<String> areas = new ArrayList<>();
+
+  @Schema(description = "性別(いずれかに一致)", example = "[\"女性\"]")
+  @Size(max = 100, message = "性別は100件以内で指定してください。")
+  private List<String> sexes = new ArrayList<>();
+
+  @Schema(description = "年代(10歳刻みの下限、いずれかに一致)", example = "[20, 30]")
+  @Size(max = 100, message = "年代は100件以内で指定してください。")
+  private List<Integer> ageBuckets = new ArrayList<>();
+
+  @Schema(description = "受講しているコース名(いずれかに一致)", example = "[\"Java入門\"]")
+  @Size(max = 100, message = "コース名は100件以内で指定してください。")
+  private List<String> courseNames = new ArrayList<>();
+
+  @Schema(description = "いずれかのコースの申込状況(いずれかに一致)", example = "[\"本申込\"]")
+  @Size(max = 100, message = "申込状況は100件以内で指定してください。")
+  private List<String> statuses = new ArrayList<>();
+}
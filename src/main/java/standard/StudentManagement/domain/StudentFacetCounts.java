@@ -0,0 +1,37 @@
+package standard.StudentManagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 絞り込み条件に一致する受講生の、項目の値ごとの人数を表すクラスです。 人数が0の値は含みません。
+ */
+@Schema(description = "受講生の集計結果")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentFacetCounts {
+
+  @Schema(description = "絞り込み条件に一致する受講生数")
+  private long totalCount;
+
+  @Schema(description = "地域ごとの人数(地域の順)")
+  private Map<String, Long> areaCounts;
+
+  @Schema(description = "性別ごとの人数(性別の順)")
+  private Map<String, Long> sexCounts;
+
+  @Schema(description = "年代(10歳刻みの下限)ごとの人数(年代の順)")
+  private Map<Integer, Long> ageBucketCounts;
+
+  @Schema(description = "コース名ごとの受講生数(コース名の順)")
+  private Map<String, Long> courseNameCounts;
+
+  @Schema(description = "申込状況ごとの受講生数(申込状況の種別の順)")
+  private Map<String, Long> statusCounts;
+}
@@ -0,0 +1,66 @@
+package standard.StudentManagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 受講生の全文検索の条件を表すクラスです。
+ * キーワードは名前・カナ名・ニックネーム・メールアドレス・備考・コース名から探して関連度の順に並べ、
+ * 地域・性別・年齢・コース名・申込状況は絞り込みの条件として扱います。
+ * 結果は {@link #MAX_RESULT_WINDOW} 件目までをページ番号とページ件数で取得します。
+ */
+@Schema(description = "受講生の全文検索の条件")
+@Getter
+@Setter
+public class StudentFullTextCondition {
+
+  /**
+   * 1ページあたりの件数の上限です。
+   */
+  public static final int MAX_PAGE_SIZE = 100;
+
+  /**
+   * ページをたどって取得できる件数の上限です。
+   */
+  public static final int MAX_RESULT_WINDOW = 10000;
+
+  @Schema(description = "名前・カナ名・ニックネーム・メールアドレス・備考・コース名から探す語(未指定の場合は受講生IDの順)",
+      example = "やまだ Java")
+  @Size(max = 200, message = "キーワードは200文字以内で入力してください。")
+  private String keyword;
+
+  @Schema(description = "地域(前方一致)", example = "東京")
+  @Size(max = 100, message = "地域は100文字以内で入力してください。")
+  private String area;
+
+  @Schema(description = "性別", example = "男性")
+  private String sex;
+
+  @Min(value = 0, message = "年齢は0以上を指定してください。")
+  @Max(value = 150, message = "年齢は150以下を指定してください。")
+  private Integer minAge;
+
+  @Min(value = 0, message = "年齢は0以上を指定してください。")
+  @Max(value = 150, message = "年齢は150以下を指定してください。")
+  private Integer maxAge;
+
+  @Schema(description = "受講しているコース名", example = "Java入門")
+  @Size(max = 100, message = "コース名は100文字以内で入力してください。")
+  private String courseName;
+
+  @Schema(description = "申込状況(コース名と同時に指定した場合は同じコースの申込状況)", example = "仮申込")
+  private String status;
+
+  @Schema(description = "ページ番号(0始まり)", example = "0")
+  @Min(value = 0, message = "ページ番号は0以上を指定してください。")
+  private int page;
+
+  @Schema(description = "1ページあたりの件数", example = "20")
+  @Min(value = 1, message = "件数は1以上を指定してください。")
+  @Max(value = MAX_PAGE_SIZE, message = "件数は100以下を指定してください。")
+  private int pageSize = 20;
+}
@@ -0,0 +1,24 @@
+package standard.StudentManagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 受講生の全文検索で一致した1件を表すクラスです。
+ */
+@Schema(description = "全文検索で一致した受講生")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentFullTextHit {
+
+  @Schema(description = "受講生詳細")
+  private StudentDetail studentDetail;
+
+  @Schema(description = "キーワードとの関連度(キーワード未指定の場合は0)")
+  private float score;
+}
@@ -0,0 +1,29 @@
+package standard.StudentManagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 受講生の全文検索の1ページ分を表すクラスです。 一致した受講生を関連度の高い順に並べます。
+ * 一致件数は多い場合に数えるのをやめるため、概数になることがあります。
+ */
+@Schema(description = "受講生の全文検索のページ")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentFullTextSearchPage {
+
+  @Schema(description = "このページの検索結果(関連度の高い順)")
+  private List<StudentFullTextHit> hits;
+
+  @Schema(description = "検索条件に一致する受講生数")
+  private long totalHits;
+
+  @Schema(description = "一致件数が正確な値かどうか(数えるのをやめた場合はfalse)")
+  private boolean totalHitsExact;
+}
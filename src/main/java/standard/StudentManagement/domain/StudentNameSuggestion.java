@@ -0,0 +1,27 @@
+package standard.StudentManagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 受講生名の入力補完の候補1件を表すクラスです。
+ */
+@Schema(description = "受講生名の入力補完の候補")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentNameSuggestion {
+
+  @Schema(description = "受講生ID", example = "11111111-1111-1111-1111-111111111111")
+  private String studentId;
+
+  @Schema(description = "名前", example = "山田太郎")
+  private String name;
+
+  @Schema(description = "カナ名", example = "ヤマダタロウ")
+  private String kanaName;
+}
@@ -0,0 +1,29 @@
+package standard.StudentManagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 受講生詳細一覧の1ページ分を表すクラスです。
+ * 次のページを取得する際は {@code nextAfterId} を検索条件の起点IDとして指定します。
+ */
+@Schema(description = "受講生詳細のページ")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentPage {
+
+  @Schema(description = "このページの受講生詳細一覧")
+  private List<StudentDetail> studentList;
+
+  @Schema(description = "次ページ取得時に指定する受講生ID(次ページがない場合はnull)")
+  private String nextAfterId;
+
+  @Schema(description = "次ページが存在するかどうか")
+  private boolean hasNext;
+}
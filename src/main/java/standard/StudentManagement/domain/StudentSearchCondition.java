@@ -1,22 +1,37 @@
 package standard.StudentManagement.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Size;
+import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
 
 /**
  * 受講生の検索条件を表すクラスです。
  * 名前やメールアドレス、地域、年齢、コース名、申込状況などの条件を指定して検索します。
+ * 名前は名前・カナ名・ニックネームのいずれかへの部分一致とし、全角・半角やカタカナ・ひらがなの違いは区別しません。
+ * 検索結果は受講生IDの順に最大 {@link #MAX_PAGE_SIZE} 件までとし、続きは起点IDを指定して取得します。
  */
 @Schema(description = "受講生の検索条件")
 @Getter
 @Setter
 public class StudentSearchCondition {
 
+  /**
+   * 1回の検索で返す受講生数の上限です。
+   */
+  public static final int MAX_PAGE_SIZE = 1000;
+
+  /**
+   * 一致件数を数える上限です。 これを超える場合は上限の件数を概数として返します。
+   */
+  public static final int MAX_TOTAL_COUNT = 10000;
+
+  @Schema(description = "名前・カナ名・ニックネームのいずれかに含まれる文字列", example = "やまだ")
   @Size(max = 100, message = "名前は100文字以内で入力してください。")
   private String name;
 
@@ -42,4 +57,33 @@ public class StudentSearchCondition {
   private String courseName;
 
   private String status;
+
+  @Schema(description = "1ページあたりの件数(未指定の場合は1000件)", example = "100")
+  @Min(value = 1, message = "件数は1以上を指定してください。")
+  @Max(value = MAX_PAGE_SIZE, message = "件数は1000以下を指定してください。")
+  private Integer pageSize;
+
+  @Schema(description = "前ページ最後の受講生ID(先頭ページの場合は未指定)")
+  @Size(max = 36, message = "起点IDは36文字以内で入力してください。")
+  private String afterId;
+
+  /**
+   * 名前の条件で索引を引くn-gramを返します。
+   *
+   * @return 正規化した名前の条件のn-gram、名前が未指定または空白だけの場合は空
+   */
+  @JsonIgnore
+  public List<String> getNameGrams() {
+    return List.copyOf(SearchTextNormalizer.queryGrams(SearchTextNormalizer.normalize(name)));
+  }
+
+  /**
+   * 名前の条件を正規化し、正規化列とのLIKE条件に使えるようエスケープして返します。
+   *
+   * @return 正規化してエスケープした名前の条件、名前が未指定の場合は {@code null}
+   */
+  @JsonIgnore
+  public String getNameLikeText() {
+    return SearchTextNormalizer.escapeLike(SearchTextNormalizer.normalize(name));
+  }
 }
@@ -0,0 +1,34 @@
+package standard.StudentManagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import standard.StudentManagement.data.Student;
+
+/**
+ * 条件付き受講生検索の1ページ分を表すクラスです。
+ * 次のページを取得する際は {@code nextAfterId} を検索条件の起点IDとして指定します。
+ * 一致件数は先頭ページでのみ返し、{@link StudentSearchCondition#MAX_TOTAL_COUNT} 件を超える場合は概数になります。
+ */
+@Schema(description = "条件付き受講生検索のページ")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentSearchPage {
+
+  @Schema(description = "このページの受講生一覧")
+  private List<Student> studentList;
+
+  @Schema(description = "次ページ取得時に指定する受講生ID(このページが件数に満たない場合はnull)")
+  private String nextAfterId;
+
+  @Schema(description = "検索条件に一致する受講生数(先頭ページ以外はnull)")
+  private Long totalCount;
+
+  @Schema(description = "一致件数が正確な値かどうか(上限を超えて数えるのをやめた場合はfalse)")
+  private boolean totalCountExact;
+}
@@ -1,7 +1,9 @@
 package standard.StudentManagement.exception;
 
+import jakarta.validation.ConstraintViolationException;
 import java.util.HashMap;
 import java.util.Map;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -26,8 +28,30 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
   }
 
+  @org.springframework.web.bind.annotation.ExceptionHandler(StudentNotFoundException.class)
+  public ResponseEntity<String> handleStudentNotFoundException(StudentNotFoundException ex) {
+    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+  }
+
+  @org.springframework.web.bind.annotation.ExceptionHandler(TaskRejectedException.class)
+  public ResponseEntity<String> handleTaskRejectedException(TaskRejectedException ex) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+  }
+
   @org.springframework.web.bind.annotation.ExceptionHandler(IllegalArgumentException.class)
   public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
     return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
   }
+
+  @org.springframework.web.bind.annotation.ExceptionHandler(ConstraintViolationException.class)
+  public ResponseEntity<Map<String, String>> handleConstraintViolationException(
+      ConstraintViolationException ex) {
+    Map<String, String> errors = new HashMap<>();
+    ex.getConstraintViolations().forEach(violation -> {
+      String path = violation.getPropertyPath().toString();
+      String fieldName = path.substring(path.lastIndexOf('.') + 1);
+      errors.put(fieldName, violation.getMessage());
+    });
+    return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+  }
 }
@@ -0,0 +1,11 @@
+package standard.StudentManagement.exception;
+
+/**
+ * 指定されたIDの受講生が存在しない場合にスローする例外です。
+ */
+public class StudentNotFoundException extends RuntimeException {
+
+  public StudentNotFoundException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,27 @@
+package standard.StudentManagement.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * {@code StudentConverter.convertStudentDetails} による受講生詳細の組み立て1回を表すJFRイベントです。
+ */
+@Name("standard.StudentManagement.Conversion")
+@Label("Student Detail Conversion")
+@Description("受講生と受講生コースから受講生詳細への変換")
+@Category({"Student Management", "Conversion"})
+@Enabled(false)
+@StackTrace(false)
+class ConversionEvent extends Event {
+
+  @Label("Students")
+  int students;
+
+  @Label("Student Courses")
+  int studentCourses;
+}
@@ -0,0 +1,51 @@
+package standard.StudentManagement.monitoring;
+
+import java.util.List;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * 受講生コンバータでの変換を計測します。 {@link ServerTimingFilter} の対象のリクエストでは変換時間を加算し、
+ * {@code convertStudentDetails} の呼び出しは入力の件数とともに {@link ConversionEvent} としてJFRに記録します。
+ */
+@Aspect
+@Component
+public class ConversionTimingAspect {
+
+  @Around("execution(public * standard.StudentManagement.controller.converter.StudentConverter.*(..))")
+  public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+    ServerTiming serverTiming = ServerTiming.current();
+    if (serverTiming == null) {
+      return joinPoint.proceed();
+    }
+    long start = System.nanoTime();
+    try {
+      return joinPoint.proceed();
+    } finally {
+      serverTiming.addConversionNanos(System.nanoTime() - start);
+    }
+  }
+
+  @Around("execution(* standard.StudentManagement.controller.converter.StudentConverter"
+      + ".convertStudentDetails(..)) && args(studentList, studentCourseList)")
+  public Object recordConversionEvent(ProceedingJoinPoint joinPoint, List<?> studentList,
+      List<?> studentCourseList) throws Throwable {
+    ConversionEvent event = new ConversionEvent();
+    if (!event.isEnabled()) {
+      return joinPoint.proceed();
+    }
+    event.begin();
+    try {
+      return joinPoint.proceed();
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.students = studentList.size();
+        event.studentCourses = studentCourseList.size();
+        event.commit();
+      }
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package standard.StudentManagement.monitoring;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 現在のスレッドで実行されたマップドステートメントの回数を数える範囲です。
+ * {@link #start()} から {@link #close()} までの間に {@link QueryCountInterceptor} が数えた回数を
+ * ステートメントごとに保持し、あわせて実行時間の合計を記録します。 範囲は入れ子にでき、内側で実行された回数は外側の範囲にも数えられます。
+ *
+ * <pre>{@code
+ * try (QueryCount queryCount = QueryCount.start()) {
+ *   service.getStudentProfile(id);
+ *   assertThat(queryCount.getTotal()).isEqualTo(1);
+ * }
+ * }</pre>
+ */
+public class QueryCount implements AutoCloseable {
+
+  private static final ThreadLocal<QueryCount> CURRENT = new ThreadLocal<>();
+
+  private QueryCount outer;
+  private Map<String, Integer> countByStatement = new LinkedHashMap<>();
+  private int total;
+  private long databaseNanos;
+
+  private QueryCount(QueryCount outer) {
+    this.outer = outer;
+  }
+
+  /**
+   * 現在のスレッドで回数を数え始めます。
+   *
+   * @return 回数を数える範囲(終了時に {@link #close()} すること)
+   */
+  public static QueryCount start() {
+    QueryCount queryCount = new QueryCount(CURRENT.get());
+    CURRENT.set(queryCount);
+    return queryCount;
+  }
+
+  /**
+   * @return 現在のスレッドで範囲が開始されている場合は {@code true}
+   */
+  static boolean isActive() {
+    return CURRENT.get() != null;
+  }
+
+  /**
+   * 現在のスレッドで開始されているすべての範囲に、ステートメントの実行を1回数えます。 範囲がない場合は何もしません。
+   *
+   * @param statement    ステートメント名(例: {@code StudentRepository.searchStudent})
+   * @param elapsedNanos 実行時間(ナノ秒)
+   */
+  static void record(String statement, long elapsedNanos) {
+    for (QueryCount queryCount = CURRENT.get(); queryCount != null;
+        queryCount = queryCount.outer) {
+      queryCount.countByStatement.merge(statement, 1, Integer::sum);
+      queryCount.total++;
+      queryCount.databaseNanos += elapsedNanos;
+    }
+  }
+
+  /**
+   * @return 実行されたステートメントの合計回数
+   */
+  public int getTotal() {
+    return total;
+  }
+
+  /**
+   * @return ステートメントの実行時間の合計
+   */
+  public Duration getDatabaseTime() {
+    return Duration.ofNanos(databaseNanos);
+  }
+
+  /**
+   * @param statement ステートメント名(例: {@code StudentRepository.searchStudent})
+   * @return 指定したステートメントが実行された回数
+   */
+  public int getCount(String statement) {
+    return countByStatement.getOrDefault(statement, 0);
+  }
+
+  /**
+   * @return ステートメントごとの実行回数(初めて実行された順)
+   */
+  public Map<String, Integer> getCountByStatement() {
+    return Collections.unmodifiableMap(countByStatement);
+  }
+
+  /**
+   * 回数を数えるのを終了し、外側の範囲があればそれを現在の範囲に戻します。
+   */
+  @Override
+  public void close() {
+    if (outer == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(outer);
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package standard.StudentManagement.monitoring;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.stereotype.Component;
+
+/**
+ * マップドステートメントの実行回数と実行時間を {@link QueryCount} に記録する MyBatis のプラグインです。
+ * {@link QueryCount#start()} で範囲が開始されていないスレッドでは何もしません。
+ */
+@Component
+@Intercepts({
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+            CacheKey.class, BoundSql.class}),
+    @Signature(type = Executor.class, method = "update",
+        args = {MappedStatement.class, Object.class})})
+public class QueryCountInterceptor implements Interceptor {
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    if (!QueryCount.isActive()) {
+      return invocation.proceed();
+    }
+    MappedStatement mappedStatement = (MappedStatement) invocation.getArgs()[0];
+    long start = System.nanoTime();
+    try {
+      return invocation.proceed();
+    } finally {
+      QueryCount.record(StatementMetricsInterceptor.statementName(mappedStatement.getId()),
+          System.nanoTime() - start);
+    }
+  }
+}
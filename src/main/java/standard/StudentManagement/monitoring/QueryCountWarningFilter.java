@@ -0,0 +1,46 @@
+package standard.StudentManagement.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * 開発時に N+1 問題を見つけるためのフィルタです。 リクエストごとにマップドステートメントの実行回数を数え、
+ * 同じステートメントが閾値を超えて実行された場合に警告をログに出力します。
+ * {@code student.query-count.warning.enabled=true} の場合だけ有効になります。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "student.query-count.warning.enabled", havingValue = "true")
+public class QueryCountWarningFilter extends OncePerRequestFilter {
+
+  private int threshold;
+
+  @Autowired
+  public QueryCountWarningFilter(
+      @Value("${student.query-count.warning.threshold:5}") int threshold) {
+    this.threshold = threshold;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    try (QueryCount queryCount = QueryCount.start()) {
+      filterChain.doFilter(request, response);
+      queryCount.getCountByStatement().forEach((statement, count) -> {
+        if (count > threshold) {
+          log.warn("1回のリクエストで同じSQLが{}回実行されました(N+1の可能性があります): {} {} {}",
+              count, request.getMethod(), request.getRequestURI(), statement);
+        }
+      });
+    }
+  }
+}
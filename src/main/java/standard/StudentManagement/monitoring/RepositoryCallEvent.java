@@ -0,0 +1,35 @@
+package standard.StudentManagement.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * {@code StudentRepository} のマップドステートメント1回の実行を表すJFRイベントです。
+ * 呼び出し回数が多いため既定では無効とし、{@code jfr/student-management.jfc} で有効にします。
+ */
+@Name("standard.StudentManagement.RepositoryCall")
+@Label("Repository Call")
+@Description("StudentRepository のマップドステートメントの実行")
+@Category({"Student Management", "Repository"})
+@Enabled(false)
+@StackTrace(false)
+class RepositoryCallEvent extends Event {
+
+  @Label("Statement")
+  String statement;
+
+  @Label("Parameter Shape")
+  @Description("値が指定されているパラメータの組み合わせ")
+  String shape;
+
+  @Label("Rows")
+  long rows;
+
+  @Label("Outcome")
+  String outcome;
+}
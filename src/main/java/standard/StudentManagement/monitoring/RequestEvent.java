@@ -0,0 +1,32 @@
+package standard.StudentManagement.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * HTTPリクエスト1件の処理を表すJFRイベントです。 同じスレッドで発生した
+ * {@link RepositoryCallEvent}・{@link ConversionEvent} はこのイベントの期間内に含まれます。
+ */
+@Name("standard.StudentManagement.Request")
+@Label("HTTP Request")
+@Description("HTTPリクエストの処理")
+@Category({"Student Management", "Request"})
+@Enabled(false)
+@StackTrace(false)
+class RequestEvent extends Event {
+
+  @Label("Method")
+  String method;
+
+  @Label("Endpoint")
+  @Description("リクエストを処理したハンドラのURIパターン(例: /student/{id})")
+  String endpoint;
+
+  @Label("Status")
+  int status;
+}
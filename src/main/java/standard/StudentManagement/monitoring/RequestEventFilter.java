@@ -0,0 +1,40 @@
+package standard.StudentManagement.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * リクエストの処理ごとに {@link RequestEvent} を記録するフィルタです。 イベントが無効な場合は何もしません。
+ */
+@Component
+public class RequestEventFilter extends OncePerRequestFilter {
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    RequestEvent event = new RequestEvent();
+    if (!event.isEnabled()) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    event.begin();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        event.method = request.getMethod();
+        event.endpoint = pattern != null ? pattern.toString() : request.getRequestURI();
+        event.status = response.getStatus();
+        event.commit();
+      }
+    }
+  }
+}
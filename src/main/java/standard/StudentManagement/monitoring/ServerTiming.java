@@ -0,0 +1,82 @@
+package standard.StudentManagement.monitoring;
+
+import java.util.Locale;
+
+/**
+ * 1回のリクエストの処理時間の内訳を記録し、{@code Server-Timing} ヘッダーの値を組み立てます。
+ * 現在のスレッドに結び付けて保持し、SQLの実行時間と回数は同時に開始する {@link QueryCount} から取得します。
+ */
+class ServerTiming implements AutoCloseable {
+
+  private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+  private long startNanos = System.nanoTime();
+  private long serializationStartNanos;
+  private long conversionNanos;
+  private QueryCount queryCount = QueryCount.start();
+
+  private ServerTiming() {
+  }
+
+  /**
+   * 現在のスレッドで記録を開始します。
+   */
+  static ServerTiming start() {
+    ServerTiming serverTiming = new ServerTiming();
+    CURRENT.set(serverTiming);
+    return serverTiming;
+  }
+
+  /**
+   * @return 現在のスレッドで記録中の場合はその内訳、記録していない場合は {@code null}
+   */
+  static ServerTiming current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * 受講生コンバータでの変換時間を加算します。
+   */
+  void addConversionNanos(long nanos) {
+    conversionNanos += nanos;
+  }
+
+  /**
+   * レスポンスボディのJSON出力を開始した時点を記録します。
+   */
+  void markSerializationStart() {
+    if (serializationStartNanos == 0) {
+      serializationStartNanos = System.nanoTime();
+    }
+  }
+
+  /**
+   * 現在までの内訳を {@code Server-Timing} ヘッダーの値にします。
+   * 例: {@code total;dur=12.3, db;dur=4.5;desc="2 statements", conv;dur=0.8, json;dur=1.2}
+   */
+  String toHeaderValue() {
+    long endNanos = System.nanoTime();
+    StringBuilder value = new StringBuilder();
+    append(value, "total", endNanos - startNanos);
+    append(value, "db", queryCount.getDatabaseTime().toNanos());
+    value.append(";desc=\"").append(queryCount.getTotal()).append(" statements\"");
+    append(value, "conv", conversionNanos);
+    if (serializationStartNanos != 0) {
+      append(value, "json", endNanos - serializationStartNanos);
+    }
+    return value.toString();
+  }
+
+  private static void append(StringBuilder value, String name, long nanos) {
+    if (!value.isEmpty()) {
+      value.append(", ");
+    }
+    value.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.1f", nanos / 1e6));
+  }
+
+  @Override
+  public void close() {
+    queryCount.close();
+    CURRENT.remove();
+  }
+}
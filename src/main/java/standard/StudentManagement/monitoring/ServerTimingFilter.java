@@ -0,0 +1,107 @@
+package standard.StudentManagement.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * レスポンスに処理時間の内訳を {@code Server-Timing} ヘッダーとして付与するフィルタです。
+ * 全体の処理時間、SQLの実行時間と回数、受講生コンバータでの変換時間、JSON出力の時間を報告します。
+ * ヘッダーはボディより前に送る必要があるため、対象のリクエストだけレスポンスをバッファしてから送信します。
+ *
+ * <p>対象にするリクエストは次のいずれかです。 どれにも当てはまらないリクエストには何もしません。
+ * <ul>
+ *   <li>{@code student.server-timing.enabled=true} の場合はすべてのリクエスト</li>
+ *   <li>{@code student.server-timing.header-enabled=true} の場合は {@value #REQUEST_HEADER} ヘッダーを付けたリクエスト</li>
+ *   <li>{@code student.server-timing.sample-rate} の割合で抽出したリクエスト</li>
+ * </ul>
+ * 非同期で書き出すストリーミングのレスポンスはバッファせず、ヘッダーも付与しません。
+ */
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+  static final String REQUEST_HEADER = "X-Server-Timing";
+  static final String RESPONSE_HEADER = "Server-Timing";
+
+  private boolean enabled;
+  private boolean headerEnabled;
+  private double sampleRate;
+
+  @Autowired
+  public ServerTimingFilter(
+      @Value("${student.server-timing.enabled:false}") boolean enabled,
+      @Value("${student.server-timing.header-enabled:false}") boolean headerEnabled,
+      @Value("${student.server-timing.sample-rate:0}") double sampleRate) {
+    this.enabled = enabled;
+    this.headerEnabled = headerEnabled;
+    this.sampleRate = sampleRate;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    if (enabled || (headerEnabled && request.getHeader(REQUEST_HEADER) != null)) {
+      return false;
+    }
+    return sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    SynchronousContentCachingResponseWrapper responseWrapper =
+        new SynchronousContentCachingResponseWrapper(request, response);
+    try (ServerTiming serverTiming = ServerTiming.start()) {
+      filterChain.doFilter(request, responseWrapper);
+      if (!request.isAsyncStarted()) {
+        responseWrapper.setHeader(RESPONSE_HEADER, serverTiming.toHeaderValue());
+      }
+    } finally {
+      if (!request.isAsyncStarted()) {
+        responseWrapper.copyBodyToResponse();
+      }
+    }
+  }
+
+  /**
+   * 非同期処理が開始された後の書き出しはバッファせず、元のレスポンスへ直接書き出すラッパーです。
+   */
+  private static class SynchronousContentCachingResponseWrapper extends
+      ContentCachingResponseWrapper {
+
+    private HttpServletRequest request;
+
+    SynchronousContentCachingResponseWrapper(HttpServletRequest request,
+        HttpServletResponse response) {
+      super(response);
+      this.request = request;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+      if (request.isAsyncStarted()) {
+        copyBodyToResponse();
+        return getResponse().getOutputStream();
+      }
+      return super.getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+      if (request.isAsyncStarted()) {
+        copyBodyToResponse();
+        return getResponse().getWriter();
+      }
+      return super.getWriter();
+    }
+  }
+}
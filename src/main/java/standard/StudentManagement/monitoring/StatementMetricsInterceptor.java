@@ -0,0 +1,203 @@
+package standard.StudentManagement.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * マップドステートメントごとに実行時間と件数を計測する MyBatis のプラグインです。
+ * 実行時間は {@value #TIMER_NAME}、取得・更新件数は {@value #ROWS_NAME} として、ステートメントIDと
+ * パラメータの形(値が指定されている項目の組み合わせ)をタグに記録します。 パラメータの形は動的SQLのどの分岐が
+ * 使われたかを表します。 実行時間が閾値以上のステートメントは、発行したSQLとともにログに出力します。
+ * ログには個人情報を含めないよう、パラメータの値は出力しません。 あわせて、実行ごとに {@link RepositoryCallEvent} を
+ * JFRに記録します。
+ */
+@Slf4j
+@Component
+@Intercepts({
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+            CacheKey.class, BoundSql.class}),
+    @Signature(type = Executor.class, method = "update",
+        args = {MappedStatement.class, Object.class})})
+public class StatementMetricsInterceptor implements Interceptor {
+
+  static final String TIMER_NAME = "student.repository.statement";
+  static final String ROWS_NAME = "student.repository.rows";
+
+  private MeterRegistry meterRegistry;
+  private Duration slowQueryThreshold;
+
+  @Autowired
+  public StatementMetricsInterceptor(MeterRegistry meterRegistry,
+      @Value("${student.mybatis.slow-query-threshold-millis:200}") long slowQueryThresholdMillis) {
+    this(meterRegistry, Duration.ofMillis(slowQueryThresholdMillis));
+  }
+
+  StatementMetricsInterceptor(MeterRegistry meterRegistry, Duration slowQueryThreshold) {
+    this.meterRegistry = meterRegistry;
+    this.slowQueryThreshold = slowQueryThreshold;
+  }
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    Object[] args = invocation.getArgs();
+    MappedStatement mappedStatement = (MappedStatement) args[0];
+    Object parameter = args[1];
+    String statement = statementName(mappedStatement.getId());
+    String shape = describeShape(mappedStatement, parameter);
+
+    // ResultHandler で1件ずつ受け取るステートメントは戻り値が空のため、ハンドラを包んで件数を数える
+    LongAdder handledRows = null;
+    if (args.length > 3 && args[3] != null) {
+      LongAdder counter = new LongAdder();
+      ResultHandler<?> resultHandler = (ResultHandler<?>) args[3];
+      args[3] = (ResultHandler<Object>) context -> {
+        counter.increment();
+        ((ResultHandler<Object>) resultHandler).handleResult(context);
+      };
+      handledRows = counter;
+    }
+
+    RepositoryCallEvent event = new RepositoryCallEvent();
+    event.begin();
+    long start = System.nanoTime();
+    String outcome = "error";
+    long rows = 0;
+    try {
+      Object result = invocation.proceed();
+      outcome = "success";
+      rows = handledRows != null ? handledRows.sum() : countRows(result);
+      return result;
+    } finally {
+      long elapsedNanos = System.nanoTime() - start;
+      event.end();
+      if (event.shouldCommit()) {
+        event.statement = statement;
+        event.shape = shape;
+        event.rows = rows;
+        event.outcome = outcome;
+        event.commit();
+      }
+      record(statement, shape, outcome, elapsedNanos, rows);
+      if (elapsedNanos >= slowQueryThreshold.toNanos()) {
+        BoundSql boundSql = args.length > 5 ? (BoundSql) args[5]
+            : mappedStatement.getBoundSql(parameter);
+        log.warn("実行に{}ミリ秒かかったSQLがあります: {} 件数={} パラメータ={} 結果={}\n{}",
+            TimeUnit.NANOSECONDS.toMillis(elapsedNanos), statement, rows, shape, outcome,
+            renderSql(boundSql));
+      }
+    }
+  }
+
+  private void record(String statement, String shape, String outcome, long elapsedNanos,
+      long rows) {
+    Timer.builder(TIMER_NAME)
+        .description("マップドステートメントの実行時間")
+        .tags("statement", statement, "shape", shape, "outcome", outcome)
+        .publishPercentileHistogram()
+        .register(meterRegistry)
+        .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    DistributionSummary.builder(ROWS_NAME)
+        .description("マップドステートメントが取得・更新した件数")
+        .baseUnit("rows")
+        .tags("statement", statement, "shape", shape)
+        .publishPercentileHistogram()
+        .register(meterRegistry)
+        .record(rows);
+  }
+
+  /**
+   * ステートメントIDからパッケージ名を除き、{@code StudentRepository.searchStudentByCondition} の形にします。
+   */
+  static String statementName(String statementId) {
+    int methodSeparator = statementId.lastIndexOf('.');
+    int typeSeparator = statementId.lastIndexOf('.', methodSeparator - 1);
+    return statementId.substring(typeSeparator + 1);
+  }
+
+  /**
+   * パラメータのうち値が指定されている項目を並べた文字列を返します。 値そのものは含めません。
+   * 例: {@code StudentSearchCondition{area,courseName}}、{@code {studentIds[]}}、{@code String}
+   */
+  static String describeShape(MappedStatement mappedStatement, Object parameter) {
+    if (parameter == null) {
+      return "none";
+    }
+    if (mappedStatement.getConfiguration().getTypeHandlerRegistry()
+        .hasTypeHandler(parameter.getClass())) {
+      return parameter.getClass().getSimpleName();
+    }
+    if (parameter instanceof Map<?, ?> map) {
+      // @Param を付けた引数は param1, param2 ... の別名でも登録されるため除く
+      return map.entrySet().stream()
+          .filter(entry -> !String.valueOf(entry.getKey()).matches("param\\d+"))
+          .filter(entry -> isSpecified(entry.getValue()))
+          .map(entry -> entry.getKey() + (isMultiple(entry.getValue()) ? "[]" : ""))
+          .sorted()
+          .collect(Collectors.joining(",", "{", "}"));
+    }
+    if (isMultiple(parameter)) {
+      return parameter.getClass().getSimpleName() + "[]";
+    }
+    MetaObject metaObject = mappedStatement.getConfiguration().newMetaObject(parameter);
+    return List.of(metaObject.getGetterNames()).stream()
+        .filter(name -> isSpecified(metaObject.getValue(name)))
+        .sorted()
+        .collect(Collectors.joining(",", parameter.getClass().getSimpleName() + "{", "}"));
+  }
+
+  /**
+   * 検索条件として値が指定されているかを判定します。 空文字・0・false・空のコレクションは未指定として扱います。
+   */
+  private static boolean isSpecified(Object value) {
+    return switch (value) {
+      case null -> false;
+      case CharSequence text -> !text.toString().isBlank();
+      case Collection<?> collection -> !collection.isEmpty();
+      case Number number -> number.doubleValue() != 0;
+      case Boolean bool -> bool;
+      default -> true;
+    };
+  }
+
+  private static boolean isMultiple(Object value) {
+    return value instanceof Collection<?> || (value != null && value.getClass().isArray());
+  }
+
+  private static long countRows(Object result) {
+    return switch (result) {
+      case Collection<?> collection -> collection.size();
+      case Number number -> number.longValue();
+      case null, default -> 0;
+    };
+  }
+
+  private static String renderSql(BoundSql boundSql) {
+    return boundSql.getSql().replaceAll("\\s+", " ").trim();
+  }
+}
@@ -0,0 +1,76 @@
+package standard.StudentManagement.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import standard.StudentManagement.domain.StudentDetail;
+
+/**
+ * 受講生の検索結果の大きさをメトリクスとして記録します。
+ * 処理ごとに返した受講生数を {@value #STUDENTS_NAME}、受講生詳細1件あたりのコース数を {@value #COURSES_NAME}
+ * として記録します。 実行時間は {@code @Timed} とHTTPリクエストのメトリクスで記録されるため、ここでは扱いません。
+ */
+@Component
+public class StudentMetrics {
+
+  static final String STUDENTS_NAME = "student.result.students";
+  static final String COURSES_NAME = "student.result.courses";
+
+  private MeterRegistry meterRegistry;
+  private Map<String, DistributionSummary> studentsByOperation = new ConcurrentHashMap<>();
+  private DistributionSummary coursesPerDetail;
+
+  @Autowired
+  public StudentMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    this.coursesPerDetail = DistributionSummary.builder(COURSES_NAME)
+        .description("受講生詳細1件あたりのコース数")
+        .baseUnit("courses")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  /**
+   * 処理が返した受講生数を記録します。
+   *
+   * @param operation 処理名(例: {@code searchStudentByCondition})
+   * @param count     返した受講生数
+   */
+  public void recordStudents(String operation, int count) {
+    studentsByOperation.computeIfAbsent(operation, this::studentsSummary).record(count);
+  }
+
+  /**
+   * 受講生詳細ごとのコース数を記録します。
+   *
+   * @param studentDetail 受講生詳細
+   */
+  public void recordCourses(StudentDetail studentDetail) {
+    List<?> studentCourseList = studentDetail.getStudentCourseList();
+    coursesPerDetail.record(studentCourseList == null ? 0 : studentCourseList.size());
+  }
+
+  /**
+   * 受講生詳細の一覧について、受講生数と受講生詳細ごとのコース数を記録します。
+   *
+   * @param operation      処理名
+   * @param studentDetails 返した受講生詳細の一覧
+   */
+  public void recordStudentDetails(String operation, List<StudentDetail> studentDetails) {
+    recordStudents(operation, studentDetails.size());
+    studentDetails.forEach(this::recordCourses);
+  }
+
+  private DistributionSummary studentsSummary(String operation) {
+    return DistributionSummary.builder(STUDENTS_NAME)
+        .description("1回の処理で返した受講生数")
+        .baseUnit("students")
+        .tag("operation", operation)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+}
@@ -2,9 +2,13 @@ package standard.StudentManagement.repository;
 
 import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import standard.StudentManagement.data.ApplicationStatus;
 import standard.StudentManagement.data.Student;
 import standard.StudentManagement.data.StudentCourse;
+import standard.StudentManagement.data.StudentNameGram;
+import standard.StudentManagement.domain.StudentDetail;
 import standard.StudentManagement.domain.StudentSearchCondition;
 
 /**
@@ -20,6 +24,16 @@ public interface StudentRepository {
    */
   List<Student> searchStudent();
 
+  /**
+   * 受講生のページ検索を行います。 受講生IDの昇順で、指定したIDより後ろの受講生を最大件数まで取得します。
+   * OFFSETを使わず主キーを起点に読み進めるため、後ろのページでも先頭ページと同じコストで取得できます。
+   *
+   * @param afterId 前ページ最後の受講生ID(先頭ページの場合は {@code null})
+   * @param limit   取得する最大件数
+   * @return 受講生一覧(受講生IDの昇順)
+   */
+  List<Student> searchStudentPage(@Param("afterId") String afterId, @Param("limit") int limit);
+
   /**
    * 受講生の検索を行います。
    *
@@ -28,6 +42,63 @@ public interface StudentRepository {
    */
   Student searchStudentById(String id);
 
+  /**
+   * 受講生詳細の検索を行います。 受講生とその受講生コース情報、各コースの申込状況を1回のクエリでまとめて取得します。
+   *
+   * @param id 受講生ID
+   * @return 受講生詳細(コース情報および申込状況を含む)、受講生が存在しない場合は {@code null}
+   */
+  StudentDetail searchStudentDetailById(String id);
+
+  /**
+   * 指定した受講生IDのいずれかに該当する受講生詳細を1回のクエリでまとめて取得します。 削除済みの受講生も含みます。
+   *
+   * @param studentIds 受講生IDのリスト(空でないこと)
+   * @return 受講生詳細のリスト(受講生IDの昇順、存在しない受講生は含まれない)
+   */
+  List<StudentDetail> searchStudentDetailsByIds(@Param("studentIds") List<String> studentIds);
+
+  /**
+   * 削除されていない全受講生の受講生詳細を、受講生IDの順に1件ずつ {@code resultHandler} へ渡します。
+   * 結果は一覧として保持せず、取得件数は {@code mybatis.configuration-properties.export-fetch-size} で指定します。
+   *
+   * @param resultHandler 受講生詳細を1件ずつ受け取るハンドラ
+   */
+  void searchStudentDetails(ResultHandler<StudentDetail> resultHandler);
+
+  /**
+   * 全受講生(削除済みを含む)の受講生ID・地域・年齢・性別・削除フラグと、各コースのコース名・申込状況を、受講生IDの順に1件ずつ
+   * {@code resultHandler} へ渡します。 結果は一覧として保持せず、取得件数は
+   * {@code mybatis.configuration-properties.export-fetch-size} で指定します。
+   *
+   * @param resultHandler 受講生詳細を1件ずつ受け取るハンドラ(条件検索に使う項目のみ設定)
+   */
+  void searchStudentSearchAttributes(ResultHandler<StudentDetail> resultHandler);
+
+  /**
+   * 指定した受講生IDのいずれかに該当する受講生を1回のクエリでまとめて取得します。 削除済みの受講生も含みます。
+   *
+   * @param studentIds 受講生IDのリスト(空でないこと)
+   * @return 受講生のリスト(受講生IDの昇順、存在しない受講生は含まれない)
+   */
+  List<Student> searchStudentsByIds(@Param("studentIds") List<String> studentIds);
+
+  /**
+   * 削除されていない全受講生の受講生ID・名前・カナ名を、受講生IDの順に1件ずつ {@code resultHandler} へ渡します。
+   * 結果は一覧として保持せず、取得件数は {@code mybatis.configuration-properties.export-fetch-size} で指定します。
+   *
+   * @param resultHandler 受講生を1件ずつ受け取るハンドラ(受講生ID・名前・カナ名・削除フラグのみ設定)
+   */
+  void searchStudentNames(ResultHandler<Student> resultHandler);
+
+  /**
+   * 指定した受講生IDのいずれかに該当する受講生の受講生ID・名前・カナ名を取得します。 削除済みの受講生も含みます。
+   *
+   * @param studentIds 受講生IDのリスト(空でないこと)
+   * @return 受講生のリスト(受講生ID・名前・カナ名・削除フラグのみ設定、受講生IDの昇順)
+   */
+  List<Student> searchStudentNamesByIds(@Param("studentIds") List<String> studentIds);
+
   /**
    * 申込状況を含む、受講生のコース情報の全件検索を行います。
    * 各コースには、紐づく申込状況（application_statuses）が含まれる場合があります。
@@ -36,6 +107,15 @@ public interface StudentRepository {
    */
   List<StudentCourse> searchStudentCourseList();
 
+  /**
+   * 指定した受講生IDのいずれかに紐づく、申込状況を含む受講生コース情報の検索を行います。
+   *
+   * @param studentIds 受講生IDのリスト(空でないこと)
+   * @return 受講生コース情報の一覧（申込状況を含む）
+   */
+  List<StudentCourse> searchStudentCourseListByStudentIds(
+      @Param("studentIds") List<String> studentIds);
+
   /**
    * 受講生IDに紐づく受講生コース情報の検索を行います。
    *
@@ -59,6 +139,27 @@ public interface StudentRepository {
    */
   void registerStudent(Student student);
 
+  /**
+   * 複数の受講生情報を1回の複数行INSERTで登録します。
+   *
+   * @param students 登録する受講生情報のリスト(IDは採番済み、空でないこと)
+   */
+  void registerStudents(@Param("students") List<Student> students);
+
+  /**
+   * 名前検索用のn-gramを1回の複数行INSERTで登録します。
+   *
+   * @param nameGrams 登録するn-gramのリスト(空でないこと)
+   */
+  void registerStudentNameGrams(@Param("nameGrams") List<StudentNameGram> nameGrams);
+
+  /**
+   * 指定した受講生IDのいずれかに紐づく名前検索用のn-gramを削除します。
+   *
+   * @param studentIds 受講生IDのリスト(空でないこと)
+   */
+  void deleteStudentNameGrams(@Param("studentIds") List<String> studentIds);
+
   /**
    * 受講生コース情報を登録します。 主キー(ID)は自動採番されます。
    *
@@ -66,6 +167,13 @@ public interface StudentRepository {
    */
   void registerStudentCourseList(StudentCourse studentCourse);
 
+  /**
+   * 複数の受講生コース情報を1回の複数行INSERTで登録します。 採番された主キー(ID)は各受講生コース情報に設定されます。
+   *
+   * @param studentCourses 登録する受講生コース情報のリスト(空でないこと)
+   */
+  void registerStudentCourses(@Param("studentCourses") List<StudentCourse> studentCourses);
+
   /**
    * 申込状況を登録します。
    *
@@ -73,12 +181,21 @@ public interface StudentRepository {
    */
   void registerApplicationStatus(ApplicationStatus applicationStatus);
 
+  /**
+   * 複数の申込状況を1回の複数行INSERTで登録します。
+   *
+   * @param applicationStatuses 登録する申込状況のリスト(空でないこと)
+   */
+  void registerApplicationStatuses(
+      @Param("applicationStatuses") List<ApplicationStatus> applicationStatuses);
+
   /**
    * 受講生情報を更新します。 指定されたIDに一致する受講生レコードの情報を、引数の内容で上書きします。
    *
    * @param student 更新する受講生情報(IDは必須)
+   * @return IDに一致した受講生の件数(存在しない場合は0)
    */
-  void updateStudent(Student student);
+  int updateStudent(Student student);
 
   /**
    * 受講生コース情報を更新します。 指定されたIDに一致する受講コースの名称を変更します。
@@ -87,6 +204,13 @@ public interface StudentRepository {
    */
   void updateStudentCourseList(StudentCourse studentCourse);
 
+  /**
+   * 複数の受講生コース情報のコース名を1回のUPDATEでまとめて更新します。
+   *
+   * @param studentCourses 更新する受講生コース情報のリスト(IDとcourseNameは必須、空でないこと)
+   */
+  void updateStudentCourses(@Param("studentCourses") List<StudentCourse> studentCourses);
+
   /**
    * 申込状況を更新します。
    *
@@ -95,10 +219,29 @@ public interface StudentRepository {
   void updateApplicationStatus(ApplicationStatus applicationStatus);
 
   /**
-   * 指定された検索条件に一致する受講生の一覧を取得します。
+   * 複数の申込状況を1回のUPDATEでまとめて更新します。
    *
-   * @param condition 検索条件(名前、メールアドレス、地域、性別、年齢範囲、コース名、申込状況、削除フラグ)
-   * @return 条件に一致する受講生のリスト
+   * @param applicationStatuses 更新する申込状況のリスト(IDは必須、空でないこと)
+   */
+  void updateApplicationStatuses(
+      @Param("applicationStatuses") List<ApplicationStatus> applicationStatuses);
+
+  /**
+   * 指定された検索条件に一致する受講生の一覧を取得します。 受講生IDの昇順で、起点IDより後ろの受講生を
+   * ページ件数(未指定の場合は {@link StudentSearchCondition#MAX_PAGE_SIZE} 件)まで取得します。
+   * 名前は名前・カナ名・ニックネームの正規化列に対する部分一致で、n-gram索引で絞り込んでから判定します。
+   *
+   * @param condition 検索条件(名前、メールアドレス、地域、性別、年齢範囲、コース名、申込状況、削除フラグ、ページ件数、起点ID)
+   * @return 条件に一致する受講生のリスト(受講生IDの昇順)
    */
   List<Student> searchStudentByCondition(StudentSearchCondition condition);
+
+  /**
+   * 指定された検索条件に一致する受講生数を取得します。 起点IDとページ件数は無視します。
+   * 一致件数が {@link StudentSearchCondition#MAX_TOTAL_COUNT} を超える場合は数えるのをやめ、上限+1を返します。
+   *
+   * @param condition 検索条件
+   * @return 一致する受講生数(上限+1で打ち切り)
+   */
+  long countStudentByCondition(StudentSearchCondition condition);
 }
@@ -0,0 +1,74 @@
+package standard.StudentManagement.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV(RFC 4180形式)を1レコードずつ読み込むリーダーです。
+ * ダブルクォートで囲まれた項目内のカンマ・改行、および {@code ""} によるダブルクォートのエスケープに対応します。
+ */
+class CsvRecordReader {
+
+  private final PushbackReader reader;
+
+  CsvRecordReader(Reader reader) {
+    this.reader = new PushbackReader(new BufferedReader(reader));
+  }
+
+  /**
+   * 次の1レコードを読み込みます。
+   *
+   * @return レコードの項目一覧、入力の終端に達した場合は {@code null}
+   * @throws IOException 読み込みに失敗した場合、またはダブルクォートが閉じられていない場合
+   */
+  List<String> readRecord() throws IOException {
+    int c = reader.read();
+    if (c == -1) {
+      return null;
+    }
+
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    while (true) {
+      if (quoted) {
+        if (c == -1) {
+          throw new IOException("ダブルクォートが閉じられていない項目があります。");
+        }
+        if (c == '"') {
+          int next = reader.read();
+          if (next == '"') {
+            field.append('"');
+          } else {
+            quoted = false;
+            c = next;
+            continue;
+          }
+        } else {
+          field.append((char) c);
+        }
+      } else if (c == -1 || c == '\n' || c == '\r') {
+        if (c == '\r') {
+          int next = reader.read();
+          if (next != '\n' && next != -1) {
+            reader.unread(next);
+          }
+        }
+        fields.add(field.toString());
+        return fields;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if (c == '"' && field.isEmpty()) {
+        quoted = true;
+      } else {
+        field.append((char) c);
+      }
+      c = reader.read();
+    }
+  }
+}
@@ -0,0 +1,232 @@
+package standard.StudentManagement.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import standard.StudentManagement.data.Student;
+import standard.StudentManagement.domain.AutocompleteStatistics;
+import standard.StudentManagement.domain.SearchTextNormalizer;
+import standard.StudentManagement.domain.StudentNameSuggestion;
+import standard.StudentManagement.repository.StudentRepository;
+
+/**
+ * 受講生の名前・カナ名の入力補完を取り扱うサービスです。 削除されていない全受講生の正規化した名前とカナ名を {@link StudentNameTrie}
+ * に保持し、データベースに問い合わせずに前方一致の候補を返します。 起動時にデータベースから構築し、受講生の登録・更新はトランザクションのコミット後に
+ * {@link StudentChangedEvent} で通知され、該当する受講生のキーだけを置き換えます。 {@code student.autocomplete.enabled=false}
+ * の場合は構築せず、候補を返しません。
+ */
+@Slf4j
+@Service
+public class StudentAutocompleteService {
+
+  // HashMap のエントリ(ヘッダ・ハッシュ値・参照3つ)と、負荷係数0.75のテーブルの1枠分
+  private static final long MAP_ENTRY_BYTES = 32 + 6;
+  // 受講生ID・名前・カナ名の参照を持つ StudentNameSuggestion
+  private static final long SUGGESTION_BYTES = 24;
+  // String 本体(ヘッダ・配列参照・ハッシュ値・coder など)と、その byte 配列のヘッダ
+  private static final long STRING_BYTES = 24;
+  private static final long BYTE_ARRAY_HEADER_BYTES = 16;
+
+  private StudentRepository repository;
+  private boolean enabled;
+
+  // onStudentChanged と rebuild を1つずつ行うためのロック
+  private ReentrantLock updateLock = new ReentrantLock();
+  // trie と suggestions を読み書きするためのロック(メモリ上の変更のみ)
+  private ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private StudentNameTrie trie = new StudentNameTrie();
+  private Map<String, StudentNameSuggestion> suggestions = new HashMap<>();
+  // データベースから構築済みの場合は true(updateLock を取得して読み書きする)
+  private boolean built;
+
+  @Autowired
+  public StudentAutocompleteService(StudentRepository repository,
+      @Value("${student.autocomplete.enabled:true}") boolean enabled) {
+    this.repository = repository;
+    this.enabled = enabled;
+  }
+
+  /**
+   * 名前またはカナ名が入力された文字列で始まる受講生を {@code limit} 件まで返します。
+   * 入力は名前検索と同じく正規化するため、カタカナとひらがな、全角と半角を区別しません。 候補は一致したキーの昇順で、完全に一致する受講生が先頭に並びます。
+   *
+   * @param prefix 入力された文字列
+   * @param limit  返す件数の上限
+   * @return 候補の一覧(入力が空白のみの場合は空)
+   */
+  public List<StudentNameSuggestion> suggest(String prefix, int limit) {
+    String normalized = SearchTextNormalizer.normalize(prefix);
+    if (normalized == null || normalized.isEmpty()) {
+      return List.of();
+    }
+    Set<String> studentIds = new LinkedHashSet<>();
+    lock.readLock().lock();
+    try {
+      trie.collect(normalized, limit, studentIds);
+      return studentIds.stream().map(suggestions::get).toList();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * 登録・更新された受講生の名前とカナ名を読み込み直し、トライのキーを置き換えます。 削除された受講生は候補から取り除きます。
+   * 起動時の構築に失敗していた場合は、該当する受講生だけでなくトライ全体を作り直します。
+   *
+   * @param event 受講生の変更通知
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onStudentChanged(StudentChangedEvent event) {
+    if (!enabled || event.studentIds().isEmpty()) {
+      return;
+    }
+    updateLock.lock();
+    try {
+      if (!built) {
+        rebuild();
+        return;
+      }
+      List<Student> students = repository.searchStudentNamesByIds(event.studentIds());
+      lock.writeLock().lock();
+      try {
+        for (String studentId : event.studentIds()) {
+          StudentNameSuggestion removed = suggestions.remove(studentId);
+          if (removed != null) {
+            removeKeys(trie, removed);
+          }
+        }
+        for (Student student : students) {
+          if (!student.isDeleted()) {
+            add(trie, suggestions, student);
+          }
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    } catch (RuntimeException e) {
+      log.error("入力補完に受講生の変更を反映できませんでした。 受講生数={}", event.studentIds().size(), e);
+    } finally {
+      updateLock.unlock();
+    }
+  }
+
+  /**
+   * データベースの削除されていない全受講生からトライを作り直します。 作り直している間は、以前のトライで候補を返します。
+   *
+   * @return 作り直したトライの状態
+   */
+  public AutocompleteStatistics rebuild() {
+    if (!enabled) {
+      return getStatistics();
+    }
+    updateLock.lock();
+    try {
+      long start = System.nanoTime();
+      StudentNameTrie rebuiltTrie = new StudentNameTrie();
+      Map<String, StudentNameSuggestion> rebuiltSuggestions = new HashMap<>();
+      repository.searchStudentNames(
+          context -> add(rebuiltTrie, rebuiltSuggestions, context.getResultObject()));
+
+      lock.writeLock().lock();
+      try {
+        trie = rebuiltTrie;
+        suggestions = rebuiltSuggestions;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      built = true;
+      AutocompleteStatistics statistics = getStatistics();
+      log.info("入力補完のトライを構築しました。 受講生数={} キー数={} 節点数={} 概算メモリ={}バイト 所要時間={}ms",
+          statistics.getStudentCount(), statistics.getKeyCount(), statistics.getNodeCount(),
+          statistics.getTrieBytes() + statistics.getSuggestionBytes(),
+          (System.nanoTime() - start) / 1_000_000);
+      return statistics;
+    } finally {
+      updateLock.unlock();
+    }
+  }
+
+  /**
+   * 起動時にデータベースからトライを構築します。 構築に失敗した場合は、次の変更通知で構築し直すまで候補を返しません。
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void buildOnStartup() {
+    try {
+      rebuild();
+    } catch (RuntimeException e) {
+      log.error("入力補完のトライを構築できませんでした。 次の変更通知で構築し直すまで候補は返しません。", e);
+    }
+  }
+
+  /**
+   * トライの状態とメモリ使用量の概算を返します。 トライの全節点をたどるため、候補の取得より時間がかかります。
+   *
+   * @return トライの状態
+   */
+  public AutocompleteStatistics getStatistics() {
+    lock.readLock().lock();
+    try {
+      long suggestionBytes = 0;
+      for (StudentNameSuggestion suggestion : suggestions.values()) {
+        suggestionBytes += MAP_ENTRY_BYTES + SUGGESTION_BYTES
+            + stringBytes(suggestion.getStudentId()) + stringBytes(suggestion.getName())
+            + stringBytes(suggestion.getKanaName());
+      }
+      return new AutocompleteStatistics(suggestions.size(), trie.getKeyCount(),
+          trie.getNodeCount(), trie.estimateMemoryBytes(), suggestionBytes);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private static void add(StudentNameTrie trie, Map<String, StudentNameSuggestion> suggestions,
+      Student student) {
+    StudentNameSuggestion suggestion = new StudentNameSuggestion(student.getId(),
+        student.getName(), student.getKanaName());
+    suggestions.put(suggestion.getStudentId(), suggestion);
+    for (String key : keys(student.getName(), student.getKanaName())) {
+      trie.put(key, suggestion.getStudentId());
+    }
+  }
+
+  private static void removeKeys(StudentNameTrie trie, StudentNameSuggestion suggestion) {
+    for (String key : keys(suggestion.getName(), suggestion.getKanaName())) {
+      trie.remove(key, suggestion.getStudentId());
+    }
+  }
+
+  private static Set<String> keys(String name, String kanaName) {
+    Set<String> keys = new LinkedHashSet<>();
+    for (String text : new String[]{name, kanaName}) {
+      String normalized = SearchTextNormalizer.normalize(text);
+      if (normalized != null && !normalized.isEmpty()) {
+        keys.add(normalized);
+      }
+    }
+    return keys;
+  }
+
+  /**
+   * 文字列のメモリ使用量の概算です。 Latin-1 で表せる文字列は1文字1バイト、それ以外は1文字2バイトで数えます。
+   */
+  private static long stringBytes(String text) {
+    if (text == null) {
+      return 0;
+    }
+    boolean latin1 = text.chars().allMatch(c -> c <= 0xFF);
+    long arrayBytes = BYTE_ARRAY_HEADER_BYTES + (long) text.length() * (latin1 ? 1 : 2);
+    return STRING_BYTES + ((arrayBytes + 7) & ~7L);
+  }
+}
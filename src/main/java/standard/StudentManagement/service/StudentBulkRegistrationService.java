@@ -0,0 +1,464 @@
+package standard.StudentManagement.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import standard.StudentManagement.data.ApplicationStatus;
+import standard.StudentManagement.data.Student;
+import standard.StudentManagement.data.StudentCourse;
+import standard.StudentManagement.domain.BulkRegistrationResult;
+import standard.StudentManagement.domain.BulkRegistrationRowResult;
+import standard.StudentManagement.domain.StudentDetail;
+
+/**
+ * 受講生の一括登録を行うサービスです。
+ * 入力の解析・入力チェック・登録の3段階を容量制限付きのキューでつなぎ、各段階を並行して処理します。
+ * 後段の処理が追いつかない場合は前段が待機するため、入力がどれだけ大きくても保持する件数はキューの容量までに抑えられます。
+ */
+@Service
+public class StudentBulkRegistrationService {
+
+  private static final String[] REQUIRED_CSV_COLUMNS = {"name", "kanaName", "email", "area", "age",
+      "sex"};
+  private static final String CSV_LIST_SEPARATOR = "\\|";
+  private static final long QUEUE_WAIT_MILLIS = 100;
+
+  private StudentService studentService;
+  private Validator validator;
+  private ObjectMapper objectMapper;
+  private AsyncTaskExecutor executor;
+  // 同時に処理する一括登録の数の上限(各段階が他の一括登録のスレッドが空くのを待ち続けることを防ぐ)
+  private Semaphore uploadPermits;
+  private int maxConcurrentUploads;
+  private int batchSize;
+  private int queueCapacity;
+
+  @Autowired
+  public StudentBulkRegistrationService(StudentService studentService, Validator validator,
+      ObjectMapper objectMapper,
+      @Qualifier("bulkRegistrationExecutor") AsyncTaskExecutor executor,
+      @Value("${student.bulk.max-concurrent-uploads:4}") int maxConcurrentUploads,
+      @Value("${student.bulk.batch-size:500}") int batchSize,
+      @Value("${student.bulk.queue-capacity:1000}") int queueCapacity) {
+    this.studentService = studentService;
+    this.validator = validator;
+    this.objectMapper = objectMapper;
+    this.executor = executor;
+    this.uploadPermits = new Semaphore(maxConcurrentUploads);
+    this.maxConcurrentUploads = maxConcurrentUploads;
+    this.batchSize = batchSize;
+    this.queueCapacity = queueCapacity;
+  }
+
+  /**
+   * 受講生詳細のJSON配列を先頭から順に読み込みながら一括登録します。
+   *
+   * @param inputStream 受講生詳細のJSON配列
+   * @return 一括登録の結果
+   */
+  public BulkRegistrationResult registerFromJson(InputStream inputStream) {
+    return run(sink -> parseJson(inputStream, sink));
+  }
+
+  /**
+   * 受講生のCSVを先頭から順に読み込みながら一括登録します。
+   * 1行目はヘッダーとし、name, kanaName, nickname, email, area, age, sex, remark, courseName, status の列を指定します。
+   * 1人の受講生に複数のコースを登録する場合は courseName と status を {@code |} 区切りで同じ数だけ指定します。
+   *
+   * @param reader 受講生のCSV
+   * @return 一括登録の結果
+   */
+  public BulkRegistrationResult registerFromCsv(Reader reader) {
+    return run(sink -> parseCsv(reader, sink));
+  }
+
+  /**
+   * 解析・入力チェック・登録の各段階を起動し、すべての行の処理が終わるまで待機します。
+   * 解析は呼び出し元のスレッドで行い、入力チェックと登録は一括登録用のスレッドプールでそれぞれ1スレッドを使って行います。
+   *
+   * @param parser 入力を解析して1行ずつ渡す処理
+   * @return 一括登録の結果
+   * @throws TaskRejectedException 同時に処理できる一括登録の数の上限に達している場合
+   */
+  private BulkRegistrationResult run(RowParser parser) {
+    if (!uploadPermits.tryAcquire()) {
+      throw new TaskRejectedException(
+          "同時に処理できる一括登録の数の上限(" + maxConcurrentUploads + "件)に達しています。");
+    }
+    try {
+      return runStages(parser);
+    } finally {
+      uploadPermits.release();
+    }
+  }
+
+  private BulkRegistrationResult runStages(RowParser parser) {
+    BlockingQueue<ParsedRow> parsedQueue = new ArrayBlockingQueue<>(queueCapacity);
+    BlockingQueue<ParsedRow> validQueue = new ArrayBlockingQueue<>(queueCapacity);
+    Queue<BulkRegistrationRowResult> rowResults = new ConcurrentLinkedQueue<>();
+    AtomicInteger parsedCount = new AtomicInteger();
+
+    Future<?> registration = executor.submit(() -> {
+      registerStage(validQueue, rowResults);
+      return null;
+    });
+    Future<?> validation;
+    try {
+      validation = executor.submit(() -> {
+        validateStage(parsedQueue, validQueue, registration, rowResults);
+        return null;
+      });
+    } catch (TaskRejectedException e) {
+      registration.cancel(true);
+      throw e;
+    }
+
+    try {
+      try {
+        parser.parse(row -> {
+          parsedCount.incrementAndGet();
+          put(parsedQueue, row, validation);
+        });
+      } catch (IOException e) {
+        rowResults.add(BulkRegistrationRowResult.failure(parsedCount.get() + 1,
+            List.of("入力の解析に失敗したため、以降の行は処理されていません: " + e.getMessage())));
+      } finally {
+        put(parsedQueue, ParsedRow.END, validation);
+      }
+
+      validation.get();
+      registration.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("一括登録が中断されました。", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("一括登録の処理中にエラーが発生しました。", e.getCause());
+    } finally {
+      // 途中で終了した場合は、待機している段階を中断してスレッドをプールに返す
+      validation.cancel(true);
+      registration.cancel(true);
+    }
+
+    return summarize(rowResults);
+  }
+
+  /**
+   * 入力チェックの段階です。 登録時の採番ルールを適用したうえで Bean Validation を行い、問題のない行だけを登録の段階へ渡します。
+   */
+  private void validateStage(BlockingQueue<ParsedRow> parsedQueue,
+      BlockingQueue<ParsedRow> validQueue, Future<?> registration,
+      Queue<BulkRegistrationRowResult> rowResults) throws InterruptedException {
+    while (true) {
+      ParsedRow row = parsedQueue.take();
+      if (row == ParsedRow.END) {
+        put(validQueue, ParsedRow.END, registration);
+        return;
+      }
+      if (row.error() != null) {
+        rowResults.add(BulkRegistrationRowResult.failure(row.rowNumber(), List.of(row.error())));
+        continue;
+      }
+
+      List<String> messages;
+      try {
+        messages = validate(row.studentDetail());
+      } catch (RuntimeException e) {
+        messages = List.of("入力内容を確認できませんでした。");
+      }
+      if (messages.isEmpty()) {
+        put(validQueue, row, registration);
+      } else {
+        rowResults.add(BulkRegistrationRowResult.failure(row.rowNumber(), messages));
+      }
+    }
+  }
+
+  /**
+   * 受講生詳細に登録時の採番ルールを適用し、入力チェックを行います。
+   *
+   * @param studentDetail 受講生詳細
+   * @return エラーメッセージの一覧(問題がない場合は空)
+   */
+  private List<String> validate(StudentDetail studentDetail) {
+    if (studentDetail == null || studentDetail.getStudent() == null) {
+      return List.of("student: 受講生情報は必須です。");
+    }
+    studentService.prepareRegistration(studentDetail);
+
+    Set<ConstraintViolation<StudentDetail>> violations = validator.validate(studentDetail);
+    return violations.stream()
+        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+        .sorted()
+        .toList();
+  }
+
+  /**
+   * 登録の段階です。 入力チェック済みの行をバッチサイズごとにまとめて登録します。
+   */
+  private void registerStage(BlockingQueue<ParsedRow> validQueue,
+      Queue<BulkRegistrationRowResult> rowResults) throws InterruptedException {
+    List<ParsedRow> batch = new ArrayList<>(batchSize);
+    while (true) {
+      ParsedRow row = validQueue.take();
+      if (row == ParsedRow.END) {
+        registerBatch(batch, rowResults);
+        return;
+      }
+      batch.add(row);
+      if (batch.size() >= batchSize) {
+        registerBatch(batch, rowResults);
+        batch.clear();
+      }
+    }
+  }
+
+  /**
+   * 複数行をまとめて登録します。 まとめての登録に失敗した場合は、原因となった行を特定するため1行ずつ登録し直します。
+   *
+   * @param batch      登録する行
+   * @param rowResults 行ごとの結果の格納先
+   */
+  private void registerBatch(List<ParsedRow> batch, Queue<BulkRegistrationRowResult> rowResults) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      studentService.registerPreparedStudents(
+          batch.stream().map(ParsedRow::studentDetail).toList());
+      batch.forEach(row -> rowResults.add(BulkRegistrationRowResult.success(row.rowNumber(),
+          row.studentDetail().getStudent().getId())));
+      return;
+    } catch (RuntimeException e) {
+      if (batch.size() == 1) {
+        rowResults.add(
+            BulkRegistrationRowResult.failure(batch.get(0).rowNumber(), List.of(toMessage(e))));
+        return;
+      }
+    }
+
+    for (ParsedRow row : batch) {
+      try {
+        studentService.registerPreparedStudents(List.of(row.studentDetail()));
+        rowResults.add(BulkRegistrationRowResult.success(row.rowNumber(),
+            row.studentDetail().getStudent().getId()));
+      } catch (RuntimeException e) {
+        rowResults.add(BulkRegistrationRowResult.failure(row.rowNumber(), List.of(toMessage(e))));
+      }
+    }
+  }
+
+  private String toMessage(RuntimeException e) {
+    if (e instanceof DuplicateKeyException) {
+      return "メールアドレスが既に登録されています。";
+    }
+    return "登録に失敗しました。";
+  }
+
+  /**
+   * 次の段階のキューに行を渡します。 キューが満杯の間は待機しますが、次の段階が終了している場合は待機を打ち切ります。
+   */
+  private void put(BlockingQueue<ParsedRow> queue, ParsedRow row, Future<?> consumer)
+      throws InterruptedException {
+    while (!queue.offer(row, QUEUE_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+      if (consumer.isDone()) {
+        throw new IllegalStateException("後続の処理が終了しているため、一括登録を継続できません。");
+      }
+    }
+  }
+
+  private BulkRegistrationResult summarize(Queue<BulkRegistrationRowResult> rowResults) {
+    List<BulkRegistrationRowResult> sortedResults = rowResults.stream()
+        .sorted(Comparator.comparingInt(BulkRegistrationRowResult::getRowNumber))
+        .toList();
+    int successCount = (int) sortedResults.stream()
+        .filter(BulkRegistrationRowResult::isSuccess)
+        .count();
+    return new BulkRegistrationResult(sortedResults.size(), successCount,
+        sortedResults.size() - successCount, sortedResults);
+  }
+
+  /**
+   * JSON配列を要素ごとに読み込みます。 要素単位の変換エラーはその行の失敗として扱い、後続の要素の処理を続けます。
+   */
+  private void parseJson(InputStream inputStream, RowSink sink)
+      throws IOException, InterruptedException {
+    try (JsonParser parser = objectMapper.createParser(inputStream)) {
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        throw new JsonParseException(parser, "受講生詳細の配列を指定してください。");
+      }
+
+      int rowNumber = 0;
+      JsonToken token;
+      while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+        if (token == null) {
+          throw new JsonParseException(parser, "配列が閉じられていません。");
+        }
+        rowNumber++;
+        JsonNode node = objectMapper.readTree(parser);
+
+        ParsedRow row;
+        try {
+          row = new ParsedRow(rowNumber,
+              withCourseList(objectMapper.treeToValue(node, StudentDetail.class)), null);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+          row = new ParsedRow(rowNumber, null, "JSONの値が不正です。");
+        }
+        sink.accept(row);
+      }
+    }
+  }
+
+  /**
+   * CSVをレコードごとに読み込みます。 値の変換エラーはその行の失敗として扱い、後続の行の処理を続けます。
+   */
+  private void parseCsv(Reader reader, RowSink sink) throws IOException, InterruptedException {
+    CsvRecordReader csvReader = new CsvRecordReader(reader);
+    List<String> header = csvReader.readRecord();
+    if (header == null) {
+      return;
+    }
+
+    Map<String, Integer> columnIndex = new HashMap<>();
+    for (int i = 0; i < header.size(); i++) {
+      // 先頭列に付与されたBOMは取り除く
+      columnIndex.put(header.get(i).replace("\uFEFF", "").trim(), i);
+    }
+    for (String column : REQUIRED_CSV_COLUMNS) {
+      if (!columnIndex.containsKey(column)) {
+        throw new IOException("CSVのヘッダーに " + column + " 列がありません。");
+      }
+    }
+
+    int rowNumber = 0;
+    List<String> record;
+    while ((record = csvReader.readRecord()) != null) {
+      if (record.size() == 1 && record.get(0).isBlank()) {
+        continue;
+      }
+      rowNumber++;
+
+      ParsedRow row;
+      try {
+        row = new ParsedRow(rowNumber, toStudentDetail(record, columnIndex), null);
+      } catch (IllegalArgumentException e) {
+        row = new ParsedRow(rowNumber, null, e.getMessage());
+      }
+      sink.accept(row);
+    }
+  }
+
+  private StudentDetail toStudentDetail(List<String> record, Map<String, Integer> columnIndex) {
+    Student student = new Student();
+    student.setName(column(record, columnIndex, "name"));
+    student.setKanaName(column(record, columnIndex, "kanaName"));
+    student.setNickname(column(record, columnIndex, "nickname"));
+    student.setEmail(column(record, columnIndex, "email"));
+    student.setArea(column(record, columnIndex, "area"));
+    student.setSex(column(record, columnIndex, "sex"));
+    student.setRemark(column(record, columnIndex, "remark"));
+
+    String age = column(record, columnIndex, "age");
+    if (age != null) {
+      try {
+        student.setAge(Integer.parseInt(age));
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("age: 年齢は数値で入力してください。");
+      }
+    }
+
+    List<StudentCourse> studentCourseList = new ArrayList<>();
+    String courseNames = column(record, columnIndex, "courseName");
+    if (courseNames != null) {
+      String statuses = column(record, columnIndex, "status");
+      String[] courseNameValues = courseNames.split(CSV_LIST_SEPARATOR, -1);
+      String[] statusValues = statuses == null ? new String[0]
+          : statuses.split(CSV_LIST_SEPARATOR, -1);
+      if (courseNameValues.length != statusValues.length) {
+        throw new IllegalArgumentException("courseName: コース名と申込状況は同じ数だけ指定してください。");
+      }
+      for (int i = 0; i < courseNameValues.length; i++) {
+        StudentCourse studentCourse = new StudentCourse();
+        studentCourse.setCourseName(courseNameValues[i].trim());
+        ApplicationStatus status = new ApplicationStatus();
+        status.setStatus(statusValues[i].trim());
+        studentCourse.setApplicationStatus(status);
+        studentCourseList.add(studentCourse);
+      }
+    }
+    return new StudentDetail(student, studentCourseList);
+  }
+
+  /**
+   * 指定した列の値を取得します。 列が存在しない場合や空欄の場合は {@code null} を返します。
+   */
+  private String column(List<String> record, Map<String, Integer> columnIndex, String name) {
+    Integer index = columnIndex.get(name);
+    if (index == null || index >= record.size() || record.get(index).isBlank()) {
+      return null;
+    }
+    return record.get(index).trim();
+  }
+
+  private StudentDetail withCourseList(StudentDetail studentDetail) {
+    if (studentDetail != null && studentDetail.getStudentCourseList() == null) {
+      studentDetail.setStudentCourseList(new ArrayList<>());
+    }
+    return studentDetail;
+  }
+
+  /**
+   * 入力を解析して1行ずつ {@link RowSink} へ渡す処理です。
+   */
+  @FunctionalInterface
+  private interface RowParser {
+
+    void parse(RowSink sink) throws IOException, InterruptedException;
+  }
+
+  /**
+   * 解析済みの行を受け取る処理です。
+   */
+  @FunctionalInterface
+  private interface RowSink {
+
+    void accept(ParsedRow row) throws InterruptedException;
+  }
+
+  /**
+   * 解析済みの1行です。 解析に失敗した場合は {@code error} にエラーメッセージを保持します。
+   */
+  private record ParsedRow(int rowNumber, StudentDetail studentDetail, String error) {
+
+    private static final ParsedRow END = new ParsedRow(-1, null, null);
+  }
+}
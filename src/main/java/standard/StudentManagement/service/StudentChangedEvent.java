@@ -0,0 +1,21 @@
+package standard.StudentManagement.service;
+
+import java.util.List;
+
+/**
+ * 受講生詳細(受講生・受講生コース・申込状況)が登録または更新されたことを通知するイベントです。
+ * トランザクション内で発行され、受け取る側はコミット後に処理します。
+ *
+ * <p>受け取る側は次のとおりに処理します。
+ * <ul>
+ *   <li>{@code @TransactionalEventListener(phase = AFTER_COMMIT, fallbackExecution = true)}
+ *   で受け取り、トランザクション外で発行された場合はその場で処理します。</li>
+ *   <li>登録・更新は確定済みのため、処理に失敗しても例外をスローせず、エラーをログに出力するだけとします。</li>
+ *   <li>データベースの読み込みから反映までを1つのロックで囲み、先に読み込んだ古い値で後の反映を上書きしないようにします。</li>
+ * </ul>
+ *
+ * @param studentIds 登録または更新された受講生のID
+ */
+public record StudentChangedEvent(List<String> studentIds) {
+
+}
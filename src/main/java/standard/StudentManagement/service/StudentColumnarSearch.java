@@ -0,0 +1,214 @@
+package standard.StudentManagement.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import standard.StudentManagement.domain.StudentSearchCondition;
+import standard.StudentManagement.repository.StudentRepository;
+
+/**
+ * 受講生の条件検索を、メモリ上の列形式のスナップショット({@link StudentColumnarSnapshot})で判定する検索エンジンです。
+ * 地域・性別・年齢範囲・削除フラグ・コース名・申込状況だけの条件はスナップショットで受講生IDを求め、受講生の読み込みだけをデータベースで行います。
+ * 名前・メールアドレスを含む条件、地域にLIKEのワイルドカードを含む条件、スナップショットの作成前と反映に失敗した後は {@link #supports} が
+ * {@code false} を返し、呼び出し元はSQLで検索します。 受講生の登録・更新はトランザクションのコミット後に {@link StudentChangedEvent} で通知されます。
+ * スナップショットの置き換えは全受講生の複製を伴うため、登録・更新のスレッドでは受講生IDを溜めるだけとし、専用のスレッドで溜まった受講生をまとめて
+ * 置き換えた新しいスナップショットに切り替えます。 反映を待っている受講生がいる間は {@link #supports} が {@code false} を返し、SQLで検索します。
+ * {@code student.columnar-search.enabled=true} の場合だけ有効になります。
+ */
+@Slf4j
+@Component
+public class StudentColumnarSearch {
+
+  private StudentRepository repository;
+  private boolean enabled;
+  private Executor executor;
+
+  // スナップショットの作成・置き換えを1つずつ行うためのロック(データベースの読み込みを含む)
+  private ReentrantLock updateLock = new ReentrantLock();
+  private volatile StudentColumnarSnapshot snapshot;
+  // 変更の反映に失敗し、スナップショットが最新でない場合は true
+  private volatile boolean stale;
+  // 反映を待っている受講生のID(pendingIds を取得して読み書きする)
+  private Set<String> pendingIds = new LinkedHashSet<>();
+  // 反映を待っている受講生がいるか、反映している間は true
+  private volatile boolean pending;
+
+  @Autowired
+  public StudentColumnarSearch(StudentRepository repository,
+      @Value("${student.columnar-search.enabled:false}") boolean enabled) {
+    this(repository, enabled, Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "columnar-snapshot");
+      thread.setDaemon(true);
+      return thread;
+    }));
+  }
+
+  /**
+   * テスト用途で使用するコンストラクタです。 変更の反映の実行先を任意に注入可能にすることで、まとめて反映されることの検証を容易にします。
+   *
+   * @param repository 受講生のリポジトリ
+   * @param enabled    有効にする場合は {@code true}
+   * @param executor   変更の反映の実行先
+   */
+  StudentColumnarSearch(StudentRepository repository, boolean enabled, Executor executor) {
+    this.repository = repository;
+    this.enabled = enabled;
+    this.executor = executor;
+  }
+
+  /**
+   * 検索条件をスナップショットで判定できるかを返します。
+   *
+   * @param condition 検索条件
+   * @return スナップショットで判定できる場合は {@code true}
+   */
+  public boolean supports(StudentSearchCondition condition) {
+    return snapshot != null && !stale && !pending
+        && isEmpty(condition.getName())
+        && isEmpty(condition.getEmail())
+        && (isEmpty(condition.getArea()) || !containsLikeWildcard(condition.getArea()));
+  }
+
+  /**
+   * 検索条件に一致する受講生IDを、受講生IDの昇順に起点IDより後ろからページ件数(未指定の場合は上限件数)まで返します。
+   * {@link #supports} が {@code true} を返した条件だけを指定してください。
+   *
+   * @param condition 検索条件
+   * @return 一致した受講生IDのリスト
+   */
+  public List<String> findStudentIds(StudentSearchCondition condition) {
+    int limit = condition.getPageSize() != null
+        ? condition.getPageSize()
+        : StudentSearchCondition.MAX_PAGE_SIZE;
+    return snapshot.find(condition, condition.getAfterId(), limit);
+  }
+
+  /**
+   * 検索条件に一致する受講生数を、{@link StudentSearchCondition#MAX_TOTAL_COUNT} 件を超えた時点で数えるのをやめて返します。
+   * {@link #supports} が {@code true} を返した条件だけを指定してください。
+   *
+   * @param condition 検索条件
+   * @return 一致した受講生数(上限を超える場合は上限+1件)
+   */
+  public long countStudents(StudentSearchCondition condition) {
+    return snapshot.count(condition, StudentSearchCondition.MAX_TOTAL_COUNT + 1L);
+  }
+
+  /**
+   * 登録・更新された受講生IDを反映待ちに加え、反映していなければ専用のスレッドでの反映を始めます。 登録・更新のスレッドではデータベースを読み込みません。
+   *
+   * @param event 受講生の変更通知
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onStudentChanged(StudentChangedEvent event) {
+    if (!enabled || event.studentIds().isEmpty()) {
+      return;
+    }
+    synchronized (pendingIds) {
+      pendingIds.addAll(event.studentIds());
+      if (pending) {
+        return;
+      }
+      pending = true;
+    }
+    executor.execute(this::applyPendingChanges);
+  }
+
+  /**
+   * 反映待ちの受講生がいなくなるまで、溜まった受講生をまとめて読み込み直し、置き換えたスナップショットに切り替えます。
+   * スナップショットがない場合は作り直します。 反映に失敗した場合はスナップショットを使わず、次の変更通知で作り直すまでSQLで検索します。
+   */
+  private void applyPendingChanges() {
+    while (true) {
+      List<String> studentIds;
+      synchronized (pendingIds) {
+        if (pendingIds.isEmpty()) {
+          pending = false;
+          return;
+        }
+        studentIds = List.copyOf(pendingIds);
+        pendingIds.clear();
+      }
+      updateLock.lock();
+      try {
+        if (snapshot == null || stale) {
+          rebuild();
+        } else {
+          snapshot = snapshot.withChanges(studentIds,
+              repository.searchStudentDetailsByIds(studentIds));
+        }
+      } catch (RuntimeException e) {
+        stale = true;
+        log.error("列形式のスナップショットに受講生の変更を反映できませんでした。 作り直すまで条件検索はSQLで行います。 受講生数={}",
+            studentIds.size(), e);
+      } finally {
+        updateLock.unlock();
+      }
+    }
+  }
+
+  /**
+   * データベースの全受講生(削除済みを含む)からスナップショットを作り直します。 作り直している間は、以前のスナップショットで判定します。
+   */
+  public void rebuild() {
+    if (!enabled) {
+      return;
+    }
+    updateLock.lock();
+    try {
+      long start = System.nanoTime();
+      StudentColumnarSnapshot.Builder builder = StudentColumnarSnapshot.builder();
+      repository.searchStudentSearchAttributes(context -> builder.add(context.getResultObject()));
+      StudentColumnarSnapshot rebuilt = builder.build();
+      snapshot = rebuilt;
+      stale = false;
+      log.info("列形式のスナップショットを作成しました。 受講生数={} 概算メモリ={}バイト 所要時間={}ms",
+          rebuilt.size(), rebuilt.estimateColumnBytes(), (System.nanoTime() - start) / 1_000_000);
+    } finally {
+      updateLock.unlock();
+    }
+  }
+
+  /**
+   * 起動時にスナップショットを作成します。 作成に失敗した場合はSQLで検索します。
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void buildOnStartup() {
+    try {
+      rebuild();
+    } catch (RuntimeException e) {
+      log.error("列形式のスナップショットを作成できませんでした。 条件検索はSQLで行います。", e);
+    }
+  }
+
+  /**
+   * 変更の反映に使うスレッドを停止します。
+   */
+  @PreDestroy
+  public void close() {
+    if (executor instanceof ExecutorService executorService) {
+      executorService.shutdown();
+    }
+  }
+
+  private static boolean isEmpty(String value) {
+    return value == null || value.isEmpty();
+  }
+
+  private static boolean containsLikeWildcard(String value) {
+    return value.indexOf('%') >= 0 || value.indexOf('_') >= 0 || value.indexOf('\\') >= 0;
+  }
+}
@@ -0,0 +1,406 @@
+package standard.StudentManagement.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import standard.StudentManagement.data.Student;
+import standard.StudentManagement.data.StudentCourse;
+import standard.StudentManagement.domain.StudentDetail;
+import standard.StudentManagement.domain.StudentSearchCondition;
+
+/**
+ * 受講生の検索条件の判定に使う属性を、受講生IDの昇順に列ごとの配列で保持するスナップショットです。
+ * 年齢は {@code int} の配列、地域・性別・コース名・申込状況は辞書の番号({@code short})の配列、削除フラグはビット列で保持します。
+ * 受講生ごとのコースは、受講生ごとの開始位置の配列とコース名・申込状況の配列で保持します。 作成後は変更しないため、複数のスレッドから同時に参照できます。
+ */
+final class StudentColumnarSnapshot {
+
+  /**
+   * 値がないことを表す辞書の番号です。
+   */
+  static final short NO_CODE = -1;
+
+  private String[] studentIds;
+  private int[] ages;
+  private short[] areaCodes;
+  private short[] sexCodes;
+  private BitSet deleted;
+  private int[] courseOffsets;
+  private short[] courseNameCodes;
+  private short[] statusCodes;
+  private String[] areaDictionary;
+  private String[] sexDictionary;
+  private String[] courseNameDictionary;
+  private String[] statusDictionary;
+
+  private StudentColumnarSnapshot(Builder builder) {
+    int size = builder.size;
+    int courseSize = builder.courseSize;
+    this.studentIds = Arrays.copyOf(builder.studentIds, size);
+    this.ages = Arrays.copyOf(builder.ages, size);
+    this.areaCodes = Arrays.copyOf(builder.areaCodes, size);
+    this.sexCodes = Arrays.copyOf(builder.sexCodes, size);
+    this.deleted = (BitSet) builder.deleted.clone();
+    this.courseOffsets = Arrays.copyOf(builder.courseOffsets, size + 1);
+    this.courseNameCodes = Arrays.copyOf(builder.courseNameCodes, courseSize);
+    this.statusCodes = Arrays.copyOf(builder.statusCodes, courseSize);
+    this.areaDictionary = builder.areas.values();
+    this.sexDictionary = builder.sexes.values();
+    this.courseNameDictionary = builder.courseNames.values();
+    this.statusDictionary = builder.statuses.values();
+  }
+
+  /**
+   * 受講生IDの昇順に受講生を追加してスナップショットを作成するビルダーを返します。
+   *
+   * @return ビルダー
+   */
+  static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * 変更された受講生を置き換えた新しいスナップショットを作成します。 このスナップショットは変更しません。
+   *
+   * @param changedIds     変更された受講生ID
+   * @param studentDetails 変更された受講生の受講生詳細(削除済みを含む、受講生IDの昇順)。 含まれない受講生はスナップショットから取り除きます
+   * @return 新しいスナップショット
+   */
+  StudentColumnarSnapshot withChanges(List<String> changedIds,
+      List<StudentDetail> studentDetails) {
+    Set<String> changed = new HashSet<>(changedIds);
+    Builder builder = new Builder(this);
+    Iterator<StudentDetail> replacements = studentDetails.iterator();
+    StudentDetail replacement = replacements.hasNext() ? replacements.next() : null;
+    for (int row = 0; row < studentIds.length; row++) {
+      while (replacement != null
+          && replacement.getStudent().getId().compareTo(studentIds[row]) < 0) {
+        builder.add(replacement);
+        replacement = replacements.hasNext() ? replacements.next() : null;
+      }
+      if (!changed.contains(studentIds[row])) {
+        builder.copy(this, row);
+      }
+    }
+    while (replacement != null) {
+      builder.add(replacement);
+      replacement = replacements.hasNext() ? replacements.next() : null;
+    }
+    return builder.build();
+  }
+
+  /**
+   * 検索条件に一致する受講生IDを、受講生IDの昇順に起点IDより後ろから最大件数まで返します。 名前とメールアドレスの条件は判定しません。
+   *
+   * @param condition 検索条件
+   * @param afterId   起点ID(先頭から探す場合は {@code null})
+   * @param limit     返す件数の上限
+   * @return 一致した受講生IDのリスト
+   */
+  List<String> find(StudentSearchCondition condition, String afterId, int limit) {
+    Matcher matcher = new Matcher(condition);
+    List<String> matched = new ArrayList<>(Math.min(limit, 64));
+    if (matcher.impossible) {
+      return matched;
+    }
+    for (int row = firstRowAfter(afterId); row < studentIds.length && matched.size() < limit;
+        row++) {
+      if (matcher.matches(row)) {
+        matched.add(studentIds[row]);
+      }
+    }
+    return matched;
+  }
+
+  /**
+   * 検索条件に一致する受講生数を、上限の件数に達するまで数えます。 名前とメールアドレスの条件は判定しません。
+   *
+   * @param condition 検索条件
+   * @param limit     数える件数の上限
+   * @return 一致した受講生数(上限を超える場合は上限の件数)
+   */
+  long count(StudentSearchCondition condition, long limit) {
+    Matcher matcher = new Matcher(condition);
+    if (matcher.impossible) {
+      return 0;
+    }
+    long count = 0;
+    for (int row = 0; row < studentIds.length && count < limit; row++) {
+      if (matcher.matches(row)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * 保持している受講生数を返します。
+   *
+   * @return 受講生数(削除済みを含む)
+   */
+  int size() {
+    return studentIds.length;
+  }
+
+  /**
+   * 列の配列が使用しているメモリ量の概算を返します。 受講生IDと辞書の文字列は含めません。
+   *
+   * @return 概算のバイト数
+   */
+  long estimateColumnBytes() {
+    return (long) studentIds.length * (Integer.BYTES + Short.BYTES * 2 + Integer.BYTES)
+        + deleted.size() / Byte.SIZE
+        + (long) courseNameCodes.length * Short.BYTES * 2;
+  }
+
+  private int firstRowAfter(String afterId) {
+    if (afterId == null || afterId.isEmpty()) {
+      return 0;
+    }
+    int position = Arrays.binarySearch(studentIds, afterId);
+    return position >= 0 ? position + 1 : -position - 1;
+  }
+
+  /**
+   * 検索条件を辞書の番号に置き換え、1行ずつ判定します。 辞書にない値を指定された場合は、一致する受講生がいないものとします。
+   */
+  private final class Matcher {
+
+    private boolean impossible;
+    private boolean deletedValue;
+    private int minAge;
+    private int maxAge;
+    private boolean[] areaMatches;
+    private short sexCode = NO_CODE;
+    private boolean filtersCourses;
+    private short courseNameCode = NO_CODE;
+    private short statusCode = NO_CODE;
+
+    private Matcher(StudentSearchCondition condition) {
+      deletedValue = condition.isDeleted();
+      // 0 は年齢の条件を指定していないものとする(SQLの条件と同じ)
+      minAge = condition.getMinAge() != 0 ? condition.getMinAge() : Integer.MIN_VALUE;
+      maxAge = condition.getMaxAge() != 0 ? condition.getMaxAge() : Integer.MAX_VALUE;
+
+      if (hasText(condition.getArea())) {
+        areaMatches = new boolean[areaDictionary.length];
+        boolean any = false;
+        for (int code = 0; code < areaDictionary.length; code++) {
+          areaMatches[code] = areaDictionary[code].startsWith(condition.getArea());
+          any |= areaMatches[code];
+        }
+        impossible |= !any;
+      }
+      if (hasText(condition.getSex())) {
+        sexCode = codeOf(sexDictionary, condition.getSex());
+        impossible |= sexCode == NO_CODE;
+      }
+      if (hasText(condition.getCourseName())) {
+        filtersCourses = true;
+        courseNameCode = codeOf(courseNameDictionary, condition.getCourseName());
+        impossible |= courseNameCode == NO_CODE;
+      }
+      if (hasText(condition.getStatus())) {
+        filtersCourses = true;
+        statusCode = codeOf(statusDictionary, condition.getStatus());
+        impossible |= statusCode == NO_CODE;
+      }
+    }
+
+    private boolean matches(int row) {
+      if (deleted.get(row) != deletedValue) {
+        return false;
+      }
+      int age = ages[row];
+      if (age < minAge || age > maxAge) {
+        return false;
+      }
+      if (areaMatches != null && (areaCodes[row] == NO_CODE || !areaMatches[areaCodes[row]])) {
+        return false;
+      }
+      if (sexCode != NO_CODE && sexCodes[row] != sexCode) {
+        return false;
+      }
+      if (!filtersCourses) {
+        return true;
+      }
+      // コース名と申込状況は同じコースで両方に一致すること(SQLのEXISTSと同じ)
+      for (int course = courseOffsets[row]; course < courseOffsets[row + 1]; course++) {
+        if ((courseNameCode == NO_CODE || courseNameCodes[course] == courseNameCode)
+            && (statusCode == NO_CODE || statusCodes[course] == statusCode)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  private static short codeOf(String[] dictionary, String value) {
+    for (int code = 0; code < dictionary.length; code++) {
+      if (dictionary[code].equals(value)) {
+        return (short) code;
+      }
+    }
+    return NO_CODE;
+  }
+
+  private static boolean hasText(String value) {
+    return value != null && !value.isEmpty();
+  }
+
+  /**
+   * 受講生IDの昇順に受講生を追加して {@link StudentColumnarSnapshot} を作成するビルダーです。
+   */
+  static final class Builder {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int size;
+    private int courseSize;
+    private String[] studentIds = new String[INITIAL_CAPACITY];
+    private int[] ages = new int[INITIAL_CAPACITY];
+    private short[] areaCodes = new short[INITIAL_CAPACITY];
+    private short[] sexCodes = new short[INITIAL_CAPACITY];
+    private BitSet deleted = new BitSet();
+    private int[] courseOffsets = new int[INITIAL_CAPACITY + 1];
+    private short[] courseNameCodes = new short[INITIAL_CAPACITY];
+    private short[] statusCodes = new short[INITIAL_CAPACITY];
+    private Dictionary areas = new Dictionary("地域");
+    private Dictionary sexes = new Dictionary("性別");
+    private Dictionary courseNames = new Dictionary("コース名");
+    private Dictionary statuses = new Dictionary("申込状況");
+
+    private Builder() {
+    }
+
+    /**
+     * 既存のスナップショットと同じ辞書から始めるビルダーを作成します。 既存の行は辞書の番号のまま写せます。
+     */
+    private Builder(StudentColumnarSnapshot source) {
+      areas.addAll(source.areaDictionary);
+      sexes.addAll(source.sexDictionary);
+      courseNames.addAll(source.courseNameDictionary);
+      statuses.addAll(source.statusDictionary);
+    }
+
+    /**
+     * 受講生詳細を追加します。 申込状況のないコースは、申込状況を指定した条件には一致しません。
+     *
+     * @param studentDetail 受講生詳細(前に追加した受講生より大きい受講生IDであること)
+     * @return このビルダー
+     */
+    Builder add(StudentDetail studentDetail) {
+      Student student = studentDetail.getStudent();
+      int row = addStudent(student.getId(), student.getAge(), areas.encode(student.getArea()),
+          sexes.encode(student.getSex()), student.isDeleted());
+      for (StudentCourse studentCourse : studentDetail.getStudentCourseList()) {
+        addCourse(courseNames.encode(studentCourse.getCourseName()),
+            statuses.encode(studentCourse.getApplicationStatus() != null
+                ? studentCourse.getApplicationStatus().getStatus()
+                : null));
+      }
+      courseOffsets[row + 1] = courseSize;
+      return this;
+    }
+
+    /**
+     * スナップショットを作成します。
+     *
+     * @return スナップショット
+     */
+    StudentColumnarSnapshot build() {
+      return new StudentColumnarSnapshot(this);
+    }
+
+    private void copy(StudentColumnarSnapshot source, int sourceRow) {
+      int row = addStudent(source.studentIds[sourceRow], source.ages[sourceRow],
+          source.areaCodes[sourceRow], source.sexCodes[sourceRow], source.deleted.get(sourceRow));
+      for (int course = source.courseOffsets[sourceRow];
+          course < source.courseOffsets[sourceRow + 1]; course++) {
+        addCourse(source.courseNameCodes[course], source.statusCodes[course]);
+      }
+      courseOffsets[row + 1] = courseSize;
+    }
+
+    private int addStudent(String studentId, int age, short areaCode, short sexCode,
+        boolean isDeleted) {
+      if (size > 0 && studentIds[size - 1].compareTo(studentId) >= 0) {
+        throw new IllegalArgumentException("受講生は受講生IDの昇順に追加してください: " + studentId);
+      }
+      if (size == studentIds.length) {
+        int capacity = studentIds.length * 2;
+        studentIds = Arrays.copyOf(studentIds, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        areaCodes = Arrays.copyOf(areaCodes, capacity);
+        sexCodes = Arrays.copyOf(sexCodes, capacity);
+        courseOffsets = Arrays.copyOf(courseOffsets, capacity + 1);
+      }
+      int row = size++;
+      studentIds[row] = studentId;
+      ages[row] = age;
+      areaCodes[row] = areaCode;
+      sexCodes[row] = sexCode;
+      deleted.set(row, isDeleted);
+      courseOffsets[row] = courseSize;
+      return row;
+    }
+
+    private void addCourse(short courseNameCode, short statusCode) {
+      if (courseSize == courseNameCodes.length) {
+        int capacity = courseNameCodes.length * 2;
+        courseNameCodes = Arrays.copyOf(courseNameCodes, capacity);
+        statusCodes = Arrays.copyOf(statusCodes, capacity);
+      }
+      courseNameCodes[courseSize] = courseNameCode;
+      statusCodes[courseSize] = statusCode;
+      courseSize++;
+    }
+  }
+
+  /**
+   * 値と辞書の番号を対応づけます。 番号は {@code short} に収まる範囲で、登録した順に振ります。
+   */
+  private static final class Dictionary {
+
+    private String column;
+    private Map<String, Short> codes = new HashMap<>();
+    private List<String> values = new ArrayList<>();
+
+    private Dictionary(String column) {
+      this.column = column;
+    }
+
+    private short encode(String value) {
+      if (value == null) {
+        return NO_CODE;
+      }
+      Short code = codes.get(value);
+      if (code != null) {
+        return code;
+      }
+      if (values.size() > Short.MAX_VALUE) {
+        throw new IllegalStateException(column + "の種類が多すぎるため列形式で保持できません");
+      }
+      short added = (short) values.size();
+      codes.put(value, added);
+      values.add(value);
+      return added;
+    }
+
+    private void addAll(String[] dictionary) {
+      for (String value : dictionary) {
+        encode(value);
+      }
+    }
+
+    private String[] values() {
+      return values.toArray(new String[0]);
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package standard.StudentManagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import standard.StudentManagement.domain.CacheStatistics;
+import standard.StudentManagement.domain.StudentDetail;
+
+/**
+ * 受講生IDごとに組み立て済みの受講生詳細を保持するキャッシュです。 件数の上限と登録後の有効期限を超えたものは破棄されます。
+ * 受講生の登録・更新はトランザクションのコミット後に {@link StudentChangedEvent} で通知され、該当する受講生だけを破棄します。
+ * 保持している受講生詳細は呼び出し元で共有されるため、取得した受講生詳細を変更しないでください。
+ */
+@Component
+public class StudentDetailCache {
+
+  private Cache<String, StudentDetail> cache;
+
+  @Autowired
+  public StudentDetailCache(
+      @Value("${student.cache.detail.maximum-size:10000}") long maximumSize,
+      @Value("${student.cache.detail.expire-after-write-seconds:600}") long expireAfterWriteSeconds) {
+    this(maximumSize, Duration.ofSeconds(expireAfterWriteSeconds), Ticker.systemTicker(),
+        null);
+  }
+
+  /**
+   * テスト用途で使用するコンストラクタです。 時刻と破棄処理の実行先を任意に注入可能にすることで、有効期限や件数上限による破棄の検証を容易にします。
+   *
+   * @param maximumSize      保持する件数の上限
+   * @param expireAfterWrite 登録後の有効期限
+   * @param ticker           経過時間の計測に使用する Ticker
+   * @param executor         破棄処理の実行先(null の場合は Caffeine の既定)
+   */
+  StudentDetailCache(long maximumSize, Duration expireAfterWrite, Ticker ticker,
+      Executor executor) {
+    Caffeine<Object, Object> builder = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(expireAfterWrite)
+        .ticker(ticker)
+        .recordStats();
+    if (executor != null) {
+      builder.executor(executor);
+    }
+    this.cache = builder.build();
+  }
+
+  /**
+   * 受講生詳細を取得します。 キャッシュにない場合は {@code loader} で読み込んで保持します。
+   * 読み込み結果が {@code null}(受講生が存在しない)の場合は保持しません。
+   *
+   * @param id     受講生ID
+   * @param loader キャッシュにない場合に受講生詳細を読み込む処理
+   * @return 受講生詳細(存在しない場合は {@code null})
+   */
+  public StudentDetail get(String id, Function<String, StudentDetail> loader) {
+    return cache.get(id, loader);
+  }
+
+  /**
+   * 登録・更新された受講生の受講生詳細を破棄します。 トランザクション外で発行された場合はその場で破棄します。
+   * 読み込み中の受講生詳細は読み込みの完了を待ってから破棄するため、更新前の内容が残ることはありません。
+   *
+   * @param event 受講生の変更通知
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onStudentChanged(StudentChangedEvent event) {
+    cache.invalidateAll(event.studentIds());
+  }
+
+  /**
+   * キャッシュの利用状況を取得します。
+   *
+   * @return キャッシュの利用状況
+   */
+  public CacheStatistics getStatistics() {
+    CacheStats stats = cache.stats();
+    return new CacheStatistics(cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+        stats.hitRate(), stats.evictionCount());
+  }
+
+  /**
+   * 期限切れや件数超過の破棄など、保留中の処理を実行します。
+   */
+  void cleanUp() {
+    cache.cleanUp();
+  }
+}
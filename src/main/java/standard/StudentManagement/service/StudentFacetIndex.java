@@ -0,0 +1,285 @@
+package standard.StudentManagement.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.roaringbitmap.RoaringBitmap;
+import standard.StudentManagement.data.StatusType;
+import standard.StudentManagement.data.Student;
+import standard.StudentManagement.data.StudentCourse;
+import standard.StudentManagement.domain.StudentDetail;
+import standard.StudentManagement.domain.StudentFacetCondition;
+import standard.StudentManagement.domain.StudentFacetCounts;
+
+/**
+ * 受講生の集計に使う、項目の値ごとの圧縮ビットマップ索引です。 受講生ごとに連番の文書番号を振り、地域・性別・年代・コース名・申込状況の値ごとに
+ * その値を持つ削除されていない受講生の文書番号を {@link RoaringBitmap} で保持します。 絞り込みは同じ項目の値のビットマップの和、項目間の積で求め、
+ * 値ごとの人数は絞り込み結果との積の件数で数えます。 コース名と申込状況の両方で絞り込む場合は、受講生検索と同じく同じコースで両方を満たす受講生に
+ * 絞り込むため、コース名と申込状況の組ごとのビットマップも保持します。 スレッドセーフではありません。
+ */
+final class StudentFacetIndex {
+
+  // 申込状況は種別の順、種別にない申込状況は名前の順に後ろへ並べる
+  private static final Comparator<String> STATUS_ORDER = Comparator
+      .comparingInt(StudentFacetIndex::statusOrder)
+      .thenComparing(Comparator.naturalOrder());
+
+  private Map<String, Integer> documents = new HashMap<>();
+  private List<FacetValues> documentValues = new ArrayList<>();
+  private RoaringBitmap active = new RoaringBitmap();
+  private Map<String, RoaringBitmap> areas = new HashMap<>();
+  private Map<String, RoaringBitmap> sexes = new HashMap<>();
+  private Map<Integer, RoaringBitmap> ageBuckets = new HashMap<>();
+  private Map<String, RoaringBitmap> courseNames = new HashMap<>();
+  private Map<String, RoaringBitmap> statuses = new HashMap<>();
+  private Map<CourseStatus, RoaringBitmap> courseStatuses = new HashMap<>();
+
+  /**
+   * 受講生詳細の値で受講生の索引を置き換えます。 削除済みの受講生は集計の対象から外します。
+   *
+   * @param studentDetail 受講生詳細
+   */
+  void put(StudentDetail studentDetail) {
+    Student student = studentDetail.getStudent();
+    int document = documents.computeIfAbsent(student.getId(), id -> {
+      documentValues.add(null);
+      return documentValues.size() - 1;
+    });
+    removeValues(document);
+    if (student.isDeleted()) {
+      return;
+    }
+
+    FacetValues values = FacetValues.of(studentDetail);
+    documentValues.set(document, values);
+    active.add(document);
+    add(areas, values.area(), document);
+    add(sexes, values.sex(), document);
+    add(ageBuckets, values.ageBucket(), document);
+    for (String courseName : values.courseNames()) {
+      add(courseNames, courseName, document);
+    }
+    for (String status : values.statuses()) {
+      add(statuses, status, document);
+    }
+    for (CourseStatus courseStatus : values.courseStatuses()) {
+      add(courseStatuses, courseStatus, document);
+    }
+  }
+
+  /**
+   * 受講生を集計の対象から外します。
+   *
+   * @param studentId 受講生ID
+   */
+  void remove(String studentId) {
+    Integer document = documents.get(studentId);
+    if (document != null) {
+      removeValues(document);
+    }
+  }
+
+  /**
+   * 絞り込み条件に一致する受講生数と、項目の値ごとの人数を数えます。
+   *
+   * @param condition 絞り込み条件
+   * @return 集計結果
+   */
+  StudentFacetCounts count(StudentFacetCondition condition) {
+    RoaringBitmap matched = active.clone();
+    and(matched, areas, condition.getAreas());
+    and(matched, sexes, condition.getSexes());
+    and(matched, ageBuckets, condition.getAgeBuckets());
+    if (isEmpty(condition.getCourseNames()) || isEmpty(condition.getStatuses())) {
+      and(matched, courseNames, condition.getCourseNames());
+      and(matched, statuses, condition.getStatuses());
+    } else {
+      List<CourseStatus> pairs = new ArrayList<>();
+      for (String courseName : condition.getCourseNames()) {
+        for (String status : condition.getStatuses()) {
+          pairs.add(new CourseStatus(courseName, status));
+        }
+      }
+      and(matched, courseStatuses, pairs);
+    }
+
+    return new StudentFacetCounts(matched.getLongCardinality(),
+        counts(matched, areas, Comparator.naturalOrder()),
+        counts(matched, sexes, Comparator.naturalOrder()),
+        counts(matched, ageBuckets, Comparator.naturalOrder()),
+        counts(matched, courseNames, Comparator.naturalOrder()),
+        counts(matched, statuses, STATUS_ORDER));
+  }
+
+  /**
+   * 集計の対象の受講生数を返します。
+   *
+   * @return 削除されていない受講生数
+   */
+  long getStudentCount() {
+    return active.getLongCardinality();
+  }
+
+  /**
+   * ビットマップを連続した値の区間でまとめられる部分を圧縮します。 まとめて作成した後に呼び出します。
+   */
+  void optimize() {
+    active.runOptimize();
+    for (Map<?, RoaringBitmap> bitmaps : List.of(areas, sexes, ageBuckets, courseNames,
+        statuses, courseStatuses)) {
+      bitmaps.values().forEach(RoaringBitmap::runOptimize);
+    }
+  }
+
+  /**
+   * ビットマップが使用しているメモリ量を返します。
+   *
+   * @return ビットマップのバイト数(値と受講生IDの対応表は含まない)
+   */
+  long getBitmapBytes() {
+    long bytes = active.getLongSizeInBytes();
+    for (Map<?, RoaringBitmap> bitmaps : List.of(areas, sexes, ageBuckets, courseNames,
+        statuses, courseStatuses)) {
+      for (RoaringBitmap bitmap : bitmaps.values()) {
+        bytes += bitmap.getLongSizeInBytes();
+      }
+    }
+    return bytes;
+  }
+
+  private void removeValues(int document) {
+    FacetValues values = documentValues.get(document);
+    if (values == null) {
+      return;
+    }
+    documentValues.set(document, null);
+    active.remove(document);
+    remove(areas, values.area(), document);
+    remove(sexes, values.sex(), document);
+    remove(ageBuckets, values.ageBucket(), document);
+    for (String courseName : values.courseNames()) {
+      remove(courseNames, courseName, document);
+    }
+    for (String status : values.statuses()) {
+      remove(statuses, status, document);
+    }
+    for (CourseStatus courseStatus : values.courseStatuses()) {
+      remove(courseStatuses, courseStatus, document);
+    }
+  }
+
+  private static <K> void add(Map<K, RoaringBitmap> bitmaps, K value, int document) {
+    if (value != null) {
+      bitmaps.computeIfAbsent(value, key -> new RoaringBitmap()).add(document);
+    }
+  }
+
+  private static <K> void remove(Map<K, RoaringBitmap> bitmaps, K value, int document) {
+    if (value == null) {
+      return;
+    }
+    RoaringBitmap bitmap = bitmaps.get(value);
+    if (bitmap != null) {
+      bitmap.remove(document);
+      if (bitmap.isEmpty()) {
+        bitmaps.remove(value);
+      }
+    }
+  }
+
+  /**
+   * 指定された値のいずれかを持つ受講生に絞り込みます。 値が指定されていない場合は絞り込みません。
+   */
+  private static <K> void and(RoaringBitmap matched, Map<K, RoaringBitmap> bitmaps,
+      List<K> values) {
+    if (isEmpty(values)) {
+      return;
+    }
+    RoaringBitmap union = new RoaringBitmap();
+    for (K value : values) {
+      RoaringBitmap bitmap = bitmaps.get(value);
+      if (bitmap != null) {
+        union.or(bitmap);
+      }
+    }
+    matched.and(union);
+  }
+
+  private static boolean isEmpty(List<?> values) {
+    return values == null || values.isEmpty();
+  }
+
+  private static <K> Map<K, Long> counts(RoaringBitmap matched, Map<K, RoaringBitmap> bitmaps,
+      Comparator<? super K> order) {
+    Map<K, Long> counts = new TreeMap<>(order);
+    if (matched.isEmpty()) {
+      return counts;
+    }
+    bitmaps.forEach((value, bitmap) -> {
+      long count = RoaringBitmap.andCardinality(matched, bitmap);
+      if (count > 0) {
+        counts.put(value, count);
+      }
+    });
+    return counts;
+  }
+
+  private static int statusOrder(String status) {
+    for (StatusType type : StatusType.values()) {
+      if (type.name().equals(status)) {
+        return type.getId();
+      }
+    }
+    return Integer.MAX_VALUE;
+  }
+
+  /**
+   * 受講生の索引に登録した値です。 削除・更新時に、どのビットマップから取り除くかを求めるために保持します。
+   *
+   * @param area           地域
+   * @param sex            性別
+   * @param ageBucket      年代(10歳刻みの下限)
+   * @param courseNames    受講しているコース名
+   * @param statuses       いずれかのコースの申込状況
+   * @param courseStatuses 受講しているコースごとのコース名と申込状況の組
+   */
+  private record FacetValues(String area, String sex, Integer ageBucket, Set<String> courseNames,
+                             Set<String> statuses, Set<CourseStatus> courseStatuses) {
+
+    private static FacetValues of(StudentDetail studentDetail) {
+      Student student = studentDetail.getStudent();
+      Set<String> courseNames = new LinkedHashSet<>();
+      Set<String> statuses = new LinkedHashSet<>();
+      Set<CourseStatus> courseStatuses = new LinkedHashSet<>();
+      for (StudentCourse studentCourse : studentDetail.getStudentCourseList()) {
+        String courseName = studentCourse.getCourseName();
+        String status = studentCourse.getApplicationStatus() == null ? null
+            : studentCourse.getApplicationStatus().getStatus();
+        courseNames.add(courseName);
+        statuses.add(status);
+        if (courseName != null && status != null) {
+          courseStatuses.add(new CourseStatus(courseName, status));
+        }
+      }
+      courseNames.remove(null);
+      statuses.remove(null);
+      return new FacetValues(student.getArea(), student.getSex(), student.getAge() / 10 * 10,
+          courseNames, statuses, courseStatuses);
+    }
+  }
+
+  /**
+   * 1つのコースのコース名と申込状況の組です。
+   *
+   * @param courseName コース名
+   * @param status     申込状況
+   */
+  private record CourseStatus(String courseName, String status) {
+
+  }
+}
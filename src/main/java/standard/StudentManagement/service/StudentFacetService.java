@@ -0,0 +1,144 @@
+package standard.StudentManagement.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import standard.StudentManagement.domain.StudentDetail;
+import standard.StudentManagement.domain.StudentFacetCondition;
+import standard.StudentManagement.domain.StudentFacetCounts;
+import standard.StudentManagement.repository.StudentRepository;
+
+/**
+ * 受講生の地域・性別・年代・コース名・申込状況ごとの人数の集計を取り扱うサービスです。 集計は {@link StudentFacetIndex}
+ * のビットマップだけで行い、データベースには問い合わせません。 起動時にデータベースから作成し、受講生の登録・更新はトランザクションのコミット後に
+ * {@link StudentChangedEvent} で通知され、該当する受講生の値だけを置き換えます。 {@code student.facets.enabled=false}
+ * の場合は作成せず、0件として集計します。
+ */
+@Slf4j
+@Service
+public class StudentFacetService {
+
+  private StudentRepository repository;
+  private boolean enabled;
+
+  // 変更通知の反映と作り直しのロック(built もこのロックで読み書きする)
+  private ReentrantLock updateLock = new ReentrantLock();
+  // index を読み書きするためのロック(メモリ上の変更のみ)
+  private ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private StudentFacetIndex index = new StudentFacetIndex();
+  // データベースから作成済みの場合は true
+  private boolean built;
+
+  @Autowired
+  public StudentFacetService(StudentRepository repository,
+      @Value("${student.facets.enabled:true}") boolean enabled) {
+    this.repository = repository;
+    this.enabled = enabled;
+  }
+
+  /**
+   * 絞り込み条件に一致する受講生数と、地域・性別・年代・コース名・申込状況ごとの人数を返します。 削除済みの受講生は集計しません。
+   *
+   * @param condition 絞り込み条件
+   * @return 集計結果
+   */
+  public StudentFacetCounts count(StudentFacetCondition condition) {
+    lock.readLock().lock();
+    try {
+      return index.count(condition);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * 登録・更新された受講生を読み込み直し、索引の値を置き換えます。 見つからない受講生は集計の対象から外します。
+   * 起動時の作成に失敗していた場合は、該当する受講生だけでなく索引全体を作り直します。
+   *
+   * @param event 受講生の変更通知
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onStudentChanged(StudentChangedEvent event) {
+    if (!enabled || event.studentIds().isEmpty()) {
+      return;
+    }
+    updateLock.lock();
+    try {
+      if (!built) {
+        rebuild();
+        return;
+      }
+      List<StudentDetail> studentDetails = repository.searchStudentDetailsByIds(
+          event.studentIds());
+      lock.writeLock().lock();
+      try {
+        Set<String> missing = new HashSet<>(event.studentIds());
+        for (StudentDetail studentDetail : studentDetails) {
+          index.put(studentDetail);
+          missing.remove(studentDetail.getStudent().getId());
+        }
+        missing.forEach(index::remove);
+      } finally {
+        lock.writeLock().unlock();
+      }
+    } catch (RuntimeException e) {
+      log.error("集計の索引に受講生の変更を反映できませんでした。 受講生数={}", event.studentIds().size(), e);
+    } finally {
+      updateLock.unlock();
+    }
+  }
+
+  /**
+   * データベースの全受講生から索引を作り直します。 作り直している間は、以前の索引で集計します。
+   *
+   * @return 集計の対象の受講生数
+   */
+  public long rebuild() {
+    if (!enabled) {
+      return 0;
+    }
+    updateLock.lock();
+    try {
+      long start = System.nanoTime();
+      StudentFacetIndex rebuilt = new StudentFacetIndex();
+      repository.searchStudentSearchAttributes(context -> rebuilt.put(context.getResultObject()));
+      rebuilt.optimize();
+
+      lock.writeLock().lock();
+      try {
+        index = rebuilt;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      built = true;
+      log.info("集計の索引を作成しました。 受講生数={} ビットマップ={}バイト 所要時間={}ms",
+          rebuilt.getStudentCount(), rebuilt.getBitmapBytes(),
+          (System.nanoTime() - start) / 1_000_000);
+      return rebuilt.getStudentCount();
+    } finally {
+      updateLock.unlock();
+    }
+  }
+
+  /**
+   * 起動時にデータベースから索引を作成します。 作成に失敗した場合は、次の変更通知で作り直すまで0件として集計します。
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void buildOnStartup() {
+    try {
+      rebuild();
+    } catch (RuntimeException e) {
+      log.error("集計の索引を作成できませんでした。 次の変更通知で作り直すまで0件として集計します。", e);
+    }
+  }
+}
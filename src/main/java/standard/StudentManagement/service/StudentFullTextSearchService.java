@@ -0,0 +1,180 @@
+package standard.StudentManagement.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import standard.StudentManagement.domain.SearchIndexStatus;
+import standard.StudentManagement.domain.StudentDetail;
+import standard.StudentManagement.domain.StudentFullTextCondition;
+import standard.StudentManagement.domain.StudentFullTextHit;
+import standard.StudentManagement.domain.StudentFullTextSearchPage;
+import standard.StudentManagement.repository.StudentRepository;
+import standard.StudentManagement.service.StudentSearchIndex.SearchHit;
+import standard.StudentManagement.service.StudentSearchIndex.SearchHits;
+
+/**
+ * 受講生の全文検索を取り扱うサービスです。 検索は {@link StudentSearchIndex} で行い、一致した受講生の受講生詳細はデータベースから読み込みます。
+ * 受講生の登録・更新はトランザクションのコミット後に {@link StudentChangedEvent} で通知され、該当する受講生の文書だけを置き換えます。
+ * 起動時に索引が空の場合と、再構築を指示された場合は、データベースの全受講生から索引を作り直します。
+ * {@code student.search-index.enabled=true} の場合だけ有効になります。
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "student.search-index.enabled", havingValue = "true")
+public class StudentFullTextSearchService {
+
+  private StudentRepository repository;
+  private StudentSearchIndex index;
+
+  // 変更通知の反映のロック(changedDuringRebuild もこのロックで読み書きする)
+  private ReentrantLock updateLock = new ReentrantLock();
+  // 再構築を1つずつ行うためのロック
+  private ReentrantLock rebuildLock = new ReentrantLock();
+  // 再構築中に変更された受講生のID(再構築中でない場合は null)
+  private Set<String> changedDuringRebuild;
+
+  @Autowired
+  public StudentFullTextSearchService(StudentRepository repository, StudentSearchIndex index) {
+    this.repository = repository;
+    this.index = index;
+  }
+
+  /**
+   * 全文検索で受講生を検索し、一致した受講生の受講生詳細を関連度の高い順に返します。
+   * 受講生詳細は1ページ分の受講生IDをまとめて指定した1回のクエリで読み込みます。
+   * 索引への反映前に削除された受講生は結果に含めません。
+   *
+   * @param condition 検索条件(キーワード、地域、性別、年齢範囲、コース名、申込状況、ページ番号、ページ件数)
+   * @return 検索結果のページ
+   * @throws IllegalArgumentException 最小年齢が最大年齢を上回っている場合、または取得できる件数を超えるページを指定した場合
+   */
+  public StudentFullTextSearchPage search(StudentFullTextCondition condition) {
+    if (condition.getMinAge() != null && condition.getMaxAge() != null
+        && condition.getMinAge() > condition.getMaxAge()) {
+      throw new IllegalArgumentException("最小年齢は最大年齢以下にしてください");
+    }
+    SearchHits searchHits = index.search(condition);
+
+    List<String> studentIds = searchHits.hits().stream().map(SearchHit::studentId).toList();
+    Map<String, StudentDetail> studentDetails = studentIds.isEmpty()
+        ? Map.of()
+        : repository.searchStudentDetailsByIds(studentIds).stream()
+            .collect(Collectors.toMap(detail -> detail.getStudent().getId(),
+                Function.identity()));
+
+    List<StudentFullTextHit> hits = new ArrayList<>(studentIds.size());
+    for (SearchHit searchHit : searchHits.hits()) {
+      StudentDetail studentDetail = studentDetails.get(searchHit.studentId());
+      if (studentDetail != null && !studentDetail.getStudent().isDeleted()) {
+        hits.add(new StudentFullTextHit(studentDetail, searchHit.score()));
+      }
+    }
+    return new StudentFullTextSearchPage(hits, searchHits.totalHits(),
+        searchHits.totalHitsExact());
+  }
+
+  /**
+   * 登録・更新された受講生の受講生詳細を読み込み直し、索引の文書を置き換えます。 反映に失敗した受講生は再構築で回復します。
+   * 再構築中に変更された受講生は、切り替えた後にもう一度反映するために記録します。
+   *
+   * @param event 受講生の変更通知
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onStudentChanged(StudentChangedEvent event) {
+    if (event.studentIds().isEmpty()) {
+      return;
+    }
+    updateLock.lock();
+    try {
+      if (changedDuringRebuild != null) {
+        changedDuringRebuild.addAll(event.studentIds());
+      }
+      index.update(event.studentIds(), repository.searchStudentDetailsByIds(event.studentIds()));
+    } catch (RuntimeException e) {
+      log.error("全文検索索引に受講生の変更を反映できませんでした。索引を再構築してください。 受講生数={}",
+          event.studentIds().size(), e);
+    } finally {
+      updateLock.unlock();
+    }
+  }
+
+  /**
+   * データベースの削除されていない全受講生から索引を作り直します。 受講生詳細は受講生IDの順に1件ずつ読み込んで登録します。
+   * 作り直している間も変更の反映は止めず、その間に変更された受講生は切り替えた後に読み込み直して反映します。
+   *
+   * @return 作り直した索引の状態
+   */
+  public SearchIndexStatus rebuild() {
+    rebuildLock.lock();
+    try {
+      updateLock.lock();
+      try {
+        changedDuringRebuild = new LinkedHashSet<>();
+      } finally {
+        updateLock.unlock();
+      }
+      try {
+        long documentCount = index.rebuild(consumer -> repository.searchStudentDetails(
+            context -> consumer.accept(context.getResultObject())));
+        log.info("全文検索索引を再構築しました。 受講生数={}", documentCount);
+        return new SearchIndexStatus(documentCount);
+      } finally {
+        reapplyChangedDuringRebuild();
+      }
+    } finally {
+      rebuildLock.unlock();
+    }
+  }
+
+  private void reapplyChangedDuringRebuild() {
+    updateLock.lock();
+    try {
+      List<String> studentIds = List.copyOf(changedDuringRebuild);
+      changedDuringRebuild = null;
+      if (!studentIds.isEmpty()) {
+        index.update(studentIds, repository.searchStudentDetailsByIds(studentIds));
+      }
+    } catch (RuntimeException e) {
+      log.error("再構築中の受講生の変更を全文検索索引に反映できませんでした。索引を再構築してください。", e);
+    } finally {
+      updateLock.unlock();
+    }
+  }
+
+  /**
+   * 索引の状態を返します。
+   *
+   * @return 索引の状態
+   */
+  public SearchIndexStatus getStatus() {
+    return new SearchIndexStatus(index.getDocumentCount());
+  }
+
+  /**
+   * 起動時に索引が空の場合は、データベースから作り直します。 作り直しに失敗した場合は起動を止めず、再構築を指示されるまで現在の索引で検索します。
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildIfEmpty() {
+    if (index.getDocumentCount() > 0) {
+      return;
+    }
+    try {
+      rebuild();
+    } catch (RuntimeException e) {
+      log.error("全文検索索引を作り直せませんでした。 /searchIndex/rebuild で再構築するまで現在の索引で検索します。", e);
+    }
+  }
+}
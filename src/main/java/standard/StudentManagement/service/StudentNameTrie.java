@@ -0,0 +1,320 @@
+package standard.StudentManagement.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 正規化済みの名前・カナ名をキーに受講生IDを保持する、圧縮したトライ(基数木)です。 分岐のない節点は1つにまとめ、子は先頭文字の昇順に配列で保持します。
+ * 前方一致の検索は、検索語の終わる節点から先をキーの昇順にたどるため、キーが完全に一致する受講生が先頭に並びます。
+ * スレッドセーフではありません。
+ */
+final class StudentNameTrie {
+
+  private static final char[] NO_CHARS = new char[0];
+  private static final Node[] NO_NODES = new Node[0];
+  private static final String[] NO_IDS = new String[0];
+
+  // 64bit JVM(圧縮参照あり)でのオブジェクトヘッダと参照のバイト数
+  private static final long OBJECT_HEADER_BYTES = 12;
+  private static final long ARRAY_HEADER_BYTES = 16;
+  private static final long REFERENCE_BYTES = 4;
+
+  private Node root = new Node(NO_CHARS);
+  private int nodeCount = 1;
+  private int keyCount;
+  private int valueCount;
+
+  /**
+   * キーに受講生IDを登録します。 登録済みの場合は何もしません。
+   *
+   * @param key       正規化済みのキー(空でないこと)
+   * @param studentId 受講生ID
+   */
+  void put(String key, String studentId) {
+    Node node = root;
+    int offset = 0;
+    while (offset < key.length()) {
+      int index = Arrays.binarySearch(node.firstChars, key.charAt(offset));
+      if (index < 0) {
+        Node leaf = new Node(key.substring(offset).toCharArray());
+        insertChild(node, -index - 1, leaf);
+        nodeCount++;
+        node = leaf;
+        break;
+      }
+      Node child = node.children[index];
+      int common = commonPrefixLength(child.label, key, offset);
+      if (common < child.label.length) {
+        node.children[index] = split(child, common);
+        nodeCount++;
+        child = node.children[index];
+      }
+      node = child;
+      offset += common;
+    }
+    addStudentId(node, studentId);
+  }
+
+  /**
+   * キーから受講生IDを取り除きます。 受講生IDがなくなった節点は取り除き、分岐のなくなった節点は子とまとめます。
+   *
+   * @param key       正規化済みのキー
+   * @param studentId 受講生ID
+   * @return 取り除いた場合は {@code true}、登録されていなかった場合は {@code false}
+   */
+  boolean remove(String key, String studentId) {
+    List<Node> path = new ArrayList<>();
+    path.add(root);
+    Node node = root;
+    int offset = 0;
+    while (offset < key.length()) {
+      int index = Arrays.binarySearch(node.firstChars, key.charAt(offset));
+      if (index < 0) {
+        return false;
+      }
+      Node child = node.children[index];
+      if (commonPrefixLength(child.label, key, offset) < child.label.length) {
+        return false;
+      }
+      node = child;
+      offset += child.label.length;
+      path.add(node);
+    }
+
+    int position = Arrays.binarySearch(node.studentIds, studentId);
+    if (position < 0) {
+      return false;
+    }
+    node.studentIds = removeAt(node.studentIds, position);
+    valueCount--;
+    if (node.studentIds.length > 0) {
+      return true;
+    }
+    keyCount--;
+
+    for (int depth = path.size() - 1; depth > 0; depth--) {
+      Node current = path.get(depth);
+      if (current.studentIds.length > 0) {
+        break;
+      }
+      if (current.children.length == 0) {
+        removeChild(path.get(depth - 1), current.label[0]);
+        nodeCount--;
+        continue;
+      }
+      if (current.children.length == 1) {
+        mergeWithOnlyChild(current);
+        nodeCount--;
+      }
+      break;
+    }
+    return true;
+  }
+
+  /**
+   * 検索語で始まるキーの受講生IDを、キーの昇順に {@code limit} 件まで集めます。 すでに集めた受講生IDは重複して数えません。
+   *
+   * @param prefix     正規化済みの検索語
+   * @param limit      集める件数の上限
+   * @param studentIds 受講生IDを追加する集合(追加した順を保持すること)
+   */
+  void collect(String prefix, int limit, Set<String> studentIds) {
+    Node node = root;
+    int offset = 0;
+    while (offset < prefix.length()) {
+      int index = Arrays.binarySearch(node.firstChars, prefix.charAt(offset));
+      if (index < 0) {
+        return;
+      }
+      Node child = node.children[index];
+      int common = commonPrefixLength(child.label, prefix, offset);
+      if (offset + common < prefix.length() && common < child.label.length) {
+        return;
+      }
+      node = child;
+      offset += common;
+    }
+    collect(node, limit, studentIds);
+  }
+
+  /**
+   * 節点の数を返します。
+   *
+   * @return 根を含む節点の数
+   */
+  int getNodeCount() {
+    return nodeCount;
+  }
+
+  /**
+   * 受講生IDが登録されているキーの数を返します。
+   *
+   * @return キーの数
+   */
+  int getKeyCount() {
+    return keyCount;
+  }
+
+  /**
+   * 登録されているキーと受講生IDの組の数を返します。
+   *
+   * @return キーと受講生IDの組の数
+   */
+  int getValueCount() {
+    return valueCount;
+  }
+
+  /**
+   * トライが使用しているメモリ量の概算を返します。 節点とラベル・子・受講生IDの配列を数え、受講生IDの文字列自体は含めません。
+   *
+   * @return 概算のバイト数(64bit JVM、圧縮参照ありの場合)
+   */
+  long estimateMemoryBytes() {
+    return estimateMemoryBytes(root);
+  }
+
+  private boolean collect(Node node, int limit, Set<String> studentIds) {
+    for (String studentId : node.studentIds) {
+      studentIds.add(studentId);
+      if (studentIds.size() >= limit) {
+        return true;
+      }
+    }
+    for (Node child : node.children) {
+      if (collect(child, limit, studentIds)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private long estimateMemoryBytes(Node node) {
+    long bytes = align(OBJECT_HEADER_BYTES + REFERENCE_BYTES * 4)
+        + arrayBytes(node.label.length, Character.BYTES, node.label == NO_CHARS)
+        + arrayBytes(node.firstChars.length, Character.BYTES, node.firstChars == NO_CHARS)
+        + arrayBytes(node.children.length, REFERENCE_BYTES, node.children == NO_NODES)
+        + arrayBytes(node.studentIds.length, REFERENCE_BYTES, node.studentIds == NO_IDS);
+    for (Node child : node.children) {
+      bytes += estimateMemoryBytes(child);
+    }
+    return bytes;
+  }
+
+  private static long arrayBytes(int length, long elementBytes, boolean shared) {
+    return shared ? 0 : align(ARRAY_HEADER_BYTES + length * elementBytes);
+  }
+
+  private static long align(long bytes) {
+    return (bytes + 7) & ~7L;
+  }
+
+  private void addStudentId(Node node, String studentId) {
+    int position = Arrays.binarySearch(node.studentIds, studentId);
+    if (position >= 0) {
+      return;
+    }
+    if (node.studentIds.length == 0) {
+      keyCount++;
+    }
+    int insertion = -position - 1;
+    String[] studentIds = new String[node.studentIds.length + 1];
+    System.arraycopy(node.studentIds, 0, studentIds, 0, insertion);
+    studentIds[insertion] = studentId;
+    System.arraycopy(node.studentIds, insertion, studentIds, insertion + 1,
+        node.studentIds.length - insertion);
+    node.studentIds = studentIds;
+    valueCount++;
+  }
+
+  /**
+   * 節点のラベルを {@code length} 文字目で分け、前半を新しい親とします。
+   */
+  private static Node split(Node child, int length) {
+    Node parent = new Node(Arrays.copyOf(child.label, length));
+    child.label = Arrays.copyOfRange(child.label, length, child.label.length);
+    parent.firstChars = new char[]{child.label[0]};
+    parent.children = new Node[]{child};
+    return parent;
+  }
+
+  /**
+   * 受講生IDを持たず子が1つだけの節点を、その子とまとめます。
+   */
+  private static void mergeWithOnlyChild(Node node) {
+    Node child = node.children[0];
+    char[] label = Arrays.copyOf(node.label, node.label.length + child.label.length);
+    System.arraycopy(child.label, 0, label, node.label.length, child.label.length);
+    node.label = label;
+    node.firstChars = child.firstChars;
+    node.children = child.children;
+    node.studentIds = child.studentIds;
+  }
+
+  private static void insertChild(Node node, int insertion, Node child) {
+    char[] firstChars = new char[node.firstChars.length + 1];
+    Node[] children = new Node[node.children.length + 1];
+    System.arraycopy(node.firstChars, 0, firstChars, 0, insertion);
+    System.arraycopy(node.children, 0, children, 0, insertion);
+    firstChars[insertion] = child.label[0];
+    children[insertion] = child;
+    System.arraycopy(node.firstChars, insertion, firstChars, insertion + 1,
+        node.firstChars.length - insertion);
+    System.arraycopy(node.children, insertion, children, insertion + 1,
+        node.children.length - insertion);
+    node.firstChars = firstChars;
+    node.children = children;
+  }
+
+  private static void removeChild(Node node, char firstChar) {
+    int index = Arrays.binarySearch(node.firstChars, firstChar);
+    if (node.children.length == 1) {
+      node.firstChars = NO_CHARS;
+      node.children = NO_NODES;
+      return;
+    }
+    char[] firstChars = new char[node.firstChars.length - 1];
+    Node[] children = new Node[node.children.length - 1];
+    System.arraycopy(node.firstChars, 0, firstChars, 0, index);
+    System.arraycopy(node.children, 0, children, 0, index);
+    System.arraycopy(node.firstChars, index + 1, firstChars, index, firstChars.length - index);
+    System.arraycopy(node.children, index + 1, children, index, children.length - index);
+    node.firstChars = firstChars;
+    node.children = children;
+  }
+
+  private static String[] removeAt(String[] studentIds, int position) {
+    if (studentIds.length == 1) {
+      return NO_IDS;
+    }
+    String[] removed = new String[studentIds.length - 1];
+    System.arraycopy(studentIds, 0, removed, 0, position);
+    System.arraycopy(studentIds, position + 1, removed, position, removed.length - position);
+    return removed;
+  }
+
+  private static int commonPrefixLength(char[] label, String key, int offset) {
+    int length = Math.min(label.length, key.length() - offset);
+    int common = 0;
+    while (common < length && label[common] == key.charAt(offset + common)) {
+      common++;
+    }
+    return common;
+  }
+
+  /**
+   * トライの節点です。 {@code firstChars} と {@code children} は同じ添字で対応し、先頭文字の昇順に並びます。
+   */
+  private static final class Node {
+
+    private char[] label;
+    private char[] firstChars = NO_CHARS;
+    private Node[] children = NO_NODES;
+    private String[] studentIds = NO_IDS;
+
+    private Node(char[] label) {
+      this.label = label;
+    }
+  }
+}
@@ -0,0 +1,557 @@
+package standard.StudentManagement.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.cjk.CJKAnalyzer;
+import org.apache.lucene.analysis.ja.JapaneseAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.IOSupplier;
+import org.apache.lucene.util.IOUtils;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import standard.StudentManagement.data.ApplicationStatus;
+import standard.StudentManagement.data.Student;
+import standard.StudentManagement.data.StudentCourse;
+import standard.StudentManagement.domain.SearchTextNormalizer;
+import standard.StudentManagement.domain.StudentDetail;
+import standard.StudentManagement.domain.StudentFullTextCondition;
+
+/**
+ * 受講生詳細を1件1文書として登録する、ディスク上のLucene全文検索索引です。
+ * 名前・カナ名・ニックネームは正規化してからbigram(CJKAnalyzer)で、備考とコース名は形態素解析(kuromoji)で、
+ * メールアドレスは英数字の単語で索引し、地域・性別・年齢・コース名・申込状況は絞り込み用にそのまま登録します。
+ * 更新は書き込み側からすぐに検索へ反映し(near-real-time)、ディスクへの確定は一定間隔と終了時にまとめて行います。
+ * 再構築は保存先の新しい世代({@code student.search-index.directory} の下の番号のディレクトリ)に作ってから切り替えるため、
+ * 再構築中も検索と更新を止めません。
+ * {@code student.search-index.enabled=true} の場合だけ有効になります。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "student.search-index.enabled", havingValue = "true")
+public class StudentSearchIndex implements AutoCloseable {
+
+  static final String ID = "id";
+  static final String NAME = "name";
+  static final String KANA_NAME = "kanaName";
+  static final String NICKNAME = "nickname";
+  static final String EMAIL = "email";
+  static final String REMARK = "remark";
+  static final String COURSE_TEXT = "courseText";
+  static final String AREA = "area";
+  static final String SEX = "sex";
+  static final String AGE = "age";
+  static final String COURSE_NAME = "courseName";
+  static final String STATUS = "status";
+  static final String COURSE_STATUS = "courseStatus";
+
+  // コース名と申込状況の組を1つの値として登録する際の区切り(どちらにも含まれない制御文字)
+  private static final String COURSE_STATUS_SEPARATOR = "\u001f";
+
+  private Analyzer analyzer;
+  private IOSupplier<Directory> newDirectory;
+  private long commitIntervalNanos;
+
+  // 更新を1つずつ行うためのロック(再構築とは並行して行える)
+  private ReentrantLock writeLock = new ReentrantLock();
+  // 再構築を1つずつ行うためのロック
+  private ReentrantLock rebuildLock = new ReentrantLock();
+  // 検索・更新の間に current が切り替わらないようにするためのロック(切り替えと終了の時だけ書き込み側を取る)
+  private ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+  private OpenIndex current;
+  private long lastCommitNanos;
+
+  @Autowired
+  public StudentSearchIndex(
+      @Value("${student.search-index.directory:data/search-index}") String directory,
+      @Value("${student.search-index.commit-interval-seconds:60}") long commitIntervalSeconds)
+      throws IOException {
+    this(Path.of(directory), Duration.ofSeconds(commitIntervalSeconds));
+  }
+
+  private StudentSearchIndex(Path root, Duration commitInterval) throws IOException {
+    this(FSDirectory.open(latestGeneration(root)),
+        () -> FSDirectory.open(nextGeneration(root)), commitInterval);
+  }
+
+  /**
+   * テスト用途で使用するコンストラクタです。 索引の保存先を任意に注入可能にすることで、メモリ上の索引での検証を容易にします。
+   *
+   * @param directory      現在の索引の保存先
+   * @param newDirectory   再構築する索引の保存先を作成する処理
+   * @param commitInterval 更新をディスクに確定する間隔
+   * @throws IOException 索引を開けなかった場合
+   */
+  StudentSearchIndex(Directory directory, IOSupplier<Directory> newDirectory,
+      Duration commitInterval) throws IOException {
+    this.newDirectory = newDirectory;
+    this.commitIntervalNanos = commitInterval.toNanos();
+    Analyzer cjkAnalyzer = new CJKAnalyzer();
+    Analyzer japaneseAnalyzer = new JapaneseAnalyzer();
+    this.analyzer = new PerFieldAnalyzerWrapper(new StandardAnalyzer(), Map.of(
+        NAME, cjkAnalyzer,
+        KANA_NAME, cjkAnalyzer,
+        NICKNAME, cjkAnalyzer,
+        REMARK, japaneseAnalyzer,
+        COURSE_TEXT, japaneseAnalyzer));
+    this.current = OpenIndex.open(directory, analyzer);
+    // 起動直後の索引も次回の起動時に選ばれるよう、空のコミットを残しておく
+    current.writer().commit();
+    this.lastCommitNanos = System.nanoTime();
+  }
+
+  /**
+   * 変更された受講生の文書を置き換えます。 読み込み直した受講生詳細に含まれない受講生と、削除済みの受講生は索引から取り除きます。
+   * 変更はすぐに検索に反映し、ディスクへの確定は {@code student.search-index.commit-interval-seconds} 秒ごとと終了時に行います。
+   *
+   * @param studentIds     変更された受講生のID
+   * @param studentDetails 変更された受講生の、現在の受講生詳細
+   */
+  public void update(Collection<String> studentIds, Collection<StudentDetail> studentDetails) {
+    writeLock.lock();
+    swapLock.readLock().lock();
+    try {
+      IndexWriter writer = current.writer();
+      Set<String> indexed = new HashSet<>();
+      for (StudentDetail studentDetail : studentDetails) {
+        if (!studentDetail.getStudent().isDeleted()) {
+          String studentId = studentDetail.getStudent().getId();
+          writer.updateDocument(new Term(ID, studentId), toDocument(studentDetail));
+          indexed.add(studentId);
+        }
+      }
+      for (String studentId : studentIds) {
+        if (!indexed.contains(studentId)) {
+          writer.deleteDocuments(new Term(ID, studentId));
+        }
+      }
+      if (System.nanoTime() - lastCommitNanos >= commitIntervalNanos) {
+        writer.commit();
+        lastCommitNanos = System.nanoTime();
+      }
+      current.searcherManager().maybeRefresh();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      swapLock.readLock().unlock();
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * {@code source} が渡す受講生詳細で新しい保存先に索引を作り、作り終えたら切り替えて以前の索引を削除します。
+   * 作り直している間も検索と更新は以前の索引に対して行い、途中で失敗した場合は以前の索引をそのまま使います。
+   * 作り直している間の更新は新しい索引に含まれないことがあるため、呼び出し元で切り替えた後に反映し直してください。
+   *
+   * @param source 削除されていない受講生詳細を1件ずつ渡す処理
+   * @return 登録した受講生数
+   */
+  public long rebuild(Consumer<Consumer<StudentDetail>> source) {
+    rebuildLock.lock();
+    try {
+      OpenIndex rebuilt = OpenIndex.open(newDirectory.get(), analyzer);
+      long documentCount;
+      try {
+        source.accept(studentDetail -> {
+          try {
+            rebuilt.writer().addDocument(toDocument(studentDetail));
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+        rebuilt.writer().commit();
+        rebuilt.searcherManager().maybeRefreshBlocking();
+        documentCount = rebuilt.writer().getDocStats().numDocs;
+      } catch (IOException | RuntimeException e) {
+        discard(rebuilt, e);
+        throw e instanceof IOException ioException ? new UncheckedIOException(ioException)
+            : (RuntimeException) e;
+      }
+
+      OpenIndex previous;
+      swapLock.writeLock().lock();
+      try {
+        if (current == null) {
+          IllegalStateException closed = new IllegalStateException("全文検索索引は閉じられています");
+          discard(rebuilt, closed);
+          throw closed;
+        }
+        previous = current;
+        current = rebuilt;
+        lastCommitNanos = System.nanoTime();
+      } finally {
+        swapLock.writeLock().unlock();
+      }
+      try {
+        previous.discard();
+      } catch (IOException | RuntimeException e) {
+        log.warn("再構築前の全文検索索引を削除できませんでした。", e);
+      }
+      return documentCount;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      rebuildLock.unlock();
+    }
+  }
+
+  /**
+   * 作り直しに失敗した索引を削除します。 削除に失敗した場合は、作り直しに失敗した原因に含めます。
+   */
+  private static void discard(OpenIndex openIndex, Exception cause) {
+    try {
+      openIndex.discard();
+    } catch (IOException | RuntimeException e) {
+      cause.addSuppressed(e);
+    }
+  }
+
+  /**
+   * 条件に一致する受講生を検索します。 キーワードを指定した場合は関連度の高い順、指定しない場合は受講生IDの順に並べます。
+   *
+   * @param condition 検索条件
+   * @return 指定したページの受講生IDと関連度、一致件数
+   * @throws IllegalArgumentException 指定したページが {@link StudentFullTextCondition#MAX_RESULT_WINDOW}
+   *                                  件目を超える場合
+   */
+  public SearchHits search(StudentFullTextCondition condition) {
+    int from = condition.getPage() * condition.getPageSize();
+    if ((long) from + condition.getPageSize() > StudentFullTextCondition.MAX_RESULT_WINDOW) {
+      throw new IllegalArgumentException(
+          "取得できるのは" + StudentFullTextCondition.MAX_RESULT_WINDOW + "件目までです");
+    }
+    boolean ranked = hasText(condition.getKeyword());
+    Query query = toQuery(condition);
+
+    IndexSearcher searcher = acquire();
+    try {
+      int size = from + condition.getPageSize();
+      TopDocs topDocs = ranked
+          ? searcher.search(query, size)
+          : searcher.search(query, size, new Sort(new SortField(ID, SortField.Type.STRING)));
+
+      StoredFields storedFields = searcher.storedFields();
+      List<SearchHit> hits = new ArrayList<>();
+      for (int i = from; i < topDocs.scoreDocs.length; i++) {
+        ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+        String studentId = storedFields.document(scoreDoc.doc, Set.of(ID)).get(ID);
+        hits.add(new SearchHit(studentId, ranked ? scoreDoc.score : 0));
+      }
+      return new SearchHits(hits, topDocs.totalHits.value,
+          topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      release(searcher);
+    }
+  }
+
+  /**
+   * 索引に登録されている受講生数を返します。
+   *
+   * @return 受講生数
+   */
+  public long getDocumentCount() {
+    IndexSearcher searcher = acquire();
+    try {
+      return searcher.getIndexReader().numDocs();
+    } finally {
+      release(searcher);
+    }
+  }
+
+  /**
+   * 未確定の更新をディスクに確定してから索引を閉じます。
+   */
+  @Override
+  public void close() throws IOException {
+    writeLock.lock();
+    swapLock.writeLock().lock();
+    try {
+      if (current != null) {
+        current.close();
+        current = null;
+      }
+      analyzer.close();
+    } finally {
+      swapLock.writeLock().unlock();
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * 現在の索引の検索を取得します。 {@link #release} するまで索引は切り替わりません。
+   */
+  private IndexSearcher acquire() {
+    swapLock.readLock().lock();
+    try {
+      return current.searcherManager().acquire();
+    } catch (IOException | RuntimeException e) {
+      swapLock.readLock().unlock();
+      throw e instanceof IOException ioException ? new UncheckedIOException(ioException)
+          : (RuntimeException) e;
+    }
+  }
+
+  private void release(IndexSearcher searcher) {
+    try {
+      current.searcherManager().release(searcher);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      swapLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * 保存先の世代(数字の名前のディレクトリ)のうち、コミットのある最も新しい世代を返し、それ以外の世代を削除します。
+   * 再構築の途中で終了した世代はコミットがないため削除されます。 世代がない場合は最初の世代を返します。
+   */
+  private static Path latestGeneration(Path root) throws IOException {
+    List<Path> generations = generations(root);
+    Path latest = null;
+    for (int i = generations.size() - 1; i >= 0 && latest == null; i--) {
+      try (Directory directory = FSDirectory.open(generations.get(i))) {
+        if (DirectoryReader.indexExists(directory)) {
+          latest = generations.get(i);
+        }
+      }
+    }
+    for (Path generation : generations) {
+      if (!generation.equals(latest)) {
+        IOUtils.rm(generation);
+      }
+    }
+    return latest != null ? latest : root.resolve("1");
+  }
+
+  private static Path nextGeneration(Path root) throws IOException {
+    List<Path> generations = generations(root);
+    long last = generations.isEmpty()
+        ? 0 : generationNumber(generations.get(generations.size() - 1));
+    return root.resolve(Long.toString(last + 1));
+  }
+
+  private static List<Path> generations(Path root) throws IOException {
+    Files.createDirectories(root);
+    try (Stream<Path> paths = Files.list(root)) {
+      return paths
+          .filter(Files::isDirectory)
+          .filter(path -> path.getFileName().toString().matches("\\d+"))
+          .sorted(Comparator.comparingLong(StudentSearchIndex::generationNumber))
+          .toList();
+    }
+  }
+
+  private static long generationNumber(Path generation) {
+    return Long.parseLong(generation.getFileName().toString());
+  }
+
+  private Document toDocument(StudentDetail studentDetail) {
+    Student student = studentDetail.getStudent();
+    Document document = new Document();
+    document.add(new StringField(ID, student.getId(), Store.YES));
+    document.add(new SortedDocValuesField(ID, new BytesRef(student.getId())));
+    addText(document, NAME, student.getNameNormalized());
+    addText(document, KANA_NAME, student.getKanaNameNormalized());
+    addText(document, NICKNAME, student.getNicknameNormalized());
+    addText(document, EMAIL, student.getEmail());
+    addText(document, REMARK, student.getRemark());
+    addKeyword(document, AREA, student.getArea());
+    addKeyword(document, SEX, student.getSex());
+    document.add(new IntPoint(AGE, student.getAge()));
+
+    if (studentDetail.getStudentCourseList() != null) {
+      for (StudentCourse studentCourse : studentDetail.getStudentCourseList()) {
+        String courseName = studentCourse.getCourseName();
+        ApplicationStatus applicationStatus = studentCourse.getApplicationStatus();
+        String status = applicationStatus != null ? applicationStatus.getStatus() : null;
+        addText(document, COURSE_TEXT, courseName);
+        addKeyword(document, COURSE_NAME, courseName);
+        addKeyword(document, STATUS, status);
+        if (courseName != null && status != null) {
+          addKeyword(document, COURSE_STATUS, courseName + COURSE_STATUS_SEPARATOR + status);
+        }
+      }
+    }
+    return document;
+  }
+
+  private static void addText(Document document, String field, String value) {
+    if (hasText(value)) {
+      document.add(new TextField(field, value, Store.NO));
+    }
+  }
+
+  private static void addKeyword(Document document, String field, String value) {
+    if (hasText(value)) {
+      document.add(new StringField(field, value, Store.NO));
+    }
+  }
+
+  /**
+   * 検索条件をLuceneの問い合わせに変換します。 キーワードは各項目への一致を重み付けして足し合わせ、
+   * 絞り込みの条件は関連度に影響しないフィルタとします。
+   */
+  private Query toQuery(StudentFullTextCondition condition) {
+    BooleanQuery.Builder builder = new BooleanQuery.Builder();
+    if (hasText(condition.getKeyword())) {
+      builder.add(toKeywordQuery(condition.getKeyword()), Occur.MUST);
+    } else {
+      builder.add(new MatchAllDocsQuery(), Occur.MUST);
+    }
+
+    if (hasText(condition.getArea())) {
+      builder.add(new PrefixQuery(new Term(AREA, condition.getArea())), Occur.FILTER);
+    }
+    if (hasText(condition.getSex())) {
+      builder.add(new TermQuery(new Term(SEX, condition.getSex())), Occur.FILTER);
+    }
+    if (condition.getMinAge() != null || condition.getMaxAge() != null) {
+      builder.add(IntPoint.newRangeQuery(AGE,
+          condition.getMinAge() != null ? condition.getMinAge() : Integer.MIN_VALUE,
+          condition.getMaxAge() != null ? condition.getMaxAge() : Integer.MAX_VALUE), Occur.FILTER);
+    }
+    boolean hasCourseName = hasText(condition.getCourseName());
+    boolean hasStatus = hasText(condition.getStatus());
+    if (hasCourseName && hasStatus) {
+      // 条件付き検索と同じく、同じコースでコース名と申込状況の両方に一致すること
+      builder.add(new TermQuery(new Term(COURSE_STATUS,
+          condition.getCourseName() + COURSE_STATUS_SEPARATOR + condition.getStatus())),
+          Occur.FILTER);
+    } else if (hasCourseName) {
+      builder.add(new TermQuery(new Term(COURSE_NAME, condition.getCourseName())), Occur.FILTER);
+    } else if (hasStatus) {
+      builder.add(new TermQuery(new Term(STATUS, condition.getStatus())), Occur.FILTER);
+    }
+    return builder.build();
+  }
+
+  private Query toKeywordQuery(String keyword) {
+    QueryBuilder queryBuilder = new QueryBuilder(analyzer);
+    String normalized = SearchTextNormalizer.normalize(keyword);
+    BooleanQuery.Builder builder = new BooleanQuery.Builder();
+    addShould(builder, queryBuilder.createBooleanQuery(NAME, normalized), 4);
+    addShould(builder, queryBuilder.createBooleanQuery(KANA_NAME, normalized), 3);
+    addShould(builder, queryBuilder.createBooleanQuery(NICKNAME, normalized), 3);
+    addShould(builder, queryBuilder.createBooleanQuery(EMAIL, keyword), 2);
+    addShould(builder, queryBuilder.createBooleanQuery(COURSE_TEXT, keyword), 1.5f);
+    addShould(builder, queryBuilder.createBooleanQuery(REMARK, keyword), 1);
+    return builder.build();
+  }
+
+  private static void addShould(BooleanQuery.Builder builder, Query query, float boost) {
+    // 解析した結果、語が残らなかった項目は条件に含めない
+    if (query != null) {
+      builder.add(new BoostQuery(query, boost), Occur.SHOULD);
+    }
+  }
+
+  private static boolean hasText(String value) {
+    return value != null && !value.isBlank();
+  }
+
+  /**
+   * 1つの保存先の索引と、その書き込み側・検索側です。
+   */
+  private record OpenIndex(Directory directory, IndexWriter writer,
+                           SearcherManager searcherManager) {
+
+    static OpenIndex open(Directory directory, Analyzer analyzer) throws IOException {
+      IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+          .setOpenMode(OpenMode.CREATE_OR_APPEND));
+      return new OpenIndex(directory, writer, new SearcherManager(writer, null));
+    }
+
+    /**
+     * 検索側と書き込み側を閉じます。 書き込み側は閉じる際に未確定の変更をコミットします。
+     */
+    void close() throws IOException {
+      searcherManager.close();
+      writer.close();
+      directory.close();
+    }
+
+    /**
+     * コミットしていない変更を取り消して閉じ、保存先を削除します。 メモリ上の保存先は閉じた時点で解放されます。
+     */
+    void discard() throws IOException {
+      Path path = directory instanceof FSDirectory fsDirectory ? fsDirectory.getDirectory() : null;
+      searcherManager.close();
+      writer.rollback();
+      directory.close();
+      if (path != null) {
+        IOUtils.rm(path);
+      }
+    }
+  }
+
+  /**
+   * 検索で一致した受講生です。
+   *
+   * @param studentId 受講生ID
+   * @param score     キーワードとの関連度(キーワード未指定の場合は0)
+   */
+  public record SearchHit(String studentId, float score) {
+
+  }
+
+  /**
+   * 検索結果の1ページ分です。
+   *
+   * @param hits           このページの受講生(並び順のとおり)
+   * @param totalHits      一致件数
+   * @param totalHitsExact 一致件数が正確な値かどうか
+   */
+  public record SearchHits(List<SearchHit> hits, long totalHits, boolean totalHitsExact) {
+
+  }
+}
@@ -1,45 +1,78 @@
 package standard.StudentManagement.service;
 
+import io.micrometer.core.annotation.Timed;
 import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import standard.StudentManagement.controller.converter.StudentConverter;
 import standard.StudentManagement.data.ApplicationStatus;
 import standard.StudentManagement.data.Student;
 import standard.StudentManagement.data.StudentCourse;
+import standard.StudentManagement.data.StudentNameGram;
+import standard.StudentManagement.domain.CacheStatistics;
 import standard.StudentManagement.domain.StudentDetail;
+import standard.StudentManagement.domain.StudentPage;
 import standard.StudentManagement.domain.StudentSearchCondition;
+import standard.StudentManagement.domain.StudentSearchPage;
+import standard.StudentManagement.exception.StudentNotFoundException;
+import standard.StudentManagement.monitoring.StudentMetrics;
 import standard.StudentManagement.repository.StudentRepository;
 
 /**
  * 受講生情報を取り扱うサービスです。 受講生の検索や登録・更新処理を行います。
+ * 各メソッドの実行時間は {@code student.service} としてメソッドごとに記録されます。
  */
 @Service
+@Timed(value = "student.service", histogram = true)
 public class StudentService {
 
+  // 1回のINSERTで登録するn-gramの行数(プレースホルダ数と max_allowed_packet を超えないようにする)
+  static final int NAME_GRAMS_PER_STATEMENT = 1_000;
+
   private StudentRepository repository;
   private StudentConverter converter;
+  private StudentDetailCache detailCache;
+  private StudentColumnarSearch columnarSearch;
+  private ApplicationEventPublisher eventPublisher;
+  private StudentMetrics metrics;
   private Clock clock;
 
   @Autowired
-  public StudentService(StudentRepository repository, StudentConverter converter) {
-    this(repository, converter, Clock.systemDefaultZone());
+  public StudentService(StudentRepository repository, StudentConverter converter,
+      StudentDetailCache detailCache, StudentColumnarSearch columnarSearch,
+      ApplicationEventPublisher eventPublisher, StudentMetrics metrics) {
+    this(repository, converter, detailCache, columnarSearch, eventPublisher, metrics,
+        Clock.systemDefaultZone());
   }
 
   /**
    * テスト用途で使用するコンストラクタです。 Clock を任意に注入可能にすることで、日時に依存するロジックの検証を容易にします。
    *
-   * @param repository 受講生リポジトリ
-   * @param converter  受講生コンバータ
-   * @param clock      テスト用の Clock インスタンス
+   * @param repository     受講生リポジトリ
+   * @param converter      受講生コンバータ
+   * @param detailCache    受講生詳細のキャッシュ
+   * @param columnarSearch 条件検索の列形式の検索エンジン
+   * @param eventPublisher 受講生の変更通知の発行先
+   * @param metrics        検索結果の大きさの記録先
+   * @param clock          テスト用の Clock インスタンス
    */
-  StudentService(StudentRepository repository, StudentConverter converter, Clock clock) {
+  StudentService(StudentRepository repository, StudentConverter converter,
+      StudentDetailCache detailCache, StudentColumnarSearch columnarSearch,
+      ApplicationEventPublisher eventPublisher, StudentMetrics metrics, Clock clock) {
     this.repository = repository;
     this.converter = converter;
+    this.detailCache = detailCache;
+    this.columnarSearch = columnarSearch;
+    this.eventPublisher = eventPublisher;
+    this.metrics = metrics;
     this.clock = clock;
   }
 
@@ -51,27 +84,67 @@ public class StudentService {
   public List<StudentDetail> getStudentList() {
     List<Student> studentList = repository.searchStudent();
     List<StudentCourse> studentCourseList = repository.searchStudentCourseList();
-    return converter.convertStudentDetails(studentList, studentCourseList);
+    List<StudentDetail> studentDetails = converter.convertStudentDetails(studentList,
+        studentCourseList);
+    metrics.recordStudentDetails("getStudentList", studentDetails);
+    return studentDetails;
+  }
+
+  /**
+   * 受講生一覧の出力機能です。 削除されていない全受講生の受講生詳細を受講生IDの順に1件ずつ {@code consumer} へ渡します。
+   * 一覧をメモリ上に保持しないため、受講生数が増えても使用メモリは一定です。
+   *
+   * @param consumer 受講生詳細を1件ずつ受け取る処理
+   */
+  public void exportStudentDetails(Consumer<StudentDetail> consumer) {
+    repository.searchStudentDetails(context -> consumer.accept(context.getResultObject()));
+  }
+
+  /**
+   * 受講生一覧のページ検索機能です。 受講生IDの昇順で、指定したIDより後ろの受講生を最大 {@code size} 件取得し、
+   * そのページの受講生に紐づく受講生コース情報だけを読み込んで受講生詳細を組み立てます。
+   *
+   * @param afterId 前ページ最後の受講生ID(先頭ページの場合は {@code null})
+   * @param size    1ページあたりの件数
+   * @return 受講生詳細のページ
+   */
+  public StudentPage getStudentPage(String afterId, int size) {
+    // 次ページの有無を判定するため1件多く取得する
+    List<Student> studentList = repository.searchStudentPage(afterId, size + 1);
+    boolean hasNext = studentList.size() > size;
+    if (hasNext) {
+      studentList = studentList.subList(0, size);
+    }
+
+    List<StudentDetail> studentDetails = toStudentDetails(studentList);
+    metrics.recordStudentDetails("getStudentPage", studentDetails);
+    String nextAfterId = hasNext ? studentList.get(studentList.size() - 1).getId() : null;
+    return new StudentPage(studentDetails, nextAfterId, hasNext);
   }
 
   /**
-   * 受講生検索です。 指定されたIDに紐づく受講生情報を取得し、その受講生に紐づく受講生コース情報と 各コースに紐づく申込状況を取得して設定します。
+   * 受講生検索です。 指定されたIDに紐づく受講生情報と、その受講生に紐づく受講生コース情報および各コースの申込状況を
+   * 1回のクエリでまとめて取得します。コース数が増えてもデータベースへの問い合わせ回数は変わりません。
+   * 取得した受講生詳細はキャッシュされ、受講生の登録・更新のコミット時に破棄されます。
    *
    * @param id 　受講生ID
    * @return 受講生詳細情報(コース情報および申込状況を含む)
    */
   public StudentDetail getStudentProfile(String id) {
-    Student student = repository.searchStudentById(id);
-    List<StudentCourse> studentCourses = repository.searchStudentCourseListByStudentId(
-        student.getId());
-
-    studentCourses.forEach(course -> {
-      ApplicationStatus status = repository.searchApplicationStatusByStudentCourseId(
-          course.getId());
-      course.setApplicationStatus(status);
-    });
+    StudentDetail studentDetail = detailCache.get(id, repository::searchStudentDetailById);
+    if (studentDetail != null) {
+      metrics.recordCourses(studentDetail);
+    }
+    return studentDetail;
+  }
 
-    return new StudentDetail(student, studentCourses);
+  /**
+   * 受講生詳細のキャッシュの利用状況を取得します。
+   *
+   * @return キャッシュの利用状況
+   */
+  public CacheStatistics getStudentProfileCacheStatistics() {
+    return detailCache.getStatistics();
   }
 
   /**
@@ -86,44 +159,121 @@ public class StudentService {
 
     assignStudentId(student);
     repository.registerStudent(student);
+    registerNameGrams(List.of(student));
 
     registerCourseAndStatusWithStudentId(studentDetail);
 
+    eventPublisher.publishEvent(new StudentChangedEvent(List.of(student.getId())));
     return studentDetail;
   }
 
   /**
    * 受講生コース情報に受講生IDを設定し、開始日と終了日を登録します。 また、各コースに紐づく申込状況が存在する場合は、それも同時に登録します。
+   * 受講生コース情報と申込状況はそれぞれ1回の複数行INSERTでまとめて登録するため、コース数に関わらず問い合わせ回数は一定です。
    *
    * @param studentDetail 受講生詳細情報
    */
-
   void registerCourseAndStatusWithStudentId(StudentDetail studentDetail) {
-    String studentId = studentDetail.getStudent().getId();
-    LocalDateTime now = LocalDateTime.now(clock);
+    assignCourseSchedule(studentDetail, LocalDateTime.now(clock));
+
+    List<StudentCourse> studentCourseList = studentDetail.getStudentCourseList();
+    if (studentCourseList.isEmpty()) {
+      return;
+    }
+    // 採番された受講生コースIDは各 StudentCourse に設定される
+    repository.registerStudentCourses(studentCourseList);
+
+    registerApplicationStatusesForCourses(studentCourseList);
+  }
+
+  /**
+   * 受講生詳細に登録時の採番ルールを適用します。 受講生IDをUUIDで採番し、各受講生コースに受講生IDと開始日・終了日(開始日から6か月後)を設定します。
+   * 一括登録で入力チェックの前に登録内容を確定させるために使用します。
+   *
+   * @param studentDetail 登録する受講生詳細情報
+   */
+  public void prepareRegistration(StudentDetail studentDetail) {
+    assignStudentId(studentDetail.getStudent());
+    assignCourseSchedule(studentDetail, LocalDateTime.now(clock));
+  }
+
+  /**
+   * {@link #prepareRegistration(StudentDetail)} 済みの受講生詳細をまとめて登録します。
+   * 受講生・名前検索用のn-gram・受講生コース情報・申込状況をそれぞれ1回の複数行INSERTで登録します。
+   *
+   * @param studentDetails 登録する受講生詳細情報のリスト(採番済み、空でないこと)
+   */
+  @Transactional
+  public void registerPreparedStudents(List<StudentDetail> studentDetails) {
+    List<Student> studentList = new ArrayList<>(studentDetails.size());
+    List<StudentCourse> studentCourseList = new ArrayList<>();
+    for (StudentDetail studentDetail : studentDetails) {
+      studentList.add(studentDetail.getStudent());
+      studentCourseList.addAll(studentDetail.getStudentCourseList());
+    }
+
+    repository.registerStudents(studentList);
+    registerNameGrams(studentList);
+    if (!studentCourseList.isEmpty()) {
+      repository.registerStudentCourses(studentCourseList);
+      registerApplicationStatusesForCourses(studentCourseList);
+    }
+
+    eventPublisher.publishEvent(
+        new StudentChangedEvent(studentList.stream().map(Student::getId).toList()));
+  }
 
+  /**
+   * 受講生コース情報に受講生IDと、開始日および終了日(開始日から6か月後)を設定します。
+   *
+   * @param studentDetail 受講生詳細情報
+   * @param now           開始日とする日時
+   */
+  private void assignCourseSchedule(StudentDetail studentDetail, LocalDateTime now) {
+    String studentId = studentDetail.getStudent().getId();
     for (StudentCourse studentCourse : studentDetail.getStudentCourseList()) {
       studentCourse.setStudentId(studentId);
       studentCourse.setStartAt(now);
       studentCourse.setEndAt(now.plusMonths(6));
-      repository.registerStudentCourseList(studentCourse);
-
-      registerApplicationStatusForCourse(studentCourse);
     }
   }
 
   /**
-   * 指定された受講生コースに紐づく申込状況を登録します。 申込状況がnullの場合は何もせずスキップされます。
+   * 指定された受講生コースに紐づく申込状況をまとめて登録します。 申込状況がnullのコースはスキップされます。
    *
-   * @param studentCourse 申込状況を持つ受講生コース
+   * @param studentCourseList 申込状況を持つ受講生コースのリスト(受講生コースIDは採番済み)
    */
-  void registerApplicationStatusForCourse(StudentCourse studentCourse) {
-    ApplicationStatus status = studentCourse.getApplicationStatus();
+  void registerApplicationStatusesForCourses(List<StudentCourse> studentCourseList) {
+    List<ApplicationStatus> statusList = new ArrayList<>();
+    for (StudentCourse studentCourse : studentCourseList) {
+      ApplicationStatus status = studentCourse.getApplicationStatus();
+      if (status != null) {
+        status.setId(UUID.randomUUID().toString());
+        status.setStudentCourseId(studentCourse.getId());
+        statusList.add(status);
+      }
+    }
+    if (!statusList.isEmpty()) {
+      repository.registerApplicationStatuses(statusList);
+    }
+  }
 
-    if (status != null) {
-      status.setId(UUID.randomUUID().toString());
-      status.setStudentCourseId(studentCourse.getId());
-      repository.registerApplicationStatus(status);
+  /**
+   * 受講生の名前・カナ名・ニックネームから切り出したn-gramを、名前検索用の索引へまとめて登録します。
+   * {@link #NAME_GRAMS_PER_STATEMENT} 行ごとに分けてINSERTします。 正規化すると空になる受講生はスキップされます。
+   *
+   * @param studentList 受講生のリスト(受講生IDは採番済み)
+   */
+  void registerNameGrams(List<Student> studentList) {
+    List<StudentNameGram> nameGrams = new ArrayList<>();
+    for (Student student : studentList) {
+      for (String gram : student.getNameGrams()) {
+        nameGrams.add(new StudentNameGram(student.getId(), gram));
+      }
+    }
+    for (int from = 0; from < nameGrams.size(); from += NAME_GRAMS_PER_STATEMENT) {
+      repository.registerStudentNameGrams(nameGrams.subList(from,
+          Math.min(from + NAME_GRAMS_PER_STATEMENT, nameGrams.size())));
     }
   }
 
@@ -138,36 +288,51 @@ public class StudentService {
 
   /**
    * 受講生情報を更新します。関連する受講生コース情報および申込状況も同時に更新します。
+   * 名前検索用のn-gramは削除してから登録し直します。
    *
    * @param studentDetail 更新対象の受講生詳細情報
+   * @throws StudentNotFoundException 指定されたIDの受講生が存在しない場合
    */
   @Transactional
   public void updateStudent(StudentDetail studentDetail) {
-    repository.updateStudent(studentDetail.getStudent());
+    Student student = studentDetail.getStudent();
+    if (repository.updateStudent(student) == 0) {
+      throw new StudentNotFoundException("指定されたIDの受講生は存在しません。 ID=" + student.getId());
+    }
+    repository.deleteStudentNameGrams(List.of(student.getId()));
+    registerNameGrams(List.of(student));
     updateCourseAndStatus(studentDetail);
+
+    eventPublisher.publishEvent(new StudentChangedEvent(List.of(student.getId())));
   }
 
   /**
    * 受講生詳細情報に含まれる受講生コース情報を更新し、 それに紐づく申込状況も存在すれば更新します。
+   * 受講生コース情報と申込状況はそれぞれ1回のUPDATEでまとめて更新します。
    *
    * @param studentDetail　更新対象の受講生詳細情報(複数の受講生コースと申込状況を含む)
    */
   void updateCourseAndStatus(StudentDetail studentDetail) {
-    for (StudentCourse studentCourse : studentDetail.getStudentCourseList()) {
-      repository.updateStudentCourseList(studentCourse);
-      updateApplicationStatusIfPresent(studentCourse);
+    List<StudentCourse> studentCourseList = studentDetail.getStudentCourseList();
+    if (studentCourseList.isEmpty()) {
+      return;
     }
+    repository.updateStudentCourses(studentCourseList);
+    updateApplicationStatusesIfPresent(studentCourseList);
   }
 
   /**
-   * 受講生コースに申込状況が設定されていれば、それを更新します。 申込状況がnullの場合はスキップされます。
+   * 受講生コースに設定されている申込状況をまとめて更新します。 申込状況がnullのコースはスキップされます。
    *
-   * @param studentCourse 　更新対象の受講生コース(申込状況を含む可能性あり)
+   * @param studentCourseList 　更新対象の受講生コースのリスト(申込状況を含む可能性あり)
    */
-  void updateApplicationStatusIfPresent(StudentCourse studentCourse) {
-    ApplicationStatus status = studentCourse.getApplicationStatus();
-    if (status != null) {
-      repository.updateApplicationStatus(status);
+  void updateApplicationStatusesIfPresent(List<StudentCourse> studentCourseList) {
+    List<ApplicationStatus> statusList = studentCourseList.stream()
+        .map(StudentCourse::getApplicationStatus)
+        .filter(Objects::nonNull)
+        .toList();
+    if (!statusList.isEmpty()) {
+      repository.updateApplicationStatuses(statusList);
     }
   }
 
@@ -180,9 +345,81 @@ public class StudentService {
    * @throws IllegalArgumentException 最小年齢が最大年齢を上回っている場合
    */
   public List<Student> searchStudentByCondition(StudentSearchCondition condition) {
+    List<Student> studentList = findStudentsByCondition(condition);
+    metrics.recordStudents("searchStudentByCondition", studentList.size());
+    return studentList;
+  }
+
+  /**
+   * 指定された検索条件に基づいて受講生を検索し、コース情報と申込状況を含む受講生詳細として返します。
+   * 一致した受講生のIDをまとめて指定してコース情報と申込状況を1回のクエリで取得し、メモリ上で組み立てるため、
+   * 一致件数に関わらずデータベースへの問い合わせは2回です。
+   *
+   * @param condition 検索条件（名前、メールアドレス、地域、性別、年齢範囲、コース名、申込状況、削除フラグ）
+   * @return 条件に一致する受講生の受講生詳細のリスト
+   * @throws IllegalArgumentException 最小年齢が最大年齢を上回っている場合
+   */
+  public List<StudentDetail> searchStudentDetailsByCondition(StudentSearchCondition condition) {
+    List<StudentDetail> studentDetails = toStudentDetails(findStudentsByCondition(condition));
+    metrics.recordStudentDetails("searchStudentDetailsByCondition", studentDetails);
+    return studentDetails;
+  }
+
+  /**
+   * 指定された検索条件に基づいて受講生を1ページ分検索します。 先頭ページ(起点IDの指定なし)では一致件数もあわせて返します。
+   * 一致件数は {@link StudentSearchCondition#MAX_TOTAL_COUNT} 件で数えるのをやめるため、条件が広くても一定のコストで返せます。
+   *
+   * @param condition 検索条件(ページ件数と起点IDを含む)
+   * @return 受講生のページ
+   * @throws IllegalArgumentException 最小年齢が最大年齢を上回っている場合
+   */
+  public StudentSearchPage searchStudentPageByCondition(StudentSearchCondition condition) {
+    List<Student> studentList = findStudentsByCondition(condition);
+    metrics.recordStudents("searchStudentPageByCondition", studentList.size());
+
+    int pageSize = condition.getPageSize() != null
+        ? condition.getPageSize()
+        : StudentSearchCondition.MAX_PAGE_SIZE;
+    // 件数分取得できた場合だけ続きがあるものとし、最後の受講生IDを次の起点とする
+    String nextAfterId = studentList.size() >= pageSize
+        ? studentList.get(studentList.size() - 1).getId()
+        : null;
+
+    Long totalCount = null;
+    boolean totalCountExact = false;
+    if (condition.getAfterId() == null || condition.getAfterId().isEmpty()) {
+      long count = columnarSearch.supports(condition)
+          ? columnarSearch.countStudents(condition)
+          : repository.countStudentByCondition(condition);
+      totalCountExact = count <= StudentSearchCondition.MAX_TOTAL_COUNT;
+      totalCount = Math.min(count, StudentSearchCondition.MAX_TOTAL_COUNT);
+    }
+    return new StudentSearchPage(studentList, nextAfterId, totalCount, totalCountExact);
+  }
+
+  private List<Student> findStudentsByCondition(StudentSearchCondition condition) {
     if (condition.getMinAge() > condition.getMaxAge()) {
       throw new IllegalArgumentException("最小年齢は最大年齢以下にしてください");
     }
-    return repository.searchStudentByCondition(condition);
+    if (!columnarSearch.supports(condition)) {
+      return repository.searchStudentByCondition(condition);
+    }
+    // 列形式のスナップショットで一致した受講生IDを求め、受講生の読み込みだけをデータベースで行う
+    List<String> studentIds = columnarSearch.findStudentIds(condition);
+    return studentIds.isEmpty() ? List.of() : repository.searchStudentsByIds(studentIds);
+  }
+
+  /**
+   * 受講生に紐づく受講生コース情報と申込状況を、受講生IDをまとめて指定した1回のクエリで取得して受講生詳細を組み立てます。
+   *
+   * @param studentList 受講生のリスト
+   * @return 受講生詳細のリスト(受講生のリストと同じ順)
+   */
+  private List<StudentDetail> toStudentDetails(List<Student> studentList) {
+    List<StudentCourse> studentCourseList = studentList.isEmpty()
+        ? List.of()
+        : repository.searchStudentCourseListByStudentIds(
+            studentList.stream().map(Student::getId).toList());
+    return converter.convertStudentDetails(studentList, studentCourseList);
   }
 }
@@ -1,3 +1,4 @@
+-- 受講生・受講生コース・申込状況のテーブル
 CREATE TABLE students (
   id VARCHAR(36) PRIMARY KEY,
   name VARCHAR(100) NOT NULL,
@@ -26,4 +27,4 @@ CREATE TABLE application_statuses (
   status VARCHAR(20) NOT NULL,
   status_id INT NOT NULL DEFAULT 1,
   FOREIGN KEY (student_course_id) REFERENCES students_courses(id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
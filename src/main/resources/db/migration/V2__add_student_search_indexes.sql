@@ -0,0 +1,23 @@
+-- 受講生の検索条件に合わせた索引
+-- 論理削除フラグはすべての一覧・条件検索で等価条件になるため、先頭列に置く
+
+-- 一覧・ページ検索・詳細出力(is_deleted = false ORDER BY id)
+CREATE INDEX idx_students_deleted_id ON students (is_deleted, id);
+
+-- 条件検索の地域(前方一致)と年齢(範囲)
+CREATE INDEX idx_students_deleted_area_age ON students (is_deleted, area, age);
+
+-- 条件検索の性別(等価)と年齢(範囲)
+CREATE INDEX idx_students_deleted_sex_age ON students (is_deleted, sex, age);
+
+-- 受講生IDからのコース検索と、コース名条件のEXISTS(索引だけで判定できる)
+CREATE INDEX idx_students_courses_student_course ON students_courses (student_id, course_name);
+
+-- コース名を起点とした受講生の絞り込み
+CREATE INDEX idx_students_courses_course_student ON students_courses (course_name, student_id);
+
+-- 受講生コースIDからの申込状況の結合と、申込状況条件のEXISTS(索引だけで判定できる)
+CREATE INDEX idx_application_statuses_course_status ON application_statuses (student_course_id, status);
+
+-- 申込状況を起点とした受講生コースの絞り込み
+CREATE INDEX idx_application_statuses_status_course ON application_statuses (status, student_course_id);
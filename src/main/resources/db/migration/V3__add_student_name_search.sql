@@ -0,0 +1,20 @@
+-- 名前検索用の正規化列とn-gram索引
+-- 正規化(全角・半角、カタカナ・ひらがな、大文字・小文字の同一視、空白の除去)はアプリケーションで行い、
+-- 既存の受講生はV4のJavaマイグレーションで埋める
+-- NFKCでは1文字が複数文字に展開されることがあるため、元の列より長くしておく
+
+ALTER TABLE students ADD COLUMN name_normalized VARCHAR(400);
+ALTER TABLE students ADD COLUMN kana_name_normalized VARCHAR(400);
+ALTER TABLE students ADD COLUMN nickname_normalized VARCHAR(400);
+
+-- 名前・カナ名・ニックネームの正規化後の1文字と2文字のn-gram
+-- 照合順序によっては異なるn-gramが同値になるため、一意制約は付けない
+CREATE TABLE student_name_grams (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  student_id VARCHAR(36) NOT NULL,
+  gram VARCHAR(4) NOT NULL,
+  FOREIGN KEY (student_id) REFERENCES students(id) ON DELETE CASCADE
+);
+
+-- n-gramを起点とした受講生IDの絞り込み(索引だけで判定できる)
+CREATE INDEX idx_student_name_grams_gram_student ON student_name_grams (gram, student_id);
@@ -0,0 +1,108 @@
+package standard.StudentManagement.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JdbcPermitDataSourceTest {
+
+  private DataSource target;
+  private JdbcPermitDataSource sut;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    target = mock(DataSource.class);
+    when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    sut = new JdbcPermitDataSource(target, 2, 50);
+  }
+
+  @Test
+  void getConnection_許可数を超えて取得しようとした場合_待機の上限を過ぎると例外が発生すること()
+      throws SQLException {
+    sut.getConnection();
+    sut.getConnection();
+
+    assertThat(sut.getInUsePermits()).isEqualTo(2);
+    assertThatThrownBy(() -> sut.getConnection())
+        .isInstanceOf(SQLTransientConnectionException.class);
+  }
+
+  @Test
+  void getConnection_接続をクローズすると許可が返却され複数回クローズしても1回だけ返却されること()
+      throws SQLException {
+    Connection first = sut.getConnection();
+    sut.getConnection();
+
+    first.close();
+    first.close();
+
+    assertThat(sut.getInUsePermits()).isEqualTo(1);
+    sut.getConnection();
+    assertThatThrownBy(() -> sut.getConnection())
+        .isInstanceOf(SQLTransientConnectionException.class);
+  }
+
+  @Test
+  void getConnection_接続の取得に失敗した場合は許可が返却されること() throws SQLException {
+    when(target.getConnection()).thenThrow(new SQLException("接続できません"));
+
+    assertThatThrownBy(() -> sut.getConnection()).isInstanceOf(SQLException.class);
+
+    assertThat(sut.getInUsePermits()).isZero();
+  }
+
+  @Test
+  void getConnection_クローズ以外の操作は元の接続にそのまま委譲されること() throws SQLException {
+    Connection connection = mock(Connection.class);
+    when(target.getConnection()).thenReturn(connection);
+
+    Connection actual = sut.getConnection();
+    actual.setAutoCommit(false);
+    actual.close();
+
+    verify(connection).setAutoCommit(false);
+    verify(connection).close();
+    assertThat(actual).isEqualTo(actual);
+  }
+
+  @Test
+  void getConnection_仮想スレッドで同時に取得しても同時接続数が許可数を超えないこと() throws Exception {
+    JdbcPermitDataSource dataSource = new JdbcPermitDataSource(target, 2, 10_000);
+    AtomicInteger maxInUse = new AtomicInteger();
+
+    List<Future<?>> futures = new ArrayList<>();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < 100; i++) {
+        futures.add(executor.submit(() -> {
+          try (Connection connection = dataSource.getConnection()) {
+            maxInUse.accumulateAndGet(dataSource.getInUsePermits(), Math::max);
+            Thread.sleep(Duration.ofMillis(2));
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+
+    assertThat(maxInUse.get()).isBetween(1, 2);
+    assertThat(dataSource.getInUsePermits()).isZero();
+  }
+}
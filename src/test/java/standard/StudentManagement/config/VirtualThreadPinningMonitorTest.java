@@ -0,0 +1,42 @@
+package standard.StudentManagement.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadPinningMonitorTest {
+
+  private final Object lock = new Object();
+
+  @Test
+  void synchronizedブロック内で待機した仮想スレッドの固定が発生箇所とともに記録されること()
+      throws InterruptedException {
+    VirtualThreadPinningMonitor sut = new VirtualThreadPinningMonitor(Duration.ofMillis(10));
+    sut.start();
+    try {
+      Thread.ofVirtual().start(this::sleepWhileHoldingLock).join();
+
+      long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+      while (sut.getPinnedCount() == 0 && System.nanoTime() < deadline) {
+        Thread.sleep(100);
+      }
+
+      assertThat(sut.getPinnedCount()).isPositive();
+      assertThat(sut.getPinnedCountByFrame().keySet())
+          .anyMatch(frame -> frame.startsWith(VirtualThreadPinningMonitorTest.class.getName()));
+    } finally {
+      sut.stop();
+    }
+  }
+
+  private void sleepWhileHoldingLock() {
+    synchronized (lock) {
+      try {
+        Thread.sleep(100);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
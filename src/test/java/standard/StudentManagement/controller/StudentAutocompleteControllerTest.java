@@ -0,0 +1,73 @@
+package standard.StudentManagement.controller;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import standard.StudentManagement.domain.AutocompleteStatistics;
+import standard.StudentManagement.domain.StudentNameSuggestion;
+import standard.StudentManagement.service.StudentAutocompleteService;
+
+@WebMvcTest(StudentAutocompleteController.class)
+class StudentAutocompleteControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockBean
+  private StudentAutocompleteService service;
+
+  @Test
+  void autocomplete_入力と件数を指定すると候補の一覧が返ること() throws Exception {
+    when(service.suggest("やまだ", 5)).thenReturn(
+        List.of(new StudentNameSuggestion("test123", "山田太郎", "ヤマダタロウ")));
+
+    mockMvc.perform(get("/studentNames/autocomplete")
+            .param("prefix", "やまだ")
+            .param("limit", "5"))
+        .andExpect(status().isOk())
+        .andExpect(content().json(
+            "[{\"studentId\":\"test123\",\"name\":\"山田太郎\",\"kanaName\":\"ヤマダタロウ\"}]"));
+  }
+
+  @Test
+  void autocomplete_件数を省略した場合は10件までの候補が返ること() throws Exception {
+    when(service.suggest("山", 10)).thenReturn(List.of());
+
+    mockMvc.perform(get("/studentNames/autocomplete").param("prefix", "山"))
+        .andExpect(status().isOk())
+        .andExpect(content().json("[]"));
+  }
+
+  @Test
+  void autocomplete_件数が上限を超える場合は400が返ること() throws Exception {
+    mockMvc.perform(get("/studentNames/autocomplete")
+            .param("prefix", "山")
+            .param("limit", "51"))
+        .andExpect(status().isBadRequest());
+
+    verify(service, never()).suggest(anyString(), anyInt());
+  }
+
+  @Test
+  void getStatistics_トライの状態とメモリ使用量の概算が返ること() throws Exception {
+    when(service.getStatistics()).thenReturn(new AutocompleteStatistics(5, 10, 14, 2048, 1024));
+
+    mockMvc.perform(get("/studentNames/autocomplete/stats"))
+        .andExpect(status().isOk())
+        .andExpect(content().json(
+            "{\"studentCount\":5,\"keyCount\":10,\"nodeCount\":14,\"trieBytes\":2048,"
+                + "\"suggestionBytes\":1024}"));
+  }
+}
@@ -1,31 +1,46 @@
 package standard.StudentManagement.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import standard.StudentManagement.data.ApplicationStatus;
 import standard.StudentManagement.data.Student;
 import standard.StudentManagement.data.StudentCourse;
+import standard.StudentManagement.domain.BulkRegistrationResult;
+import standard.StudentManagement.domain.BulkRegistrationRowResult;
+import standard.StudentManagement.domain.CacheStatistics;
 import standard.StudentManagement.domain.StudentDetail;
+import standard.StudentManagement.domain.StudentPage;
 import standard.StudentManagement.domain.StudentSearchCondition;
+import standard.StudentManagement.domain.StudentSearchPage;
+import standard.StudentManagement.exception.StudentNotFoundException;
+import standard.StudentManagement.service.StudentBulkRegistrationService;
 import standard.StudentManagement.service.StudentService;
 
 @WebMvcTest(StudentController.class)
@@ -40,6 +55,9 @@ class StudentControllerTest {
   @MockBean
   private StudentService service;
 
+  @MockBean
+  private StudentBulkRegistrationService bulkRegistrationService;
+
   @Test
   void getStudentList_受講生詳細の一覧検索が実行でき空のリストが返ってくること()
       throws Exception {
@@ -52,6 +70,64 @@ class StudentControllerTest {
     verify(service, times(1)).getStudentList();
   }
 
+  @Test
+  void exportStudentList_受講生詳細が1行1件のNDJSONで出力されること() throws Exception {
+    StudentDetail detail1 = getTestStudentDetail();
+    StudentDetail detail2 = getTestStudentDetail();
+    detail2.getStudent().setId("test456");
+
+    doAnswer(invocation -> {
+      Consumer<StudentDetail> consumer = invocation.getArgument(0);
+      consumer.accept(detail1);
+      consumer.accept(detail2);
+      return null;
+    }).when(service).exportStudentDetails(any());
+
+    MvcResult result = mockMvc.perform(get("/studentList/export"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    String expected = objectMapper.writeValueAsString(detail1) + "\n"
+        + objectMapper.writeValueAsString(detail2) + "\n";
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/x-ndjson"))
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  void getStudentPage_起点IDと件数を指定してページ検索が実行できること() throws Exception {
+    StudentPage page = new StudentPage(List.of(getTestStudentDetail()), "test123", true);
+
+    when(service.getStudentPage("abc", 20)).thenReturn(page);
+
+    mockMvc.perform(get("/studentPage").param("afterId", "abc").param("size", "20"))
+        .andExpect(status().isOk())
+        .andExpect(content().json(objectMapper.writeValueAsString(page)));
+
+    verify(service, times(1)).getStudentPage("abc", 20);
+  }
+
+  @Test
+  void getStudentPage_件数を省略した場合は100件で検索されること() throws Exception {
+    when(service.getStudentPage(null, 100)).thenReturn(
+        new StudentPage(Collections.emptyList(), null, false));
+
+    mockMvc.perform(get("/studentPage"))
+        .andExpect(status().isOk());
+
+    verify(service, times(1)).getStudentPage(null, 100);
+  }
+
+  @Test
+  void getStudentPage_件数が上限を超える場合は400が返ること() throws Exception {
+    mockMvc.perform(get("/studentPage").param("size", "1001"))
+        .andExpect(status().isBadRequest());
+
+    verify(service, never()).getStudentPage(any(), anyInt());
+  }
+
   @Test
   void getStudent_指定したIDの受講生情報が取得できること() throws Exception {
     String id = "test123";
@@ -69,6 +145,25 @@ class StudentControllerTest {
     verify(service, times(1)).getStudentProfile(id);
   }
 
+  @Test
+  void getStudent_存在しないIDの場合は404が返ること() throws Exception {
+    when(service.getStudentProfile("unknown")).thenReturn(null);
+
+    mockMvc.perform(get("/student/{id}", "unknown"))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void getStudentProfileCacheStatistics_受講生詳細キャッシュの利用状況が返されること() throws Exception {
+    when(service.getStudentProfileCacheStatistics())
+        .thenReturn(new CacheStatistics(10, 30, 10, 0.75, 2));
+
+    mockMvc.perform(get("/studentProfileCache/stats"))
+        .andExpect(status().isOk())
+        .andExpect(content().json(
+            "{\"size\":10,\"hitCount\":30,\"missCount\":10,\"hitRate\":0.75,\"evictionCount\":2}"));
+  }
+
   @Test
   void registerStudent_リクエストを送信すると受講生情報が登録されて返されること() throws Exception {
     StudentDetail testStudentDetail = getTestStudentDetail();
@@ -86,6 +181,38 @@ class StudentControllerTest {
     verify(service, times(1)).registerStudent(any(StudentDetail.class));
   }
 
+  @Test
+  void registerStudentsFromJson_JSON配列を送信すると一括登録の結果が返ること() throws Exception {
+    BulkRegistrationResult result = new BulkRegistrationResult(2, 1, 1, List.of(
+        BulkRegistrationRowResult.success(1, "test123"),
+        BulkRegistrationRowResult.failure(2, List.of("student.email: メールアドレスは必須です。"))));
+
+    when(bulkRegistrationService.registerFromJson(any())).thenReturn(result);
+
+    mockMvc.perform(post("/registerStudents")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[]"))
+        .andExpect(status().isOk())
+        .andExpect(content().json(objectMapper.writeValueAsString(result)));
+
+    verify(bulkRegistrationService, times(1)).registerFromJson(any());
+  }
+
+  @Test
+  void registerStudentsFromCsv_CSVを送信すると一括登録の結果が返ること() throws Exception {
+    BulkRegistrationResult result = new BulkRegistrationResult(0, 0, 0, List.of());
+
+    when(bulkRegistrationService.registerFromCsv(any())).thenReturn(result);
+
+    mockMvc.perform(post("/registerStudents")
+            .contentType("text/csv")
+            .content("name,kanaName,email,area,age,sex\n"))
+        .andExpect(status().isOk())
+        .andExpect(content().json(objectMapper.writeValueAsString(result)));
+
+    verify(bulkRegistrationService, times(1)).registerFromCsv(any());
+  }
+
   @Test
   void updateStudent_更新リクエストを送信すると成功メッセージが返ること() throws Exception {
     StudentDetail testStudentDetail = getTestStudentDetail();
@@ -103,6 +230,17 @@ class StudentControllerTest {
     verify(service, times(1)).updateStudent(any(StudentDetail.class));
   }
 
+  @Test
+  void updateStudent_存在しない受講生の場合は404が返ること() throws Exception {
+    doThrow(new StudentNotFoundException("指定されたIDの受講生は存在しません。 ID=unknown"))
+        .when(service).updateStudent(any(StudentDetail.class));
+
+    mockMvc.perform(put("/updateStudent")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(getTestStudentDetail())))
+        .andExpect(status().isNotFound());
+  }
+
   @Test
   void searchStudents_条件を指定して検索が実行されリストが返ること() throws Exception {
     Student testStudent = getTestStudentDetail().getStudent();
@@ -126,6 +264,58 @@ class StudentControllerTest {
     verify(service).searchStudentByCondition(any());
   }
 
+  @Test
+  void searchStudentPage_条件を指定して検索が実行されページが返ること() throws Exception {
+    Student testStudent = getTestStudentDetail().getStudent();
+    StudentSearchPage page = new StudentSearchPage(List.of(testStudent), testStudent.getId(), 3L,
+        true);
+
+    when(service.searchStudentPageByCondition(any())).thenReturn(page);
+
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setArea("東京");
+    condition.setPageSize(1);
+
+    mockMvc.perform(post("/searchStudentPage")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(condition)))
+        .andExpect(status().isOk())
+        .andExpect(content().json(objectMapper.writeValueAsString(page)));
+
+    verify(service).searchStudentPageByCondition(any());
+  }
+
+  @Test
+  void searchStudentPage_ページ件数が上限を超える場合は400が返ること() throws Exception {
+    mockMvc.perform(post("/searchStudentPage")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"pageSize\": 1001}"))
+        .andExpect(status().isBadRequest());
+
+    verify(service, never()).searchStudentPageByCondition(any());
+  }
+
+  @Test
+  void searchStudentDetails_条件を指定して検索が実行され受講生詳細のリストが返ること() throws Exception {
+    StudentDetail testStudentDetail = getTestStudentDetail();
+
+    when(service.searchStudentDetailsByCondition(any())).thenReturn(List.of(testStudentDetail));
+
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setCourseName("Java入門");
+
+    String requestJson = objectMapper.writeValueAsString(condition);
+    String responseJson = objectMapper.writeValueAsString(List.of(testStudentDetail));
+
+    mockMvc.perform(post("/searchStudentDetails")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(requestJson))
+        .andExpect(status().isOk())
+        .andExpect(content().json(responseJson));
+
+    verify(service).searchStudentDetailsByCondition(any());
+  }
+
   public StudentDetail getTestStudentDetail() {
     ApplicationStatus status = new ApplicationStatus();
     // @Pattern の制約に合致する必要あるため"仮申込"
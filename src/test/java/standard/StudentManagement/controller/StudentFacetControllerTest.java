@@ -0,0 +1,78 @@
+package standard.StudentManagement.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import standard.StudentManagement.domain.StudentFacetCounts;
+import standard.StudentManagement.service.StudentFacetService;
+
+@WebMvcTest(StudentFacetController.class)
+class StudentFacetControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockBean
+  private StudentFacetService service;
+
+  @Test
+  void count_絞り込み条件を指定すると値ごとの人数が返ること() throws Exception {
+    when(service.count(argThat(condition -> condition.getAreas().equals(List.of("東京"))
+        && condition.getAgeBuckets().equals(List.of(20)))))
+        .thenReturn(new StudentFacetCounts(1, Map.of("東京", 1L), Map.of("男性", 1L),
+            Map.of(20, 1L), Map.of("Java入門", 1L), Map.of("仮申込", 1L)));
+
+    mockMvc.perform(post("/studentFacets")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"areas\":[\"東京\"],\"ageBuckets\":[20]}"))
+        .andExpect(status().isOk())
+        .andExpect(content().json(
+            "{\"totalCount\":1,\"areaCounts\":{\"東京\":1},\"sexCounts\":{\"男性\":1},"
+                + "\"ageBucketCounts\":{\"20\":1},\"courseNameCounts\":{\"Java入門\":1},"
+                + "\"statusCounts\":{\"仮申込\":1}}"));
+  }
+
+  @Test
+  void count_条件の値が上限を超える場合は400が返ること() throws Exception {
+    String areas = IntStream.range(0, 101)
+        .mapToObj(i -> "\"地域" + i + "\"")
+        .collect(Collectors.joining(",", "[", "]"));
+
+    mockMvc.perform(post("/studentFacets")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"areas\":" + areas + "}"))
+        .andExpect(status().isBadRequest());
+
+    verify(service, never()).count(any());
+  }
+
+  @Test
+  void count_条件を省略した場合は全受講生の人数が返ること() throws Exception {
+    when(service.count(any())).thenReturn(new StudentFacetCounts(0, Collections.emptyMap(),
+        Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(),
+        Collections.emptyMap()));
+
+    mockMvc.perform(post("/studentFacets")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{}"))
+        .andExpect(status().isOk())
+        .andExpect(content().json("{\"totalCount\":0}"));
+  }
+}
@@ -0,0 +1,92 @@
+package standard.StudentManagement.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import standard.StudentManagement.data.Student;
+import standard.StudentManagement.domain.SearchIndexStatus;
+import standard.StudentManagement.domain.StudentDetail;
+import standard.StudentManagement.domain.StudentFullTextCondition;
+import standard.StudentManagement.domain.StudentFullTextHit;
+import standard.StudentManagement.domain.StudentFullTextSearchPage;
+import standard.StudentManagement.service.StudentFullTextSearchService;
+
+@WebMvcTest(controllers = StudentFullTextSearchController.class,
+    properties = "student.search-index.enabled=true")
+class StudentFullTextSearchControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @MockBean
+  private StudentFullTextSearchService service;
+
+  @Test
+  void search_条件を指定して検索が実行され関連度付きのページが返ること() throws Exception {
+    Student student = new Student();
+    student.setId("test123");
+    student.setName("山田太郎");
+    StudentFullTextSearchPage page = new StudentFullTextSearchPage(
+        List.of(new StudentFullTextHit(new StudentDetail(student, new ArrayList<>()), 1.5f)), 1,
+        true);
+    when(service.search(any())).thenReturn(page);
+
+    StudentFullTextCondition condition = new StudentFullTextCondition();
+    condition.setKeyword("やまだ");
+    condition.setArea("東京");
+
+    mockMvc.perform(post("/fullTextSearch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(condition)))
+        .andExpect(status().isOk())
+        .andExpect(content().json(objectMapper.writeValueAsString(page)));
+
+    verify(service).search(any());
+  }
+
+  @Test
+  void search_ページ件数が上限を超える場合は400が返ること() throws Exception {
+    mockMvc.perform(post("/fullTextSearch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"keyword\": \"やまだ\", \"pageSize\": 101}"))
+        .andExpect(status().isBadRequest());
+
+    verify(service, never()).search(any());
+  }
+
+  @Test
+  void rebuild_索引が作り直され登録した受講生数が返ること() throws Exception {
+    when(service.rebuild()).thenReturn(new SearchIndexStatus(5));
+
+    mockMvc.perform(post("/searchIndex/rebuild"))
+        .andExpect(status().isOk())
+        .andExpect(content().json("{\"documentCount\": 5}"));
+  }
+
+  @Test
+  void getStatus_索引に登録されている受講生数が返ること() throws Exception {
+    when(service.getStatus()).thenReturn(new SearchIndexStatus(3));
+
+    mockMvc.perform(get("/searchIndex/status"))
+        .andExpect(status().isOk())
+        .andExpect(content().json("{\"documentCount\": 3}"));
+  }
+}
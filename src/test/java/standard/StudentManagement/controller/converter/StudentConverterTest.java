@@ -144,4 +144,38 @@ class StudentConverterTest {
     assertThat(result.get(0).getStudentCourseList().get(0).getCourseName()).isEqualTo("AWSコース");
     assertThat(result.get(0).getStudentCourseList().get(0).getApplicationStatus()).isNull();
   }
-}
\ No newline at end of file
+
+  @Test
+  void convertStudentDetails_受講生の並び順とコースの並び順が入力のまま保持される() {
+    Student student1 = new Student();
+    student1.setId("name2");
+
+    Student student2 = new Student();
+    student2.setId("name1");
+
+    StudentCourse course1 = new StudentCourse();
+    course1.setStudentId("name1");
+    course1.setCourseName("AWSコース");
+
+    StudentCourse course2 = new StudentCourse();
+    course2.setStudentId("name2");
+    course2.setCourseName("Javaベーシック");
+
+    StudentCourse course3 = new StudentCourse();
+    course3.setStudentId("name1");
+    course3.setCourseName("Javaスタンダード");
+
+    List<StudentDetail> result = converter.convertStudentDetails(
+        List.of(student1, student2), List.of(course1, course2, course3));
+
+    assertThat(result)
+        .extracting(detail -> detail.getStudent().getId())
+        .containsExactly("name2", "name1");
+    assertThat(result.get(0).getStudentCourseList())
+        .extracting(StudentCourse::getCourseName)
+        .containsExactly("Javaベーシック");
+    assertThat(result.get(1).getStudentCourseList())
+        .extracting(StudentCourse::getCourseName)
+        .containsExactly("AWSコース", "Javaスタンダード");
+  }
+}
@@ -0,0 +1,55 @@
+package standard.StudentManagement.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SearchTextNormalizerTest {
+
+  @Test
+  void normalize_全角半角とカタカナひらがなと大文字小文字が同じ文字列になること() {
+    assertThat(SearchTextNormalizer.normalize("ヤマダ")).isEqualTo("やまだ");
+    assertThat(SearchTextNormalizer.normalize("ﾔﾏﾀﾞ")).isEqualTo("やまだ");
+    assertThat(SearchTextNormalizer.normalize("やまだ")).isEqualTo("やまだ");
+    assertThat(SearchTextNormalizer.normalize("ＴＡＲＯ")).isEqualTo("taro");
+    assertThat(SearchTextNormalizer.normalize("Taro")).isEqualTo("taro");
+  }
+
+  @Test
+  void normalize_全角と半角の空白が取り除かれること() {
+    assertThat(SearchTextNormalizer.normalize(" 山田　太郎 ")).isEqualTo("山田太郎");
+    assertThat(SearchTextNormalizer.normalize("　")).isEmpty();
+  }
+
+  @Test
+  void normalize_長音記号と漢字は変わらずnullはnullのままであること() {
+    assertThat(SearchTextNormalizer.normalize("ケーキ山")).isEqualTo("けーき山");
+    assertThat(SearchTextNormalizer.normalize(null)).isNull();
+  }
+
+  @Test
+  void indexGrams_1文字と隣り合う2文字のn_gramが重複なく返ること() {
+    assertThat(SearchTextNormalizer.indexGrams("やまだ"))
+        .containsExactly("や", "やま", "ま", "まだ", "だ");
+    assertThat(SearchTextNormalizer.indexGrams("ああ")).containsExactly("あ", "ああ");
+    assertThat(SearchTextNormalizer.indexGrams(null)).isEmpty();
+  }
+
+  @Test
+  void indexGrams_サロゲートペアの文字が分割されないこと() {
+    assertThat(SearchTextNormalizer.indexGrams("𠮷田")).containsExactly("𠮷", "𠮷田", "田");
+  }
+
+  @Test
+  void queryGrams_1文字の検索語はその文字だけで2文字以上は2文字のn_gramになること() {
+    assertThat(SearchTextNormalizer.queryGrams("田")).containsExactly("田");
+    assertThat(SearchTextNormalizer.queryGrams("山田太")).containsExactly("山田", "田太");
+    assertThat(SearchTextNormalizer.queryGrams("")).isEmpty();
+  }
+
+  @Test
+  void escapeLike_ワイルドカードとエスケープ文字がエスケープされること() {
+    assertThat(SearchTextNormalizer.escapeLike("10%_\\")).isEqualTo("10\\%\\_\\\\");
+    assertThat(SearchTextNormalizer.escapeLike(null)).isNull();
+  }
+}
@@ -117,4 +117,24 @@ class StudentSearchConditionValidationTest {
     assertThat(violations).anyMatch(v -> v.getPropertyPath().toString().equals("maxAge"));
   }
 
+  @Test
+  void pageSizeが0だとバリデーションエラーになること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setPageSize(0);
+
+    Set<ConstraintViolation<StudentSearchCondition>> violations = validator.validate(condition);
+
+    assertThat(violations).anyMatch(v -> v.getPropertyPath().toString().equals("pageSize"));
+  }
+
+  @Test
+  void pageSizeが上限を超えるとバリデーションエラーになること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setPageSize(StudentSearchCondition.MAX_PAGE_SIZE + 1);
+
+    Set<ConstraintViolation<StudentSearchCondition>> violations = validator.validate(condition);
+
+    assertThat(violations).anyMatch(v -> v.getPropertyPath().toString().equals("pageSize"));
+  }
+
 }
@@ -0,0 +1,108 @@
+package standard.StudentManagement.fixture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import standard.StudentManagement.domain.StudentDetail;
+
+class StudentDataGeneratorTest {
+
+  @Test
+  void generate_同じ設定からは同じデータが生成され_乱数の種を変えると異なるデータになること() {
+    List<StudentDetail> first = new StudentDataGenerator(new StudentDataSettings().setSeed(1))
+        .generate(0, 100);
+    List<StudentDetail> second = new StudentDataGenerator(new StudentDataSettings().setSeed(1))
+        .generate(0, 100);
+    List<StudentDetail> other = new StudentDataGenerator(new StudentDataSettings().setSeed(2))
+        .generate(0, 100);
+
+    assertThat(first).extracting(StudentDetail::getStudent)
+        .isEqualTo(second.stream().map(StudentDetail::getStudent).toList());
+    assertThat(first).extracting(detail -> detail.getStudentCourseList().size())
+        .isEqualTo(second.stream().map(detail -> detail.getStudentCourseList().size()).toList());
+    assertThat(first).extracting(detail -> detail.getStudent().getName())
+        .isNotEqualTo(other.stream().map(detail -> detail.getStudent().getName()).toList());
+  }
+
+  @Test
+  void generate_各項目が設定した分布に従うこと() {
+    StudentDataSettings settings = new StudentDataSettings()
+        .setAreaWeights(Map.of("東京", 3.0, "大阪", 1.0))
+        .setCoursesPerStudentWeights(0.5, 0.0, 0.5)
+        .setAgeRange(20, 25, 40);
+    List<StudentDetail> studentDetails = new StudentDataGenerator(settings).generate(0, 20_000);
+
+    double tokyoRatio = studentDetails.stream()
+        .filter(detail -> "東京".equals(detail.getStudent().getArea()))
+        .count() / 20_000.0;
+    assertThat(tokyoRatio).isCloseTo(0.75, within(0.02));
+    assertThat(studentDetails)
+        .extracting(detail -> detail.getStudentCourseList().size())
+        .containsOnly(0, 2);
+    assertThat(studentDetails)
+        .extracting(detail -> detail.getStudent().getAge())
+        .allMatch(age -> age >= 20 && age <= 40);
+    assertThat(studentDetails)
+        .extracting(detail -> detail.getStudent().getKanaName())
+        .allMatch(kana -> kana.matches("\\p{InKatakana}+"));
+  }
+
+  @Test
+  void insert_受講生と受講生コースと申込状況が複数回に分けて登録され関連付けられること()
+      throws SQLException {
+    String url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    Flyway.configure().dataSource(url, "sa", "").locations("classpath:db/migration").load()
+        .migrate();
+    StudentDataSettings settings = new StudentDataSettings()
+        .setStudentCount(2_500)
+        .setRowsPerStatement(1_000);
+
+    try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+      StudentDataGenerator.InsertSummary summary = new StudentDataGenerator(settings)
+          .insert(connection);
+
+      assertThat(summary.studentCount()).isEqualTo(2_500);
+      assertThat(count(connection, "SELECT COUNT(*) FROM students")).isEqualTo(2_500);
+      assertThat(count(connection, "SELECT COUNT(DISTINCT email) FROM students")).isEqualTo(2_500);
+      assertThat(count(connection, "SELECT COUNT(*) FROM students_courses"))
+          .isEqualTo(summary.courseCount());
+      assertThat(count(connection, """
+          SELECT COUNT(*) FROM application_statuses a
+          JOIN students_courses sc ON sc.id = a.student_course_id
+          JOIN students s ON s.id = sc.student_id
+          """)).isEqualTo(summary.courseCount());
+      assertThat(count(connection, "SELECT COUNT(DISTINCT student_id) FROM student_name_grams"))
+          .isEqualTo(2_500);
+      assertThat(connection.getAutoCommit()).isTrue();
+    }
+  }
+
+  @Test
+  void WeightedChoice_重みが0の選択肢は選ばれないこと() {
+    WeightedChoice<Integer> choice = WeightedChoice.ofCounts(1.0, 0.0, 1.0);
+    SplittableRandom random = new SplittableRandom(0);
+
+    for (int i = 0; i < 10_000; i++) {
+      assertThat(choice.next(random)).isNotEqualTo(1);
+    }
+  }
+
+  private long count(Connection connection, String sql) throws SQLException {
+    try (Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(sql)) {
+      resultSet.next();
+      return resultSet.getLong(1);
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package standard.StudentManagement.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+import standard.StudentManagement.controller.converter.StudentConverter;
+import standard.StudentManagement.data.Student;
+import standard.StudentManagement.data.StudentCourse;
+
+/**
+ * 独自のJFRイベントが記録されることを、記録したファイルを読み込んで検証します。
+ */
+class JfrEventTest {
+
+  @TempDir
+  private Path tempDir;
+
+  @Test
+  void repositoryCall_ステートメントごとにステートメント名と件数と結果が記録されること() throws Throwable {
+    Configuration configuration = new Configuration();
+    MappedStatement mappedStatement = new MappedStatement.Builder(configuration,
+        "standard.StudentManagement.repository.StudentRepository.searchStudent",
+        new StaticSqlSource(configuration, "SELECT * FROM students"), SqlCommandType.SELECT)
+        .build();
+    Executor executor = mock(Executor.class);
+    when(executor.query(mappedStatement, null, RowBounds.DEFAULT, null))
+        .thenReturn(List.of("1", "2", "3"));
+    Method query = Executor.class.getMethod("query", MappedStatement.class, Object.class,
+        RowBounds.class, ResultHandler.class);
+    StatementMetricsInterceptor interceptor = new StatementMetricsInterceptor(
+        new SimpleMeterRegistry(), Duration.ofSeconds(10));
+
+    List<RecordedEvent> events = record(RepositoryCallEvent.class, () -> interceptor.intercept(
+        new Invocation(executor, query,
+            new Object[]{mappedStatement, null, RowBounds.DEFAULT, null})));
+
+    assertThat(events).singleElement().satisfies(event -> {
+      assertThat(event.getString("statement")).isEqualTo("StudentRepository.searchStudent");
+      assertThat(event.getString("shape")).isEqualTo("none");
+      assertThat(event.getLong("rows")).isEqualTo(3);
+      assertThat(event.getString("outcome")).isEqualTo("success");
+    });
+  }
+
+  @Test
+  void conversion_受講生詳細の変換ごとに入力の件数が記録されること() throws Throwable {
+    AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new StudentConverter());
+    proxyFactory.setProxyTargetClass(true);
+    proxyFactory.addAspect(new ConversionTimingAspect());
+    StudentConverter converter = proxyFactory.getProxy();
+    Student student = new Student();
+    student.setId("1");
+    StudentCourse studentCourse = new StudentCourse();
+    studentCourse.setStudentId("1");
+
+    List<RecordedEvent> events = record(ConversionEvent.class,
+        () -> converter.convertStudentDetails(List.of(student), List.of(studentCourse)));
+
+    assertThat(events).singleElement().satisfies(event -> {
+      assertThat(event.getInt("students")).isEqualTo(1);
+      assertThat(event.getInt("studentCourses")).isEqualTo(1);
+    });
+  }
+
+  @Test
+  void request_リクエストごとにURIパターンとステータスが記録されること() throws Throwable {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/student/1");
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/student/{id}");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    List<RecordedEvent> events = record(RequestEvent.class,
+        () -> new RequestEventFilter().doFilter(request, response,
+            (filteredRequest, filteredResponse) -> response.setStatus(404)));
+
+    assertThat(events).singleElement().satisfies(event -> {
+      assertThat(event.getString("method")).isEqualTo("GET");
+      assertThat(event.getString("endpoint")).isEqualTo("/student/{id}");
+      assertThat(event.getInt("status")).isEqualTo(404);
+    });
+  }
+
+  /**
+   * 指定したイベントだけを有効にして処理を実行し、記録されたイベントをファイルから読み込みます。
+   */
+  private List<RecordedEvent> record(Class<? extends Event> eventType, ThrowingRunnable action)
+      throws Throwable {
+    Path file = tempDir.resolve("recording.jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable(eventType).withoutThreshold();
+      recording.start();
+      action.run();
+      recording.stop();
+      recording.dump(file);
+    }
+    return RecordingFile.readAllEvents(file);
+  }
+
+  @FunctionalInterface
+  private interface ThrowingRunnable {
+
+    void run() throws Throwable;
+  }
+}
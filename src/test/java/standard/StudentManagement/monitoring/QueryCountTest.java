@@ -0,0 +1,52 @@
+package standard.StudentManagement.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class QueryCountTest {
+
+  @Test
+  void record_範囲内で実行されたステートメントが実行順に数えられること() {
+    try (QueryCount sut = QueryCount.start()) {
+      QueryCount.record("StudentRepository.searchStudent", 1_000);
+      QueryCount.record("StudentRepository.searchStudentCourseList", 1_000);
+      QueryCount.record("StudentRepository.searchStudent", 1_000);
+
+      assertThat(sut.getTotal()).isEqualTo(3);
+      assertThat(sut.getDatabaseTime()).isEqualTo(Duration.ofNanos(3_000));
+      assertThat(sut.getCount("StudentRepository.searchStudent")).isEqualTo(2);
+      assertThat(sut.getCount("StudentRepository.updateStudent")).isZero();
+      assertThat(sut.getCountByStatement()).containsExactly(
+          entry("StudentRepository.searchStudent", 2),
+          entry("StudentRepository.searchStudentCourseList", 1));
+    }
+  }
+
+  @Test
+  void record_入れ子の範囲では内側の実行が外側にも数えられ終了後は外側に戻ること() {
+    try (QueryCount outer = QueryCount.start()) {
+      QueryCount.record("StudentRepository.searchStudent", 1_000);
+      try (QueryCount inner = QueryCount.start()) {
+        QueryCount.record("StudentRepository.searchStudentById", 1_000);
+
+        assertThat(inner.getTotal()).isEqualTo(1);
+      }
+      QueryCount.record("StudentRepository.searchStudent", 1_000);
+
+      assertThat(outer.getTotal()).isEqualTo(3);
+    }
+  }
+
+  @Test
+  void record_範囲の終了後は数えられないこと() {
+    QueryCount sut = QueryCount.start();
+    sut.close();
+
+    QueryCount.record("StudentRepository.searchStudent", 1_000);
+
+    assertThat(sut.getTotal()).isZero();
+  }
+}
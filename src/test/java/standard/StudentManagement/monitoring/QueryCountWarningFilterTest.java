@@ -0,0 +1,41 @@
+package standard.StudentManagement.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@ExtendWith(OutputCaptureExtension.class)
+class QueryCountWarningFilterTest {
+
+  private QueryCountWarningFilter sut = new QueryCountWarningFilter(2);
+
+  @Test
+  void doFilter_同じステートメントが閾値を超えて実行された場合は警告が出力されること(CapturedOutput output)
+      throws Exception {
+    sut.doFilter(new MockHttpServletRequest("GET", "/student/1"), new MockHttpServletResponse(),
+        (request, response) -> {
+          for (int i = 0; i < 3; i++) {
+            QueryCount.record("StudentRepository.searchApplicationStatusByStudentCourseId", 1_000);
+          }
+        });
+
+    assertThat(output).contains("3回実行されました")
+        .contains("GET /student/1 StudentRepository.searchApplicationStatusByStudentCourseId");
+  }
+
+  @Test
+  void doFilter_閾値以下の場合は警告が出力されないこと(CapturedOutput output) throws Exception {
+    sut.doFilter(new MockHttpServletRequest("GET", "/studentList"), new MockHttpServletResponse(),
+        (request, response) -> {
+          QueryCount.record("StudentRepository.searchStudent", 1_000);
+          QueryCount.record("StudentRepository.searchStudent", 1_000);
+        });
+
+    assertThat(output).doesNotContain("回実行されました");
+  }
+}
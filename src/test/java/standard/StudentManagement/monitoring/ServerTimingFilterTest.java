@@ -0,0 +1,89 @@
+package standard.StudentManagement.monitoring;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+class ServerTimingFilterTest {
+
+  @Test
+  void doFilter_有効な場合は処理時間の内訳とSQLの回数がヘッダーに付与されボディも返ること() throws Exception {
+    MockMvc mockMvc = createMockMvc(new ServerTimingFilter(true, false, 0));
+
+    mockMvc.perform(get("/timed"))
+        .andExpect(status().isOk())
+        .andExpect(content().json("{\"name\": \"山田太郎\"}"))
+        .andExpect(header().string(ServerTimingFilter.RESPONSE_HEADER, matchesPattern(
+            "total;dur=\\d+\\.\\d, db;dur=\\d+\\.\\d;desc=\"2 statements\", "
+                + "conv;dur=\\d+\\.\\d, json;dur=\\d+\\.\\d")));
+  }
+
+  @Test
+  void doFilter_リクエストヘッダーを付けた場合だけ付与されること() throws Exception {
+    MockMvc mockMvc = createMockMvc(new ServerTimingFilter(false, true, 0));
+
+    mockMvc.perform(get("/timed"))
+        .andExpect(header().doesNotExist(ServerTimingFilter.RESPONSE_HEADER));
+    mockMvc.perform(get("/timed").header(ServerTimingFilter.REQUEST_HEADER, "1"))
+        .andExpect(header().exists(ServerTimingFilter.RESPONSE_HEADER));
+  }
+
+  @Test
+  void doFilter_無効な場合はリクエストヘッダーを付けても付与されないこと() throws Exception {
+    MockMvc mockMvc = createMockMvc(new ServerTimingFilter(false, false, 0));
+
+    mockMvc.perform(get("/timed").header(ServerTimingFilter.REQUEST_HEADER, "1"))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(ServerTimingFilter.RESPONSE_HEADER));
+  }
+
+  @Test
+  void doFilter_ストリーミングのレスポンスはバッファされずそのまま書き出されること() throws Exception {
+    MockMvc mockMvc = createMockMvc(new ServerTimingFilter(true, false, 0));
+
+    MvcResult result = mockMvc.perform(get("/streaming"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().string("line1\nline2\n"));
+  }
+
+  private MockMvc createMockMvc(ServerTimingFilter filter) {
+    return MockMvcBuilders.standaloneSetup(new TimedController())
+        .setControllerAdvice(new ServerTimingResponseBodyAdvice())
+        .addFilters(filter)
+        .build();
+  }
+
+  @RestController
+  static class TimedController {
+
+    @GetMapping("/timed")
+    Map<String, String> timed() {
+      QueryCount.record("StudentRepository.searchStudent", 1_000_000);
+      QueryCount.record("StudentRepository.searchStudentCourseList", 2_000_000);
+      return Map.of("name", "山田太郎");
+    }
+
+    @GetMapping("/streaming")
+    StreamingResponseBody streaming() {
+      return outputStream -> outputStream.write("line1\nline2\n".getBytes(StandardCharsets.UTF_8));
+    }
+  }
+}
@@ -0,0 +1,165 @@
+package standard.StudentManagement.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import standard.StudentManagement.domain.StudentSearchCondition;
+
+@ExtendWith(MockitoExtension.class)
+class StatementMetricsInterceptorTest {
+
+  private static final String NAMESPACE = "standard.StudentManagement.repository.StudentRepository.";
+
+  @Mock
+  private Executor executor;
+
+  private Configuration configuration;
+  private SimpleMeterRegistry meterRegistry;
+  private StatementMetricsInterceptor sut;
+
+  @BeforeEach
+  void setUp() {
+    configuration = new Configuration();
+    meterRegistry = new SimpleMeterRegistry();
+    sut = new StatementMetricsInterceptor(meterRegistry, Duration.ZERO);
+  }
+
+  @Test
+  void intercept_検索の実行時間と取得件数がステートメントとパラメータの形ごとに記録されること() throws Throwable {
+    MappedStatement mappedStatement = mappedStatement("searchStudentByCondition",
+        SqlCommandType.SELECT);
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setArea("東京");
+    condition.setCourseName("Java入門");
+    when(executor.query(mappedStatement, condition, RowBounds.DEFAULT, null))
+        .thenReturn(List.of("1", "2"));
+
+    sut.intercept(queryInvocation(mappedStatement, condition, null));
+
+    Timer timer = meterRegistry.get(StatementMetricsInterceptor.TIMER_NAME)
+        .tag("statement", "StudentRepository.searchStudentByCondition")
+        .tag("shape", "StudentSearchCondition{area,courseName}")
+        .tag("outcome", "success")
+        .timer();
+    assertThat(timer.count()).isEqualTo(1);
+    DistributionSummary rows = meterRegistry.get(StatementMetricsInterceptor.ROWS_NAME)
+        .tag("statement", "StudentRepository.searchStudentByCondition")
+        .summary();
+    assertThat(rows.totalAmount()).isEqualTo(2);
+  }
+
+  @Test
+  void intercept_ResultHandlerで受け取る検索はハンドラが受け取った件数が記録されること() throws Throwable {
+    MappedStatement mappedStatement = mappedStatement("searchStudentDetails",
+        SqlCommandType.SELECT);
+    doAnswer(invocation -> {
+      ResultHandler<Object> handler = invocation.getArgument(3);
+      for (int i = 0; i < 3; i++) {
+        handler.handleResult(null);
+      }
+      return List.of();
+    }).when(executor).query(any(), any(), any(), any());
+    List<ResultContext<?>> handled = new ArrayList<>();
+
+    sut.intercept(queryInvocation(mappedStatement, null, handled::add));
+
+    assertThat(handled).hasSize(3);
+    assertThat(meterRegistry.get(StatementMetricsInterceptor.ROWS_NAME)
+        .tag("statement", "StudentRepository.searchStudentDetails")
+        .tag("shape", "none")
+        .summary().totalAmount()).isEqualTo(3);
+  }
+
+  @Test
+  void intercept_更新件数が記録されること() throws Throwable {
+    MappedStatement mappedStatement = mappedStatement("updateStudent", SqlCommandType.UPDATE);
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("students", List.of());
+    when(executor.update(mappedStatement, parameter)).thenReturn(5);
+    Method update = Executor.class.getMethod("update", MappedStatement.class, Object.class);
+
+    sut.intercept(new Invocation(executor, update, new Object[]{mappedStatement, parameter}));
+
+    assertThat(meterRegistry.get(StatementMetricsInterceptor.ROWS_NAME)
+        .tag("statement", "StudentRepository.updateStudent")
+        .tag("shape", "{students[]}")
+        .summary().totalAmount()).isEqualTo(5);
+  }
+
+  @Test
+  void intercept_実行に失敗した場合は結果をエラーとして記録し例外を送出すること() throws Throwable {
+    MappedStatement mappedStatement = mappedStatement("searchStudentById", SqlCommandType.SELECT);
+    when(executor.query(mappedStatement, "1", RowBounds.DEFAULT, null))
+        .thenThrow(new IllegalStateException("接続エラー"));
+
+    assertThatThrownBy(() -> sut.intercept(queryInvocation(mappedStatement, "1", null)))
+        .isInstanceOf(InvocationTargetException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+
+    assertThat(meterRegistry.get(StatementMetricsInterceptor.TIMER_NAME)
+        .tag("statement", "StudentRepository.searchStudentById")
+        .tag("shape", "String")
+        .tag("outcome", "error")
+        .timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void describeShape_値が指定されていない引数と別名の引数は含まれないこと() {
+    MappedStatement mappedStatement = mappedStatement("searchStudentPage", SqlCommandType.SELECT);
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("afterId", null);
+    parameter.put("limit", 10);
+    parameter.put("param1", null);
+    parameter.put("param2", 10);
+
+    assertThat(StatementMetricsInterceptor.describeShape(mappedStatement, parameter))
+        .isEqualTo("{limit}");
+  }
+
+  @Test
+  void statementName_パッケージ名が除かれること() {
+    assertThat(StatementMetricsInterceptor.statementName(NAMESPACE + "searchStudent"))
+        .isEqualTo("StudentRepository.searchStudent");
+  }
+
+  private MappedStatement mappedStatement(String id, SqlCommandType commandType) {
+    return new MappedStatement.Builder(configuration, NAMESPACE + id,
+        new StaticSqlSource(configuration, "SELECT *\n    FROM students WHERE id = ?"),
+        commandType).build();
+  }
+
+  private Invocation queryInvocation(MappedStatement mappedStatement, Object parameter,
+      ResultHandler<?> resultHandler) throws NoSuchMethodException {
+    Method query = Executor.class.getMethod("query", MappedStatement.class, Object.class,
+        RowBounds.class, ResultHandler.class);
+    return new Invocation(executor, query,
+        new Object[]{mappedStatement, parameter, RowBounds.DEFAULT, resultHandler});
+  }
+}
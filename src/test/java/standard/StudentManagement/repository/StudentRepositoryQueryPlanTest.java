@@ -0,0 +1,183 @@
+package standard.StudentManagement.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import standard.StudentManagement.domain.StudentSearchCondition;
+
+/**
+ * マッパーが発行するSQLの実行計画(EXPLAIN)を確認し、想定した索引を検索条件で引いていることを検証します。
+ * H2の実行計画では、索引を条件で引く場合は索引名の後に条件が表示され、主キー順の全件走査は索引名だけが表示されるため、
+ * 索引名と条件の組み合わせを確認します。 主キーと外部キーの索引は名前が自動で付けられるため、条件だけを確認します。
+ */
+@MybatisTest
+class StudentRepositoryQueryPlanTest {
+
+  private static final String TABLE_SCAN = "tableScan";
+
+  @Autowired
+  private SqlSessionFactory sqlSessionFactory;
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Test
+  void searchStudentPage_削除フラグと受講生IDの索引を使うこと() throws SQLException {
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("afterId", null);
+    parameter.put("limit", 10);
+
+    String plan = explain("searchStudentPage", parameter);
+
+    assertThat(plan).contains(indexLookup("IDX_STUDENTS_DELETED_ID", "IS_DELETED = FALSE"));
+  }
+
+  @Test
+  void searchStudentByCondition_名前を指定した場合_名前のn_gramの索引を引くこと() throws SQLException {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setName("やまだ");
+
+    String plan = explain("searchStudentByCondition", condition);
+
+    assertThat(plan).contains(indexLookup("IDX_STUDENT_NAME_GRAMS_GRAM_STUDENT", "GRAM IN("));
+  }
+
+  @Test
+  void searchStudentByCondition_地域を指定した場合_削除フラグと地域の索引を範囲で引くこと() throws SQLException {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setArea("東京");
+
+    String plan = explain("searchStudentByCondition", condition);
+
+    assertThat(plan)
+        .contains(indexLookup("IDX_STUDENTS_DELETED_AREA_AGE", "IS_DELETED = "))
+        .contains("AND AREA >= ");
+  }
+
+  @Test
+  void searchStudentByCondition_性別を指定した場合_削除フラグと性別の索引を引くこと() throws SQLException {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setSex("男性");
+
+    String plan = explain("searchStudentByCondition", condition);
+
+    assertThat(plan)
+        .contains(indexLookup("IDX_STUDENTS_DELETED_SEX_AGE", "IS_DELETED = "))
+        .contains("AND SEX = ");
+  }
+
+  @Test
+  void searchStudentByCondition_コース名を指定した場合_受講生コースの索引で存在を判定すること()
+      throws SQLException {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setCourseName("Java入門");
+
+    String plan = explain("searchStudentByCondition", condition);
+
+    assertThat(plan)
+        .contains(indexLookup("IDX_STUDENTS_DELETED_ID", "IS_DELETED = "))
+        .contains(indexLookup("IDX_STUDENTS_COURSES_STUDENT_COURSE", "COURSE_NAME = "));
+  }
+
+  @Test
+  void searchStudentByCondition_申込状況を指定した場合_申込状況の索引で存在を判定すること()
+      throws SQLException {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setStatus("仮申込");
+
+    String plan = explain("searchStudentByCondition", condition);
+
+    assertThat(plan)
+        .contains(indexLookup("IDX_STUDENTS_DELETED_ID", "IS_DELETED = "))
+        .containsPattern(autoNamedIndexLookup("STUDENT_ID = S\\.ID"))
+        .contains(indexLookup("IDX_APPLICATION_STATUSES_COURSE_STATUS", "STUDENT_COURSE_ID = SC.ID"));
+  }
+
+  @Test
+  void countStudentByCondition_コース名を指定した場合_受講生コースの索引で存在を判定すること()
+      throws SQLException {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setCourseName("Java入門");
+
+    String plan = explain("countStudentByCondition", condition);
+
+    assertThat(plan)
+        .contains(indexLookup("IDX_STUDENTS_DELETED_ID", "IS_DELETED = "))
+        .contains(indexLookup("IDX_STUDENTS_COURSES_STUDENT_COURSE", "COURSE_NAME = "));
+  }
+
+  @Test
+  void searchStudentCourseListByStudentIds_受講生IDと受講生コースIDの索引を引くこと() throws SQLException {
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("studentIds", List.of("11111111-1111-1111-1111-111111111111",
+        "22222222-2222-2222-2222-222222222222"));
+
+    String plan = explain("searchStudentCourseListByStudentIds", parameter);
+
+    assertThat(plan)
+        .containsPattern(autoNamedIndexLookup("STUDENT_ID IN\\("))
+        .containsPattern(autoNamedIndexLookup("STUDENT_COURSE_ID = SC\\.ID"))
+        .doesNotContain(TABLE_SCAN);
+  }
+
+  @Test
+  void searchStudentDetailById_受講生を主キーで引きコースと申込状況を索引で結合すること() throws SQLException {
+    String plan = explain("searchStudentDetailById", "11111111-1111-1111-1111-111111111111");
+
+    assertThat(plan)
+        .containsPattern(autoNamedIndexLookup("ID = \\?"))
+        .containsPattern(autoNamedIndexLookup("STUDENT_ID = S\\.ID"))
+        .containsPattern(autoNamedIndexLookup("STUDENT_COURSE_ID = SC\\.ID"))
+        .doesNotContain(TABLE_SCAN);
+  }
+
+  /**
+   * 索引を条件で引く場合の実行計画の表記です。
+   */
+  private String indexLookup(String indexName, String condition) {
+    return "/* PUBLIC." + indexName + ": " + condition;
+  }
+
+  /**
+   * 名前が自動で付けられた索引(主キー・外部キー)を条件で引く場合の実行計画の表記に一致する正規表現です。
+   */
+  private String autoNamedIndexLookup(String conditionPattern) {
+    return "/\\* PUBLIC\\.\\w+: " + conditionPattern;
+  }
+
+  /**
+   * 指定したステートメントにパラメータを適用したSQLの実行計画を取得します。
+   */
+  private String explain(String statementId, Object parameter) throws SQLException {
+    MappedStatement mappedStatement = sqlSessionFactory.getConfiguration()
+        .getMappedStatement(StudentRepository.class.getName() + "." + statementId);
+    BoundSql boundSql = mappedStatement.getBoundSql(parameter);
+
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement(
+            "EXPLAIN " + boundSql.getSql())) {
+      new DefaultParameterHandler(mappedStatement, parameter, boundSql).setParameters(statement);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        StringBuilder plan = new StringBuilder();
+        while (resultSet.next()) {
+          plan.append(resultSet.getString(1)).append('\n');
+        }
+        return plan.toString();
+      }
+    }
+  }
+}
@@ -2,11 +2,14 @@ package standard.StudentManagement.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.junit.jupiter.api.Test;
 import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +19,8 @@ import standard.StudentManagement.data.ApplicationStatus;
 import standard.StudentManagement.data.StatusType;
 import standard.StudentManagement.data.Student;
 import standard.StudentManagement.data.StudentCourse;
+import standard.StudentManagement.data.StudentNameGram;
+import standard.StudentManagement.domain.StudentDetail;
 import standard.StudentManagement.domain.StudentSearchCondition;
 
 @MybatisTest
@@ -24,6 +29,9 @@ class StudentRepositoryTest {
   @Autowired
   private StudentRepository sut;
 
+  @Autowired
+  private SqlSessionFactory sqlSessionFactory;
+
   @Test
   void searchStudent_受講生情報の全件検索が行えること() {
     List<Student> actual = sut.searchStudent();
@@ -42,6 +50,39 @@ class StudentRepositoryTest {
     assertThat(contains).isFalse();
   }
 
+  @Test
+  void searchStudentPage_受講生IDの昇順で指定件数だけ取得できること() {
+    List<Student> actual = sut.searchStudentPage(null, 2);
+
+    assertThat(actual)
+        .extracting(Student::getId)
+        .containsExactly("11111111-1111-1111-1111-111111111111",
+            "22222222-2222-2222-2222-222222222222");
+  }
+
+  @Test
+  void searchStudentPage_指定したIDより後ろの受講生だけが取得できること() {
+    List<Student> actual = sut.searchStudentPage("33333333-3333-3333-3333-333333333333", 10);
+
+    assertThat(actual)
+        .extracting(Student::getId)
+        .containsExactly("44444444-4444-4444-4444-444444444444",
+            "55555555-5555-5555-5555-555555555555");
+  }
+
+  @Test
+  void searchStudentPage_isDeletedがtrueの受講生は含まれないこと() {
+    Student student = sut.searchStudentById("22222222-2222-2222-2222-222222222222");
+    student.setDeleted(true);
+    sut.updateStudent(student);
+
+    List<Student> actual = sut.searchStudentPage("11111111-1111-1111-1111-111111111111", 1);
+
+    assertThat(actual)
+        .extracting(Student::getId)
+        .containsExactly("33333333-3333-3333-3333-333333333333");
+  }
+
   @Test
   void searchStudentById_IDから受講生情報が取得できること() {
     Student actual = sut.searchStudentById("11111111-1111-1111-1111-111111111111");
@@ -56,6 +97,157 @@ class StudentRepositoryTest {
     assertThat(student).isNull();
   }
 
+  @Test
+  void searchStudentDetailById_受講生とコースと申込状況がまとめて取得できること() {
+    StudentDetail actual = sut.searchStudentDetailById("11111111-1111-1111-1111-111111111111");
+
+    assertThat(actual).isNotNull();
+    assertThat(actual.getStudent().getName()).isEqualTo("山田太郎");
+    assertThat(actual.getStudent().isDeleted()).isFalse();
+    assertThat(actual.getStudentCourseList())
+        .extracting(StudentCourse::getCourseName)
+        .containsExactly("Java入門", "Spring基礎");
+    assertThat(actual.getStudentCourseList())
+        .extracting(course -> course.getApplicationStatus().getStatusType())
+        .containsExactly(StatusType.仮申込, StatusType.本申込);
+    assertThat(actual.getStudentCourseList().get(0).getApplicationStatus().getStudentCourseId())
+        .isEqualTo(actual.getStudentCourseList().get(0).getId());
+  }
+
+  @Test
+  void searchStudentDetailById_コースが存在しない受講生は空のコースリストが返ること() {
+    StudentDetail actual = sut.searchStudentDetailById("44444444-4444-4444-4444-444444444444");
+
+    assertThat(actual).isNotNull();
+    assertThat(actual.getStudent().getName()).isEqualTo("田中美咲");
+    assertThat(actual.getStudentCourseList()).isEmpty();
+  }
+
+  @Test
+  void searchStudentDetailById_存在しないIDはnullを返すこと() {
+    StudentDetail actual = sut.searchStudentDetailById("99999999-9999-9999-9999-999999999999");
+    assertThat(actual).isNull();
+  }
+
+  @Test
+  void searchStudentDetailsByIds_指定した受講生の受講生詳細が削除済みを含めて受講生IDの順に取得できること() {
+    Student deleted = sut.searchStudentById("22222222-2222-2222-2222-222222222222");
+    deleted.setDeleted(true);
+    sut.updateStudent(deleted);
+
+    List<StudentDetail> actual = sut.searchStudentDetailsByIds(List.of(
+        "22222222-2222-2222-2222-222222222222", "11111111-1111-1111-1111-111111111111",
+        "99999999-9999-9999-9999-999999999999"));
+
+    assertThat(actual)
+        .extracting(detail -> detail.getStudent().getId(), detail -> detail.getStudent().isDeleted(),
+            detail -> detail.getStudentCourseList().size())
+        .containsExactly(
+            tuple("11111111-1111-1111-1111-111111111111", false, 2),
+            tuple("22222222-2222-2222-2222-222222222222", true, 1));
+  }
+
+  @Test
+  void searchStudentDetails_削除されていない受講生詳細が受講生IDの順に1件ずつ渡されること() {
+    Student deleted = sut.searchStudentById("22222222-2222-2222-2222-222222222222");
+    deleted.setDeleted(true);
+    sut.updateStudent(deleted);
+
+    List<StudentDetail> actual = new ArrayList<>();
+    sut.searchStudentDetails(context -> actual.add(context.getResultObject()));
+
+    assertThat(actual)
+        .extracting(detail -> detail.getStudent().getId())
+        .containsExactly("11111111-1111-1111-1111-111111111111",
+            "33333333-3333-3333-3333-333333333333",
+            "44444444-4444-4444-4444-444444444444",
+            "55555555-5555-5555-5555-555555555555");
+    assertThat(actual.get(0).getStudentCourseList())
+        .extracting(StudentCourse::getCourseName)
+        .containsExactly("Java入門", "Spring基礎");
+    assertThat(actual.get(2).getStudentCourseList()).isEmpty();
+  }
+
+  @Test
+  void searchStudentSearchAttributes_削除済みを含む全受講生の条件検索に使う項目が受講生IDの順に1件ずつ渡されること() {
+    Student deleted = sut.searchStudentById("22222222-2222-2222-2222-222222222222");
+    deleted.setDeleted(true);
+    sut.updateStudent(deleted);
+
+    List<StudentDetail> actual = new ArrayList<>();
+    sut.searchStudentSearchAttributes(context -> actual.add(context.getResultObject()));
+
+    assertThat(actual)
+        .extracting(detail -> detail.getStudent().getId(), detail -> detail.getStudent().isDeleted())
+        .containsExactly(
+            tuple("11111111-1111-1111-1111-111111111111", false),
+            tuple("22222222-2222-2222-2222-222222222222", true),
+            tuple("33333333-3333-3333-3333-333333333333", false),
+            tuple("44444444-4444-4444-4444-444444444444", false),
+            tuple("55555555-5555-5555-5555-555555555555", false));
+    assertThat(actual.get(0).getStudent())
+        .extracting(Student::getArea, Student::getAge, Student::getSex, Student::getName)
+        .containsExactly("東京", 20, "男性", null);
+    assertThat(actual.get(0).getStudentCourseList())
+        .extracting(StudentCourse::getCourseName, course -> course.getApplicationStatus().getStatus())
+        .containsExactly(tuple("Java入門", "仮申込"), tuple("Spring基礎", "本申込"));
+    assertThat(actual.get(3).getStudentCourseList()).isEmpty();
+  }
+
+  @Test
+  void searchStudentsByIds_指定した受講生が削除済みを含めて受講生IDの順に取得できること() {
+    Student deleted = sut.searchStudentById("22222222-2222-2222-2222-222222222222");
+    deleted.setDeleted(true);
+    sut.updateStudent(deleted);
+
+    List<Student> actual = sut.searchStudentsByIds(List.of(
+        "22222222-2222-2222-2222-222222222222", "11111111-1111-1111-1111-111111111111",
+        "99999999-9999-9999-9999-999999999999"));
+
+    assertThat(actual)
+        .extracting(Student::getId, Student::getEmail, Student::isDeleted)
+        .containsExactly(
+            tuple("11111111-1111-1111-1111-111111111111", "yamada@example.com", false),
+            tuple("22222222-2222-2222-2222-222222222222", "sato@example.com", true));
+  }
+
+  @Test
+  void searchStudentNames_削除されていない受講生の名前とカナ名が受講生IDの順に1件ずつ渡されること() {
+    Student deleted = sut.searchStudentById("22222222-2222-2222-2222-222222222222");
+    deleted.setDeleted(true);
+    sut.updateStudent(deleted);
+
+    List<Student> actual = new ArrayList<>();
+    sut.searchStudentNames(context -> actual.add(context.getResultObject()));
+
+    assertThat(actual)
+        .extracting(Student::getId)
+        .containsExactly("11111111-1111-1111-1111-111111111111",
+            "33333333-3333-3333-3333-333333333333",
+            "44444444-4444-4444-4444-444444444444",
+            "55555555-5555-5555-5555-555555555555");
+    assertThat(actual.get(0))
+        .extracting(Student::getName, Student::getKanaName, Student::getEmail)
+        .containsExactly("山田太郎", "ヤマダタロウ", null);
+  }
+
+  @Test
+  void searchStudentNamesByIds_指定した受講生の名前とカナ名が削除済みを含めて受講生IDの順に取得できること() {
+    Student deleted = sut.searchStudentById("22222222-2222-2222-2222-222222222222");
+    deleted.setDeleted(true);
+    sut.updateStudent(deleted);
+
+    List<Student> actual = sut.searchStudentNamesByIds(List.of(
+        "22222222-2222-2222-2222-222222222222", "11111111-1111-1111-1111-111111111111",
+        "99999999-9999-9999-9999-999999999999"));
+
+    assertThat(actual)
+        .extracting(Student::getId, Student::getName, Student::isDeleted)
+        .containsExactly(
+            tuple("11111111-1111-1111-1111-111111111111", "山田太郎", false),
+            tuple("22222222-2222-2222-2222-222222222222", "佐藤花子", true));
+  }
+
   @Test
   void searchStudentCourseList_受講生コースの全件検索が行えること() {
     List<StudentCourse> actual = sut.searchStudentCourseList();
@@ -109,6 +301,19 @@ class StudentRepositoryTest {
   }
 
 
+  @Test
+  void searchStudentCourseListByStudentIds_指定した受講生のコースと申込状況だけが取得できること() {
+    List<StudentCourse> actual = sut.searchStudentCourseListByStudentIds(
+        List.of("11111111-1111-1111-1111-111111111111", "33333333-3333-3333-3333-333333333333"));
+
+    assertThat(actual)
+        .extracting(StudentCourse::getCourseName)
+        .containsExactly("Java入門", "Spring基礎", "Linux入門");
+    assertThat(actual)
+        .extracting(course -> course.getApplicationStatus().getStatusType())
+        .containsExactly(StatusType.仮申込, StatusType.本申込, StatusType.受講終了);
+  }
+
   @Test
   void searchStudentCourseListByStudentId_受講生IDに紐づく受講生コース情報の検索が行えること() {
     List<StudentCourse> actual = sut.searchStudentCourseListByStudentId(
@@ -151,6 +356,32 @@ class StudentRepositoryTest {
     assertThat(actual.size()).isEqualTo(6);
   }
 
+  @Test
+  void registerStudents_複数の受講生情報がまとめて登録されること() {
+    Student student1 = new Student();
+    student1.setId(UUID.randomUUID().toString());
+    student1.setName("山本テスト");
+    student1.setKanaName("ヤマモトテスト");
+    student1.setEmail("yamamoto@example.com");
+    student1.setArea("東京");
+    student1.setAge(20);
+    student1.setSex("男性");
+
+    Student student2 = new Student();
+    student2.setId(UUID.randomUUID().toString());
+    student2.setName("川口テスト");
+    student2.setKanaName("カワグチテスト");
+    student2.setEmail("kawaguchi@example.com");
+    student2.setArea("大阪");
+    student2.setAge(30);
+    student2.setSex("女性");
+
+    sut.registerStudents(List.of(student1, student2));
+
+    assertThat(sut.searchStudent()).hasSize(7);
+    assertThat(sut.searchStudentById(student2.getId()).getName()).isEqualTo("川口テスト");
+  }
+
   @Test
   void registerStudent_必須項目がnullの場合に例外がスローされること() {
     Student student = new Student();
@@ -189,6 +420,67 @@ class StudentRepositoryTest {
     assertThat(actual).hasSize(3);
   }
 
+  @Test
+  void registerStudentCourses_複数の受講生コース情報がまとめて登録され採番されたIDが設定されること() {
+    StudentCourse course1 = new StudentCourse();
+    course1.setStudentId("44444444-4444-4444-4444-444444444444");
+    course1.setCourseName("JUnit実践");
+    course1.setStartAt(Timestamp.valueOf("2025-07-01 09:00:00").toLocalDateTime());
+    course1.setEndAt(Timestamp.valueOf("2025-12-31 18:00:00").toLocalDateTime());
+
+    StudentCourse course2 = new StudentCourse();
+    course2.setStudentId("44444444-4444-4444-4444-444444444444");
+    course2.setCourseName("AWS基礎");
+    course2.setStartAt(Timestamp.valueOf("2025-07-01 09:00:00").toLocalDateTime());
+    course2.setEndAt(Timestamp.valueOf("2025-12-31 18:00:00").toLocalDateTime());
+
+    sut.registerStudentCourses(List.of(course1, course2));
+
+    assertThat(course1.getId()).isPositive();
+    assertThat(course2.getId()).isGreaterThan(course1.getId());
+    List<StudentCourse> actual = sut.searchStudentCourseListByStudentId(
+        "44444444-4444-4444-4444-444444444444");
+    assertThat(actual)
+        .extracting(StudentCourse::getId, StudentCourse::getCourseName)
+        .containsExactly(
+            tuple(course1.getId(), "JUnit実践"),
+            tuple(course2.getId(), "AWS基礎"));
+  }
+
+  @Test
+  void registerApplicationStatuses_複数の申込状況がまとめて登録されること() {
+    StudentCourse course1 = new StudentCourse();
+    course1.setStudentId("44444444-4444-4444-4444-444444444444");
+    course1.setCourseName("JUnit実践");
+    course1.setStartAt(Timestamp.valueOf("2025-07-01 09:00:00").toLocalDateTime());
+    course1.setEndAt(Timestamp.valueOf("2025-12-31 18:00:00").toLocalDateTime());
+
+    StudentCourse course2 = new StudentCourse();
+    course2.setStudentId("44444444-4444-4444-4444-444444444444");
+    course2.setCourseName("AWS基礎");
+    course2.setStartAt(Timestamp.valueOf("2025-07-01 09:00:00").toLocalDateTime());
+    course2.setEndAt(Timestamp.valueOf("2025-12-31 18:00:00").toLocalDateTime());
+
+    sut.registerStudentCourses(List.of(course1, course2));
+
+    ApplicationStatus status1 = new ApplicationStatus();
+    status1.setId(UUID.randomUUID().toString());
+    status1.setStudentCourseId(course1.getId());
+    status1.setStatusType(StatusType.仮申込);
+
+    ApplicationStatus status2 = new ApplicationStatus();
+    status2.setId(UUID.randomUUID().toString());
+    status2.setStudentCourseId(course2.getId());
+    status2.setStatusType(StatusType.受講中);
+
+    sut.registerApplicationStatuses(List.of(status1, status2));
+
+    assertThat(sut.searchApplicationStatusByStudentCourseId(course1.getId()).getStatusType())
+        .isEqualTo(StatusType.仮申込);
+    assertThat(sut.searchApplicationStatusByStudentCourseId(course2.getId()).getStatusType())
+        .isEqualTo(StatusType.受講中);
+  }
+
   @Test
   void registerApplicationStatus_申込状況の登録が行えること() {
     StudentCourse course = new StudentCourse();
@@ -228,7 +520,7 @@ class StudentRepositoryTest {
     student.setName("名前更新テスト");
     student.setDeleted(true);
 
-    sut.updateStudent(student);
+    assertThat(sut.updateStudent(student)).isEqualTo(1);
 
     Student update = sut.searchStudentById("11111111-1111-1111-1111-111111111111");
     assertThat(update.getName()).isEqualTo("名前更新テスト");
@@ -244,7 +536,7 @@ class StudentRepositoryTest {
     student.setEmail("dummy@example.com");
     student.setDeleted(false);
 
-    sut.updateStudent(student);
+    assertThat(sut.updateStudent(student)).isZero();
 
     Student result = sut.searchStudentById("non-existent-id");
     assertThat(result).isNull();
@@ -271,6 +563,23 @@ class StudentRepositoryTest {
     assertThat(updated.getCourseName()).isEqualTo("テスト入門");
   }
 
+  @Test
+  void updateStudentCourses_指定した受講生コースのコース名だけがまとめて更新されること() {
+    List<StudentCourse> courseList = sut.searchStudentCourseListByStudentId(
+        "11111111-1111-1111-1111-111111111111");
+    courseList.get(0).setCourseName("テスト入門");
+    courseList.get(1).setCourseName("テスト応用");
+
+    sut.updateStudentCourses(courseList);
+
+    assertThat(sut.searchStudentCourseListByStudentId("11111111-1111-1111-1111-111111111111"))
+        .extracting(StudentCourse::getCourseName)
+        .containsExactly("テスト入門", "テスト応用");
+    assertThat(sut.searchStudentCourseListByStudentId("22222222-2222-2222-2222-222222222222"))
+        .extracting(StudentCourse::getCourseName)
+        .containsExactly("Python基礎");
+  }
+
   @Test
   void registerStudentCourseList_存在しない受講生IDを指定した場合に例外が出ること() {
     StudentCourse course = new StudentCourse();
@@ -312,6 +621,25 @@ class StudentRepositoryTest {
     assertThat(result.getStatusType()).isEqualTo(StatusType.受講中);
   }
 
+  @Test
+  void updateApplicationStatuses_指定した申込状況だけがまとめて更新されること() {
+    ApplicationStatus status1 = sut.searchApplicationStatusByStudentCourseId(1);
+    ApplicationStatus status2 = sut.searchApplicationStatusByStudentCourseId(2);
+    status1.setStatusType(StatusType.受講中);
+    status2.setStatusType(StatusType.受講終了);
+
+    sut.updateApplicationStatuses(List.of(status1, status2));
+
+    ApplicationStatus result1 = sut.searchApplicationStatusByStudentCourseId(1);
+    ApplicationStatus result2 = sut.searchApplicationStatusByStudentCourseId(2);
+    assertThat(result1.getStatusType()).isEqualTo(StatusType.受講中);
+    assertThat(result1.getStatusId()).isEqualTo(3);
+    assertThat(result2.getStatusType()).isEqualTo(StatusType.受講終了);
+    assertThat(result2.getStatusId()).isEqualTo(4);
+    assertThat(sut.searchApplicationStatusByStudentCourseId(3).getStatusType())
+        .isEqualTo(StatusType.受講中);
+  }
+
   @Test
   void updateApplicationStatus_存在しない受講生コースIDを指定しても影響がないこと() {
     ApplicationStatus status = new ApplicationStatus();
@@ -428,4 +756,182 @@ class StudentRepositoryTest {
 
     assertThat(result).isEmpty();
   }
+
+  @Test
+  void searchStudentByCondition_カナ名をひらがなや半角カナで指定しても一致する受講生が返ること() {
+    StudentSearchCondition hiragana = new StudentSearchCondition();
+    hiragana.setName("やまだ");
+    StudentSearchCondition halfWidth = new StudentSearchCondition();
+    halfWidth.setName("ﾔﾏﾀﾞ");
+
+    assertThat(sut.searchStudentByCondition(hiragana))
+        .extracting(Student::getId)
+        .containsExactly("11111111-1111-1111-1111-111111111111");
+    assertThat(sut.searchStudentByCondition(halfWidth))
+        .extracting(Student::getId)
+        .containsExactly("11111111-1111-1111-1111-111111111111");
+  }
+
+  @Test
+  void searchStudentByCondition_ニックネームに部分一致する受講生が返ること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setName("ハナチャン");
+
+    List<Student> result = sut.searchStudentByCondition(condition);
+
+    assertThat(result)
+        .extracting(Student::getId)
+        .containsExactly("22222222-2222-2222-2222-222222222222");
+  }
+
+  @Test
+  void registerStudentNameGrams_登録したn_gramで検索でき削除すると検索されないこと() {
+    Student student = new Student();
+    student.setId(UUID.randomUUID().toString());
+    student.setName("川口テスト");
+    student.setKanaName("カワグチテスト");
+    student.setEmail("kawaguchi@example.com");
+    student.setArea("大阪");
+    student.setAge(30);
+    student.setSex("女性");
+    sut.registerStudent(student);
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setName("かわぐち");
+
+    sut.registerStudentNameGrams(student.getNameGrams().stream()
+        .map(gram -> new StudentNameGram(student.getId(), gram))
+        .toList());
+
+    assertThat(sut.searchStudentByCondition(condition))
+        .extracting(Student::getId)
+        .containsExactly(student.getId());
+
+    sut.deleteStudentNameGrams(List.of(student.getId()));
+
+    assertThat(sut.searchStudentByCondition(condition)).isEmpty();
+  }
+
+  @Test
+  void searchStudentByCondition_コース名を指定した場合_そのコースを受講している受講生だけが返ること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setCourseName("Java入門");
+
+    List<Student> result = sut.searchStudentByCondition(condition);
+
+    assertThat(result)
+        .extracting(Student::getId)
+        .containsExactly("11111111-1111-1111-1111-111111111111");
+  }
+
+  @Test
+  void searchStudentByCondition_申込状況を指定した場合_該当するコースを持つ受講生が重複せずに返ること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setStatus("仮申込");
+
+    List<Student> result = sut.searchStudentByCondition(condition);
+
+    assertThat(result)
+        .extracting(Student::getId)
+        .containsExactly("11111111-1111-1111-1111-111111111111",
+            "55555555-5555-5555-5555-555555555555");
+  }
+
+  @Test
+  void searchStudentByCondition_コース名と申込状況を指定した場合_同じコースで両方に一致する受講生だけが返ること() {
+    StudentSearchCondition matched = new StudentSearchCondition();
+    matched.setCourseName("Spring基礎");
+    matched.setStatus("本申込");
+    StudentSearchCondition unmatched = new StudentSearchCondition();
+    unmatched.setCourseName("Java入門");
+    unmatched.setStatus("本申込");
+
+    assertThat(sut.searchStudentByCondition(matched))
+        .extracting(Student::getId)
+        .containsExactly("11111111-1111-1111-1111-111111111111");
+    assertThat(sut.searchStudentByCondition(unmatched)).isEmpty();
+  }
+
+  @Test
+  void searchStudentByCondition_ページ件数と起点IDを指定した場合_起点より後ろの受講生が件数分だけ返ること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setPageSize(2);
+    condition.setAfterId("22222222-2222-2222-2222-222222222222");
+
+    List<Student> result = sut.searchStudentByCondition(condition);
+
+    assertThat(result)
+        .extracting(Student::getId)
+        .containsExactly("33333333-3333-3333-3333-333333333333",
+            "44444444-4444-4444-4444-444444444444");
+  }
+
+  @Test
+  void searchStudentByCondition_ページ件数を指定しない場合_上限件数で制限されたSQLになること() {
+    String sql = boundSqlOf("searchStudentByCondition", new StudentSearchCondition());
+
+    assertThat(sql).contains("LIMIT ?");
+  }
+
+  @Test
+  void countStudentByCondition_起点IDとページ件数に関わらず条件に一致する受講生数が返ること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setStatus("仮申込");
+    condition.setPageSize(1);
+    condition.setAfterId("11111111-1111-1111-1111-111111111111");
+
+    assertThat(sut.countStudentByCondition(condition)).isEqualTo(2);
+    assertThat(sut.countStudentByCondition(new StudentSearchCondition())).isEqualTo(5);
+  }
+
+  @Test
+  void searchStudentByCondition_コース名と申込状況を指定しない場合_コースと申込状況のテーブルを参照しないSQLになること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setName("山田");
+    condition.setArea("東京");
+
+    String sql = boundSqlOf("searchStudentByCondition", condition);
+
+    assertThat(sql)
+        .doesNotContain("students_courses")
+        .doesNotContain("application_statuses")
+        .doesNotContain("DISTINCT")
+        .doesNotContain("JOIN");
+  }
+
+  @Test
+  void searchStudentByCondition_コース名だけを指定した場合_申込状況を結合しないEXISTSのSQLになること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setCourseName("Java入門");
+
+    String sql = boundSqlOf("searchStudentByCondition", condition);
+
+    assertThat(sql)
+        .contains("EXISTS")
+        .contains("students_courses")
+        .doesNotContain("application_statuses")
+        .doesNotContain("DISTINCT");
+  }
+
+  @Test
+  void searchStudentByCondition_申込状況を指定した場合_申込状況を結合したEXISTSのSQLになること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setStatus("仮申込");
+
+    String sql = boundSqlOf("searchStudentByCondition", condition);
+
+    assertThat(sql)
+        .contains("EXISTS")
+        .contains("application_statuses")
+        .doesNotContain("DISTINCT");
+  }
+
+  /**
+   * 指定したステートメントにパラメータを適用して生成されるSQLを取得します。
+   */
+  private String boundSqlOf(String statementId, Object parameter) {
+    return sqlSessionFactory.getConfiguration()
+        .getMappedStatement(StudentRepository.class.getName() + "." + statementId)
+        .getBoundSql(parameter)
+        .getSql();
+  }
 }
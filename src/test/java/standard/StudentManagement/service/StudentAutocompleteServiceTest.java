@@ -0,0 +1,166 @@
+package standard.StudentManagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static standard.StudentManagement.fixture.ResultContexts.resultContext;
+
+import java.util.List;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import standard.StudentManagement.data.Student;
+import standard.StudentManagement.domain.AutocompleteStatistics;
+import standard.StudentManagement.domain.StudentNameSuggestion;
+import standard.StudentManagement.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StudentAutocompleteServiceTest {
+
+  @Mock
+  private StudentRepository repository;
+
+  private StudentAutocompleteService sut;
+
+  @BeforeEach
+  void setUp() {
+    sut = new StudentAutocompleteService(repository, true);
+    doAnswer(invocation -> {
+      ResultHandler<Student> handler = invocation.getArgument(0);
+      handler.handleResult(resultContext(student("1", "山田太郎", "ヤマダタロウ")));
+      handler.handleResult(resultContext(student("2", "山本花子", "ヤマモトハナコ")));
+      handler.handleResult(resultContext(student("3", "佐藤一郎", "サトウイチロウ")));
+      return null;
+    }).when(repository).searchStudentNames(any());
+    sut.rebuild();
+  }
+
+  @Test
+  void suggest_名前またはカナ名で始まる受講生が返ること() {
+    assertThat(sut.suggest("山", 10))
+        .extracting(StudentNameSuggestion::getStudentId)
+        .containsExactlyInAnyOrder("1", "2");
+    assertThat(sut.suggest("サトウ", 10))
+        .extracting(StudentNameSuggestion::getName)
+        .containsExactly("佐藤一郎");
+  }
+
+  @Test
+  void suggest_カナ名をひらがなや半角カナで入力しても一致すること() {
+    assertThat(sut.suggest("やまだ", 10))
+        .extracting(StudentNameSuggestion::getStudentId)
+        .containsExactly("1");
+    assertThat(sut.suggest("ﾔﾏﾓﾄ", 10))
+        .extracting(StudentNameSuggestion::getStudentId)
+        .containsExactly("2");
+  }
+
+  @Test
+  void suggest_件数の上限までを返し空白だけの入力では何も返さないこと() {
+    assertThat(sut.suggest("やま", 1)).hasSize(1);
+    assertThat(sut.suggest("　", 10)).isEmpty();
+  }
+
+  @Test
+  void onStudentChanged_更新前の名前が候補から取り除かれ更新後の名前で返ること() {
+    when(repository.searchStudentNamesByIds(List.of("1")))
+        .thenReturn(List.of(student("1", "鈴木太郎", "スズキタロウ")));
+
+    sut.onStudentChanged(new StudentChangedEvent(List.of("1")));
+
+    assertThat(sut.suggest("やまだ", 10)).isEmpty();
+    assertThat(sut.suggest("すずき", 10))
+        .extracting(StudentNameSuggestion::getName)
+        .containsExactly("鈴木太郎");
+    assertThat(sut.getStatistics().getStudentCount()).isEqualTo(3);
+  }
+
+  @Test
+  void onStudentChanged_削除された受講生は候補から取り除かれ登録された受講生は追加されること() {
+    Student deleted = student("2", "山本花子", "ヤマモトハナコ");
+    deleted.setDeleted(true);
+    when(repository.searchStudentNamesByIds(List.of("2", "4")))
+        .thenReturn(List.of(deleted, student("4", "山口健", "ヤマグチケン")));
+
+    sut.onStudentChanged(new StudentChangedEvent(List.of("2", "4")));
+
+    assertThat(sut.suggest("山", 10))
+        .extracting(StudentNameSuggestion::getStudentId)
+        .containsExactly("4", "1");
+  }
+
+  @Test
+  void onStudentChanged_読み込みに失敗しても例外をスローせず以前の候補を返すこと() {
+    when(repository.searchStudentNamesByIds(List.of("1")))
+        .thenThrow(new IllegalStateException("接続エラー"));
+
+    sut.onStudentChanged(new StudentChangedEvent(List.of("1")));
+
+    assertThat(sut.suggest("やまだ", 10)).hasSize(1);
+  }
+
+  @Test
+  void onStudentChanged_受講生IDが空の場合はデータベースに問い合わせないこと() {
+    sut.onStudentChanged(new StudentChangedEvent(List.of()));
+
+    verify(repository, never()).searchStudentNamesByIds(any());
+  }
+
+  @Test
+  void buildOnStartup_構築に失敗しても例外をスローせず次の変更通知で構築し直すこと() {
+    StudentRepository failing = mock(StudentRepository.class);
+    doThrow(new IllegalStateException("接続エラー")).doAnswer(invocation -> {
+      ResultHandler<Student> handler = invocation.getArgument(0);
+      handler.handleResult(resultContext(student("1", "山田太郎", "ヤマダタロウ")));
+      return null;
+    }).when(failing).searchStudentNames(any());
+    StudentAutocompleteService service = new StudentAutocompleteService(failing, true);
+
+    service.buildOnStartup();
+    assertThat(service.suggest("やまだ", 10)).isEmpty();
+
+    service.onStudentChanged(new StudentChangedEvent(List.of("1")));
+    assertThat(service.suggest("やまだ", 10)).hasSize(1);
+    verify(failing, never()).searchStudentNamesByIds(any());
+  }
+
+  @Test
+  void buildOnStartup_無効の場合はデータベースに問い合わせず候補を返さないこと() {
+    StudentRepository unused = mock(StudentRepository.class);
+    StudentAutocompleteService service = new StudentAutocompleteService(unused, false);
+
+    service.buildOnStartup();
+    service.onStudentChanged(new StudentChangedEvent(List.of("1")));
+
+    assertThat(service.suggest("やまだ", 10)).isEmpty();
+    verify(unused, never()).searchStudentNames(any());
+    verify(unused, never()).searchStudentNamesByIds(any());
+  }
+
+  @Test
+  void getStatistics_受講生数とキー数とメモリ使用量の概算が返ること() {
+    AutocompleteStatistics actual = sut.getStatistics();
+
+    assertThat(actual.getStudentCount()).isEqualTo(3);
+    assertThat(actual.getKeyCount()).isEqualTo(6);
+    assertThat(actual.getNodeCount()).isGreaterThan(actual.getKeyCount());
+    assertThat(actual.getTrieBytes()).isPositive();
+    assertThat(actual.getSuggestionBytes()).isPositive();
+  }
+
+  private Student student(String id, String name, String kanaName) {
+    Student student = new Student();
+    student.setId(id);
+    student.setName(name);
+    student.setKanaName(kanaName);
+    return student;
+  }
+}
@@ -0,0 +1,233 @@
+package standard.StudentManagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import standard.StudentManagement.config.BulkRegistrationExecutorConfig;
+import standard.StudentManagement.controller.converter.StudentConverter;
+import standard.StudentManagement.data.Student;
+import standard.StudentManagement.data.StudentCourse;
+import standard.StudentManagement.domain.BulkRegistrationResult;
+import standard.StudentManagement.domain.BulkRegistrationRowResult;
+import standard.StudentManagement.monitoring.StudentMetrics;
+import standard.StudentManagement.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StudentBulkRegistrationServiceTest {
+
+  @Mock
+  private StudentRepository repository;
+
+  @Mock
+  private StudentConverter converter;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  private StudentService studentService;
+  private Validator validator;
+  private ObjectMapper objectMapper;
+  private ThreadPoolTaskExecutor executor;
+
+  @BeforeEach
+  void setUp() {
+    StudentDetailCache detailCache = new StudentDetailCache(100, Duration.ofMinutes(10),
+        Ticker.systemTicker(), Runnable::run);
+    studentService = new StudentService(repository, converter, detailCache,
+        new StudentColumnarSearch(repository, false), eventPublisher,
+        new StudentMetrics(new SimpleMeterRegistry()), Clock.systemDefaultZone());
+    validator = Validation.buildDefaultValidatorFactory().getValidator();
+    objectMapper = new ObjectMapper().findAndRegisterModules();
+    executor = new BulkRegistrationExecutorConfig().bulkRegistrationExecutor(1);
+    executor.initialize();
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void registerFromJson_入力チェックに通った行だけがまとめて登録され行ごとの結果が返ること() {
+    StudentBulkRegistrationService sut = createService(500);
+    String json = "[" + studentJson("山田太郎", "yamada@example.com") + ","
+        + studentJson("佐藤花子", "不正なメール") + ","
+        + studentJson("鈴木一郎", "suzuki@example.com") + "]";
+
+    BulkRegistrationResult result = sut.registerFromJson(toInputStream(json));
+
+    assertThat(result.getTotalCount()).isEqualTo(3);
+    assertThat(result.getSuccessCount()).isEqualTo(2);
+    assertThat(result.getFailureCount()).isEqualTo(1);
+    assertThat(result.getRowResults())
+        .extracting(BulkRegistrationRowResult::getRowNumber, BulkRegistrationRowResult::isSuccess)
+        .containsExactly(
+            tuple(1, true),
+            tuple(2, false),
+            tuple(3, true));
+    assertThat(result.getRowResults().get(0).getStudentId()).isNotNull();
+    assertThat(result.getRowResults().get(1).getMessages())
+        .containsExactly("student.email: 正しいメールアドレス形式で入力してください。");
+
+    ArgumentCaptor<List<Student>> captor = ArgumentCaptor.forClass(List.class);
+    verify(repository, times(1)).registerStudents(captor.capture());
+    assertThat(captor.getValue())
+        .extracting(Student::getName)
+        .containsExactly("山田太郎", "鈴木一郎");
+    verify(repository, times(1)).registerStudentCourses(any());
+    verify(repository, times(1)).registerApplicationStatuses(any());
+  }
+
+  @Test
+  void registerFromJson_バッチサイズごとに分けて登録されること() {
+    StudentBulkRegistrationService sut = createService(2);
+    StringBuilder json = new StringBuilder("[");
+    for (int i = 1; i <= 5; i++) {
+      if (i > 1) {
+        json.append(',');
+      }
+      json.append(studentJson("受講生" + i, "student" + i + "@example.com"));
+    }
+    json.append(']');
+
+    BulkRegistrationResult result = sut.registerFromJson(toInputStream(json.toString()));
+
+    assertThat(result.getSuccessCount()).isEqualTo(5);
+    verify(repository, times(3)).registerStudents(any());
+  }
+
+  @Test
+  void registerFromJson_まとめての登録に失敗した場合は1行ずつ登録し直し失敗した行だけが失敗になること() {
+    StudentBulkRegistrationService sut = createService(500);
+    lenient().doThrow(new DuplicateKeyException("重複"))
+        .when(repository).registerStudents(argThat(students -> students.stream()
+            .anyMatch(student -> "dup@example.com".equals(student.getEmail()))));
+    String json = "[" + studentJson("山田太郎", "yamada@example.com") + ","
+        + studentJson("佐藤花子", "dup@example.com") + "]";
+
+    BulkRegistrationResult result = sut.registerFromJson(toInputStream(json));
+
+    assertThat(result.getSuccessCount()).isEqualTo(1);
+    assertThat(result.getRowResults().get(0).isSuccess()).isTrue();
+    assertThat(result.getRowResults().get(1).isSuccess()).isFalse();
+    assertThat(result.getRowResults().get(1).getMessages())
+        .containsExactly("メールアドレスが既に登録されています。");
+    verify(repository, times(3)).registerStudents(any());
+  }
+
+  @Test
+  void registerFromJson_途中でJSONが壊れている場合はそれまでの行が登録され以降は失敗として返ること() {
+    StudentBulkRegistrationService sut = createService(500);
+    String json = "[" + studentJson("山田太郎", "yamada@example.com") + ", {\"student\": ";
+
+    BulkRegistrationResult result = sut.registerFromJson(toInputStream(json));
+
+    assertThat(result.getTotalCount()).isEqualTo(2);
+    assertThat(result.getSuccessCount()).isEqualTo(1);
+    assertThat(result.getRowResults().get(1).getRowNumber()).isEqualTo(2);
+    assertThat(result.getRowResults().get(1).isSuccess()).isFalse();
+  }
+
+  @Test
+  void registerFromCsv_CSVの各行が受講生として登録され複数のコースも登録されること() {
+    StudentBulkRegistrationService sut = createService(500);
+    String csv = """
+        name,kanaName,nickname,email,area,age,sex,remark,courseName,status
+        山田太郎,ヤマダタロウ,たろう,yamada@example.com,東京,20,男性,"Java, Spring",Java入門|AWS基礎,仮申込|本申込
+        佐藤花子,サトウハナコ,,sato@example.com,大阪,22,女性,,,
+        """;
+
+    BulkRegistrationResult result = sut.registerFromCsv(new StringReader(csv));
+
+    assertThat(result.getTotalCount()).isEqualTo(2);
+    assertThat(result.getSuccessCount()).isEqualTo(2);
+
+    ArgumentCaptor<List<Student>> studentCaptor = ArgumentCaptor.forClass(List.class);
+    verify(repository).registerStudents(studentCaptor.capture());
+    assertThat(studentCaptor.getValue().get(0).getRemark()).isEqualTo("Java, Spring");
+    assertThat(studentCaptor.getValue().get(1).getNickname()).isNull();
+
+    ArgumentCaptor<List<StudentCourse>> courseCaptor = ArgumentCaptor.forClass(List.class);
+    verify(repository).registerStudentCourses(courseCaptor.capture());
+    assertThat(courseCaptor.getValue())
+        .extracting(StudentCourse::getCourseName)
+        .containsExactly("Java入門", "AWS基礎");
+    assertThat(courseCaptor.getValue().get(1).getApplicationStatus().getStatusId()).isEqualTo(2);
+    assertThat(courseCaptor.getValue().get(0).getStudentId())
+        .isEqualTo(studentCaptor.getValue().get(0).getId());
+  }
+
+  @Test
+  void registerFromCsv_年齢が数値でない行は失敗として返ること() {
+    StudentBulkRegistrationService sut = createService(500);
+    String csv = """
+        name,kanaName,email,area,age,sex
+        山田太郎,ヤマダタロウ,yamada@example.com,東京,二十,男性
+        """;
+
+    BulkRegistrationResult result = sut.registerFromCsv(new StringReader(csv));
+
+    assertThat(result.getFailureCount()).isEqualTo(1);
+    assertThat(result.getRowResults().get(0).getMessages())
+        .containsExactly("age: 年齢は数値で入力してください。");
+    verify(repository, times(0)).registerStudents(any());
+  }
+
+  @Test
+  void registerFromJson_スレッドプールが受け付けない場合は登録せずに例外をスローすること() {
+    StudentBulkRegistrationService sut = createService(500);
+    executor.shutdown();
+
+    assertThatThrownBy(() -> sut.registerFromJson(
+        toInputStream("[" + studentJson("山田太郎", "yamada@example.com") + "]")))
+        .isInstanceOf(TaskRejectedException.class);
+    verify(repository, never()).registerStudents(any());
+  }
+
+  private StudentBulkRegistrationService createService(int batchSize) {
+    return new StudentBulkRegistrationService(studentService, validator, objectMapper, executor, 1,
+        batchSize, 2);
+  }
+
+  private String studentJson(String name, String email) {
+    return """
+        {"student": {"name": "%s", "kanaName": "テスト", "email": "%s", "area": "東京",
+        "age": 20, "sex": "男性"},
+        "studentCourseList": [{"courseName": "Java入門", "applicationStatus": {"status": "仮申込"}}]}
+        """.formatted(name, email);
+  }
+
+  private ByteArrayInputStream toInputStream(String json) {
+    return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,173 @@
+package standard.StudentManagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import standard.StudentManagement.data.Student;
+import standard.StudentManagement.domain.StudentDetail;
+import standard.StudentManagement.domain.StudentSearchCondition;
+import standard.StudentManagement.repository.StudentRepository;
+
+/**
+ * 列形式のスナップショットによる条件検索が、SQLによる条件検索と同じ受講生を返すことを検証します。
+ */
+@MybatisTest
+class StudentColumnarSearchTest {
+
+  @Autowired
+  private StudentRepository repository;
+
+  private StudentColumnarSearch sut;
+
+  @BeforeEach
+  void setUp() {
+    sut = new StudentColumnarSearch(repository, true, Runnable::run);
+    sut.rebuild();
+  }
+
+  @Test
+  void findStudentIds_地域と性別と年齢範囲の条件でSQLと同じ受講生が返ること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setMinAge(20);
+    condition.setMaxAge(22);
+    condition.setSex("女性");
+
+    assertThat(sut.supports(condition)).isTrue();
+    assertThat(sut.findStudentIds(condition))
+        .containsExactlyElementsOf(sqlStudentIds(condition))
+        .containsExactly("22222222-2222-2222-2222-222222222222",
+            "44444444-4444-4444-4444-444444444444");
+    assertThat(sut.countStudents(condition)).isEqualTo(2);
+  }
+
+  @Test
+  void findStudentIds_コース名と申込状況の条件でSQLと同じ受講生が返ること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setCourseName("Java入門");
+    condition.setStatus("仮申込");
+    StudentSearchCondition otherCourse = new StudentSearchCondition();
+    otherCourse.setCourseName("Spring基礎");
+    otherCourse.setStatus("仮申込");
+    StudentSearchCondition area = new StudentSearchCondition();
+    area.setArea("北");
+    area.setStatus("仮申込");
+
+    assertThat(sut.findStudentIds(condition))
+        .containsExactlyElementsOf(sqlStudentIds(condition))
+        .containsExactly("11111111-1111-1111-1111-111111111111");
+    assertThat(sut.findStudentIds(otherCourse))
+        .containsExactlyElementsOf(sqlStudentIds(otherCourse))
+        .isEmpty();
+    assertThat(sut.findStudentIds(area))
+        .containsExactlyElementsOf(sqlStudentIds(area))
+        .containsExactly("55555555-5555-5555-5555-555555555555");
+  }
+
+  @Test
+  void findStudentIds_ページ件数と起点IDでSQLと同じ受講生が返ること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setPageSize(2);
+    condition.setAfterId("22222222-2222-2222-2222-222222222222");
+
+    assertThat(sut.findStudentIds(condition))
+        .containsExactlyElementsOf(sqlStudentIds(condition))
+        .containsExactly("33333333-3333-3333-3333-333333333333",
+            "44444444-4444-4444-4444-444444444444");
+  }
+
+  @Test
+  void onStudentChanged_更新した受講生がスナップショットに反映されること() {
+    Student student = repository.searchStudentById("22222222-2222-2222-2222-222222222222");
+    student.setDeleted(true);
+    repository.updateStudent(student);
+    StudentSearchCondition deleted = new StudentSearchCondition();
+    deleted.setDeleted(true);
+
+    sut.onStudentChanged(new StudentChangedEvent(List.of(student.getId())));
+
+    assertThat(sut.findStudentIds(deleted))
+        .containsExactlyElementsOf(sqlStudentIds(deleted))
+        .containsExactly("22222222-2222-2222-2222-222222222222");
+  }
+
+  @Test
+  void supports_名前やメールアドレスやワイルドカードを含む地域の条件はSQLで検索すること() {
+    StudentSearchCondition name = new StudentSearchCondition();
+    name.setName("山田");
+    StudentSearchCondition email = new StudentSearchCondition();
+    email.setEmail("sato@example.com");
+    StudentSearchCondition area = new StudentSearchCondition();
+    area.setArea("%京");
+
+    assertThat(sut.supports(name)).isFalse();
+    assertThat(sut.supports(email)).isFalse();
+    assertThat(sut.supports(area)).isFalse();
+    assertThat(new StudentColumnarSearch(repository, false).supports(
+        new StudentSearchCondition())).isFalse();
+  }
+
+  @Test
+  void onStudentChanged_反映に失敗した場合はSQLで検索し次の変更通知で作り直すこと() {
+    StudentRepository failing = mock(StudentRepository.class);
+    doAnswer(invocation -> {
+      ResultHandler<StudentDetail> handler = invocation.getArgument(0);
+      repository.searchStudentSearchAttributes(handler);
+      return null;
+    }).when(failing).searchStudentSearchAttributes(any());
+    when(failing.searchStudentDetailsByIds(any())).thenThrow(new IllegalStateException("接続エラー"));
+    StudentColumnarSearch search = new StudentColumnarSearch(failing, true, Runnable::run);
+    search.rebuild();
+    StudentSearchCondition condition = new StudentSearchCondition();
+
+    search.onStudentChanged(new StudentChangedEvent(List.of("11111111-1111-1111-1111-111111111111")));
+
+    assertThat(search.supports(condition)).isFalse();
+
+    search.onStudentChanged(new StudentChangedEvent(List.of("11111111-1111-1111-1111-111111111111")));
+
+    assertThat(search.supports(condition)).isTrue();
+    assertThat(search.findStudentIds(condition)).hasSize(5);
+  }
+
+  @Test
+  void onStudentChanged_反映を待っている間はSQLで検索し溜まった受講生をまとめて1回で反映すること() {
+    StudentRepository delegating = mock(StudentRepository.class, delegatesTo(repository));
+    List<Runnable> tasks = new ArrayList<>();
+    StudentColumnarSearch search = new StudentColumnarSearch(delegating, true, tasks::add);
+    search.rebuild();
+    StudentSearchCondition condition = new StudentSearchCondition();
+
+    search.onStudentChanged(new StudentChangedEvent(List.of("11111111-1111-1111-1111-111111111111")));
+    search.onStudentChanged(new StudentChangedEvent(List.of("22222222-2222-2222-2222-222222222222")));
+    search.onStudentChanged(new StudentChangedEvent(List.of("11111111-1111-1111-1111-111111111111",
+        "33333333-3333-3333-3333-333333333333")));
+
+    assertThat(search.supports(condition)).isFalse();
+    assertThat(tasks).hasSize(1);
+    verify(delegating, never()).searchStudentDetailsByIds(any());
+
+    tasks.get(0).run();
+
+    assertThat(search.supports(condition)).isTrue();
+    assertThat(search.findStudentIds(condition)).hasSize(5);
+    verify(delegating).searchStudentDetailsByIds(List.of("11111111-1111-1111-1111-111111111111",
+        "22222222-2222-2222-2222-222222222222", "33333333-3333-3333-3333-333333333333"));
+  }
+
+  private List<String> sqlStudentIds(StudentSearchCondition condition) {
+    return repository.searchStudentByCondition(condition).stream().map(Student::getId).toList();
+  }
+}
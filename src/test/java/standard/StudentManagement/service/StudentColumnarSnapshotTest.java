@@ -0,0 +1,137 @@
+package standard.StudentManagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static standard.StudentManagement.fixture.StudentDetails.course;
+import static standard.StudentManagement.fixture.StudentDetails.detail;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import standard.StudentManagement.domain.StudentDetail;
+import standard.StudentManagement.domain.StudentSearchCondition;
+
+class StudentColumnarSnapshotTest {
+
+  private StudentColumnarSnapshot sut;
+
+  @BeforeEach
+  void setUp() {
+    StudentDetail yamada = detail("1", "東京", 20, "男性", false);
+    yamada.getStudentCourseList().add(course("Java入門", "仮申込"));
+    yamada.getStudentCourseList().add(course("Spring基礎", "本申込"));
+    StudentDetail sato = detail("2", "大阪", 22, "女性", false);
+    sato.getStudentCourseList().add(course("Java入門", "本申込"));
+    StudentDetail suzuki = detail("3", "東京都", 19, "男性", true);
+    StudentDetail tanaka = detail("4", "福岡", 21, "女性", false);
+    tanaka.getStudentCourseList().add(course("Python基礎", null));
+
+    sut = StudentColumnarSnapshot.builder()
+        .add(yamada)
+        .add(sato)
+        .add(suzuki)
+        .add(tanaka)
+        .build();
+  }
+
+  @Test
+  void find_削除フラグと年齢範囲と性別で絞り込まれること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setMinAge(21);
+    condition.setMaxAge(30);
+    condition.setSex("女性");
+    StudentSearchCondition deleted = new StudentSearchCondition();
+    deleted.setDeleted(true);
+
+    assertThat(sut.find(condition, null, 10)).containsExactly("2", "4");
+    assertThat(sut.find(deleted, null, 10)).containsExactly("3");
+  }
+
+  @Test
+  void find_地域は前方一致で絞り込まれること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setArea("東京");
+    condition.setDeleted(true);
+
+    assertThat(sut.find(condition, null, 10)).containsExactly("3");
+  }
+
+  @Test
+  void find_コース名と申込状況は同じコースで両方に一致する受講生だけが返ること() {
+    StudentSearchCondition matched = new StudentSearchCondition();
+    matched.setCourseName("Java入門");
+    matched.setStatus("本申込");
+    StudentSearchCondition courseOnly = new StudentSearchCondition();
+    courseOnly.setCourseName("Python基礎");
+    StudentSearchCondition noStatusCourse = new StudentSearchCondition();
+    noStatusCourse.setCourseName("Python基礎");
+    noStatusCourse.setStatus("仮申込");
+
+    assertThat(sut.find(matched, null, 10)).containsExactly("2");
+    assertThat(sut.find(courseOnly, null, 10)).containsExactly("4");
+    assertThat(sut.find(noStatusCourse, null, 10)).isEmpty();
+  }
+
+  @Test
+  void find_存在しない値を指定した場合は一致しないこと() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setSex("その他");
+
+    assertThat(sut.find(condition, null, 10)).isEmpty();
+    assertThat(sut.count(condition, 10)).isZero();
+  }
+
+  @Test
+  void find_起点IDより後ろから件数の上限まで返ること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+
+    assertThat(sut.find(condition, null, 2)).containsExactly("1", "2");
+    assertThat(sut.find(condition, "2", 2)).containsExactly("4");
+    assertThat(sut.find(condition, "15", 2)).containsExactly("2", "4");
+  }
+
+  @Test
+  void count_上限の件数に達した時点で数えるのをやめること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+
+    assertThat(sut.count(condition, 10)).isEqualTo(3);
+    assertThat(sut.count(condition, 2)).isEqualTo(2);
+  }
+
+  @Test
+  void withChanges_変更された受講生が置き換えられ新しい受講生が受講生IDの順に追加されること() {
+    StudentDetail sato = detail("2", "大阪", 22, "女性", true);
+    StudentDetail takahashi = detail("5", "北海道", 23, "男性", false);
+    takahashi.getStudentCourseList().add(course("Java入門", "本申込"));
+    StudentDetail abe = detail("0", "東京", 30, "男性", false);
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setCourseName("Java入門");
+    condition.setStatus("本申込");
+
+    StudentColumnarSnapshot actual = sut.withChanges(List.of("0", "2", "5"),
+        List.of(abe, sato, takahashi));
+
+    assertThat(actual.size()).isEqualTo(6);
+    assertThat(actual.find(new StudentSearchCondition(), null, 10))
+        .containsExactly("0", "1", "4", "5");
+    assertThat(actual.find(condition, null, 10)).containsExactly("5");
+    assertThat(sut.find(condition, null, 10)).containsExactly("2");
+  }
+
+  @Test
+  void withChanges_読み込めなかった受講生は取り除かれること() {
+    StudentColumnarSnapshot actual = sut.withChanges(List.of("1"), List.of());
+
+    assertThat(actual.size()).isEqualTo(3);
+    assertThat(actual.find(new StudentSearchCondition(), null, 10)).containsExactly("2", "4");
+  }
+
+  @Test
+  void builder_受講生IDの昇順に追加しない場合_例外がスローされること() {
+    StudentColumnarSnapshot.Builder builder = StudentColumnarSnapshot.builder()
+        .add(detail("2", "東京", 20, "男性", false));
+
+    assertThatThrownBy(() -> builder.add(detail("1", "東京", 20, "男性", false)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,92 @@
+package standard.StudentManagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import standard.StudentManagement.data.Student;
+import standard.StudentManagement.domain.CacheStatistics;
+import standard.StudentManagement.domain.StudentDetail;
+
+class StudentDetailCacheTest {
+
+  private AtomicLong nanos;
+  private AtomicInteger loadCount;
+  private StudentDetailCache sut;
+
+  @BeforeEach
+  void setUp() {
+    nanos = new AtomicLong();
+    loadCount = new AtomicInteger();
+    Ticker ticker = nanos::get;
+    sut = new StudentDetailCache(2, Duration.ofMinutes(10), ticker, Runnable::run);
+  }
+
+  @Test
+  void get_2回目以降はキャッシュから返されヒット数とミス数が記録されること() {
+    StudentDetail first = sut.get("1", this::load);
+    StudentDetail second = sut.get("1", this::load);
+
+    assertThat(second).isSameAs(first);
+    assertThat(loadCount.get()).isEqualTo(1);
+    CacheStatistics statistics = sut.getStatistics();
+    assertThat(statistics.getHitCount()).isEqualTo(1);
+    assertThat(statistics.getMissCount()).isEqualTo(1);
+    assertThat(statistics.getHitRate()).isEqualTo(0.5);
+    assertThat(statistics.getSize()).isEqualTo(1);
+  }
+
+  @Test
+  void get_存在しない受講生はキャッシュされないこと() {
+    sut.get("999", id -> null);
+
+    assertThat(sut.getStatistics().getSize()).isZero();
+  }
+
+  @Test
+  void onStudentChanged_通知された受講生だけが破棄されること() {
+    sut.get("1", this::load);
+    sut.get("2", this::load);
+
+    sut.onStudentChanged(new StudentChangedEvent(List.of("1")));
+    sut.get("1", this::load);
+    sut.get("2", this::load);
+
+    assertThat(loadCount.get()).isEqualTo(3);
+  }
+
+  @Test
+  void get_有効期限を過ぎた受講生詳細は読み込み直されること() {
+    sut.get("1", this::load);
+
+    nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+    sut.get("1", this::load);
+
+    assertThat(loadCount.get()).isEqualTo(2);
+    assertThat(sut.getStatistics().getEvictionCount()).isEqualTo(1);
+  }
+
+  @Test
+  void get_件数の上限を超えた場合は破棄され破棄数が記録されること() {
+    sut.get("1", this::load);
+    sut.get("2", this::load);
+    sut.get("3", this::load);
+    sut.cleanUp();
+
+    CacheStatistics statistics = sut.getStatistics();
+    assertThat(statistics.getSize()).isEqualTo(2);
+    assertThat(statistics.getEvictionCount()).isEqualTo(1);
+  }
+
+  private StudentDetail load(String id) {
+    loadCount.incrementAndGet();
+    Student student = new Student();
+    student.setId(id);
+    return new StudentDetail(student, List.of());
+  }
+}
@@ -0,0 +1,155 @@
+package standard.StudentManagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static standard.StudentManagement.fixture.StudentDetails.course;
+import static standard.StudentManagement.fixture.StudentDetails.detail;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import standard.StudentManagement.domain.StudentDetail;
+import standard.StudentManagement.domain.StudentFacetCondition;
+import standard.StudentManagement.domain.StudentFacetCounts;
+
+class StudentFacetIndexTest {
+
+  private StudentFacetIndex sut;
+
+  @BeforeEach
+  void setUp() {
+    StudentDetail yamada = detail("1", "東京", 20, "男性", false);
+    yamada.getStudentCourseList().add(course("Java入門", "仮申込"));
+    yamada.getStudentCourseList().add(course("Spring基礎", "本申込"));
+    StudentDetail sato = detail("2", "大阪", 29, "女性", false);
+    sato.getStudentCourseList().add(course("Java入門", "本申込"));
+    StudentDetail suzuki = detail("3", "東京", 19, "男性", true);
+    StudentDetail tanaka = detail("4", "福岡", 31, "女性", false);
+    tanaka.getStudentCourseList().add(course("Python基礎", null));
+
+    sut = new StudentFacetIndex();
+    sut.put(yamada);
+    sut.put(sato);
+    sut.put(suzuki);
+    sut.put(tanaka);
+  }
+
+  @Test
+  void count_条件がない場合は削除されていない受講生を値ごとに数えること() {
+    StudentFacetCounts actual = sut.count(new StudentFacetCondition());
+
+    assertThat(actual.getTotalCount()).isEqualTo(3);
+    assertThat(actual.getAreaCounts()).containsOnly(entry("東京", 1L), entry("大阪", 1L),
+        entry("福岡", 1L));
+    assertThat(actual.getSexCounts()).containsOnly(entry("男性", 1L), entry("女性", 2L));
+    assertThat(actual.getAgeBucketCounts()).containsExactly(entry(20, 2L), entry(30, 1L));
+    assertThat(actual.getCourseNameCounts()).containsOnly(entry("Java入門", 2L),
+        entry("Spring基礎", 1L), entry("Python基礎", 1L));
+    assertThat(actual.getStatusCounts()).containsExactly(entry("仮申込", 1L), entry("本申込", 2L));
+  }
+
+  @Test
+  void count_同じ項目の値は和で異なる項目の値は積で絞り込まれること() {
+    StudentFacetCondition condition = new StudentFacetCondition();
+    condition.setAreas(List.of("東京", "大阪"));
+    condition.setSexes(List.of("女性"));
+
+    StudentFacetCounts actual = sut.count(condition);
+
+    assertThat(actual.getTotalCount()).isEqualTo(1);
+    assertThat(actual.getAreaCounts()).containsOnly(entry("大阪", 1L));
+    assertThat(actual.getCourseNameCounts()).containsOnly(entry("Java入門", 1L));
+  }
+
+  @Test
+  void count_年代とコース名と申込状況で絞り込まれること() {
+    StudentFacetCondition condition = new StudentFacetCondition();
+    condition.setAgeBuckets(List.of(20));
+    condition.setCourseNames(List.of("Java入門"));
+    condition.setStatuses(List.of("仮申込"));
+
+    StudentFacetCounts actual = sut.count(condition);
+
+    assertThat(actual.getTotalCount()).isEqualTo(1);
+    assertThat(actual.getCourseNameCounts()).containsOnly(entry("Java入門", 1L),
+        entry("Spring基礎", 1L));
+  }
+
+  @Test
+  void count_コース名と申込状況は同じコースで両方を満たす受講生だけに絞り込まれること() {
+    StudentFacetCondition condition = new StudentFacetCondition();
+    condition.setCourseNames(List.of("Java入門"));
+    condition.setStatuses(List.of("本申込"));
+
+    StudentFacetCounts actual = sut.count(condition);
+
+    // 山田さんは Java入門 が仮申込で、本申込なのは Spring基礎 のため数えない
+    assertThat(actual.getTotalCount()).isEqualTo(1);
+    assertThat(actual.getAreaCounts()).containsOnly(entry("大阪", 1L));
+  }
+
+  @Test
+  void count_コース名と申込状況を複数指定した場合はいずれかの組を満たす受講生に絞り込まれること() {
+    StudentFacetCondition condition = new StudentFacetCondition();
+    condition.setCourseNames(List.of("Java入門", "Python基礎"));
+    condition.setStatuses(List.of("仮申込", "本申込"));
+
+    assertThat(sut.count(condition).getTotalCount()).isEqualTo(2);
+  }
+
+  @Test
+  void count_索引にない値を指定した場合は0件になること() {
+    StudentFacetCondition condition = new StudentFacetCondition();
+    condition.setAreas(List.of("沖縄"));
+
+    StudentFacetCounts actual = sut.count(condition);
+
+    assertThat(actual.getTotalCount()).isZero();
+    assertThat(actual.getAreaCounts()).isEmpty();
+    assertThat(actual.getStatusCounts()).isEmpty();
+  }
+
+  @Test
+  void put_更新前の値が取り除かれ削除された受講生は数えられないこと() {
+    StudentDetail moved = detail("1", "大阪", 40, "男性", false);
+    moved.getStudentCourseList().add(course("Java入門", "受講中"));
+    sut.put(moved);
+    sut.put(detail("2", "大阪", 29, "女性", true));
+
+    StudentFacetCounts actual = sut.count(new StudentFacetCondition());
+
+    assertThat(actual.getTotalCount()).isEqualTo(2);
+    assertThat(actual.getAreaCounts()).containsOnly(entry("大阪", 1L), entry("福岡", 1L));
+    assertThat(actual.getAgeBucketCounts()).containsExactly(entry(30, 1L), entry(40, 1L));
+    assertThat(actual.getStatusCounts()).containsExactly(entry("受講中", 1L));
+    assertThat(sut.getStudentCount()).isEqualTo(2);
+  }
+
+  @Test
+  void remove_受講生が集計の対象から外れること() {
+    sut.remove("4");
+    sut.remove("99");
+
+    assertThat(sut.count(new StudentFacetCondition()).getAreaCounts())
+        .containsOnly(entry("東京", 1L), entry("大阪", 1L));
+  }
+
+  @Test
+  void count_申込状況は種別の順に並び種別にない申込状況は後ろに並ぶこと() {
+    StudentDetail detail = detail("5", "東京", 25, "男性", false);
+    detail.getStudentCourseList().add(course("Linux入門", "保留"));
+    detail.getStudentCourseList().add(course("Web開発基礎", "受講終了"));
+    sut.put(detail);
+
+    assertThat(sut.count(new StudentFacetCondition()).getStatusCounts().keySet())
+        .containsExactly("仮申込", "本申込", "受講終了", "保留");
+  }
+
+  @Test
+  void optimize_圧縮後も同じ件数が返りビットマップのバイト数が数えられること() {
+    sut.optimize();
+
+    assertThat(sut.count(new StudentFacetCondition()).getTotalCount()).isEqualTo(3);
+    assertThat(sut.getBitmapBytes()).isPositive();
+  }
+}
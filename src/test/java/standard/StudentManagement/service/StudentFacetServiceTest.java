@@ -0,0 +1,118 @@
+package standard.StudentManagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static standard.StudentManagement.fixture.ResultContexts.resultContext;
+import static standard.StudentManagement.fixture.StudentDetails.detail;
+
+import java.util.List;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import standard.StudentManagement.domain.StudentDetail;
+import standard.StudentManagement.domain.StudentFacetCondition;
+import standard.StudentManagement.domain.StudentFacetCounts;
+import standard.StudentManagement.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StudentFacetServiceTest {
+
+  @Mock
+  private StudentRepository repository;
+
+  private StudentFacetService sut;
+
+  @BeforeEach
+  void setUp() {
+    sut = new StudentFacetService(repository, true);
+    doAnswer(invocation -> {
+      ResultHandler<StudentDetail> handler = invocation.getArgument(0);
+      handler.handleResult(resultContext(detail("1", "東京", 20, "男性", false)));
+      handler.handleResult(resultContext(detail("2", "大阪", 22, "男性", false)));
+      handler.handleResult(resultContext(detail("3", "東京", 35, "男性", true)));
+      return null;
+    }).when(repository).searchStudentSearchAttributes(any());
+    assertThat(sut.rebuild()).isEqualTo(2);
+  }
+
+  @Test
+  void count_データベースに問い合わせずに削除されていない受講生を数えること() {
+    StudentFacetCounts actual = sut.count(new StudentFacetCondition());
+
+    assertThat(actual.getTotalCount()).isEqualTo(2);
+    assertThat(actual.getAreaCounts()).containsOnly(entry("東京", 1L), entry("大阪", 1L));
+    verify(repository, never()).searchStudentDetailsByIds(any());
+  }
+
+  @Test
+  void onStudentChanged_更新された受講生の値で数え直し見つからない受講生は外されること() {
+    when(repository.searchStudentDetailsByIds(List.of("1", "2", "4")))
+        .thenReturn(List.of(detail("1", "大阪", 30, "男性", false),
+            detail("4", "福岡", 21, "男性", false)));
+
+    sut.onStudentChanged(new StudentChangedEvent(List.of("1", "2", "4")));
+
+    StudentFacetCounts actual = sut.count(new StudentFacetCondition());
+    assertThat(actual.getTotalCount()).isEqualTo(2);
+    assertThat(actual.getAreaCounts()).containsOnly(entry("大阪", 1L), entry("福岡", 1L));
+    assertThat(actual.getAgeBucketCounts()).containsExactly(entry(20, 1L), entry(30, 1L));
+  }
+
+  @Test
+  void onStudentChanged_読み込みに失敗しても例外をスローせず以前の索引で数えること() {
+    when(repository.searchStudentDetailsByIds(List.of("1")))
+        .thenThrow(new IllegalStateException("接続エラー"));
+
+    sut.onStudentChanged(new StudentChangedEvent(List.of("1")));
+
+    assertThat(sut.count(new StudentFacetCondition()).getTotalCount()).isEqualTo(2);
+  }
+
+  @Test
+  void onStudentChanged_受講生IDが空の場合はデータベースに問い合わせないこと() {
+    sut.onStudentChanged(new StudentChangedEvent(List.of()));
+
+    verify(repository, never()).searchStudentDetailsByIds(any());
+  }
+
+  @Test
+  void buildOnStartup_作成に失敗しても例外をスローせず次の変更通知で作り直すこと() {
+    StudentRepository failing = mock(StudentRepository.class);
+    doThrow(new IllegalStateException("接続エラー")).doAnswer(invocation -> {
+      ResultHandler<StudentDetail> handler = invocation.getArgument(0);
+      handler.handleResult(resultContext(detail("1", "東京", 20, "男性", false)));
+      return null;
+    }).when(failing).searchStudentSearchAttributes(any());
+    StudentFacetService service = new StudentFacetService(failing, true);
+
+    service.buildOnStartup();
+    assertThat(service.count(new StudentFacetCondition()).getTotalCount()).isZero();
+
+    service.onStudentChanged(new StudentChangedEvent(List.of("1")));
+    assertThat(service.count(new StudentFacetCondition()).getTotalCount()).isEqualTo(1);
+    verify(failing, never()).searchStudentDetailsByIds(any());
+  }
+
+  @Test
+  void buildOnStartup_無効の場合はデータベースに問い合わせず0件として集計すること() {
+    StudentRepository unused = mock(StudentRepository.class);
+    StudentFacetService service = new StudentFacetService(unused, false);
+
+    service.buildOnStartup();
+    service.onStudentChanged(new StudentChangedEvent(List.of("1")));
+
+    assertThat(service.count(new StudentFacetCondition()).getTotalCount()).isZero();
+    verify(unused, never()).searchStudentSearchAttributes(any());
+    verify(unused, never()).searchStudentDetailsByIds(any());
+  }
+}
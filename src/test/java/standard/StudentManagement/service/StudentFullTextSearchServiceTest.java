@@ -0,0 +1,181 @@
+package standard.StudentManagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static standard.StudentManagement.fixture.ResultContexts.resultContext;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import standard.StudentManagement.data.Student;
+import standard.StudentManagement.domain.StudentDetail;
+import standard.StudentManagement.domain.StudentFullTextCondition;
+import standard.StudentManagement.domain.StudentFullTextHit;
+import standard.StudentManagement.domain.StudentFullTextSearchPage;
+import standard.StudentManagement.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StudentFullTextSearchServiceTest {
+
+  @Mock
+  private StudentRepository repository;
+
+  private StudentSearchIndex index;
+  private StudentFullTextSearchService sut;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    index = new StudentSearchIndex(new ByteBuffersDirectory(), ByteBuffersDirectory::new,
+        Duration.ZERO);
+    sut = new StudentFullTextSearchService(repository, index);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    index.close();
+  }
+
+  @Test
+  void onStudentChanged_変更された受講生を読み込み直して索引に反映すること() {
+    StudentDetail yamada = detail("1", "山田太郎");
+    when(repository.searchStudentDetailsByIds(List.of("1"))).thenReturn(List.of(yamada));
+
+    sut.onStudentChanged(new StudentChangedEvent(List.of("1")));
+
+    assertThat(sut.getStatus().getDocumentCount()).isEqualTo(1);
+  }
+
+  @Test
+  void onStudentChanged_索引への反映に失敗しても例外をスローしないこと() {
+    when(repository.searchStudentDetailsByIds(List.of("1")))
+        .thenThrow(new IllegalStateException("接続エラー"));
+
+    sut.onStudentChanged(new StudentChangedEvent(List.of("1")));
+
+    assertThat(sut.getStatus().getDocumentCount()).isZero();
+  }
+
+  @Test
+  void search_関連度の順に受講生詳細を返し索引への反映前に削除された受講生は含めないこと() {
+    StudentDetail yamada = detail("1", "山田太郎");
+    StudentDetail hanako = detail("2", "山田花子");
+    index.update(List.of("1", "2"), List.of(yamada, hanako));
+    StudentDetail deleted = detail("2", "山田花子");
+    deleted.getStudent().setDeleted(true);
+    when(repository.searchStudentDetailsByIds(any())).thenReturn(List.of(yamada, deleted));
+    StudentFullTextCondition condition = new StudentFullTextCondition();
+    condition.setKeyword("山田太郎");
+
+    StudentFullTextSearchPage actual = sut.search(condition);
+
+    assertThat(actual.getHits())
+        .extracting(StudentFullTextHit::getStudentDetail)
+        .containsExactly(yamada);
+    assertThat(actual.getTotalHits()).isEqualTo(2);
+    assertThat(actual.isTotalHitsExact()).isTrue();
+  }
+
+  @Test
+  void search_一致する受講生がいない場合はデータベースに問い合わせないこと() {
+    StudentFullTextCondition condition = new StudentFullTextCondition();
+    condition.setKeyword("存在しない");
+
+    StudentFullTextSearchPage actual = sut.search(condition);
+
+    assertThat(actual.getHits()).isEmpty();
+    verify(repository, never()).searchStudentDetailsByIds(any());
+  }
+
+  @Test
+  void search_最小年齢が最大年齢を上回る場合_例外がスローされること() {
+    StudentFullTextCondition condition = new StudentFullTextCondition();
+    condition.setMinAge(30);
+    condition.setMaxAge(20);
+
+    assertThatThrownBy(() -> sut.search(condition))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("最小年齢は最大年齢以下にしてください");
+  }
+
+  @Test
+  void rebuild_データベースの全受講生から索引が作り直されること() {
+    index.update(List.of("9"), List.of(detail("9", "削除予定")));
+    doAnswer(invocation -> {
+      ResultHandler<StudentDetail> handler = invocation.getArgument(0);
+      handler.handleResult(resultContext(detail("1", "山田太郎")));
+      handler.handleResult(resultContext(detail("2", "佐藤花子")));
+      return null;
+    }).when(repository).searchStudentDetails(any());
+
+    assertThat(sut.rebuild().getDocumentCount()).isEqualTo(2);
+    assertThat(sut.getStatus().getDocumentCount()).isEqualTo(2);
+  }
+
+  @Test
+  void rebuild_作り直している間に変更された受講生は切り替えた後に反映されること() {
+    when(repository.searchStudentDetailsByIds(List.of("3")))
+        .thenReturn(List.of(detail("3", "田中美咲")));
+    doAnswer(invocation -> {
+      ResultHandler<StudentDetail> handler = invocation.getArgument(0);
+      handler.handleResult(resultContext(detail("1", "山田太郎")));
+      sut.onStudentChanged(new StudentChangedEvent(List.of("3")));
+      return null;
+    }).when(repository).searchStudentDetails(any());
+
+    sut.rebuild();
+
+    assertThat(sut.getStatus().getDocumentCount()).isEqualTo(2);
+    verify(repository, times(2)).searchStudentDetailsByIds(List.of("3"));
+  }
+
+  @Test
+  void rebuildIfEmpty_索引に受講生が登録されている場合は作り直さないこと() {
+    index.update(List.of("1"), List.of(detail("1", "山田太郎")));
+
+    sut.rebuildIfEmpty();
+
+    verify(repository, never()).searchStudentDetails(any());
+  }
+
+  @Test
+  void rebuildIfEmpty_作り直しに失敗しても例外をスローせず再構築を指示されると作り直すこと() {
+    doThrow(new IllegalStateException("接続エラー")).doAnswer(invocation -> {
+      ResultHandler<StudentDetail> handler = invocation.getArgument(0);
+      handler.handleResult(resultContext(detail("1", "山田太郎")));
+      return null;
+    }).when(repository).searchStudentDetails(any());
+
+    sut.rebuildIfEmpty();
+    assertThat(sut.getStatus().getDocumentCount()).isZero();
+
+    assertThat(sut.rebuild().getDocumentCount()).isEqualTo(1);
+  }
+
+  private StudentDetail detail(String id, String name) {
+    Student student = new Student();
+    student.setId(id);
+    student.setName(name);
+    student.setKanaName("テスト");
+    student.setEmail("student" + id + "@example.com");
+    student.setArea("東京");
+    student.setAge(20);
+    student.setSex("男性");
+    return new StudentDetail(student, new ArrayList<>());
+  }
+}
@@ -0,0 +1,111 @@
+package standard.StudentManagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class StudentNameTrieTest {
+
+  private final StudentNameTrie sut = new StudentNameTrie();
+
+  @Test
+  void collect_検索語で始まるキーの受講生IDが完全一致を先頭にキーの昇順で返ること() {
+    sut.put("やまだはなこ", "3");
+    sut.put("やまだたろう", "2");
+    sut.put("やまだ", "1");
+    sut.put("やまもと", "4");
+    sut.put("さとう", "5");
+
+    assertThat(collect("やまだ", 10)).containsExactly("1", "2", "3");
+    assertThat(collect("やま", 10)).containsExactly("1", "2", "3", "4");
+    assertThat(collect("やまだた", 10)).containsExactly("2");
+    assertThat(collect("た", 10)).isEmpty();
+    assertThat(collect("やまだたろうじろう", 10)).isEmpty();
+  }
+
+  @Test
+  void collect_上限の件数に達した時点で打ち切られること() {
+    sut.put("やまだ", "1");
+    sut.put("やまだたろう", "2");
+    sut.put("やまもと", "3");
+
+    assertThat(collect("やま", 2)).containsExactly("1", "2");
+  }
+
+  @Test
+  void collect_同じキーの受講生IDは受講生IDの昇順で返り集めた受講生IDは重複して数えないこと() {
+    sut.put("やまだ", "2");
+    sut.put("やまだ", "1");
+    sut.put("山田", "1");
+    Set<String> studentIds = new LinkedHashSet<>();
+
+    sut.collect("山", 10, studentIds);
+    sut.collect("や", 2, studentIds);
+
+    assertThat(studentIds).containsExactly("1", "2");
+  }
+
+  @Test
+  void put_分岐のない節点はまとめられ共通部分で分割されること() {
+    sut.put("やまだたろう", "1");
+    assertThat(sut.getNodeCount()).isEqualTo(2);
+
+    sut.put("やまもと", "2");
+    sut.put("やまもと", "2");
+
+    assertThat(sut.getNodeCount()).isEqualTo(4);
+    assertThat(sut.getKeyCount()).isEqualTo(2);
+    assertThat(sut.getValueCount()).isEqualTo(2);
+  }
+
+  @Test
+  void remove_受講生IDがなくなった節点が取り除かれ分岐のなくなった節点がまとめられること() {
+    sut.put("やまだたろう", "1");
+    sut.put("やまもと", "2");
+    long before = sut.estimateMemoryBytes();
+
+    assertThat(sut.remove("やまもと", "2")).isTrue();
+
+    assertThat(sut.getNodeCount()).isEqualTo(2);
+    assertThat(sut.getKeyCount()).isEqualTo(1);
+    assertThat(sut.estimateMemoryBytes()).isLessThan(before);
+    assertThat(collect("や", 10)).containsExactly("1");
+    assertThat(collect("やまも", 10)).isEmpty();
+  }
+
+  @Test
+  void remove_登録されていないキーや受講生IDの場合はfalseが返り何も変わらないこと() {
+    sut.put("やまだ", "1");
+
+    assertThat(sut.remove("やま", "1")).isFalse();
+    assertThat(sut.remove("やまだ", "2")).isFalse();
+    assertThat(sut.remove("さとう", "1")).isFalse();
+
+    assertThat(sut.getValueCount()).isEqualTo(1);
+    assertThat(collect("やまだ", 10)).containsExactly("1");
+  }
+
+  @Test
+  void remove_すべて取り除くと根だけが残ること() {
+    sut.put("やまだ", "1");
+    sut.put("やまだたろう", "2");
+    sut.put("やまもと", "3");
+
+    sut.remove("やまだ", "1");
+    sut.remove("やまもと", "3");
+    sut.remove("やまだたろう", "2");
+
+    assertThat(sut.getNodeCount()).isEqualTo(1);
+    assertThat(sut.getKeyCount()).isZero();
+    assertThat(sut.getValueCount()).isZero();
+    assertThat(collect("や", 10)).isEmpty();
+  }
+
+  private Set<String> collect(String prefix, int limit) {
+    Set<String> studentIds = new LinkedHashSet<>();
+    sut.collect(prefix, limit, studentIds);
+    return studentIds;
+  }
+}
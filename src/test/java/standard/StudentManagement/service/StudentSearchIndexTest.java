@@ -0,0 +1,250 @@
+package standard.StudentManagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static standard.StudentManagement.fixture.StudentDetails.course;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import standard.StudentManagement.data.Student;
+import standard.StudentManagement.domain.StudentDetail;
+import standard.StudentManagement.domain.StudentFullTextCondition;
+import standard.StudentManagement.service.StudentSearchIndex.SearchHit;
+import standard.StudentManagement.service.StudentSearchIndex.SearchHits;
+
+class StudentSearchIndexTest {
+
+  private StudentSearchIndex sut;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    sut = new StudentSearchIndex(new ByteBuffersDirectory(), ByteBuffersDirectory::new,
+        Duration.ZERO);
+    StudentDetail yamada = detail("1", "山田太郎", "ヤマダタロウ", "たろう", "yamada@example.com", "東京",
+        20, "男性", "Javaエンジニア志望");
+    yamada.getStudentCourseList().add(course("Java入門", "仮申込"));
+    yamada.getStudentCourseList().add(course("Spring基礎", "本申込"));
+    StudentDetail sato = detail("2", "佐藤花子", "サトウハナコ", "はなちゃん", "sato@example.com", "大阪",
+        22, "女性", "Python得意");
+    sato.getStudentCourseList().add(course("Python基礎", "受講中"));
+    StudentDetail tanaka = detail("3", "田中美咲", "タナカミサキ", null, "tanaka@example.com", "福岡",
+        21, "女性", "山田さんの紹介");
+
+    sut.update(List.of("1", "2", "3"), List.of(yamada, sato, tanaka));
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    sut.close();
+  }
+
+  @Test
+  void search_名前に一致する受講生が備考に一致する受講生より上位に返ること() {
+    StudentFullTextCondition condition = new StudentFullTextCondition();
+    condition.setKeyword("山田");
+
+    SearchHits actual = sut.search(condition);
+
+    assertThat(actual.hits()).extracting(SearchHit::studentId).containsExactly("1", "3");
+    assertThat(actual.hits().get(0).score()).isGreaterThan(actual.hits().get(1).score());
+    assertThat(actual.totalHits()).isEqualTo(2);
+    assertThat(actual.totalHitsExact()).isTrue();
+  }
+
+  @Test
+  void search_カナ名をひらがなや半角カナで指定しても一致すること() {
+    StudentFullTextCondition hiragana = new StudentFullTextCondition();
+    hiragana.setKeyword("やまだ");
+    StudentFullTextCondition halfWidth = new StudentFullTextCondition();
+    halfWidth.setKeyword("ﾔﾏﾀﾞ");
+
+    assertThat(sut.search(hiragana).hits()).extracting(SearchHit::studentId).containsExactly("1");
+    assertThat(sut.search(halfWidth).hits()).extracting(SearchHit::studentId).containsExactly("1");
+  }
+
+  @Test
+  void search_メールアドレスとコース名と備考からも検索できること() {
+    StudentFullTextCondition email = new StudentFullTextCondition();
+    email.setKeyword("sato");
+    StudentFullTextCondition course = new StudentFullTextCondition();
+    course.setKeyword("spring");
+
+    assertThat(sut.search(email).hits()).extracting(SearchHit::studentId).containsExactly("2");
+    assertThat(sut.search(course).hits()).extracting(SearchHit::studentId).containsExactly("1");
+  }
+
+  @Test
+  void search_キーワードを指定しない場合は受講生IDの順に絞り込みの条件だけで返ること() {
+    StudentFullTextCondition condition = new StudentFullTextCondition();
+    condition.setMinAge(21);
+
+    SearchHits actual = sut.search(condition);
+
+    assertThat(actual.hits()).extracting(SearchHit::studentId).containsExactly("2", "3");
+    assertThat(actual.hits()).extracting(SearchHit::score).containsOnly(0f);
+  }
+
+  @Test
+  void search_地域は前方一致で性別は完全一致で絞り込まれること() {
+    StudentFullTextCondition area = new StudentFullTextCondition();
+    area.setArea("東");
+    StudentFullTextCondition sex = new StudentFullTextCondition();
+    sex.setSex("女性");
+
+    assertThat(sut.search(area).hits()).extracting(SearchHit::studentId).containsExactly("1");
+    assertThat(sut.search(sex).hits()).extracting(SearchHit::studentId).containsExactly("2", "3");
+  }
+
+  @Test
+  void search_コース名と申込状況を指定した場合_同じコースで両方に一致する受講生だけが返ること() {
+    StudentFullTextCondition matched = new StudentFullTextCondition();
+    matched.setCourseName("Spring基礎");
+    matched.setStatus("本申込");
+    StudentFullTextCondition otherCourse = new StudentFullTextCondition();
+    otherCourse.setCourseName("Java入門");
+    otherCourse.setStatus("本申込");
+
+    assertThat(sut.search(matched).hits()).extracting(SearchHit::studentId).containsExactly("1");
+    assertThat(sut.search(otherCourse).hits()).isEmpty();
+  }
+
+  @Test
+  void search_ページ番号とページ件数で指定したページだけが返ること() {
+    StudentFullTextCondition condition = new StudentFullTextCondition();
+    condition.setPage(1);
+    condition.setPageSize(2);
+
+    SearchHits actual = sut.search(condition);
+
+    assertThat(actual.hits()).extracting(SearchHit::studentId).containsExactly("3");
+    assertThat(actual.totalHits()).isEqualTo(3);
+  }
+
+  @Test
+  void search_取得できる件数を超えるページを指定した場合_例外がスローされること() {
+    StudentFullTextCondition condition = new StudentFullTextCondition();
+    condition.setPage(100);
+    condition.setPageSize(100);
+
+    assertThatThrownBy(() -> sut.search(condition))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void update_削除済みの受講生と読み込めなかった受講生は索引から取り除かれること() {
+    StudentDetail yamada = detail("1", "山田太郎", "ヤマダタロウ", null, "yamada@example.com", "東京", 20,
+        "男性", null);
+    yamada.getStudent().setDeleted(true);
+
+    sut.update(List.of("1", "2"), List.of(yamada));
+
+    assertThat(sut.getDocumentCount()).isEqualTo(1);
+    assertThat(sut.search(new StudentFullTextCondition()).hits())
+        .extracting(SearchHit::studentId)
+        .containsExactly("3");
+  }
+
+  @Test
+  void update_更新した内容で検索できること() {
+    StudentDetail sato = detail("2", "佐藤花子", "サトウハナコ", null, "sato@example.com", "大阪", 22,
+        "女性", "AWS資格取得");
+    StudentFullTextCondition condition = new StudentFullTextCondition();
+    condition.setKeyword("AWS");
+
+    sut.update(List.of("2"), List.of(sato));
+
+    assertThat(sut.getDocumentCount()).isEqualTo(3);
+    assertThat(sut.search(condition).hits()).extracting(SearchHit::studentId).containsExactly("2");
+  }
+
+  @Test
+  void rebuild_索引が渡された受講生詳細だけで作り直されること() {
+    long actual = sut.rebuild(consumer -> consumer.accept(
+        detail("9", "高橋健", "タカハシケン", null, "takahashi@example.com", "北海道", 23, "男性", null)));
+
+    assertThat(actual).isEqualTo(1);
+    assertThat(sut.search(new StudentFullTextCondition()).hits())
+        .extracting(SearchHit::studentId)
+        .containsExactly("9");
+  }
+
+  @Test
+  void rebuild_途中で失敗した場合は以前の索引のまま検索と更新ができること() {
+    assertThatThrownBy(() -> sut.rebuild(consumer -> {
+      consumer.accept(
+          detail("9", "高橋健", "タカハシケン", null, "takahashi@example.com", "北海道", 23, "男性", null));
+      throw new IllegalStateException("読み込みに失敗");
+    })).isInstanceOf(IllegalStateException.class);
+
+    assertThat(sut.getDocumentCount()).isEqualTo(3);
+    sut.update(List.of("3"), List.of());
+    assertThat(sut.search(new StudentFullTextCondition()).hits())
+        .extracting(SearchHit::studentId)
+        .containsExactly("1", "2");
+  }
+
+  @Test
+  void rebuild_作り直している間も以前の索引で検索と更新ができること() {
+    sut.rebuild(consumer -> {
+      consumer.accept(
+          detail("9", "高橋健", "タカハシケン", null, "takahashi@example.com", "北海道", 23, "男性", null));
+      sut.update(List.of("3"), List.of());
+
+      assertThat(sut.search(new StudentFullTextCondition()).hits())
+          .extracting(SearchHit::studentId)
+          .containsExactly("1", "2");
+    });
+
+    assertThat(sut.search(new StudentFullTextCondition()).hits())
+        .extracting(SearchHit::studentId)
+        .containsExactly("9");
+  }
+
+  @Test
+  void rebuild_新しい世代に切り替わり開き直すと最後に作り直した索引が使われること(@TempDir Path root)
+      throws IOException {
+    try (StudentSearchIndex index = new StudentSearchIndex(root.toString(), 60)) {
+      index.update(List.of("1"), List.of(
+          detail("1", "山田太郎", "ヤマダタロウ", null, "yamada@example.com", "東京", 20, "男性", null)));
+      index.rebuild(consumer -> consumer.accept(
+          detail("9", "高橋健", "タカハシケン", null, "takahashi@example.com", "北海道", 23, "男性", null)));
+      index.update(List.of("2"), List.of(
+          detail("2", "佐藤花子", "サトウハナコ", null, "sato@example.com", "大阪", 22, "女性", null)));
+    }
+
+    try (StudentSearchIndex reopened = new StudentSearchIndex(root.toString(), 60)) {
+      assertThat(reopened.search(new StudentFullTextCondition()).hits())
+          .extracting(SearchHit::studentId)
+          .containsExactly("2", "9");
+    }
+    try (Stream<Path> generations = Files.list(root)) {
+      assertThat(generations).extracting(path -> path.getFileName().toString())
+          .containsExactly("2");
+    }
+  }
+
+  private StudentDetail detail(String id, String name, String kanaName, String nickname,
+      String email, String area, int age, String sex, String remark) {
+    Student student = new Student();
+    student.setId(id);
+    student.setName(name);
+    student.setKanaName(kanaName);
+    student.setNickname(nickname);
+    student.setEmail(email);
+    student.setArea(area);
+    student.setAge(age);
+    student.setSex(sex);
+    student.setRemark(remark);
+    return new StudentDetail(student, new ArrayList<>());
+  }
+}
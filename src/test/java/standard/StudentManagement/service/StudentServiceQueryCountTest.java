@@ -0,0 +1,107 @@
+package standard.StudentManagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import standard.StudentManagement.controller.converter.StudentConverter;
+import standard.StudentManagement.data.ApplicationStatus;
+import standard.StudentManagement.data.Student;
+import standard.StudentManagement.data.StudentCourse;
+import standard.StudentManagement.domain.StudentDetail;
+import standard.StudentManagement.domain.StudentSearchCondition;
+import standard.StudentManagement.monitoring.QueryCount;
+import standard.StudentManagement.monitoring.QueryCountInterceptor;
+import standard.StudentManagement.monitoring.StudentMetrics;
+
+/**
+ * サービスの各処理が発行するSQLの回数を検証し、N+1 問題の再発を防ぎます。
+ */
+@MybatisTest
+@Import({StudentService.class, StudentConverter.class, StudentDetailCache.class,
+    StudentColumnarSearch.class, StudentMetrics.class, SimpleMeterRegistry.class,
+    QueryCountInterceptor.class})
+class StudentServiceQueryCountTest {
+
+  @Autowired
+  private StudentService sut;
+
+  @Test
+  void getStudentProfile_コース数に関わらず1回の問い合わせで取得しキャッシュ済みなら問い合わせないこと() {
+    try (QueryCount queryCount = QueryCount.start()) {
+      StudentDetail actual = sut.getStudentProfile("11111111-1111-1111-1111-111111111111");
+
+      assertThat(actual.getStudentCourseList()).hasSize(2);
+      assertThat(queryCount.getTotal()).isEqualTo(1);
+    }
+    try (QueryCount queryCount = QueryCount.start()) {
+      sut.getStudentProfile("11111111-1111-1111-1111-111111111111");
+
+      assertThat(queryCount.getTotal()).isZero();
+    }
+  }
+
+  @Test
+  void getStudentList_受講生数に関わらず2回の問い合わせで取得すること() {
+    try (QueryCount queryCount = QueryCount.start()) {
+      sut.getStudentList();
+
+      assertThat(queryCount.getTotal()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void getStudentPage_受講生数に関わらず2回の問い合わせで取得すること() {
+    try (QueryCount queryCount = QueryCount.start()) {
+      sut.getStudentPage(null, 5);
+
+      assertThat(queryCount.getTotal()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void searchStudentDetailsByCondition_一致件数に関わらず2回の問い合わせで受講生詳細を取得すること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setMaxAge(100);
+
+    try (QueryCount queryCount = QueryCount.start()) {
+      List<StudentDetail> actual = sut.searchStudentDetailsByCondition(condition);
+
+      assertThat(actual).hasSizeGreaterThan(1);
+      assertThat(actual.get(0).getStudentCourseList()).isNotEmpty();
+      assertThat(queryCount.getTotal()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void registerStudent_コース数に関わらず名前のn_gramを含めて4回の登録で済むこと() {
+    Student student = new Student();
+    student.setName("山田新規");
+    student.setKanaName("ヤマダシンキ");
+    student.setEmail("query-count@example.com");
+    student.setArea("東京");
+    student.setAge(20);
+    student.setSex("男性");
+    List<StudentCourse> studentCourseList = List.of(course("Java入門"), course("AWS基礎"),
+        course("Spring基礎"));
+
+    try (QueryCount queryCount = QueryCount.start()) {
+      sut.registerStudent(new StudentDetail(student, studentCourseList));
+
+      assertThat(queryCount.getTotal()).isEqualTo(4);
+    }
+  }
+
+  private StudentCourse course(String courseName) {
+    ApplicationStatus status = new ApplicationStatus();
+    status.setStatus("仮申込");
+    StudentCourse studentCourse = new StudentCourse();
+    studentCourse.setCourseName(courseName);
+    studentCourse.setApplicationStatus(status);
+    return studentCourse;
+  }
+}
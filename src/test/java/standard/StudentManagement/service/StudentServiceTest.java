@@ -1,15 +1,23 @@
 package standard.StudentManagement.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
@@ -17,14 +25,21 @@ import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import standard.StudentManagement.controller.converter.StudentConverter;
 import standard.StudentManagement.data.ApplicationStatus;
 import standard.StudentManagement.data.Student;
 import standard.StudentManagement.data.StudentCourse;
+import standard.StudentManagement.data.StudentNameGram;
 import standard.StudentManagement.domain.StudentDetail;
+import standard.StudentManagement.domain.StudentPage;
 import standard.StudentManagement.domain.StudentSearchCondition;
+import standard.StudentManagement.domain.StudentSearchPage;
+import standard.StudentManagement.exception.StudentNotFoundException;
+import standard.StudentManagement.monitoring.StudentMetrics;
 import standard.StudentManagement.repository.StudentRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +51,15 @@ class StudentServiceTest {
   @Mock
   private StudentConverter converter;
 
+  @Mock
+  private StudentColumnarSearch columnarSearch;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  private StudentDetailCache detailCache;
+  private SimpleMeterRegistry meterRegistry;
+  private StudentMetrics metrics;
   private StudentService sut;
   private Clock clock;
 
@@ -47,7 +71,12 @@ class StudentServiceTest {
   @BeforeEach
   void setUp() {
     clock = Clock.systemDefaultZone();
-    sut = new StudentService(repository, converter, clock);
+    detailCache = new StudentDetailCache(100, Duration.ofMinutes(10), Ticker.systemTicker(),
+        Runnable::run);
+    meterRegistry = new SimpleMeterRegistry();
+    metrics = new StudentMetrics(meterRegistry);
+    sut = new StudentService(repository, converter, detailCache, columnarSearch, eventPublisher,
+        metrics, clock);
 
     testStudent = new Student();
     testStudent.setId("test123");
@@ -84,7 +113,56 @@ class StudentServiceTest {
   }
 
   @Test
-  void getStudentProfile_リポジトリの処理が適切に呼び出せていること() {
+  void getStudentPage_次ページがある場合は1件多く取得した分を除き次の起点IDが返ること() {
+    Student student1 = new Student();
+    student1.setId("id1");
+    Student student2 = new Student();
+    student2.setId("id2");
+    Student student3 = new Student();
+    student3.setId("id3");
+    List<StudentCourse> courseList = new ArrayList<>();
+    List<StudentDetail> details = new ArrayList<>();
+
+    when(repository.searchStudentPage(null, 3)).thenReturn(
+        new ArrayList<>(List.of(student1, student2, student3)));
+    when(repository.searchStudentCourseListByStudentIds(List.of("id1", "id2")))
+        .thenReturn(courseList);
+    when(converter.convertStudentDetails(List.of(student1, student2), courseList))
+        .thenReturn(details);
+
+    StudentPage result = sut.getStudentPage(null, 2);
+
+    assertEquals(details, result.getStudentList());
+    assertEquals("id2", result.getNextAfterId());
+    assertTrue(result.isHasNext());
+  }
+
+  @Test
+  void getStudentPage_最終ページの場合は次の起点IDがnullになること() {
+    Student student1 = new Student();
+    student1.setId("id4");
+
+    when(repository.searchStudentPage("id3", 3)).thenReturn(List.of(student1));
+
+    StudentPage result = sut.getStudentPage("id3", 2);
+
+    verify(repository).searchStudentCourseListByStudentIds(List.of("id4"));
+    assertNull(result.getNextAfterId());
+    assertFalse(result.isHasNext());
+  }
+
+  @Test
+  void getStudentPage_受講生がいない場合はコース情報を検索しないこと() {
+    when(repository.searchStudentPage("id9", 3)).thenReturn(List.of());
+
+    StudentPage result = sut.getStudentPage("id9", 2);
+
+    verify(repository, never()).searchStudentCourseListByStudentIds(any());
+    assertFalse(result.isHasNext());
+  }
+
+  @Test
+  void getStudentProfile_受講生詳細が1回のリポジトリ呼び出しで取得できること() {
     String studentId = "test123";
 
     Student mockStudent = new Student();
@@ -97,31 +175,67 @@ class StudentServiceTest {
 
     ApplicationStatus status = new ApplicationStatus();
     status.setStatus("仮申込");
+    course.setApplicationStatus(status);
 
-    List<StudentCourse> mockCourses = List.of(course);
+    StudentDetail mockDetail = new StudentDetail(mockStudent, List.of(course));
 
-    when(repository.searchStudentById(studentId)).thenReturn(mockStudent);
-    when(repository.searchStudentCourseListByStudentId(studentId)).thenReturn(mockCourses);
-    when(repository.searchApplicationStatusByStudentCourseId(1)).thenReturn(status);
+    when(repository.searchStudentDetailById(studentId)).thenReturn(mockDetail);
 
     StudentDetail result = sut.getStudentProfile(studentId);
 
-    verify(repository, times(1)).searchStudentById(studentId);
-    verify(repository, times(1)).searchStudentCourseListByStudentId(studentId);
-    verify(repository, times(1)).searchApplicationStatusByStudentCourseId(1);
+    verify(repository, times(1)).searchStudentDetailById(studentId);
+    verify(repository, never()).searchStudentById(any());
+    verify(repository, never()).searchStudentCourseListByStudentId(any());
+    verify(repository, never()).searchApplicationStatusByStudentCourseId(anyInt());
 
     assertEquals(studentId, result.getStudent().getId());
     assertEquals("山田テスト", result.getStudent().getName());
     assertEquals("仮申込", result.getStudentCourseList().get(0).getApplicationStatus().getStatus());
   }
 
+  @Test
+  void getStudentProfile_同じ受講生を2回取得した場合_2回目はキャッシュから返されること() {
+    StudentDetail mockDetail = new StudentDetail(testStudent, testCourseList);
+    when(repository.searchStudentDetailById("test123")).thenReturn(mockDetail);
+
+    StudentDetail first = sut.getStudentProfile("test123");
+    StudentDetail second = sut.getStudentProfile("test123");
+
+    verify(repository, times(1)).searchStudentDetailById("test123");
+    assertEquals(first, second);
+    assertEquals(1, sut.getStudentProfileCacheStatistics().getHitCount());
+    assertEquals(1, sut.getStudentProfileCacheStatistics().getMissCount());
+  }
+
+  @Test
+  void getStudentProfile_更新の通知を受けた受講生はデータベースから読み込み直されること() {
+    StudentDetail mockDetail = new StudentDetail(testStudent, testCourseList);
+    when(repository.searchStudentDetailById("test123")).thenReturn(mockDetail);
+    sut.getStudentProfile("test123");
+    when(repository.updateStudent(testStudent)).thenReturn(1);
+
+    sut.updateStudent(testStudentDetail);
+    ArgumentCaptor<StudentChangedEvent> captor = ArgumentCaptor.forClass(StudentChangedEvent.class);
+    verify(eventPublisher).publishEvent(captor.capture());
+    detailCache.onStudentChanged(captor.getValue());
+    sut.getStudentProfile("test123");
+
+    verify(repository, times(2)).searchStudentDetailById("test123");
+  }
+
   @Test
   void registerStudent_リポジトリの処理が適切によびだせていること_IDがnullにならないこと() {
     sut.registerStudent(testStudentDetail);
 
     assertNotNull(testStudent.getId());
     verify(repository).registerStudent(testStudent);
-    verify(repository, times(2)).registerStudentCourseList(any(StudentCourse.class));
+    ArgumentCaptor<List<StudentNameGram>> nameGramCaptor = ArgumentCaptor.forClass(List.class);
+    verify(repository, times(1)).registerStudentNameGrams(nameGramCaptor.capture());
+    assertTrue(nameGramCaptor.getValue().stream()
+        .allMatch(nameGram -> testStudent.getId().equals(nameGram.getStudentId())));
+    verify(repository, times(1)).registerStudentCourses(testCourseList);
+    verify(repository, never()).registerStudentCourseList(any(StudentCourse.class));
+    verify(eventPublisher).publishEvent(new StudentChangedEvent(List.of(testStudent.getId())));
   }
 
   @Test
@@ -130,7 +244,8 @@ class StudentServiceTest {
     Clock fixedClock = Clock.fixed(fixedDateTime.atZone(ZoneId.systemDefault()).toInstant(),
         ZoneId.systemDefault());
 
-    sut = new StudentService(repository, converter, fixedClock);
+    sut = new StudentService(repository, converter, detailCache, columnarSearch, eventPublisher,
+        metrics, fixedClock);
 
     for (StudentCourse studentCourse : testCourseList) {
       ApplicationStatus status = new ApplicationStatus();
@@ -145,28 +260,132 @@ class StudentServiceTest {
       assertEquals(fixedDateTime, studentCourse.getStartAt());
       assertEquals(fixedDateTime.plusMonths(6), studentCourse.getEndAt());
     }
-    verify(repository, times(2)).registerStudentCourseList(any(StudentCourse.class));
-    verify(repository, times(2)).registerApplicationStatus(any(ApplicationStatus.class));
+    verify(repository, times(1)).registerStudentCourses(testCourseList);
+    verify(repository, times(1)).registerApplicationStatuses(List.of(
+        testCourseList.get(0).getApplicationStatus(), testCourseList.get(1).getApplicationStatus()));
+    verify(repository, never()).registerApplicationStatus(any(ApplicationStatus.class));
   }
 
   @Test
-  void registerApplicationStatusForCourse_申込状況がある場合登録されること() {
-    StudentCourse course = new StudentCourse();
+  void registerCourseAndStatusWithStudentId_コースが空の場合は登録処理を行わないこと() {
+    StudentDetail studentDetail = new StudentDetail(testStudent, List.of());
+
+    sut.registerCourseAndStatusWithStudentId(studentDetail);
+
+    verify(repository, never()).registerStudentCourses(any());
+    verify(repository, never()).registerApplicationStatuses(any());
+  }
+
+  @Test
+  void prepareRegistration_受講生IDが採番されコースに受講生IDと受講期間が設定されること() {
+    LocalDateTime fixedDateTime = LocalDateTime.of(2025, 6, 12, 0, 0);
+    Clock fixedClock = Clock.fixed(fixedDateTime.atZone(ZoneId.systemDefault()).toInstant(),
+        ZoneId.systemDefault());
+    sut = new StudentService(repository, converter, detailCache, columnarSearch, eventPublisher,
+        metrics, fixedClock);
+
+    sut.prepareRegistration(testStudentDetail);
+
+    assertNotNull(testStudent.getId());
+    for (StudentCourse studentCourse : testCourseList) {
+      assertEquals(testStudent.getId(), studentCourse.getStudentId());
+      assertEquals(fixedDateTime, studentCourse.getStartAt());
+      assertEquals(fixedDateTime.plusMonths(6), studentCourse.getEndAt());
+    }
+    verify(repository, never()).registerStudent(any());
+  }
+
+  @Test
+  void registerPreparedStudents_受講生とコースと申込状況がそれぞれまとめて登録されること() {
+    Student otherStudent = new Student();
+    otherStudent.setId("test456");
+    StudentDetail otherDetail = new StudentDetail(otherStudent, List.of());
+
+    sut.registerPreparedStudents(List.of(testStudentDetail, otherDetail));
+
+    verify(repository, times(1)).registerStudents(List.of(testStudent, otherStudent));
+    verify(repository, times(1)).registerStudentNameGrams(testStudent.getNameGrams().stream()
+        .map(gram -> new StudentNameGram("test123", gram))
+        .toList());
+    verify(repository, times(1)).registerStudentCourses(testCourseList);
+    verify(repository, times(1)).registerApplicationStatuses(List.of(
+        testCourseList.get(0).getApplicationStatus(), testCourseList.get(1).getApplicationStatus()));
+    verify(eventPublisher).publishEvent(new StudentChangedEvent(List.of("test123", "test456")));
+  }
+
+  @Test
+  void registerApplicationStatusesForCourses_申込状況があるコースの分だけ受講生コースIDが設定され登録されること() {
+    StudentCourse course1 = new StudentCourse();
+    course1.setId(10);
     ApplicationStatus status = new ApplicationStatus();
-    course.setApplicationStatus(status);
+    course1.setApplicationStatus(status);
+
+    StudentCourse course2 = new StudentCourse();
+    course2.setId(11);
 
-    sut.registerApplicationStatusForCourse(course);
+    sut.registerApplicationStatusesForCourses(List.of(course1, course2));
 
-    verify(repository, times(1)).registerApplicationStatus(status);
+    verify(repository, times(1)).registerApplicationStatuses(List.of(status));
+    assertNotNull(status.getId());
+    assertEquals(10, status.getStudentCourseId());
   }
 
   @Test
-  void registerApplicationStatusForCourse_申込状況がnullの場合登録されないこと() {
+  void registerApplicationStatusesForCourses_申込状況がnullの場合登録されないこと() {
     StudentCourse course = new StudentCourse();
 
-    sut.registerApplicationStatusForCourse(course);
+    sut.registerApplicationStatusesForCourses(List.of(course));
 
-    verify(repository, never()).registerApplicationStatus(any());
+    verify(repository, never()).registerApplicationStatuses(any());
+  }
+
+  @Test
+  void registerNameGrams_名前とカナ名とニックネームのn_gramが受講生IDとともに登録されること() {
+    Student student = new Student();
+    student.setId("test789");
+    student.setName("山田");
+    student.setKanaName("ヤマダ");
+    student.setNickname("ﾔﾏ");
+
+    sut.registerNameGrams(List.of(student));
+
+    verify(repository, times(1)).registerStudentNameGrams(List.of(
+        new StudentNameGram("test789", "山"), new StudentNameGram("test789", "山田"),
+        new StudentNameGram("test789", "田"), new StudentNameGram("test789", "や"),
+        new StudentNameGram("test789", "やま"), new StudentNameGram("test789", "ま"),
+        new StudentNameGram("test789", "まだ"), new StudentNameGram("test789", "だ")));
+  }
+
+  @Test
+  void registerNameGrams_上限の行数ごとに分けて登録されること() {
+    List<Student> studentList = new ArrayList<>();
+    for (int i = 0; i < 300; i++) {
+      Student student = new Student();
+      student.setId("id" + i);
+      student.setName("山田");
+      student.setKanaName("ヤマダ");
+      studentList.add(student);
+    }
+
+    sut.registerNameGrams(studentList);
+
+    ArgumentCaptor<List<StudentNameGram>> nameGramCaptor = ArgumentCaptor.forClass(List.class);
+    verify(repository, times(3)).registerStudentNameGrams(nameGramCaptor.capture());
+    assertEquals(List.of(StudentService.NAME_GRAMS_PER_STATEMENT,
+            StudentService.NAME_GRAMS_PER_STATEMENT, 400),
+        nameGramCaptor.getAllValues().stream().map(List::size).toList());
+  }
+
+  @Test
+  void registerNameGrams_正規化すると空になる受講生だけの場合は登録処理を行わないこと() {
+    Student student = new Student();
+    student.setId("test789");
+    student.setName("　");
+    student.setKanaName(" ");
+
+    sut.registerNameGrams(List.of(student));
+
+    verify(repository, never()).registerStudentNameGrams(any());
   }
 
   @Test
@@ -176,12 +395,21 @@ class StudentServiceTest {
       status.setStatus("仮申込");
       course.setApplicationStatus(status);
     }
+    when(repository.updateStudent(testStudent)).thenReturn(1);
 
     sut.updateStudent(testStudentDetail);
 
     verify(repository).updateStudent(testStudent);
-    verify(repository, times(2)).updateStudentCourseList(any(StudentCourse.class));
-    verify(repository, times(2)).updateApplicationStatus(any(ApplicationStatus.class));
+    verify(repository).deleteStudentNameGrams(List.of("test123"));
+    verify(repository).registerStudentNameGrams(testStudent.getNameGrams().stream()
+        .map(gram -> new StudentNameGram("test123", gram))
+        .toList());
+    verify(repository, times(1)).updateStudentCourses(testCourseList);
+    verify(repository, times(1)).updateApplicationStatuses(List.of(
+        testCourseList.get(0).getApplicationStatus(), testCourseList.get(1).getApplicationStatus()));
+    verify(repository, never()).updateStudentCourseList(any(StudentCourse.class));
+    verify(repository, never()).updateApplicationStatus(any(ApplicationStatus.class));
+    verify(eventPublisher).publishEvent(new StudentChangedEvent(List.of("test123")));
   }
 
   @Test
@@ -189,12 +417,25 @@ class StudentServiceTest {
     for (StudentCourse course : testCourseList) {
       course.setApplicationStatus(null);
     }
+    when(repository.updateStudent(testStudent)).thenReturn(1);
 
     sut.updateStudent(testStudentDetail);
 
     verify(repository).updateStudent(testStudent);
-    verify(repository, times(2)).updateStudentCourseList(any(StudentCourse.class));
-    verify(repository, never()).updateApplicationStatus(any());
+    verify(repository, times(1)).updateStudentCourses(testCourseList);
+    verify(repository, never()).updateApplicationStatuses(any());
+  }
+
+  @Test
+  void updateStudent_存在しない受講生IDの場合は例外をスローしn_gramやコースを更新しないこと() {
+    when(repository.updateStudent(testStudent)).thenReturn(0);
+
+    assertThrows(StudentNotFoundException.class, () -> sut.updateStudent(testStudentDetail));
+
+    verify(repository, never()).deleteStudentNameGrams(any());
+    verify(repository, never()).registerStudentNameGrams(any());
+    verify(repository, never()).updateStudentCourses(any());
+    verify(eventPublisher, never()).publishEvent(any());
   }
 
   @Test
@@ -216,6 +457,151 @@ class StudentServiceTest {
     assertEquals("山本テスト", result.get(0).getName());
   }
 
+  @Test
+  void searchStudentDetailsByCondition_一致した受講生のIDでコース情報をまとめて取得し受講生詳細に組み立てること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setArea("東京");
+    Student student1 = new Student();
+    student1.setId("id1");
+    Student student2 = new Student();
+    student2.setId("id2");
+    List<StudentCourse> courseList = List.of(new StudentCourse());
+    List<StudentDetail> details = List.of(new StudentDetail(student1, courseList),
+        new StudentDetail(student2, List.of()));
+
+    when(repository.searchStudentByCondition(condition)).thenReturn(List.of(student1, student2));
+    when(repository.searchStudentCourseListByStudentIds(List.of("id1", "id2")))
+        .thenReturn(courseList);
+    when(converter.convertStudentDetails(List.of(student1, student2), courseList))
+        .thenReturn(details);
+
+    List<StudentDetail> result = sut.searchStudentDetailsByCondition(condition);
+
+    assertEquals(details, result);
+    verify(repository, times(1)).searchStudentCourseListByStudentIds(any());
+  }
+
+  @Test
+  void searchStudentDetailsByCondition_一致する受講生がいない場合はコース情報を検索しないこと() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    when(repository.searchStudentByCondition(condition)).thenReturn(List.of());
+
+    sut.searchStudentDetailsByCondition(condition);
+
+    verify(repository, never()).searchStudentCourseListByStudentIds(any());
+  }
+
+  @Test
+  void searchStudentDetailsByCondition_最小年齢が最大年齢より大きいとき_IllegalArgumentExceptionを投げること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setMinAge(30);
+    condition.setMaxAge(20);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> sut.searchStudentDetailsByCondition(condition));
+    verify(repository, never()).searchStudentByCondition(any());
+  }
+
+  @Test
+  void searchStudentPageByCondition_先頭ページで件数分取得できた場合は次の起点IDと一致件数が返ること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setPageSize(2);
+    Student student1 = new Student();
+    student1.setId("id1");
+    Student student2 = new Student();
+    student2.setId("id2");
+    when(repository.searchStudentByCondition(condition)).thenReturn(List.of(student1, student2));
+    when(repository.countStudentByCondition(condition)).thenReturn(3L);
+
+    StudentSearchPage result = sut.searchStudentPageByCondition(condition);
+
+    assertEquals(List.of(student1, student2), result.getStudentList());
+    assertEquals("id2", result.getNextAfterId());
+    assertEquals(3L, result.getTotalCount());
+    assertTrue(result.isTotalCountExact());
+  }
+
+  @Test
+  void searchStudentPageByCondition_件数に満たない2ページ目以降は次の起点IDも一致件数も返らないこと() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setPageSize(2);
+    condition.setAfterId("id2");
+    Student student3 = new Student();
+    student3.setId("id3");
+    when(repository.searchStudentByCondition(condition)).thenReturn(List.of(student3));
+
+    StudentSearchPage result = sut.searchStudentPageByCondition(condition);
+
+    assertNull(result.getNextAfterId());
+    assertNull(result.getTotalCount());
+    verify(repository, never()).countStudentByCondition(any());
+  }
+
+  @Test
+  void searchStudentPageByCondition_一致件数が上限を超える場合は上限の件数が概数として返ること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    when(repository.searchStudentByCondition(condition)).thenReturn(List.of());
+    when(repository.countStudentByCondition(condition))
+        .thenReturn((long) StudentSearchCondition.MAX_TOTAL_COUNT + 1);
+
+    StudentSearchPage result = sut.searchStudentPageByCondition(condition);
+
+    assertEquals((long) StudentSearchCondition.MAX_TOTAL_COUNT, result.getTotalCount());
+    assertFalse(result.isTotalCountExact());
+  }
+
+  @Test
+  void searchStudentPageByCondition_列形式で判定できる条件は一致した受講生IDで受講生を読み込み一致件数も列形式で数えること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setSex("女性");
+    condition.setPageSize(2);
+    Student student1 = new Student();
+    student1.setId("id1");
+    Student student2 = new Student();
+    student2.setId("id2");
+    when(columnarSearch.supports(condition)).thenReturn(true);
+    when(columnarSearch.findStudentIds(condition)).thenReturn(List.of("id1", "id2"));
+    when(columnarSearch.countStudents(condition)).thenReturn(5L);
+    when(repository.searchStudentsByIds(List.of("id1", "id2")))
+        .thenReturn(List.of(student1, student2));
+
+    StudentSearchPage result = sut.searchStudentPageByCondition(condition);
+
+    assertEquals(List.of(student1, student2), result.getStudentList());
+    assertEquals("id2", result.getNextAfterId());
+    assertEquals(5L, result.getTotalCount());
+    verify(repository, never()).searchStudentByCondition(any());
+    verify(repository, never()).countStudentByCondition(any());
+  }
+
+  @Test
+  void searchStudentByCondition_列形式で一致する受講生がいない場合は受講生を読み込まないこと() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setCourseName("存在しないコース");
+    when(columnarSearch.supports(condition)).thenReturn(true);
+    when(columnarSearch.findStudentIds(condition)).thenReturn(List.of());
+
+    List<Student> result = sut.searchStudentByCondition(condition);
+
+    assertTrue(result.isEmpty());
+    verify(repository, never()).searchStudentsByIds(any());
+  }
+
+  @Test
+  void searchStudentByCondition_返した受講生数がメトリクスに記録されること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    when(repository.searchStudentByCondition(condition))
+        .thenReturn(List.of(new Student(), new Student()));
+
+    sut.searchStudentByCondition(condition);
+
+    DistributionSummary students = meterRegistry.get("student.result.students")
+        .tag("operation", "searchStudentByCondition")
+        .summary();
+    assertEquals(1, students.count());
+    assertEquals(2.0, students.totalAmount());
+  }
+
   @Test
   void searchStudentByCondition_検索条件がすべて空の場合_全件検索になること() {
     StudentSearchCondition condition = new StudentSearchCondition();
@@ -1,3 +1,4 @@
+-- テスト用の受講生・受講生コース・申込状況のデータ
 INSERT INTO students (id, name, kana_name, nickname, email, area, age, sex, remark, is_deleted) VALUES
 ('11111111-1111-1111-1111-111111111111', '山田太郎', 'ヤマダタロウ', 'たろう', 'yamada@example.com', '東京', 20, '男性', 'Javaエンジニア志望', 0),
 ('22222222-2222-2222-2222-222222222222', '佐藤花子', 'サトウハナコ', 'はなちゃん', 'sato@example.com', '大阪', 22, '女性', 'Python得意', 0),
@@ -17,4 +18,4 @@ INSERT INTO application_statuses (id, student_course_id, status, status_id) VALU
   ('aaaaaaaa-2222-0000-0000-000000000000', 2, '本申込', 2),
   ('aaaaaaaa-3333-0000-0000-000000000000', 3, '受講中', 3),
   ('aaaaaaaa-4444-0000-0000-000000000000', 4, '受講終了', 4),
-  ('aaaaaaaa-5555-0000-0000-000000000000', 5, '仮申込',1 );
\ No newline at end of file
+  ('aaaaaaaa-5555-0000-0000-000000000000', 5, '仮申込',1 );
@@ -0,0 +1,42 @@
+package standard.StudentManagement.fixture;
+
+import org.apache.ibatis.session.ResultContext;
+
+/**
+ * MyBatisの {@link org.apache.ibatis.session.ResultHandler} に渡す1件分の結果を、テスト用に作成します。
+ */
+public final class ResultContexts {
+
+  private ResultContexts() {
+  }
+
+  /**
+   * 指定した1件を返す結果を作成します。
+   *
+   * @param resultObject 結果の1件
+   * @param <T>          結果の型
+   * @return 結果
+   */
+  public static <T> ResultContext<T> resultContext(T resultObject) {
+    return new ResultContext<>() {
+      @Override
+      public T getResultObject() {
+        return resultObject;
+      }
+
+      @Override
+      public int getResultCount() {
+        return 1;
+      }
+
+      @Override
+      public boolean isStopped() {
+        return false;
+      }
+
+      @Override
+      public void stop() {
+      }
+    };
+  }
+}
@@ -0,0 +1,389 @@
+package standard.StudentManagement.fixture;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import standard.StudentManagement.data.ApplicationStatus;
+import standard.StudentManagement.data.StatusType;
+import standard.StudentManagement.data.Student;
+import standard.StudentManagement.data.StudentCourse;
+import standard.StudentManagement.domain.StudentDetail;
+
+/**
+ * 受講生・受講生コース・申込状況の合成データを生成し、データベースに登録します。
+ * 受講生ごとの内容は乱数の種と受講生の番号だけで決まるため、同じ設定からは常に同じデータが生成され、
+ * 一部の範囲だけを生成し直すこともできます。 登録は複数行INSERTを設定した行数ごとにまとめて行い、その単位でコミットします。
+ * テスト・ベンチマークからはメモリ上の生成と登録を直接呼び出し、コマンドラインからは {@link #main(String[])} で実行します。
+ */
+public class StudentDataGenerator {
+
+  private static final String[][] FAMILY_NAMES = {
+      {"佐藤", "サトウ"}, {"鈴木", "スズキ"}, {"高橋", "タカハシ"}, {"田中", "タナカ"},
+      {"伊藤", "イトウ"}, {"渡辺", "ワタナベ"}, {"山本", "ヤマモト"}, {"中村", "ナカムラ"},
+      {"小林", "コバヤシ"}, {"加藤", "カトウ"}, {"吉田", "ヨシダ"}, {"山田", "ヤマダ"},
+      {"佐々木", "ササキ"}, {"山口", "ヤマグチ"}, {"松本", "マツモト"}, {"井上", "イノウエ"},
+      {"木村", "キムラ"}, {"林", "ハヤシ"}, {"斎藤", "サイトウ"}, {"清水", "シミズ"}};
+  private static final String[][] MALE_GIVEN_NAMES = {
+      {"太郎", "タロウ"}, {"翔", "ショウ"}, {"大輝", "ダイキ"}, {"蓮", "レン"}, {"悠真", "ユウマ"},
+      {"健太", "ケンタ"}, {"拓海", "タクミ"}, {"陽翔", "ハルト"}, {"一郎", "イチロウ"}, {"健", "ケン"}};
+  private static final String[][] FEMALE_GIVEN_NAMES = {
+      {"花子", "ハナコ"}, {"美咲", "ミサキ"}, {"葵", "アオイ"}, {"結衣", "ユイ"}, {"陽菜", "ヒナ"},
+      {"さくら", "サクラ"}, {"凛", "リン"}, {"愛", "アイ"}, {"彩", "アヤ"}, {"真央", "マオ"}};
+  private static final String[] COURSE_NAMES = {"Java入門", "Spring基礎", "AWS基礎", "Python基礎",
+      "Web開発基礎", "Linux入門", "データベース基礎", "フロントエンド入門"};
+  private static final String[] REMARKS = {"Javaエンジニア志望", "転職希望", "インフラ興味あり",
+      "Python得意", "副業希望", "Laravel経験者"};
+  private static final LocalDateTime FIRST_START_AT = LocalDateTime.of(2024, 1, 1, 9, 0);
+  private static final int START_AT_SPAN_DAYS = 730;
+
+  private StudentDataSettings settings;
+  private WeightedChoice<Integer> coursesPerStudent;
+  private WeightedChoice<StatusType> statuses;
+  private WeightedChoice<String> areas;
+  private WeightedChoice<String> sexes;
+  private WeightedChoice<String[]> familyNames;
+
+  public StudentDataGenerator(StudentDataSettings settings) {
+    this.settings = settings;
+    this.coursesPerStudent = WeightedChoice.ofCounts(settings.getCoursesPerStudentWeights());
+    this.statuses = WeightedChoice.of(settings.getStatusWeights());
+    this.areas = WeightedChoice.of(settings.getAreaWeights());
+    this.sexes = WeightedChoice.of(settings.getSexWeights());
+    // 名字は順位に反比例する頻度(Zipf分布)とする
+    Map<String[], Double> familyNameWeights = new LinkedHashMap<>();
+    for (int rank = 0; rank < FAMILY_NAMES.length; rank++) {
+      familyNameWeights.put(FAMILY_NAMES[rank], 1.0 / (rank + 1));
+    }
+    this.familyNames = WeightedChoice.of(familyNameWeights);
+  }
+
+  /**
+   * 指定した番号の受講生詳細を生成します。 受講生コースIDと申込状況の受講生コースIDは登録時に採番されるため0のままです。
+   *
+   * @param index 受講生の番号(0始まり)
+   * @return 受講生詳細
+   */
+  public StudentDetail generate(long index) {
+    SplittableRandom random = new SplittableRandom(settings.getSeed() * 0x9E3779B97F4A7C15L + index);
+
+    Student student = new Student();
+    student.setId(new UUID(settings.getSeed(), index).toString());
+    String sex = sexes.next(random);
+    String[] familyName = familyNames.next(random);
+    String[][] givenNames = "女性".equals(sex) || ("その他".equals(sex) && random.nextBoolean())
+        ? FEMALE_GIVEN_NAMES : MALE_GIVEN_NAMES;
+    String[] givenName = givenNames[random.nextInt(givenNames.length)];
+    student.setName(familyName[0] + givenName[0]);
+    student.setKanaName(familyName[1] + givenName[1]);
+    student.setNickname(random.nextDouble() < 0.6 ? givenName[0] : null);
+    student.setEmail("student" + settings.getSeed() + "-" + index + "@example.com");
+    student.setArea(areas.next(random));
+    student.setAge(nextAge(random));
+    student.setSex(sex);
+    student.setRemark(random.nextBoolean() ? REMARKS[random.nextInt(REMARKS.length)] : null);
+    student.setDeleted(random.nextDouble() < settings.getDeletedRatio());
+
+    int courseCount = coursesPerStudent.next(random);
+    List<StudentCourse> studentCourseList = new ArrayList<>(courseCount);
+    for (int c = 0; c < courseCount; c++) {
+      StudentCourse studentCourse = new StudentCourse();
+      studentCourse.setStudentId(student.getId());
+      studentCourse.setCourseName(COURSE_NAMES[random.nextInt(COURSE_NAMES.length)]);
+      LocalDateTime startAt = FIRST_START_AT.plusDays(random.nextInt(START_AT_SPAN_DAYS));
+      studentCourse.setStartAt(startAt);
+      studentCourse.setEndAt(startAt.plusMonths(6));
+
+      ApplicationStatus status = new ApplicationStatus();
+      status.setId(new UUID(settings.getSeed() ^ Long.MIN_VALUE, (index << 16) | c).toString());
+      status.setStatusId(statuses.next(random).getId());
+      studentCourse.setApplicationStatus(status);
+      studentCourseList.add(studentCourse);
+    }
+    return new StudentDetail(student, studentCourseList);
+  }
+
+  /**
+   * 指定した範囲の受講生詳細を生成します。
+   *
+   * @param fromIndex 最初の受講生の番号
+   * @param count     生成する件数
+   * @return 受講生詳細のリスト
+   */
+  public List<StudentDetail> generate(long fromIndex, int count) {
+    List<StudentDetail> studentDetails = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      studentDetails.add(generate(fromIndex + i));
+    }
+    return studentDetails;
+  }
+
+  /**
+   * 設定した件数の受講生詳細を生成して登録します。 メモリ上に保持するのは1回のINSERTに含める行数分だけです。
+   * 接続の自動コミットは登録中だけ無効にし、終了後に元に戻します。
+   *
+   * @param connection 登録先の接続
+   * @return 登録した件数と所要時間
+   * @throws SQLException 登録に失敗した場合
+   */
+  public InsertSummary insert(Connection connection) throws SQLException {
+    long start = System.nanoTime();
+    long courseCount = 0;
+    boolean autoCommit = connection.getAutoCommit();
+    connection.setAutoCommit(false);
+    try {
+      for (long from = 0; from < settings.getStudentCount(); from += settings.getRowsPerStatement()) {
+        int count = (int) Math.min(settings.getRowsPerStatement(),
+            settings.getStudentCount() - from);
+        List<StudentDetail> studentDetails = generate(from, count);
+
+        List<Student> students = studentDetails.stream().map(StudentDetail::getStudent).toList();
+        insertStudents(connection, students);
+        insertNameGrams(connection, students);
+        List<StudentCourse> studentCourses = studentDetails.stream()
+            .flatMap(studentDetail -> studentDetail.getStudentCourseList().stream())
+            .toList();
+        for (List<StudentCourse> chunk : chunks(studentCourses)) {
+          insertStudentCourses(connection, chunk);
+          insertApplicationStatuses(connection, chunk);
+        }
+        courseCount += studentCourses.size();
+        connection.commit();
+      }
+    } catch (SQLException | RuntimeException e) {
+      connection.rollback();
+      throw e;
+    } finally {
+      connection.setAutoCommit(autoCommit);
+    }
+    return new InsertSummary(settings.getStudentCount(), courseCount,
+        Duration.ofNanos(System.nanoTime() - start));
+  }
+
+  private void insertStudents(Connection connection, List<Student> students) throws SQLException {
+    String sql = multiRowInsert(
+        "students (id, name, kana_name, nickname, email, area, age, sex, remark, is_deleted,"
+            + " name_normalized, kana_name_normalized, nickname_normalized)",
+        13, students.size());
+    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+      int p = 1;
+      for (Student student : students) {
+        statement.setString(p++, student.getId());
+        statement.setString(p++, student.getName());
+        statement.setString(p++, student.getKanaName());
+        statement.setString(p++, student.getNickname());
+        statement.setString(p++, student.getEmail());
+        statement.setString(p++, student.getArea());
+        statement.setInt(p++, student.getAge());
+        statement.setString(p++, student.getSex());
+        statement.setString(p++, student.getRemark());
+        statement.setBoolean(p++, student.isDeleted());
+        statement.setString(p++, student.getNameNormalized());
+        statement.setString(p++, student.getKanaNameNormalized());
+        statement.setString(p++, student.getNicknameNormalized());
+      }
+      statement.executeUpdate();
+    }
+  }
+
+  /**
+   * 受講生の名前検索用のn-gramを、1回のINSERTあたり設定した行数ずつ登録します。
+   */
+  private void insertNameGrams(Connection connection, List<Student> students)
+      throws SQLException {
+    List<String[]> nameGrams = new ArrayList<>();
+    for (Student student : students) {
+      for (String gram : student.getNameGrams()) {
+        nameGrams.add(new String[]{student.getId(), gram});
+      }
+    }
+    for (int from = 0; from < nameGrams.size(); from += settings.getRowsPerStatement()) {
+      List<String[]> chunk = nameGrams.subList(from,
+          Math.min(from + settings.getRowsPerStatement(), nameGrams.size()));
+      try (PreparedStatement statement = connection.prepareStatement(
+          multiRowInsert("student_name_grams (student_id, gram)", 2, chunk.size()))) {
+        int p = 1;
+        for (String[] nameGram : chunk) {
+          statement.setString(p++, nameGram[0]);
+          statement.setString(p++, nameGram[1]);
+        }
+        statement.executeUpdate();
+      }
+    }
+  }
+
+  /**
+   * 受講生コースを登録し、採番された受講生コースIDを各受講生コースと申込状況に設定します。
+   */
+  private void insertStudentCourses(Connection connection, List<StudentCourse> studentCourses)
+      throws SQLException {
+    String sql = multiRowInsert("students_courses (student_id, course_name, start_at, end_at)", 4,
+        studentCourses.size());
+    try (PreparedStatement statement = connection.prepareStatement(sql,
+        Statement.RETURN_GENERATED_KEYS)) {
+      int p = 1;
+      for (StudentCourse studentCourse : studentCourses) {
+        statement.setString(p++, studentCourse.getStudentId());
+        statement.setString(p++, studentCourse.getCourseName());
+        statement.setTimestamp(p++, Timestamp.valueOf(studentCourse.getStartAt()));
+        statement.setTimestamp(p++, Timestamp.valueOf(studentCourse.getEndAt()));
+      }
+      statement.executeUpdate();
+
+      try (ResultSet keys = statement.getGeneratedKeys()) {
+        for (StudentCourse studentCourse : studentCourses) {
+          if (!keys.next()) {
+            throw new SQLException("採番された受講生コースIDの件数が登録件数と一致しません。");
+          }
+          studentCourse.setId(keys.getInt(1));
+          studentCourse.getApplicationStatus().setStudentCourseId(studentCourse.getId());
+        }
+      }
+    }
+  }
+
+  private void insertApplicationStatuses(Connection connection, List<StudentCourse> studentCourses)
+      throws SQLException {
+    String sql = multiRowInsert("application_statuses (id, student_course_id, status, status_id)",
+        4, studentCourses.size());
+    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+      int p = 1;
+      for (StudentCourse studentCourse : studentCourses) {
+        ApplicationStatus status = studentCourse.getApplicationStatus();
+        statement.setString(p++, status.getId());
+        statement.setInt(p++, status.getStudentCourseId());
+        statement.setString(p++, status.getStatus());
+        statement.setInt(p++, status.getStatusId());
+      }
+      statement.executeUpdate();
+    }
+  }
+
+  private int nextAge(SplittableRandom random) {
+    // 三角分布の逆関数法
+    double min = settings.getMinAge();
+    double mode = settings.getModeAge();
+    double max = settings.getMaxAge();
+    if (min == max) {
+      return (int) min;
+    }
+    double u = random.nextDouble();
+    double split = (mode - min) / (max - min);
+    double age = u < split
+        ? min + Math.sqrt(u * (max - min) * (mode - min))
+        : max - Math.sqrt((1 - u) * (max - min) * (max - mode));
+    return (int) Math.round(age);
+  }
+
+  private List<List<StudentCourse>> chunks(List<StudentCourse> studentCourses) {
+    if (studentCourses.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<List<StudentCourse>> chunks = new ArrayList<>();
+    for (int from = 0; from < studentCourses.size(); from += settings.getRowsPerStatement()) {
+      chunks.add(studentCourses.subList(from,
+          Math.min(from + settings.getRowsPerStatement(), studentCourses.size())));
+    }
+    return chunks;
+  }
+
+  private static String multiRowInsert(String tableAndColumns, int columnCount, int rowCount) {
+    String row = "(" + String.join(", ", Collections.nCopies(columnCount, "?")) + ")";
+    return "INSERT INTO " + tableAndColumns + " VALUES "
+        + String.join(", ", Collections.nCopies(rowCount, row));
+  }
+
+  /**
+   * 登録結果の要約です。
+   *
+   * @param studentCount 登録した受講生数
+   * @param courseCount  登録した受講生コース数(申込状況も同数)
+   * @param elapsed      所要時間
+   */
+  public record InsertSummary(long studentCount, long courseCount, Duration elapsed) {
+
+  }
+
+  /**
+   * コマンドラインから合成データを登録します。
+   * <pre>
+   * --url=JDBC URL(必須) --user=ユーザー名 --password=パスワード
+   * --students=受講生数 --seed=乱数の種 --rows-per-statement=1回のINSERTの行数
+   * --courses-per-student=0.1,0.45,0.3,0.1,0.05 --status-mix=仮申込:0.2,本申込:0.2,受講中:0.4,受講終了:0.2
+   * --area-mix=東京:0.5,大阪:0.5 --sex-mix=男性:0.5,女性:0.5 --age=15,24,65 --deleted-ratio=0.02
+   * </pre>
+   *
+   * @param args 上記の形式の引数
+   * @throws SQLException 登録に失敗した場合
+   */
+  public static void main(String[] args) throws SQLException {
+    Map<String, String> options = new LinkedHashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("引数は --名前=値 の形式で指定してください: " + arg);
+      }
+      options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+    }
+    String url = options.remove("url");
+    if (url == null) {
+      throw new IllegalArgumentException("--url を指定してください。");
+    }
+    String user = options.remove("user");
+    String password = options.remove("password");
+
+    StudentDataSettings settings = new StudentDataSettings();
+    options.forEach((name, value) -> apply(settings, name, value));
+
+    try (Connection connection = DriverManager.getConnection(url, user, password)) {
+      InsertSummary summary = new StudentDataGenerator(settings).insert(connection);
+      System.out.printf("受講生 %d 件、受講生コースと申込状況 各 %d 件を %d ミリ秒で登録しました。%n",
+          summary.studentCount(), summary.courseCount(), summary.elapsed().toMillis());
+    }
+  }
+
+  private static void apply(StudentDataSettings settings, String name, String value) {
+    switch (name) {
+      case "students" -> settings.setStudentCount(Long.parseLong(value));
+      case "seed" -> settings.setSeed(Long.parseLong(value));
+      case "rows-per-statement" -> settings.setRowsPerStatement(Integer.parseInt(value));
+      case "courses-per-student" -> settings.setCoursesPerStudentWeights(
+          Arrays.stream(value.split(",")).mapToDouble(Double::parseDouble).toArray());
+      case "status-mix" -> {
+        Map<StatusType, Double> weights = new LinkedHashMap<>();
+        parseWeights(value).forEach((key, weight) -> weights.put(StatusType.valueOf(key), weight));
+        settings.setStatusWeights(weights);
+      }
+      case "area-mix" -> settings.setAreaWeights(parseWeights(value));
+      case "sex-mix" -> settings.setSexWeights(parseWeights(value));
+      case "age" -> {
+        String[] ages = value.split(",");
+        settings.setAgeRange(Integer.parseInt(ages[0]), Integer.parseInt(ages[1]),
+            Integer.parseInt(ages[2]));
+      }
+      case "deleted-ratio" -> settings.setDeletedRatio(Double.parseDouble(value));
+      default -> throw new IllegalArgumentException("不明な引数です: --" + name);
+    }
+  }
+
+  private static Map<String, Double> parseWeights(String value) {
+    Map<String, Double> weights = new LinkedHashMap<>();
+    for (String entry : value.split(",")) {
+      String[] keyAndWeight = entry.split(":");
+      weights.put(keyAndWeight[0].trim(), Double.parseDouble(keyAndWeight[1]));
+    }
+    return weights;
+  }
+}
@@ -0,0 +1,161 @@
+package standard.StudentManagement.fixture;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import standard.StudentManagement.data.StatusType;
+
+/**
+ * 合成データの件数・乱数の種・各項目の分布を指定する設定です。 既定値は実運用に近い偏りを持たせています。
+ */
+public class StudentDataSettings {
+
+  private long studentCount = 10_000;
+  private long seed = 42;
+  private int rowsPerStatement = 1_000;
+  private double[] coursesPerStudentWeights = {0.10, 0.45, 0.30, 0.10, 0.05};
+  private Map<StatusType, Double> statusWeights = weights(
+      StatusType.仮申込, 0.20, StatusType.本申込, 0.20, StatusType.受講中, 0.40,
+      StatusType.受講終了, 0.20);
+  private Map<String, Double> areaWeights = weights(
+      "東京", 0.35, "大阪", 0.15, "神奈川", 0.10, "名古屋", 0.10, "福岡", 0.08, "北海道", 0.07,
+      "埼玉", 0.05, "京都", 0.05, "広島", 0.03, "沖縄", 0.02);
+  private Map<String, Double> sexWeights = weights("男性", 0.55, "女性", 0.43, "その他", 0.02);
+  private int minAge = 15;
+  private int modeAge = 24;
+  private int maxAge = 65;
+  private double deletedRatio = 0.02;
+
+  @SuppressWarnings("unchecked")
+  private static <T> Map<T, Double> weights(Object... keyAndWeights) {
+    Map<T, Double> weights = new LinkedHashMap<>();
+    for (int i = 0; i < keyAndWeights.length; i += 2) {
+      weights.put((T) keyAndWeights[i], (Double) keyAndWeights[i + 1]);
+    }
+    return weights;
+  }
+
+  public long getStudentCount() {
+    return studentCount;
+  }
+
+  /**
+   * @param studentCount 生成する受講生数
+   */
+  public StudentDataSettings setStudentCount(long studentCount) {
+    this.studentCount = studentCount;
+    return this;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * @param seed 乱数の種。同じ種からは同じデータが生成されます
+   */
+  public StudentDataSettings setSeed(long seed) {
+    this.seed = seed;
+    return this;
+  }
+
+  public int getRowsPerStatement() {
+    return rowsPerStatement;
+  }
+
+  /**
+   * @param rowsPerStatement 1回の複数行INSERTに含める行数(この件数ごとにコミットします)
+   */
+  public StudentDataSettings setRowsPerStatement(int rowsPerStatement) {
+    this.rowsPerStatement = rowsPerStatement;
+    return this;
+  }
+
+  public double[] getCoursesPerStudentWeights() {
+    return coursesPerStudentWeights.clone();
+  }
+
+  /**
+   * @param coursesPerStudentWeights 受講生1人あたりのコース数の重み({@code [n]} がコース数 n の重み)
+   */
+  public StudentDataSettings setCoursesPerStudentWeights(double... coursesPerStudentWeights) {
+    this.coursesPerStudentWeights = coursesPerStudentWeights.clone();
+    return this;
+  }
+
+  public Map<StatusType, Double> getStatusWeights() {
+    return statusWeights;
+  }
+
+  /**
+   * @param statusWeights 申込状況ごとの重み
+   */
+  public StudentDataSettings setStatusWeights(Map<StatusType, Double> statusWeights) {
+    this.statusWeights = new LinkedHashMap<>(statusWeights);
+    return this;
+  }
+
+  public Map<String, Double> getAreaWeights() {
+    return areaWeights;
+  }
+
+  /**
+   * @param areaWeights 地域ごとの重み
+   */
+  public StudentDataSettings setAreaWeights(Map<String, Double> areaWeights) {
+    this.areaWeights = new LinkedHashMap<>(areaWeights);
+    return this;
+  }
+
+  public Map<String, Double> getSexWeights() {
+    return sexWeights;
+  }
+
+  /**
+   * @param sexWeights 性別ごとの重み
+   */
+  public StudentDataSettings setSexWeights(Map<String, Double> sexWeights) {
+    this.sexWeights = new LinkedHashMap<>(sexWeights);
+    return this;
+  }
+
+  public int getMinAge() {
+    return minAge;
+  }
+
+  public int getModeAge() {
+    return modeAge;
+  }
+
+  public int getMaxAge() {
+    return maxAge;
+  }
+
+  /**
+   * 年齢の分布を三角分布で指定します。
+   *
+   * @param minAge  最小の年齢
+   * @param modeAge 最も多い年齢
+   * @param maxAge  最大の年齢
+   */
+  public StudentDataSettings setAgeRange(int minAge, int modeAge, int maxAge) {
+    if (minAge > modeAge || modeAge > maxAge) {
+      throw new IllegalArgumentException("年齢は 最小 <= 最頻 <= 最大 の順に指定してください。");
+    }
+    this.minAge = minAge;
+    this.modeAge = modeAge;
+    this.maxAge = maxAge;
+    return this;
+  }
+
+  public double getDeletedRatio() {
+    return deletedRatio;
+  }
+
+  /**
+   * @param deletedRatio 論理削除済みにする受講生の割合(0〜1)
+   */
+  public StudentDataSettings setDeletedRatio(double deletedRatio) {
+    this.deletedRatio = deletedRatio;
+    return this;
+  }
+}
@@ -0,0 +1,55 @@
+package standard.StudentManagement.fixture;
+
+import java.util.ArrayList;
+import standard.StudentManagement.data.ApplicationStatus;
+import standard.StudentManagement.data.Student;
+import standard.StudentManagement.data.StudentCourse;
+import standard.StudentManagement.domain.StudentDetail;
+
+/**
+ * 検索条件・集計に使う項目だけを設定した受講生詳細を、テスト用に作成します。
+ */
+public final class StudentDetails {
+
+  private StudentDetails() {
+  }
+
+  /**
+   * 受講生コースを持たない受講生詳細を作成します。 受講生コースは戻り値のリストに追加できます。
+   *
+   * @param id      受講生ID
+   * @param area    地域
+   * @param age     年齢
+   * @param sex     性別
+   * @param deleted 削除済みの場合は {@code true}
+   * @return 受講生詳細
+   */
+  public static StudentDetail detail(String id, String area, int age, String sex,
+      boolean deleted) {
+    Student student = new Student();
+    student.setId(id);
+    student.setArea(area);
+    student.setAge(age);
+    student.setSex(sex);
+    student.setDeleted(deleted);
+    return new StudentDetail(student, new ArrayList<>());
+  }
+
+  /**
+   * 受講生コースを作成します。
+   *
+   * @param courseName コース名
+   * @param status     申込状況(nullの場合は申込状況を持たない)
+   * @return 受講生コース
+   */
+  public static StudentCourse course(String courseName, String status) {
+    StudentCourse studentCourse = new StudentCourse();
+    studentCourse.setCourseName(courseName);
+    if (status != null) {
+      ApplicationStatus applicationStatus = new ApplicationStatus();
+      applicationStatus.setStatus(status);
+      studentCourse.setApplicationStatus(applicationStatus);
+    }
+    return studentCourse;
+  }
+}
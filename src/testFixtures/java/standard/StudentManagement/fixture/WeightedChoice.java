@@ -0,0 +1,92 @@
+package standard.StudentManagement.fixture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 重み付きの選択肢から1つを選ぶ分布です。 重みの合計は1でなくてもかまいません。
+ *
+ * @param <T> 選択肢の型
+ */
+public final class WeightedChoice<T> {
+
+  private List<T> values;
+  private double[] cumulativeWeights;
+
+  private WeightedChoice(List<T> values, double[] weights) {
+    if (values.isEmpty() || values.size() != weights.length) {
+      throw new IllegalArgumentException("選択肢と重みを同じ数だけ1つ以上指定してください。");
+    }
+    this.values = List.copyOf(values);
+    this.cumulativeWeights = new double[weights.length];
+    double total = 0;
+    for (int i = 0; i < weights.length; i++) {
+      if (weights[i] < 0) {
+        throw new IllegalArgumentException("重みは0以上を指定してください: " + weights[i]);
+      }
+      total += weights[i];
+      cumulativeWeights[i] = total;
+    }
+    if (total <= 0) {
+      throw new IllegalArgumentException("重みの合計は0より大きくしてください。");
+    }
+  }
+
+  /**
+   * 選択肢と重みの組から分布を作成します。 選択肢の順序はマップの反復順に従います。
+   *
+   * @param weights 選択肢ごとの重み
+   * @param <T>     選択肢の型
+   * @return 分布
+   */
+  public static <T> WeightedChoice<T> of(Map<T, Double> weights) {
+    List<T> values = new ArrayList<>(weights.keySet());
+    return new WeightedChoice<>(values,
+        values.stream().mapToDouble(weights::get).toArray());
+  }
+
+  /**
+   * 0から始まる整数の分布を作成します。 {@code weights[n]} が値 {@code n} の重みになります。
+   *
+   * @param weights 値ごとの重み
+   * @return 分布
+   */
+  public static WeightedChoice<Integer> ofCounts(double... weights) {
+    List<Integer> values = new ArrayList<>(weights.length);
+    for (int i = 0; i < weights.length; i++) {
+      values.add(i);
+    }
+    return new WeightedChoice<>(values, weights.clone());
+  }
+
+  /**
+   * 乱数に従って選択肢を1つ選びます。
+   *
+   * @param random 乱数
+   * @return 選ばれた選択肢
+   */
+  public T next(SplittableRandom random) {
+    double point = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+    // 累積の重みが point を超える最初の選択肢を二分探索で求める
+    int low = 0;
+    int high = cumulativeWeights.length - 1;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (cumulativeWeights[middle] > point) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return values.get(low);
+  }
+
+  /**
+   * @return 選択肢の一覧
+   */
+  public List<T> values() {
+    return values;
+  }
+}